@@ -0,0 +1,170 @@
+package com.usermanagement.auth.token;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * A {@link KeySource} backed by a key set file that can be reloaded without a restart.
+ *
+ * <p>The file is in properties format, one secret per key id and an optional activation time:
+ * <pre>
+ * k1.secret=&lt;base64, at least 32 bytes&gt;
+ * k2.secret=&lt;base64&gt;
+ * k2.activates-at=2025-06-01T00:00:00Z
+ * </pre>
+ * The active signing key is the most recently activated one. A key whose activation time lies in
+ * the future already verifies tokens, so every instance knows it before any instance signs with it.
+ * A key that has been superseded keeps verifying for {@code maxTokenLifetime} after its successor
+ * activated and then drops out of the set.
+ *
+ * <p>Each {@link #reload()} builds a new immutable {@link SigningKeys} and publishes it with a
+ * single volatile write, so a request sees either the old or the new key set, never a mix. A file
+ * that fails to parse leaves the current key set in place. Replace the file by rename rather than
+ * rewriting it in place, so a reload never reads a half-written file.
+ */
+public class FileKeySource implements KeySource {
+
+    private static final String SECRET_SUFFIX = ".secret";
+    private static final String ACTIVATES_AT_SUFFIX = ".activates-at";
+
+    private final Path path;
+    private final Duration maxTokenLifetime;
+    private final Clock clock;
+    private volatile Snapshot snapshot;
+
+    public FileKeySource(Path path, Duration maxTokenLifetime) throws IOException {
+        this(path, maxTokenLifetime, Clock.systemUTC());
+    }
+
+    public FileKeySource(Path path, Duration maxTokenLifetime, Clock clock) throws IOException {
+        this.path = path;
+        this.maxTokenLifetime = maxTokenLifetime;
+        this.clock = clock;
+        reload();
+    }
+
+    @Override
+    public SigningKeys current() {
+        Snapshot current = snapshot;
+        if (clock.millis() >= current.nextTransitionMillis) {
+            current = advance(current);
+        }
+        return current.keys;
+    }
+
+    /**
+     * Re-reads the key set file.
+     *
+     * @return {@code true} if the file changed and its keys were published
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if the file is not a valid key set
+     */
+    public synchronized boolean reload() throws IOException {
+        byte[] content = Files.readAllBytes(path);
+        if (snapshot != null && Arrays.equals(content, snapshot.content)) {
+            return false;
+        }
+        snapshot = snapshot(content, parse(content), clock.instant());
+        return true;
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    /** Recomputes the key set once a pending key has activated or a retired key has aged out. */
+    private synchronized Snapshot advance(Snapshot seen) {
+        if (snapshot == seen) {
+            snapshot = snapshot(seen.content, seen.entries, clock.instant());
+        }
+        return snapshot;
+    }
+
+    private Snapshot snapshot(byte[] content, List<KeyEntry> entries, Instant now) {
+        int active = -1;
+        for (int i = 0; i < entries.size() && !entries.get(i).activatesAt.isAfter(now); i++) {
+            active = i;
+        }
+        if (active < 0) {
+            throw new IllegalArgumentException("No key in " + path + " is active yet");
+        }
+
+        Map<String, byte[]> secrets = new LinkedHashMap<>();
+        Instant nextTransition = Instant.MAX;
+        for (int i = 0; i < entries.size(); i++) {
+            KeyEntry entry = entries.get(i);
+            if (i < active) {
+                Instant agedOut = entries.get(i + 1).activatesAt.plus(maxTokenLifetime);
+                if (!agedOut.isAfter(now)) {
+                    continue;
+                }
+                nextTransition = min(nextTransition, agedOut);
+            } else if (i > active) {
+                nextTransition = min(nextTransition, entry.activatesAt);
+            }
+            secrets.put(entry.keyId, entry.secret);
+        }
+
+        SigningKeys keys = SigningKeys.of(entries.get(active).keyId, secrets);
+        long nextTransitionMillis = nextTransition == Instant.MAX ? Long.MAX_VALUE : nextTransition.toEpochMilli();
+        return new Snapshot(content, entries, keys, nextTransitionMillis);
+    }
+
+    private List<KeyEntry> parse(byte[] content) throws IOException {
+        Properties properties = new Properties();
+        properties.load(new StringReader(new String(content, StandardCharsets.UTF_8)));
+
+        Map<String, byte[]> secrets = new LinkedHashMap<>();
+        Map<String, Instant> activations = new LinkedHashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            String value = properties.getProperty(name).trim();
+            try {
+                if (name.endsWith(SECRET_SUFFIX)) {
+                    secrets.put(name.substring(0, name.length() - SECRET_SUFFIX.length()), Base64.getDecoder().decode(value));
+                } else if (name.endsWith(ACTIVATES_AT_SUFFIX)) {
+                    activations.put(name.substring(0, name.length() - ACTIVATES_AT_SUFFIX.length()), Instant.parse(value));
+                } else {
+                    throw new IllegalArgumentException("Unknown property '" + name + "' in " + path);
+                }
+            } catch (DateTimeParseException ex) {
+                throw new IllegalArgumentException("Invalid value of '" + name + "' in " + path, ex);
+            }
+        }
+        if (secrets.isEmpty()) {
+            throw new IllegalArgumentException("No keys in " + path);
+        }
+        if (!secrets.keySet().containsAll(activations.keySet())) {
+            throw new IllegalArgumentException("Activation time without a secret in " + path);
+        }
+
+        List<KeyEntry> entries = new ArrayList<>();
+        secrets.forEach((keyId, secret) -> entries.add(new KeyEntry(keyId, secret, activations.getOrDefault(keyId, Instant.EPOCH))));
+        entries.sort(Comparator.comparing(KeyEntry::activatesAt).thenComparing(KeyEntry::keyId));
+        return List.copyOf(entries);
+    }
+
+    private static Instant min(Instant a, Instant b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private record KeyEntry(String keyId, byte[] secret, Instant activatesAt) {
+    }
+
+    private record Snapshot(byte[] content, List<KeyEntry> entries, SigningKeys keys, long nextTransitionMillis) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.usermanagement.auth.token;
+
+/**
+ * Supplies the current {@link SigningKeys}. Consulted on every sign and verify, so an
+ * implementation can swap in a new key set without restarting its users.
+ */
+@FunctionalInterface
+public interface KeySource {
+
+    SigningKeys current();
+
+    static KeySource fixed(SigningKeys keys) {
+        return () -> keys;
+    }
+}
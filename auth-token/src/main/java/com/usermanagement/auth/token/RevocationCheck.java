@@ -0,0 +1,14 @@
+package com.usermanagement.auth.token;
+
+/**
+ * Hook for rejecting tokens whose signature and expiry are fine but which must no longer be
+ * accepted, e.g. after a logout or an account lock. Runs on every validation, including cache hits,
+ * so it must be fast.
+ */
+@FunctionalInterface
+public interface RevocationCheck {
+
+    RevocationCheck NONE = token -> false;
+
+    boolean isRevoked(VerifiedToken token);
+}
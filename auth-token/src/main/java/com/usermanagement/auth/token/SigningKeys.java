@@ -0,0 +1,56 @@
+package com.usermanagement.auth.token;
+
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable set of HMAC keys indexed by key id ({@code kid}). One of them is the active key
+ * that new tokens are signed with. The others only verify tokens signed before a rotation.
+ * Tokens without a {@code kid} header are verified with the active key.
+ */
+public final class SigningKeys {
+
+    private final String activeKeyId;
+    private final Map<String, SecretKey> keys;
+
+    private SigningKeys(String activeKeyId, Map<String, SecretKey> keys) {
+        if (!keys.containsKey(activeKeyId)) {
+            throw new IllegalArgumentException("Active key id '" + activeKeyId + "' is not in the key set " + keys.keySet());
+        }
+        this.activeKeyId = activeKeyId;
+        this.keys = keys;
+    }
+
+    /** Builds a key set from raw key bytes; every key must be at least 256 bits long. */
+    public static SigningKeys of(String activeKeyId, Map<String, byte[]> secrets) {
+        Map<String, SecretKey> keys = new LinkedHashMap<>();
+        secrets.forEach((keyId, secret) -> keys.put(keyId, Keys.hmacShaKeyFor(secret)));
+        return new SigningKeys(activeKeyId, Collections.unmodifiableMap(keys));
+    }
+
+    public static SigningKeys single(String keyId, byte[] secret) {
+        return of(keyId, Map.of(keyId, secret));
+    }
+
+    public String activeKeyId() {
+        return activeKeyId;
+    }
+
+    public SecretKey activeKey() {
+        return keys.get(activeKeyId);
+    }
+
+    /** The verification key for {@code keyId}, the active key for {@code null}, or {@code null} if unknown. */
+    public SecretKey verificationKey(String keyId) {
+        return keyId == null ? activeKey() : keys.get(keyId);
+    }
+
+    public Set<String> keyIds() {
+        return keys.keySet();
+    }
+}
@@ -0,0 +1,14 @@
+package com.usermanagement.auth.token;
+
+/**
+ * Names of the claims the User Management System puts into access tokens besides the registered
+ * {@code sub}, {@code iat} and {@code exp}.
+ */
+public final class TokenClaims {
+
+    /** Bitmask of the user's roles; bit n is set when the user holds the role with bit index n. */
+    public static final String ROLE_MASK = "rm";
+
+    private TokenClaims() {
+    }
+}
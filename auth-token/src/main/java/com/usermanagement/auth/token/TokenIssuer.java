@@ -0,0 +1,47 @@
+package com.usermanagement.auth.token;
+
+import io.jsonwebtoken.Jwts;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Signs access tokens with the active key of a {@link KeySource} and names that key in the
+ * {@code kid} header, so validators can pick the matching key after a rotation.
+ */
+public class TokenIssuer {
+
+    private final KeySource keySource;
+    private final Duration ttl;
+    private final Clock clock;
+
+    public TokenIssuer(KeySource keySource, Duration ttl) {
+        this(keySource, ttl, Clock.systemUTC());
+    }
+
+    public TokenIssuer(KeySource keySource, Duration ttl, Clock clock) {
+        this.keySource = keySource;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    public String issue(String subject, long roleMask) {
+        SigningKeys keys = keySource.current();
+        Instant now = clock.instant();
+
+        return Jwts.builder()
+                .header().keyId(keys.activeKeyId()).and()
+                .subject(subject)
+                .claim(TokenClaims.ROLE_MASK, roleMask)
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(ttl)))
+                .signWith(keys.activeKey())
+                .compact();
+    }
+
+    public Duration ttl() {
+        return ttl;
+    }
+}
@@ -0,0 +1,31 @@
+package com.usermanagement.auth.token;
+
+/**
+ * Thrown by {@link TokenValidator#verify(String)} when a token is not acceptable.
+ */
+public class TokenValidationException extends RuntimeException {
+
+    public enum Reason {
+        MALFORMED,
+        BAD_SIGNATURE,
+        UNKNOWN_KEY,
+        EXPIRED,
+        REVOKED
+    }
+
+    private final Reason reason;
+
+    public TokenValidationException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public TokenValidationException(Reason reason, String message, Throwable cause) {
+        super(message, cause);
+        this.reason = reason;
+    }
+
+    public Reason reason() {
+        return reason;
+    }
+}
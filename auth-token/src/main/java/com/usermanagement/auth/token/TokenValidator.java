@@ -0,0 +1,204 @@
+package com.usermanagement.auth.token;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.SecurityException;
+
+import javax.crypto.SecretKey;
+import java.security.Key;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+
+/**
+ * Validates access tokens locally: signature (key picked by the {@code kid} header), expiry and
+ * an optional {@link RevocationCheck}.
+ * <p>
+ * Successfully parsed tokens that name their key are cached by their compact form, so a client
+ * reusing its token costs a hash lookup instead of a signature check. Each entry keeps the key that
+ * verified it. Cache hits are still checked against the clock, against the current key set (a
+ * removed key invalidates its tokens immediately, and a key whose secret was replaced under the
+ * same {@code kid} sends them back through a full signature check) and against the revocation hook. The class has no framework dependencies and is thread-safe.
+ */
+public class TokenValidator {
+
+    private final KeySource keySource;
+    private final RevocationCheck revocationCheck;
+    private final Clock clock;
+    private final Duration allowedClockSkew;
+    private final JwtParser parser;
+    private final Cache<String, CachedToken> cache;
+
+    private TokenValidator(Builder builder) {
+        this.keySource = builder.keySource;
+        this.revocationCheck = builder.revocationCheck;
+        this.clock = builder.clock;
+        this.allowedClockSkew = builder.allowedClockSkew;
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(ProtectedHeader header) {
+                        return keyFor(header.getKeyId());
+                    }
+                })
+                .clock(() -> Date.from(clock.instant()))
+                .clockSkewSeconds(builder.allowedClockSkew.toSeconds())
+                .build();
+        this.cache = builder.cacheSize > 0
+                ? Caffeine.newBuilder().maximumSize(builder.cacheSize).build()
+                : null;
+    }
+
+    public static Builder builder(KeySource keySource) {
+        return new Builder(keySource);
+    }
+
+    /** Returns the token's claims, or empty if the token is not acceptable for any reason. */
+    public Optional<VerifiedToken> validate(String token) {
+        try {
+            return Optional.of(verify(token));
+        } catch (TokenValidationException ex) {
+            return Optional.empty();
+        }
+    }
+
+    /** Returns the token's claims or throws {@link TokenValidationException} naming the reason. */
+    public VerifiedToken verify(String token) {
+        if (token == null || token.isBlank()) {
+            throw new TokenValidationException(TokenValidationException.Reason.MALFORMED, "Token is empty");
+        }
+
+        CachedToken cached = cache != null ? cache.getIfPresent(token) : null;
+        VerifiedToken verified;
+        if (cached != null && recheck(token, cached)) {
+            verified = cached.token();
+        } else {
+            SigningKeys keys = keySource.current();
+            verified = parse(token);
+            // Tokens without a kid verify against whichever key is active, so they are not cached
+            if (cache != null && verified.keyId() != null) {
+                SecretKey key = keys.verificationKey(verified.keyId());
+                // Skip caching if the key was swapped while parsing: the entry might record the wrong one
+                if (key != null && sameKey(key, keySource.current().verificationKey(verified.keyId()))) {
+                    cache.put(token, new CachedToken(verified, key));
+                }
+            }
+        }
+
+        if (revocationCheck.isRevoked(verified)) {
+            throw new TokenValidationException(TokenValidationException.Reason.REVOKED, "Token has been revoked");
+        }
+        return verified;
+    }
+
+    private VerifiedToken parse(String token) {
+        try {
+            var jws = parser.parseSignedClaims(token);
+            Claims claims = jws.getPayload();
+            Number roleMask = claims.get(TokenClaims.ROLE_MASK, Number.class);
+            return new VerifiedToken(
+                    claims.getSubject(),
+                    roleMask != null ? roleMask.longValue() : null,
+                    claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                    claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                    jws.getHeader().getKeyId());
+        } catch (TokenValidationException ex) {
+            throw ex;
+        } catch (ExpiredJwtException ex) {
+            throw new TokenValidationException(TokenValidationException.Reason.EXPIRED, ex.getMessage(), ex);
+        } catch (SecurityException ex) {
+            throw new TokenValidationException(TokenValidationException.Reason.BAD_SIGNATURE, ex.getMessage(), ex);
+        } catch (JwtException | IllegalArgumentException ex) {
+            throw new TokenValidationException(TokenValidationException.Reason.MALFORMED, ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Checks a cache hit against the clock and the current key set. Returns {@code false} if the
+     * token's key now has a different secret, in which case the token must be parsed again.
+     */
+    private boolean recheck(String token, CachedToken cached) {
+        VerifiedToken verified = cached.token();
+        Instant now = clock.instant();
+        if (verified.expiresAt() != null && now.minus(allowedClockSkew).isAfter(verified.expiresAt())) {
+            cache.invalidate(token);
+            throw new TokenValidationException(TokenValidationException.Reason.EXPIRED,
+                    "Token expired at " + verified.expiresAt());
+        }
+        SecretKey key = keySource.current().verificationKey(verified.keyId());
+        if (key == null) {
+            cache.invalidate(token);
+            throw new TokenValidationException(TokenValidationException.Reason.UNKNOWN_KEY,
+                    "Key '" + verified.keyId() + "' has been removed");
+        }
+        if (!sameKey(key, cached.key())) {
+            cache.invalidate(token);
+            return false;
+        }
+        return true;
+    }
+
+    /** Compares key material; a reloaded key set holds new key objects even when nothing changed. */
+    private static boolean sameKey(SecretKey a, SecretKey b) {
+        return a == b || a.equals(b);
+    }
+
+    private SecretKey keyFor(String keyId) {
+        SecretKey key = keySource.current().verificationKey(keyId);
+        if (key == null) {
+            throw new TokenValidationException(TokenValidationException.Reason.UNKNOWN_KEY,
+                    "No verification key with id '" + keyId + "'");
+        }
+        return key;
+    }
+
+    private record CachedToken(VerifiedToken token, SecretKey key) {
+    }
+
+    public static final class Builder {
+
+        private final KeySource keySource;
+        private RevocationCheck revocationCheck = RevocationCheck.NONE;
+        private Clock clock = Clock.systemUTC();
+        private Duration allowedClockSkew = Duration.ZERO;
+        private long cacheSize = 10_000;
+
+        private Builder(KeySource keySource) {
+            this.keySource = keySource;
+        }
+
+        public Builder revocationCheck(RevocationCheck revocationCheck) {
+            this.revocationCheck = revocationCheck;
+            return this;
+        }
+
+        public Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public Builder allowedClockSkew(Duration allowedClockSkew) {
+            this.allowedClockSkew = allowedClockSkew;
+            return this;
+        }
+
+        /** Maximum number of parsed tokens kept; 0 disables the cache. */
+        public Builder cacheSize(long cacheSize) {
+            this.cacheSize = cacheSize;
+            return this;
+        }
+
+        public TokenValidator build() {
+            return new TokenValidator(this);
+        }
+    }
+}
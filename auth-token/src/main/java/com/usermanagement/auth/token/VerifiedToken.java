@@ -0,0 +1,17 @@
+package com.usermanagement.auth.token;
+
+import java.time.Instant;
+
+/**
+ * The claims of an access token whose signature and expiry have been checked.
+ *
+ * @param subject   the user's email
+ * @param roleMask  bitmask of the user's roles ({@value TokenClaims#ROLE_MASK} claim), {@code null}
+ *                  for tokens issued before role masks existed
+ * @param issuedAt  when the token was issued
+ * @param expiresAt when the token stops being valid
+ * @param keyId     {@code kid} of the key that signed the token, {@code null} for tokens issued
+ *                  before key ids were introduced
+ */
+public record VerifiedToken(String subject, Long roleMask, Instant issuedAt, Instant expiresAt, String keyId) {
+}
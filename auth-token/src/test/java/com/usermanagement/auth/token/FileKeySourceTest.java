@@ -0,0 +1,83 @@
+package com.usermanagement.auth.token;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileKeySourceTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Duration TOKEN_LIFETIME = Duration.ofMinutes(15);
+
+    @TempDir
+    Path dir;
+
+    private final MutableClock clock = new MutableClock(NOW);
+
+    @Test
+    @DisplayName("A pending key verifies before it signs, and the retired key ages out after the token lifetime")
+    void shouldRotateThroughPendingActiveAndRetired() throws Exception {
+        Path file = write("k1.secret=" + secret("one") + "\n");
+        FileKeySource keySource = new FileKeySource(file, TOKEN_LIFETIME, clock);
+        TokenIssuer issuer = new TokenIssuer(keySource, TOKEN_LIFETIME, clock);
+        TokenValidator validator = TokenValidator.builder(keySource).clock(clock).build();
+
+        Instant activation = NOW.plus(Duration.ofHours(1));
+        write("k1.secret=" + secret("one") + "\n"
+                + "k2.secret=" + secret("two") + "\n"
+                + "k2.activates-at=" + activation + "\n");
+        assertThat(keySource.reload()).isTrue();
+        assertThat(keySource.reload()).isFalse();
+
+        assertThat(keySource.current().activeKeyId()).isEqualTo("k1");
+        assertThat(keySource.current().keyIds()).containsExactly("k1", "k2");
+
+        clock.set(activation.minusSeconds(60));
+        String oldToken = issuer.issue("user@example.com", 1L);
+        clock.set(activation);
+        assertThat(keySource.current().activeKeyId()).isEqualTo("k2");
+        assertThat(validator.verify(oldToken).keyId()).isEqualTo("k1");
+        assertThat(validator.verify(issuer.issue("user@example.com", 1L)).keyId()).isEqualTo("k2");
+
+        clock.set(activation.plus(TOKEN_LIFETIME));
+        assertThat(keySource.current().keyIds()).containsExactly("k2");
+    }
+
+    @Test
+    @DisplayName("An invalid file leaves the current key set in place")
+    void shouldKeepKeysWhenReloadFails() throws Exception {
+        Path file = write("k1.secret=" + secret("one") + "\n");
+        FileKeySource keySource = new FileKeySource(file, TOKEN_LIFETIME, clock);
+        SigningKeys before = keySource.current();
+
+        write("k1.secret=" + secret("one") + "\nk2.activates-at=tomorrow\n");
+        assertThatThrownBy(keySource::reload).isInstanceOf(IllegalArgumentException.class);
+        write("k2.secret=" + secret("two") + "\nk2.activates-at=" + NOW.plusSeconds(60) + "\n");
+        assertThatThrownBy(keySource::reload).hasMessageContaining("active");
+
+        assertThat(keySource.current()).isSameAs(before);
+    }
+
+    private Path write(String content) throws Exception {
+        Path file = dir.resolve("signing-keys.properties");
+        Path tmp = dir.resolve("signing-keys.properties.tmp");
+        Files.writeString(tmp, content);
+        return Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String secret(String seed) {
+        byte[] bytes = (seed + "-secret-padded-to-at-least-32-bytes").getBytes(StandardCharsets.UTF_8);
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,129 @@
+package com.usermanagement.auth.token;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class TokenValidatorTest {
+
+    private static final byte[] SECRET_1 = "first-secret-of-at-least-32-bytes!!".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SECRET_2 = "second-secret-of-at-least-32-bytes!".getBytes(StandardCharsets.UTF_8);
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final MutableClock clock = new MutableClock(NOW);
+    private final AtomicReference<SigningKeys> keys = new AtomicReference<>(SigningKeys.single("k1", SECRET_1));
+    private final TokenIssuer issuer = new TokenIssuer(keys::get, Duration.ofMinutes(15), clock);
+
+    @Test
+    @DisplayName("Issued tokens carry a kid and round-trip their claims")
+    void shouldRoundTripClaims() {
+        TokenValidator validator = TokenValidator.builder(keys::get).clock(clock).build();
+
+        VerifiedToken token = validator.verify(issuer.issue("user@example.com", 5L));
+
+        assertThat(token).isEqualTo(new VerifiedToken("user@example.com", 5L, NOW, NOW.plus(Duration.ofMinutes(15)), "k1"));
+        assertThat(validator.validate("not-a-token")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Repeat validations are served from the cache but still honour expiry and revocation")
+    void shouldCacheParsedTokens() {
+        Set<String> revoked = new HashSet<>();
+        AtomicInteger revocationChecks = new AtomicInteger();
+        TokenValidator validator = TokenValidator.builder(keys::get)
+                .clock(clock)
+                .revocationCheck(token -> {
+                    revocationChecks.incrementAndGet();
+                    return revoked.contains(token.subject());
+                })
+                .build();
+        String compact = issuer.issue("user@example.com", 1L);
+
+        assertThat(validator.verify(compact)).isSameAs(validator.verify(compact));
+        assertThat(revocationChecks).hasValue(2);
+
+        revoked.add("user@example.com");
+        assertThat(reasonOf(validator, compact)).isEqualTo(TokenValidationException.Reason.REVOKED);
+
+        revoked.clear();
+        clock.set(NOW.plus(Duration.ofMinutes(16)));
+        assertThat(reasonOf(validator, compact)).isEqualTo(TokenValidationException.Reason.EXPIRED);
+    }
+
+    @Test
+    @DisplayName("Keys are picked by kid; tokens of a removed key are rejected even when cached")
+    void shouldSelectKeyByKid() {
+        TokenValidator validator = TokenValidator.builder(keys::get).clock(clock).build();
+        String oldToken = issuer.issue("old@example.com", 0L);
+        validator.verify(oldToken);
+
+        keys.set(SigningKeys.of("k2", Map.of("k1", SECRET_1, "k2", SECRET_2)));
+        String newToken = issuer.issue("new@example.com", 0L);
+
+        assertThat(validator.verify(oldToken).keyId()).isEqualTo("k1");
+        assertThat(validator.verify(newToken).keyId()).isEqualTo("k2");
+
+        keys.set(SigningKeys.single("k2", SECRET_2));
+        assertThat(reasonOf(validator, oldToken)).isEqualTo(TokenValidationException.Reason.UNKNOWN_KEY);
+        assertThat(validator.verify(newToken).subject()).isEqualTo("new@example.com");
+    }
+
+    @Test
+    @DisplayName("Cached tokens are rejected once their key's secret is replaced under the same kid")
+    void shouldRejectCachedTokensOfReplacedKey() {
+        TokenValidator validator = TokenValidator.builder(keys::get).clock(clock).build();
+        String oldToken = issuer.issue("old@example.com", 0L);
+        validator.verify(oldToken);
+
+        keys.set(SigningKeys.single("k1", SECRET_1.clone()));
+        assertThat(validator.verify(oldToken).subject()).isEqualTo("old@example.com");
+
+        keys.set(SigningKeys.single("k1", SECRET_2));
+        assertThat(reasonOf(validator, oldToken)).isEqualTo(TokenValidationException.Reason.BAD_SIGNATURE);
+
+        String newToken = issuer.issue("new@example.com", 0L);
+        assertThat(validator.verify(newToken)).isSameAs(validator.verify(newToken));
+    }
+
+    @Test
+    @DisplayName("Tampered, foreign-key and kid-less tokens are handled by the matching rule")
+    void shouldRejectBadSignatures() {
+        TokenValidator validator = TokenValidator.builder(keys::get).clock(clock).build();
+        String compact = issuer.issue("user@example.com", 0L);
+        String tampered = compact.substring(0, compact.length() - 2) + (compact.endsWith("AA") ? "BB" : "AA");
+        String foreign = Jwts.builder().header().keyId("k1").and()
+                .subject("user@example.com")
+                .expiration(Date.from(NOW.plusSeconds(60)))
+                .signWith(Keys.hmacShaKeyFor(SECRET_2))
+                .compact();
+        String legacy = Jwts.builder()
+                .subject("legacy@example.com")
+                .expiration(Date.from(NOW.plusSeconds(60)))
+                .signWith(Keys.hmacShaKeyFor(SECRET_1))
+                .compact();
+
+        assertThat(reasonOf(validator, tampered)).isEqualTo(TokenValidationException.Reason.BAD_SIGNATURE);
+        assertThat(reasonOf(validator, foreign)).isEqualTo(TokenValidationException.Reason.BAD_SIGNATURE);
+        assertThat(validator.verify(legacy).keyId()).isNull();
+    }
+
+    private static TokenValidationException.Reason reasonOf(TokenValidator validator, String token) {
+        TokenValidationException ex = catchThrowableOfType(() -> validator.verify(token), TokenValidationException.class);
+        assertThat(ex).as("validation of %s should fail", token).isNotNull();
+        return ex.reason();
+    }
+}
@@ -0,0 +1,70 @@
+package com.usermanagement.auth.token.benchmarks;
+
+import com.usermanagement.auth.token.KeySource;
+import com.usermanagement.auth.token.SigningKeys;
+import com.usermanagement.auth.token.TokenIssuer;
+import com.usermanagement.auth.token.TokenValidator;
+import com.usermanagement.auth.token.VerifiedToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-request cost of token handling: a validation served from the parsed-token cache,
+ * a full signature check and parse, and issuing a token.
+ *
+ * <pre>
+ * mvn -pl benchmarks -am package -DskipTests
+ * java -jar benchmarks/target/benchmarks.jar TokenValidationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenValidationBenchmark {
+
+    private TokenIssuer issuer;
+    private TokenValidator cachedValidator;
+    private TokenValidator uncachedValidator;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        byte[] secret = "benchmark-secret-benchmark-secret-0123456789".getBytes(StandardCharsets.UTF_8);
+        KeySource keySource = KeySource.fixed(SigningKeys.single("k1", secret));
+
+        issuer = new TokenIssuer(keySource, Duration.ofHours(1));
+        cachedValidator = TokenValidator.builder(keySource).build();
+        uncachedValidator = TokenValidator.builder(keySource).cacheSize(0).build();
+        token = issuer.issue("bench@example.com", 0b101L);
+    }
+
+    @Benchmark
+    public VerifiedToken validateCached() {
+        return cachedValidator.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken validateUncached() {
+        return uncachedValidator.verify(token);
+    }
+
+    @Benchmark
+    public String issue() {
+        return issuer.issue("bench@example.com", 0b101L);
+    }
+}
@@ -0,0 +1,100 @@
+package com.usermanagement.event.benchmarks;
+
+import com.usermanagement.event.UserEvent;
+import com.usermanagement.event.UserEventDeserializer;
+import com.usermanagement.event.UserEventSerializer;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the binary {@link UserEventSerializer} with the {@link JsonSerializer} the app used
+ * before, for a login event and a bulk role event of 100 users. The serialized sizes of each event
+ * are printed at setup; the JSON serializer also adds a {@code __TypeId__} header to every record.
+ *
+ * <pre>
+ * mvn -pl benchmarks -am package -DskipTests
+ * java -jar benchmarks/target/benchmarks.jar UserEventSerializationBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserEventSerializationBenchmark {
+
+    private static final String TOPIC = "user.login";
+
+    @Param({"login", "bulk-role"})
+    public String event;
+
+    private final JsonSerializer<UserEvent> jsonSerializer = new JsonSerializer<>();
+    private final JsonDeserializer<UserEvent> jsonDeserializer = new JsonDeserializer<>(UserEvent.class, false);
+    private final UserEventSerializer binarySerializer = new UserEventSerializer();
+    private final UserEventDeserializer binaryDeserializer = new UserEventDeserializer();
+
+    private UserEvent userEvent;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() {
+        UserEvent.UserEventBuilder builder = UserEvent.builder()
+                .userId(7_318_204_976_398_336_001L)
+                .email("jane.doe@example.com")
+                .timestamp(LocalDateTime.of(2026, 2, 19, 17, 0, 0));
+        if (event.equals("login")) {
+            builder.eventType(UserEvent.EventType.USER_LOGGED_IN.name());
+        } else {
+            List<Long> userIds = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                userIds.add(7_318_204_976_398_336_001L + i * 4_096L);
+            }
+            builder.eventType(UserEvent.EventType.ROLE_ASSIGNED.name()).roleName("ROLE_ADMIN").userIds(userIds);
+        }
+        userEvent = builder.build();
+        RecordHeaders headers = new RecordHeaders();
+        json = jsonSerializer.serialize(TOPIC, headers, userEvent);
+        binary = binarySerializer.serialize(TOPIC, userEvent);
+        System.out.printf("%n%s event: JSON %d bytes + %d byte type header, binary %d bytes%n",
+                event, json.length, headers.lastHeader("__TypeId__").value().length, binary.length);
+    }
+
+    @Benchmark
+    public byte[] serializeJson() {
+        return jsonSerializer.serialize(TOPIC, new RecordHeaders(), userEvent);
+    }
+
+    @Benchmark
+    public byte[] serializeBinary() {
+        return binarySerializer.serialize(TOPIC, userEvent);
+    }
+
+    @Benchmark
+    public UserEvent deserializeJson() {
+        return jsonDeserializer.deserialize(TOPIC, json);
+    }
+
+    @Benchmark
+    public UserEvent deserializeBinary() {
+        return binaryDeserializer.deserialize(TOPIC, binary);
+    }
+}
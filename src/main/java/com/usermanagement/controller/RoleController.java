@@ -1,36 +0,0 @@
-package com.usermanagement.controller;
-
-import com.usermanagement.dto.request.RoleRequest;
-import com.usermanagement.dto.response.ApiResponse;
-import com.usermanagement.dto.response.RoleResponse;
-import com.usermanagement.service.RoleService;
-import io.swagger.v3.oas.annotations.Operation;
-import io.swagger.v3.oas.annotations.security.SecurityRequirement;
-import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.web.bind.annotation.*;
-
-@RestController
-@RequestMapping("/api/roles")
-@RequiredArgsConstructor
-@Tag(name = "Role Management", description = "Role creation (ADMIN only)")
-public class RoleController {
-
-    private final RoleService roleService;
-
-    @PostMapping
-    @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Create a new role (ADMIN only)", description = "Creates a new role. Role names are auto-prefixed with ROLE_ if not present.", security = @SecurityRequirement(name = "bearerAuth"))
-    public ResponseEntity<ApiResponse<RoleResponse>> createRole(
-            @Valid @RequestBody RoleRequest request) {
-
-        RoleResponse roleResponse = roleService.createRole(request);
-        return ResponseEntity
-                .status(HttpStatus.CREATED)
-                .body(ApiResponse.success("Role created successfully", roleResponse));
-    }
-}
@@ -1,66 +0,0 @@
-package com.usermanagement.controller;
-
-import com.usermanagement.dto.request.AssignRoleRequest;
-import com.usermanagement.dto.request.LoginRequest;
-import com.usermanagement.dto.request.RegisterRequest;
-import com.usermanagement.dto.response.ApiResponse;
-import com.usermanagement.dto.response.AuthResponse;
-import com.usermanagement.dto.response.UserResponse;
-import com.usermanagement.service.UserService;
-import io.swagger.v3.oas.annotations.Operation;
-import io.swagger.v3.oas.annotations.security.SecurityRequirement;
-import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.web.bind.annotation.*;
-
-@RestController
-@RequestMapping("/api/users")
-@RequiredArgsConstructor
-@Tag(name = "User Management", description = "User registration, login, profile, and role assignment")
-public class UserController {
-
-    private final UserService userService;
-
-    @PostMapping("/register")
-    @Operation(summary = "Register a new user", description = "Creates a new user account and returns a JWT token")
-    public ResponseEntity<ApiResponse<AuthResponse>> register(
-            @Valid @RequestBody RegisterRequest request) {
-
-        AuthResponse authResponse = userService.register(request);
-        return ResponseEntity
-                .status(HttpStatus.CREATED)
-                .body(ApiResponse.success("User registered successfully", authResponse));
-    }
-
-    @PostMapping("/login")
-    @Operation(summary = "Login", description = "Authenticates user and returns a JWT token")
-    public ResponseEntity<ApiResponse<AuthResponse>> login(
-            @Valid @RequestBody LoginRequest request) {
-
-        AuthResponse authResponse = userService.login(request);
-        return ResponseEntity.ok(ApiResponse.success("Login successful", authResponse));
-    }
-
-    @GetMapping("/me")
-    @Operation(summary = "Get current user profile", description = "Returns the authenticated user's profile information", security = @SecurityRequirement(name = "bearerAuth"))
-    public ResponseEntity<ApiResponse<UserResponse>> getCurrentUser(Authentication authentication) {
-        UserResponse userResponse = userService.getCurrentUser(authentication.getName());
-        return ResponseEntity.ok(ApiResponse.success("User profile retrieved", userResponse));
-    }
-
-    @PostMapping("/{userId}/roles")
-    @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Assign role to user (ADMIN only)", description = "Assigns a role to a specific user. Requires ADMIN privileges.", security = @SecurityRequirement(name = "bearerAuth"))
-    public ResponseEntity<ApiResponse<UserResponse>> assignRole(
-            @PathVariable Long userId,
-            @Valid @RequestBody AssignRoleRequest request) {
-
-        UserResponse userResponse = userService.assignRole(userId, request);
-        return ResponseEntity.ok(ApiResponse.success("Role assigned successfully", userResponse));
-    }
-}
@@ -0,0 +1,39 @@
+package com.usermanagement.event;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String eventType;
+    private Long userId;
+    private String email;
+    private LocalDateTime timestamp;
+
+    /** Role and affected users of a bulk role change; {@code null} for single-user events. */
+    private String roleName;
+    private List<Long> userIds;
+
+    /** Logins of the user in one aggregation window and when the first and last happened; {@code null} for other events. */
+    private Integer loginCount;
+    private LocalDateTime firstLoginAt;
+    private LocalDateTime lastLoginAt;
+
+    public enum EventType {
+        USER_REGISTERED,
+        USER_LOGGED_IN,
+        ROLE_ASSIGNED,
+        ROLE_REVOKED,
+        USER_LOGIN_SUMMARY
+    }
+}
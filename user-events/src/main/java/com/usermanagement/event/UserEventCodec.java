@@ -0,0 +1,386 @@
+package com.usermanagement.event;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact, schema-versioned binary encoding of {@link UserEvent}.
+ * <pre>
+ * byte version | field* | byte 0
+ * field: varint key (field number &lt;&lt; 3 | wire type) | value
+ * wire type 0: varint; wire type 2: varint length | bytes
+ * </pre>
+ *
+ * <table>
+ * <caption>Fields</caption>
+ * <tr><th>#</th><th>Field</th><th>Encoding</th></tr>
+ * <tr><td>1</td><td>eventType</td><td>varint ordinal of {@link UserEvent.EventType}</td></tr>
+ * <tr><td>2</td><td>eventType</td><td>UTF-8 name, only for a type that is not an {@code EventType} constant</td></tr>
+ * <tr><td>3</td><td>userId</td><td>varint</td></tr>
+ * <tr><td>4</td><td>email</td><td>UTF-8</td></tr>
+ * <tr><td>5</td><td>timestamp</td><td>zigzag varint of epoch millis, reading the local date-time as UTC</td></tr>
+ * <tr><td>6</td><td>roleName</td><td>UTF-8</td></tr>
+ * <tr><td>7</td><td>userIds</td><td>length-delimited zigzag varints: the first ID, then the difference to the previous one</td></tr>
+ * <tr><td>8</td><td>loginCount</td><td>varint</td></tr>
+ * <tr><td>9</td><td>firstLoginAt</td><td>as timestamp</td></tr>
+ * <tr><td>10</td><td>lastLoginAt</td><td>as timestamp</td></tr>
+ * </table>
+ * {@code null} fields are left out. Timestamps keep millisecond precision.
+ *
+ * <p>Compatibility rules: a field number is never reused or given another encoding, and new fields
+ * get new numbers. Readers skip fields they do not know, so older readers accept events from newer
+ * writers, and newer readers see the fields older writers did not send as {@code null}.
+ * {@code EventType} constants are only ever appended. An ordinal the reader does not know decodes
+ * to a {@code null} event type, so readers should be upgraded before writers emit a new type. The
+ * version byte changes only for an incompatible change; readers reject versions they do not know.
+ *
+ * <p>Encoding writes into a caller-supplied array sized by {@link #sizeOf}, with no intermediate
+ * buffers; decoding allocates only the event and its field values.
+ */
+public final class UserEventCodec {
+
+    public static final byte VERSION = 1;
+
+    private static final int VARINT = 0;
+    private static final int LENGTH_DELIMITED = 2;
+
+    private static final int EVENT_TYPE = 1;
+    private static final int EVENT_TYPE_NAME = 2;
+    private static final int USER_ID = 3;
+    private static final int EMAIL = 4;
+    private static final int TIMESTAMP = 5;
+    private static final int ROLE_NAME = 6;
+    private static final int USER_IDS = 7;
+    private static final int LOGIN_COUNT = 8;
+    private static final int FIRST_LOGIN_AT = 9;
+    private static final int LAST_LOGIN_AT = 10;
+
+    private static final UserEvent.EventType[] EVENT_TYPES = UserEvent.EventType.values();
+
+    private UserEventCodec() {
+    }
+
+    public static byte[] encode(UserEvent event) {
+        byte[] bytes = new byte[sizeOf(event)];
+        encode(event, bytes, 0);
+        return bytes;
+    }
+
+    /** Exact number of bytes {@link #encode(UserEvent, byte[], int)} writes for {@code event}. */
+    public static int sizeOf(UserEvent event) {
+        int size = 2;
+        String eventType = event.getEventType();
+        if (eventType != null) {
+            int ordinal = ordinalOf(eventType);
+            size += 1 + (ordinal >= 0 ? varintSize(ordinal) : delimitedSize(utf8Length(eventType)));
+        }
+        if (event.getUserId() != null) {
+            size += 1 + varintSize(event.getUserId());
+        }
+        if (event.getEmail() != null) {
+            size += 1 + delimitedSize(utf8Length(event.getEmail()));
+        }
+        if (event.getTimestamp() != null) {
+            size += 1 + varintSize(zigZag(epochMillis(event.getTimestamp())));
+        }
+        if (event.getRoleName() != null) {
+            size += 1 + delimitedSize(utf8Length(event.getRoleName()));
+        }
+        if (event.getUserIds() != null) {
+            size += 1 + delimitedSize(userIdsSize(event.getUserIds()));
+        }
+        if (event.getLoginCount() != null) {
+            size += 1 + varintSize(event.getLoginCount());
+        }
+        if (event.getFirstLoginAt() != null) {
+            size += 1 + varintSize(zigZag(epochMillis(event.getFirstLoginAt())));
+        }
+        if (event.getLastLoginAt() != null) {
+            size += 1 + varintSize(zigZag(epochMillis(event.getLastLoginAt())));
+        }
+        return size;
+    }
+
+    /**
+     * Writes {@code event} at {@code offset}.
+     *
+     * @return the offset just after the event
+     */
+    public static int encode(UserEvent event, byte[] buffer, int offset) {
+        int position = offset;
+        buffer[position++] = VERSION;
+        String eventType = event.getEventType();
+        if (eventType != null) {
+            int ordinal = ordinalOf(eventType);
+            if (ordinal >= 0) {
+                position = writeKey(buffer, position, EVENT_TYPE, VARINT);
+                position = writeVarint(buffer, position, ordinal);
+            } else {
+                position = writeString(buffer, writeKey(buffer, position, EVENT_TYPE_NAME, LENGTH_DELIMITED), eventType);
+            }
+        }
+        if (event.getUserId() != null) {
+            position = writeVarint(buffer, writeKey(buffer, position, USER_ID, VARINT), event.getUserId());
+        }
+        if (event.getEmail() != null) {
+            position = writeString(buffer, writeKey(buffer, position, EMAIL, LENGTH_DELIMITED), event.getEmail());
+        }
+        if (event.getTimestamp() != null) {
+            position = writeVarint(buffer, writeKey(buffer, position, TIMESTAMP, VARINT), zigZag(epochMillis(event.getTimestamp())));
+        }
+        if (event.getRoleName() != null) {
+            position = writeString(buffer, writeKey(buffer, position, ROLE_NAME, LENGTH_DELIMITED), event.getRoleName());
+        }
+        if (event.getUserIds() != null) {
+            List<Long> userIds = event.getUserIds();
+            position = writeKey(buffer, position, USER_IDS, LENGTH_DELIMITED);
+            position = writeVarint(buffer, position, userIdsSize(userIds));
+            long previous = 0;
+            for (int i = 0; i < userIds.size(); i++) {
+                long id = userIds.get(i);
+                position = writeVarint(buffer, position, zigZag(id - previous));
+                previous = id;
+            }
+        }
+        if (event.getLoginCount() != null) {
+            position = writeVarint(buffer, writeKey(buffer, position, LOGIN_COUNT, VARINT), event.getLoginCount());
+        }
+        if (event.getFirstLoginAt() != null) {
+            position = writeVarint(buffer, writeKey(buffer, position, FIRST_LOGIN_AT, VARINT), zigZag(epochMillis(event.getFirstLoginAt())));
+        }
+        if (event.getLastLoginAt() != null) {
+            position = writeVarint(buffer, writeKey(buffer, position, LAST_LOGIN_AT, VARINT), zigZag(epochMillis(event.getLastLoginAt())));
+        }
+        buffer[position++] = 0;
+        return position;
+    }
+
+    public static UserEvent decode(byte[] bytes) {
+        return decode(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Reads an event from {@code length} bytes at {@code offset}.
+     *
+     * @throws IllegalArgumentException if the bytes are not an event of a known version
+     */
+    public static UserEvent decode(byte[] bytes, int offset, int length) {
+        Reader reader = new Reader(bytes, offset, offset + length);
+        int version = reader.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported UserEvent encoding version " + version);
+        }
+
+        UserEvent event = new UserEvent();
+        while (true) {
+            long key = reader.readVarint();
+            if (key == 0) {
+                return event;
+            }
+            int field = (int) (key >>> 3);
+            int wireType = (int) (key & 7);
+            switch (field) {
+                case EVENT_TYPE -> {
+                    long ordinal = reader.readVarint();
+                    event.setEventType(ordinal >= 0 && ordinal < EVENT_TYPES.length ? EVENT_TYPES[(int) ordinal].name() : null);
+                }
+                case EVENT_TYPE_NAME -> event.setEventType(reader.readString());
+                case USER_ID -> event.setUserId(reader.readVarint());
+                case EMAIL -> event.setEmail(reader.readString());
+                case TIMESTAMP -> event.setTimestamp(reader.readTimestamp());
+                case ROLE_NAME -> event.setRoleName(reader.readString());
+                case USER_IDS -> event.setUserIds(reader.readUserIds());
+                case LOGIN_COUNT -> event.setLoginCount((int) reader.readVarint());
+                case FIRST_LOGIN_AT -> event.setFirstLoginAt(reader.readTimestamp());
+                case LAST_LOGIN_AT -> event.setLastLoginAt(reader.readTimestamp());
+                default -> reader.skip(wireType);
+            }
+        }
+    }
+
+    private static int ordinalOf(String eventType) {
+        for (UserEvent.EventType type : EVENT_TYPES) {
+            if (type.name().equals(eventType)) {
+                return type.ordinal();
+            }
+        }
+        return -1;
+    }
+
+    private static long epochMillis(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1000 + timestamp.getNano() / 1_000_000;
+    }
+
+    private static int userIdsSize(List<Long> userIds) {
+        int size = 0;
+        long previous = 0;
+        for (int i = 0; i < userIds.size(); i++) {
+            long id = userIds.get(i);
+            size += varintSize(zigZag(id - previous));
+            previous = id;
+        }
+        return size;
+    }
+
+    private static int delimitedSize(int length) {
+        return varintSize(length) + length;
+    }
+
+    private static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static int writeString(byte[] buffer, int position, String value) {
+        position = writeVarint(buffer, position, utf8Length(value));
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer[position++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xc0 | c >>> 6);
+                buffer[position++] = (byte) (0x80 | c & 0x3f);
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer[position++] = (byte) (0xf0 | codePoint >>> 18);
+                buffer[position++] = (byte) (0x80 | codePoint >>> 12 & 0x3f);
+                buffer[position++] = (byte) (0x80 | codePoint >>> 6 & 0x3f);
+                buffer[position++] = (byte) (0x80 | codePoint & 0x3f);
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired, so not encodable; replaced like String.getBytes does
+                buffer[position++] = '?';
+            } else {
+                buffer[position++] = (byte) (0xe0 | c >>> 12);
+                buffer[position++] = (byte) (0x80 | c >>> 6 & 0x3f);
+                buffer[position++] = (byte) (0x80 | c & 0x3f);
+            }
+        }
+        return position;
+    }
+
+    /** Single-byte key, which holds field numbers up to 15; readers accept longer varint keys. */
+    private static int writeKey(byte[] buffer, int position, int field, int wireType) {
+        buffer[position] = (byte) (field << 3 | wireType);
+        return position + 1;
+    }
+
+    private static int writeVarint(byte[] buffer, int position, long value) {
+        while ((value & ~0x7fL) != 0) {
+            buffer[position++] = (byte) (value & 0x7f | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+
+    private static int varintSize(long value) {
+        return value == 0 ? 1 : (64 - Long.numberOfLeadingZeros(value) + 6) / 7;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Reader {
+
+        private final byte[] bytes;
+        private final int limit;
+        private int position;
+
+        Reader(byte[] bytes, int position, int limit) {
+            this.bytes = bytes;
+            this.position = position;
+            this.limit = limit;
+        }
+
+        int readByte() {
+            require(1);
+            return bytes[position++];
+        }
+
+        long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7f) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in UserEvent");
+        }
+
+        LocalDateTime readTimestamp() {
+            long millis = unZigZag(readVarint());
+            return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000), (int) Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC);
+        }
+
+        String readString() {
+            int length = readLength();
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        List<Long> readUserIds() {
+            int end = readLength() + position;
+            List<Long> userIds = new ArrayList<>();
+            long previous = 0;
+            while (position < end) {
+                previous += unZigZag(readVarint());
+                userIds.add(previous);
+            }
+            if (position != end) {
+                throw new IllegalArgumentException("Malformed user IDs in UserEvent");
+            }
+            return userIds;
+        }
+
+        void skip(int wireType) {
+            switch (wireType) {
+                case VARINT -> readVarint();
+                case LENGTH_DELIMITED -> {
+                    int length = readLength();
+                    position += length;
+                }
+                default -> throw new IllegalArgumentException("Unknown wire type " + wireType + " in UserEvent");
+            }
+        }
+
+        private int readLength() {
+            long length = readVarint();
+            if (length < 0 || length > limit - position) {
+                throw new IllegalArgumentException("Truncated UserEvent");
+            }
+            return (int) length;
+        }
+
+        private void require(int count) {
+            if (limit - position < count) {
+                throw new IllegalArgumentException("Truncated UserEvent");
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.usermanagement.event;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/** Kafka {@link Deserializer} reading {@link UserEvent}s in the {@link UserEventCodec} format. */
+public class UserEventDeserializer implements Deserializer<UserEvent> {
+
+    @Override
+    public UserEvent deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return UserEventCodec.decode(data);
+        } catch (IllegalArgumentException ex) {
+            throw new SerializationException("Could not decode user event from " + topic, ex);
+        }
+    }
+}
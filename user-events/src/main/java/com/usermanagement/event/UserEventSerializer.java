@@ -0,0 +1,12 @@
+package com.usermanagement.event;
+
+import org.apache.kafka.common.serialization.Serializer;
+
+/** Kafka {@link Serializer} writing {@link UserEvent}s in the {@link UserEventCodec} format. */
+public class UserEventSerializer implements Serializer<UserEvent> {
+
+    @Override
+    public byte[] serialize(String topic, UserEvent event) {
+        return event != null ? UserEventCodec.encode(event) : null;
+    }
+}
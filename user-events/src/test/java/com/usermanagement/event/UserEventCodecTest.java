@@ -0,0 +1,88 @@
+package com.usermanagement.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserEventCodecTest {
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2026, 2, 19, 17, 0, 0, 123_000_000);
+
+    @Test
+    @DisplayName("Every field round-trips, including bulk user IDs in any order and non-ASCII text")
+    void shouldRoundTripAllFields() {
+        UserEvent event = UserEvent.builder()
+                .eventType("ROLE_ASSIGNED")
+                .userId(7_318_204_976_398_336_001L)
+                .email("jöse+😀@example.com")
+                .timestamp(TIMESTAMP)
+                .roleName("ROLE_ADMIN")
+                .userIds(List.of(7_318_204_976_398_336_001L, 7_318_204_976_398_336_000L, 1L))
+                .loginCount(12)
+                .firstLoginAt(TIMESTAMP.minusMinutes(1))
+                .lastLoginAt(TIMESTAMP)
+                .build();
+
+        byte[] bytes = UserEventCodec.encode(event);
+        UserEvent decoded = UserEventCodec.decode(bytes);
+
+        assertThat(bytes).hasSize(UserEventCodec.sizeOf(event));
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(event);
+    }
+
+    @Test
+    @DisplayName("Null fields are left out, and an event type outside the enum is kept by name")
+    void shouldHandleAbsentFieldsAndUnknownTypes() {
+        UserEvent empty = UserEventCodec.decode(UserEventCodec.encode(new UserEvent()));
+        assertThat(empty).usingRecursiveComparison().isEqualTo(new UserEvent());
+
+        UserEvent custom = UserEvent.builder().eventType("PASSWORD_CHANGED").userId(5L).build();
+        assertThat(UserEventCodec.decode(UserEventCodec.encode(custom)).getEventType()).isEqualTo("PASSWORD_CHANGED");
+    }
+
+    @Test
+    @DisplayName("Readers skip fields from newer writers and reject unknown versions or truncated input")
+    void shouldSkipUnknownFieldsAndRejectMalformedInput() {
+        byte[] bytes = UserEventCodec.encode(UserEvent.builder().eventType("USER_LOGGED_IN").userId(42L).build());
+        // Field 15 as a varint and field 16 as two bytes, spliced in before the end marker
+        byte[] newer = Arrays.copyOf(bytes, bytes.length + 8);
+        System.arraycopy(new byte[]{15 << 3, (byte) 0x96, 0x01, (byte) 0x82, 0x01, 2, 'h', 'i'}, 0, newer, bytes.length - 1, 8);
+
+        UserEvent decoded = UserEventCodec.decode(newer);
+        assertThat(decoded.getEventType()).isEqualTo("USER_LOGGED_IN");
+        assertThat(decoded.getUserId()).isEqualTo(42L);
+
+        byte[] nextVersion = bytes.clone();
+        nextVersion[0] = 2;
+        assertThatThrownBy(() -> UserEventCodec.decode(nextVersion)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> UserEventCodec.decode(bytes, 0, bytes.length - 2)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("A login event is several times smaller than its JSON")
+    void shouldBeSmallerThanJson() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        UserEvent login = UserEvent.builder()
+                .eventType("USER_LOGGED_IN")
+                .userId(7_318_204_976_398_336_001L)
+                .email("jane.doe@example.com")
+                .timestamp(TIMESTAMP)
+                .build();
+
+        int json = objectMapper.writeValueAsBytes(login).length;
+        int binary = UserEventCodec.encode(login).length;
+
+        assertThat(binary).isLessThan(json / 3);
+    }
+}
@@ -0,0 +1,180 @@
+package com.usermanagement.cache;
+
+import com.usermanagement.dto.response.UserResponse;
+import com.usermanagement.security.RoleAuthorityRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Spring {@link Cache} of {@link UserResponse}s keyed by email, stored off-heap in an
+ * {@link OffHeapSlabStore}. A profile is encoded into 32 bytes plus its username:
+ * <pre>
+ * long id | long version | long createdAt (epoch millis, UTC) | long role mask | username (UTF-8)
+ * </pre>
+ * The email is the key and is not stored twice. Roles are stored by their bit in the JWT role
+ * mask, which never changes once assigned. Profiles are decoded to a fresh {@code UserResponse}
+ * on every hit.
+ *
+ * <p>Profiles that cannot be encoded faithfully, because a role has no bit or the key is not the
+ * profile's email, are not cached. {@code createdAt} keeps millisecond precision.
+ */
+public class OffHeapProfileCache implements Cache {
+
+    private static final int FIXED_SIZE = 4 * Long.BYTES;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private record Decoded(UserResponse user, long roleMask) {
+    }
+
+    private final String name;
+    private final OffHeapSlabStore store;
+    private final RoleAuthorityRegistry roleAuthorityRegistry;
+
+    public OffHeapProfileCache(String name, OffHeapSlabStore store, RoleAuthorityRegistry roleAuthorityRegistry) {
+        this.name = name;
+        this.store = store;
+        this.roleAuthorityRegistry = roleAuthorityRegistry;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public OffHeapSlabStore getNativeCache() {
+        return store;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        UserResponse user = lookup(key);
+        return user != null ? new SimpleValueWrapper(user) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        UserResponse user = lookup(key);
+        if (user != null && type != null && !type.isInstance(user)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + user);
+        }
+        return (T) user;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        UserResponse cached = lookup(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+        T loaded;
+        try {
+            loaded = valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        put(key, loaded);
+        return loaded;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (!(value instanceof UserResponse user)) {
+            if (value != null) {
+                throw new IllegalArgumentException("Only UserResponse values can be cached in '" + name + "', got " + value.getClass());
+            }
+            evict(key);
+            return;
+        }
+        byte[] encoded = encode(keyOf(key), user);
+        if (encoded == null) {
+            evict(key);
+            return;
+        }
+        store.put(keyBytes(key), encoded);
+    }
+
+    @Override
+    public void evict(Object key) {
+        store.remove(keyBytes(key));
+    }
+
+    @Override
+    public void clear() {
+        store.clear();
+    }
+
+    private UserResponse lookup(Object key) {
+        String email = keyOf(key);
+        Decoded decoded = store.get(email.getBytes(StandardCharsets.UTF_8), (slab, offset, length) -> decode(email, slab, offset, length));
+        if (decoded == null) {
+            return null;
+        }
+        // Resolved outside the store's lock, since an unknown bit reloads the roles
+        Set<String> roles = roleAuthorityRegistry.roleNamesOf(decoded.roleMask());
+        if (roles == null) {
+            return null;
+        }
+        decoded.user().setRoles(roles);
+        return decoded.user();
+    }
+
+    private byte[] encode(String email, UserResponse user) {
+        if (user.getId() == null || !email.equals(user.getEmail())) {
+            return null;
+        }
+        long roleMask = 0;
+        if (user.getRoles() != null) {
+            for (String role : user.getRoles()) {
+                long bit = roleAuthorityRegistry.bitOf(role);
+                if (bit == 0) {
+                    return null;
+                }
+                roleMask |= bit;
+            }
+        }
+        byte[] username = user.getUsername() != null ? user.getUsername().getBytes(StandardCharsets.UTF_8) : new byte[0];
+        return ByteBuffer.allocate(FIXED_SIZE + username.length)
+                .putLong(user.getId())
+                .putLong(user.getVersion())
+                .putLong(user.getCreatedAt() != null ? user.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli() : NO_TIMESTAMP)
+                .putLong(roleMask)
+                .put(username)
+                .array();
+    }
+
+    private static Decoded decode(String email, ByteBuffer slab, int offset, int length) {
+        long createdAt = slab.getLong(offset + 2 * Long.BYTES);
+        byte[] username = new byte[length - FIXED_SIZE];
+        slab.get(offset + FIXED_SIZE, username);
+        UserResponse user = UserResponse.builder()
+                .id(slab.getLong(offset))
+                .version(slab.getLong(offset + Long.BYTES))
+                .createdAt(createdAt == NO_TIMESTAMP ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(createdAt), ZoneOffset.UTC))
+                .username(new String(username, StandardCharsets.UTF_8))
+                .email(email)
+                .build();
+        return new Decoded(user, slab.getLong(offset + 3 * Long.BYTES));
+    }
+
+    private String keyOf(Object key) {
+        if (!(key instanceof String email)) {
+            throw new IllegalArgumentException("Cache '" + name + "' is keyed by email, got " + key);
+        }
+        return email;
+    }
+
+    private byte[] keyBytes(Object key) {
+        return keyOf(key).getBytes(StandardCharsets.UTF_8);
+    }
+}
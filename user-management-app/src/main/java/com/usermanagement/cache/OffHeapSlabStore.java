@@ -0,0 +1,317 @@
+package com.usermanagement.cache;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Byte-array key/value store in direct memory with a fixed budget. Memory is split into slabs of
+ * equal size, allocated on first use. Entries are appended to the current slab; overwriting or
+ * removing an entry only marks it dead. Once every slab is in use, the clock hand picks the next
+ * slab and compacts it in place: entries read since the hand last passed get a second chance and
+ * move down, the others are evicted. Each slab is one direct buffer, so the heap only sees the
+ * buffers and the index, however many entries there are.
+ *
+ * <p>The index is an open-addressing table of 64-bit key hashes and entry addresses with linear
+ * probing, held in two {@code long} arrays. Keys are stored with their entries and compared on
+ * lookup, so hash collisions cannot return another key's value.
+ *
+ * <p>Reads take a shared lock and writes an exclusive one. A read marks its entry as referenced
+ * with a single byte write, which needs no exclusion.
+ *
+ * <p>Entry layout: {@code int length | byte flags | long hash | short keyLength | key | value}.
+ */
+public class OffHeapSlabStore {
+
+    /** Decodes a value in place, without copying it to the heap first. */
+    @FunctionalInterface
+    public interface ValueReader<T> {
+        T read(ByteBuffer slab, int offset, int length);
+    }
+
+    /** Entries, direct memory taken by slabs, bytes written into them (including dead entries), and evictions. */
+    public record Stats(int entries, long allocatedBytes, long usedBytes, long evictions) {
+    }
+
+    private static final int HEADER_SIZE = Integer.BYTES + 1 + Long.BYTES + Short.BYTES;
+    private static final int FLAGS_OFFSET = Integer.BYTES;
+    private static final int HASH_OFFSET = FLAGS_OFFSET + 1;
+    private static final int KEY_LENGTH_OFFSET = HASH_OFFSET + Long.BYTES;
+    private static final byte LIVE = 1;
+    private static final byte REFERENCED = 2;
+
+    private final int slabSize;
+    private final ByteBuffer[] slabs;
+    private final int[] slabEnds;
+    private int allocatedSlabs;
+    private int head = -1;
+    private int hand;
+
+    private final int maxEntries;
+    private final long[] hashes;
+    private final long[] addresses;
+    private final int indexMask;
+    private int size;
+    private long evictions;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * @param memoryBudget direct memory to use at most, rounded down to whole slabs
+     * @param slabSize     bytes per slab; also the largest entry that can be stored
+     * @param maxEntries   entries to hold at most; sizes the index at twice that many slots
+     */
+    public OffHeapSlabStore(long memoryBudget, int slabSize, int maxEntries) {
+        int slabCount = (int) Math.min(memoryBudget / slabSize, Integer.MAX_VALUE);
+        if (slabCount < 1 || maxEntries < 1) {
+            throw new IllegalArgumentException("Memory budget must hold at least one slab of " + slabSize + " bytes");
+        }
+        this.slabSize = slabSize;
+        this.slabs = new ByteBuffer[slabCount];
+        this.slabEnds = new int[slabCount];
+        this.maxEntries = maxEntries;
+        int capacity = Integer.highestOneBit(Math.max(maxEntries, 2) * 2 - 1) << 1;
+        this.hashes = new long[capacity];
+        this.addresses = new long[capacity];
+        this.indexMask = capacity - 1;
+    }
+
+    /** 64-bit hash of a key, never {@code 0}, which marks an empty index slot. */
+    public static long hash(byte[] key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key) {
+            h = (h ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h == 0 ? 1 : h;
+    }
+
+    public <T> T get(byte[] key, ValueReader<T> reader) {
+        long hash = hash(key);
+        lock.readLock().lock();
+        try {
+            int slot = find(hash, key);
+            if (slot < 0) {
+                return null;
+            }
+            ByteBuffer slab = slabs[slabOf(addresses[slot])];
+            int offset = offsetOf(addresses[slot]);
+            slab.put(offset + FLAGS_OFFSET, (byte) (LIVE | REFERENCED));
+            int valueOffset = offset + HEADER_SIZE + key.length;
+            return reader.read(slab, valueOffset, slab.getInt(offset) - HEADER_SIZE - key.length);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stores {@code value} under {@code key}, replacing any previous value and evicting as needed.
+     *
+     * @return {@code false} if the entry is larger than a slab and was not stored
+     */
+    public boolean put(byte[] key, byte[] value) {
+        int length = HEADER_SIZE + key.length + value.length;
+        if (length > slabSize || key.length > Short.MAX_VALUE) {
+            remove(key);
+            return false;
+        }
+        long hash = hash(key);
+        lock.writeLock().lock();
+        try {
+            int existing = find(hash, key);
+            if (existing >= 0) {
+                markDead(addresses[existing]);
+                removeAt(existing);
+            }
+            while (size >= maxEntries) {
+                reclaim(advanceHand());
+            }
+
+            long address = allocate(length);
+            ByteBuffer slab = slabs[slabOf(address)];
+            int offset = offsetOf(address);
+            slab.putInt(offset, length);
+            slab.put(offset + FLAGS_OFFSET, LIVE);
+            slab.putLong(offset + HASH_OFFSET, hash);
+            slab.putShort(offset + KEY_LENGTH_OFFSET, (short) key.length);
+            slab.put(offset + HEADER_SIZE, key);
+            slab.put(offset + HEADER_SIZE + key.length, value);
+            insert(hash, address);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(byte[] key) {
+        long hash = hash(key);
+        lock.writeLock().lock();
+        try {
+            int slot = find(hash, key);
+            if (slot >= 0) {
+                markDead(addresses[slot]);
+                removeAt(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Drops every entry; allocated slabs are kept for reuse. */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            Arrays.fill(hashes, 0);
+            Arrays.fill(slabEnds, 0);
+            size = 0;
+            head = allocatedSlabs > 0 ? 0 : -1;
+            hand = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Stats stats() {
+        lock.readLock().lock();
+        try {
+            long used = 0;
+            for (int i = 0; i < allocatedSlabs; i++) {
+                used += slabEnds[i];
+            }
+            return new Stats(size, (long) allocatedSlabs * slabSize, used, evictions);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long allocate(int length) {
+        while (true) {
+            if (head >= 0 && slabEnds[head] + length <= slabSize) {
+                long address = addressOf(head, slabEnds[head]);
+                slabEnds[head] += length;
+                return address;
+            }
+            if (allocatedSlabs < slabs.length) {
+                head = allocatedSlabs++;
+                slabs[head] = ByteBuffer.allocateDirect(slabSize);
+            } else {
+                // Every entry gets cleared on the first pass, so at most two turns of the hand free enough room
+                head = advanceHand();
+                reclaim(head);
+            }
+        }
+    }
+
+    private int advanceHand() {
+        int victim = hand;
+        hand = (hand + 1) % allocatedSlabs;
+        return victim;
+    }
+
+    /** Compacts a slab: referenced entries move down with their bit cleared, the rest are evicted. */
+    private void reclaim(int slabIndex) {
+        ByteBuffer slab = slabs[slabIndex];
+        int end = slabEnds[slabIndex];
+        int write = 0;
+        for (int read = 0; read < end; ) {
+            int length = slab.getInt(read);
+            byte flags = slab.get(read + FLAGS_OFFSET);
+            if ((flags & LIVE) != 0) {
+                int slot = slotOf(slab.getLong(read + HASH_OFFSET), addressOf(slabIndex, read));
+                if ((flags & REFERENCED) != 0) {
+                    if (write != read) {
+                        slab.put(write, slab, read, length);
+                    }
+                    slab.put(write + FLAGS_OFFSET, LIVE);
+                    addresses[slot] = addressOf(slabIndex, write);
+                    write += length;
+                } else {
+                    removeAt(slot);
+                    evictions++;
+                }
+            }
+            read += length;
+        }
+        slabEnds[slabIndex] = write;
+    }
+
+    private void markDead(long address) {
+        slabs[slabOf(address)].put(offsetOf(address) + FLAGS_OFFSET, (byte) 0);
+    }
+
+    private int find(long hash, byte[] key) {
+        for (int slot = home(hash); hashes[slot] != 0; slot = (slot + 1) & indexMask) {
+            if (hashes[slot] == hash && keyEquals(addresses[slot], key)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private int slotOf(long hash, long address) {
+        int slot = home(hash);
+        while (hashes[slot] != hash || addresses[slot] != address) {
+            slot = (slot + 1) & indexMask;
+        }
+        return slot;
+    }
+
+    private void insert(long hash, long address) {
+        int slot = home(hash);
+        while (hashes[slot] != 0) {
+            slot = (slot + 1) & indexMask;
+        }
+        hashes[slot] = hash;
+        addresses[slot] = address;
+        size++;
+    }
+
+    /** Backward-shift deletion: moves later entries of the probe run into the gap, so no tombstones are needed. */
+    private void removeAt(int slot) {
+        int gap = slot;
+        for (int next = (gap + 1) & indexMask; hashes[next] != 0; next = (next + 1) & indexMask) {
+            int home = home(hashes[next]);
+            if (((next - home) & indexMask) >= ((next - gap) & indexMask)) {
+                hashes[gap] = hashes[next];
+                addresses[gap] = addresses[next];
+                gap = next;
+            }
+        }
+        hashes[gap] = 0;
+        size--;
+    }
+
+    private boolean keyEquals(long address, byte[] key) {
+        ByteBuffer slab = slabs[slabOf(address)];
+        int offset = offsetOf(address);
+        if (slab.getShort(offset + KEY_LENGTH_OFFSET) != key.length) {
+            return false;
+        }
+        int keyOffset = offset + HEADER_SIZE;
+        for (int i = 0; i < key.length; i++) {
+            if (slab.get(keyOffset + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int home(long hash) {
+        return (int) (hash ^ (hash >>> 32)) & indexMask;
+    }
+
+    private static long addressOf(int slab, int offset) {
+        return ((long) slab << 32) | offset;
+    }
+
+    private static int slabOf(long address) {
+        return (int) (address >>> 32);
+    }
+
+    private static int offsetOf(long address) {
+        return (int) address;
+    }
+}
@@ -0,0 +1,275 @@
+package com.usermanagement.changes;
+
+import com.usermanagement.entity.id.SnowflakeIdGenerator;
+import com.usermanagement.exception.TooManyRequestsException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans committed {@link UserChange}s out to Server-Sent Events subscribers.
+ * <p>
+ * Each change gets a sequence number when its transaction commits. The number is a Snowflake ID
+ * taken under the publishing lock, so it only grows, it is the event ID, and it records the
+ * commit time and this instance's node ID. The change's audit entry ID travels with it. The last
+ * {@code ringSize} changes are kept in a ring. A subscriber resuming from a {@code Last-Event-ID}
+ * this instance sent that is still in the ring is sent the changes after it, from memory.
+ * <p>
+ * Any other position, whether older than the ring, from another instance or from before a
+ * restart, is read back from the audit table, on every shard. Audit IDs are taken when the entry
+ * is written, up to {@code commitWindow} before its commit, so the read starts one commit window
+ * before the position's commit time. Some of these changes the subscriber has seen already, so
+ * applying a change twice must be harmless. They are sent with the position they were resumed from
+ * as their event ID. More than {@code fallbackLimit} of them gets a {@code reset} event instead,
+ * and the subscriber should reload everything it caches.
+ * <p>
+ * Publishing only appends to each subscriber's bounded queue. Each subscriber's queue is drained
+ * by its own sender task, so a slow client never holds up the transaction that made the change.
+ * A subscriber whose queue is full is disconnected and can resume from its last event. Live
+ * changes, and so the ring, are only those committed through this instance.
+ */
+@Slf4j
+public class ChangeStream implements Closeable {
+
+    static final String CHANGE_EVENT = "change";
+    static final String RESET_EVENT = "reset";
+
+    /** Reads committed changes with audit IDs above {@code after} from durable storage, in ID order. */
+    @FunctionalInterface
+    public interface ChangeLog {
+        List<UserChange> readAfter(long after, int limit);
+    }
+
+    private final ChangeLog changeLog;
+    private final SnowflakeIdGenerator sequences;
+    private final UserChange[] ring;
+    private final long commitWindowMillis;
+    private final int subscriberQueueSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final int fallbackLimit;
+    private final ExecutorService sender;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong droppedSubscribers = new AtomicLong();
+
+    /** Guarded by {@code this}. */
+    private long published;
+
+    public ChangeStream(ChangeStreamProperties properties, ChangeLog changeLog, SnowflakeIdGenerator sequences) {
+        this.changeLog = changeLog;
+        this.sequences = sequences;
+        this.ring = new UserChange[properties.getRingSize()];
+        this.commitWindowMillis = properties.getCommitWindow().toMillis();
+        this.subscriberQueueSize = properties.getSubscriberQueueSize();
+        this.maxSubscribers = properties.getMaxSubscribers();
+        this.timeoutMillis = properties.getTimeout().toMillis();
+        this.fallbackLimit = properties.getFallbackLimit();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sender = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "change-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** Publishes the change once the current transaction commits, or at once outside a transaction. */
+    public void publishAfterCommit(UserChange change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(change);
+            }
+        });
+    }
+
+    public void publish(UserChange change) {
+        // Sequencing and fan-out share the lock, so every subscriber sees changes in sequence order
+        synchronized (this) {
+            UserChange sequenced = change.withSequence(sequences.nextId());
+            ring[(int) (published++ % ring.length)] = sequenced;
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(sequenced);
+            }
+        }
+    }
+
+    /**
+     * Opens a stream of changes after {@code lastEventId}, or of new changes only when it is {@code null}.
+     *
+     * @throws TooManyRequestsException if {@code maxSubscribers} streams are already open
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        return subscribe(lastEventId, new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(Long lastEventId, SseEmitter emitter) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new TooManyRequestsException("Too many change stream subscribers", Duration.ofSeconds(30));
+        }
+        Subscriber subscriber = new Subscriber(emitter);
+        List<UserChange> recent;
+        // Subscribed together with the ring snapshot, so no change is missed or sent twice in between
+        synchronized (this) {
+            subscribers.add(subscriber);
+            recent = lastEventId != null ? ringSnapshot() : List.of();
+        }
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+
+        if (lastEventId != null) {
+            subscriber.backlog = backlog(lastEventId, recent);
+        }
+        sender.execute(subscriber);
+        return emitter;
+    }
+
+    public int subscribers() {
+        return subscribers.size();
+    }
+
+    public long droppedSubscribers() {
+        return droppedSubscribers.get();
+    }
+
+    @Override
+    public void close() {
+        sender.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    /** Events to send before live changes: what the subscriber missed, or a reset if that is too much. */
+    private List<SseEmitter.SseEventBuilder> backlog(long lastEventId, List<UserChange> recent) {
+        if (inRing(lastEventId, recent)) {
+            return recent.stream()
+                    .filter(change -> change.sequence() > lastEventId)
+                    .map(ChangeStream::event)
+                    .toList();
+        }
+        List<UserChange> missed = changeLog.readAfter(watermark(lastEventId), fallbackLimit);
+        if (missed.size() >= fallbackLimit) {
+            log.info("Change stream subscriber at {} is more than {} changes behind, sending a reset", lastEventId, fallbackLimit);
+            return List.of(SseEmitter.event().name(RESET_EVENT).data(""));
+        }
+        String position = Long.toString(lastEventId);
+        return missed.stream().map(change -> event(change, position)).toList();
+    }
+
+    /** Whether every change this instance committed after {@code lastEventId} is still in the ring. */
+    private boolean inRing(long lastEventId, List<UserChange> recent) {
+        return !recent.isEmpty()
+                && SnowflakeIdGenerator.nodeIdOf(lastEventId) == sequences.getNodeId()
+                && lastEventId >= recent.get(0).sequence()
+                && lastEventId <= recent.get(recent.size() - 1).sequence();
+    }
+
+    /** The highest audit ID below every change that may have committed after the change sent as {@code lastEventId}. */
+    long watermark(long lastEventId) {
+        long since = SnowflakeIdGenerator.timestampOf(lastEventId) - commitWindowMillis;
+        return since <= SnowflakeIdGenerator.EPOCH_MILLIS ? 0 : SnowflakeIdGenerator.firstIdAt(since) - 1;
+    }
+
+    /** The ring's contents, oldest first. Called holding the lock. */
+    private List<UserChange> ringSnapshot() {
+        int size = (int) Math.min(published, ring.length);
+        List<UserChange> snapshot = new ArrayList<>(size);
+        for (long i = published - size; i < published; i++) {
+            snapshot.add(ring[(int) (i % ring.length)]);
+        }
+        return snapshot;
+    }
+
+    private static SseEmitter.SseEventBuilder event(UserChange change) {
+        return event(change, Long.toString(change.sequence()));
+    }
+
+    private static SseEmitter.SseEventBuilder event(UserChange change, String id) {
+        return SseEmitter.event()
+                .id(id)
+                .name(CHANGE_EVENT)
+                .data(change, MediaType.APPLICATION_JSON);
+    }
+
+    private void drop(Subscriber subscriber, String reason) {
+        if (subscribers.remove(subscriber)) {
+            droppedSubscribers.incrementAndGet();
+            log.warn("Disconnecting change stream subscriber: {}", reason);
+            subscriber.closed = true;
+            subscriber.emitter.complete();
+        }
+    }
+
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<UserChange> queue = new ArrayBlockingQueue<>(subscriberQueueSize);
+        /** Starts set, so changes published while the backlog is prepared wait behind it. */
+        private final AtomicBoolean draining = new AtomicBoolean(true);
+        private volatile List<SseEmitter.SseEventBuilder> backlog;
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /** Never blocks; a subscriber with a full queue is dropped. */
+        void offer(UserChange change) {
+            if (!queue.offer(change)) {
+                drop(this, "more than " + subscriberQueueSize + " changes behind");
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                do {
+                    List<SseEmitter.SseEventBuilder> pending = backlog;
+                    if (pending != null) {
+                        backlog = null;
+                        for (SseEmitter.SseEventBuilder event : pending) {
+                            emitter.send(event);
+                        }
+                    }
+                    UserChange change;
+                    while (!closed && (change = queue.poll()) != null) {
+                        emitter.send(event(change));
+                    }
+                    draining.set(false);
+                } while (!closed && !queue.isEmpty() && draining.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException ex) {
+                // The client went away or the stream was completed
+                subscribers.remove(this);
+                closed = true;
+                draining.set(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.usermanagement.changes;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/** The admin change stream, bound from {@code app.changes.stream}. */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.changes.stream")
+public class ChangeStreamProperties {
+
+    /** Recent changes kept in memory for subscribers resuming with {@code Last-Event-ID}. */
+    private int ringSize = 10_000;
+
+    /**
+     * Longest a transaction takes from writing its audit entry to committing. A subscriber resuming
+     * from a position older than the ring is resent changes this much older than it, so a late
+     * commit is not skipped.
+     */
+    private Duration commitWindow = Duration.ofSeconds(30);
+
+    /** Changes buffered per subscriber; a subscriber that falls further behind is disconnected. */
+    private int subscriberQueueSize = 1_000;
+
+    private int maxSubscribers = 100;
+
+    /** Streams are closed after this long; clients reconnect with {@code Last-Event-ID}. */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /**
+     * Most changes read back from the audit table for a position older than the ring. A client
+     * further behind than that is sent a {@code reset} event instead.
+     */
+    private int fallbackLimit = 10_000;
+}
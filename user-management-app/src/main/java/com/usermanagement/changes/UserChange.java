@@ -0,0 +1,30 @@
+package com.usermanagement.changes;
+
+import com.usermanagement.entity.AuditLog;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * A committed change to a user or their roles, as sent on the change stream. Every change is an
+ * audit entry of one of the {@link #TYPES}, identified by the entry's {@code id}; {@code sequence}
+ * is its place in the stream, or {@code 0} when it is read back from the audit table.
+ * {@code email} is the user it concerns, or {@code null} for bulk role changes, whose
+ * {@code details} name the role and the range of user IDs.
+ */
+public record UserChange(long sequence, long id, String type, String email, String performedBy, String details,
+                         LocalDateTime timestamp) {
+
+    /** Audit actions that change what downstream caches hold about a user. */
+    public static final Set<String> TYPES = Set.of("USER_REGISTERED", "ROLE_ASSIGNED", "ROLE_ASSIGNED_BULK", "ROLE_REVOKED_BULK");
+
+    /** The change recorded by an audit entry, not yet sequenced. */
+    public static UserChange of(AuditLog auditLog) {
+        return new UserChange(0, auditLog.getId(), auditLog.getAction(), auditLog.getTargetUser(),
+                auditLog.getPerformedBy(), auditLog.getDetails(), auditLog.getTimestamp());
+    }
+
+    UserChange withSequence(long sequence) {
+        return new UserChange(sequence, id, type, email, performedBy, details, timestamp);
+    }
+}
@@ -0,0 +1,94 @@
+package com.usermanagement.config;
+
+import com.usermanagement.auth.token.FileKeySource;
+import com.usermanagement.auth.token.KeySource;
+import com.usermanagement.auth.token.RevocationCheck;
+import com.usermanagement.auth.token.SigningKeys;
+import com.usermanagement.auth.token.TokenIssuer;
+import com.usermanagement.auth.token.TokenValidator;
+import com.usermanagement.security.SigningKeyProperties;
+import io.jsonwebtoken.io.Decoders;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Wires the {@code auth-token} library. With {@code app.jwt.signing-keys.file} set, signing keys
+ * come from that file and are reloaded every {@code reload-interval}; retired keys keep verifying
+ * for one access-token lifetime. Otherwise tokens are signed with {@code app.jwt.secret} under key
+ * id {@code app.jwt.key-id}. Tokens issued before key ids were introduced carry no {@code kid} and
+ * verify against the active key. A {@link RevocationCheck} bean, if present, is consulted on every
+ * validation.
+ */
+@Configuration
+@EnableConfigurationProperties(SigningKeyProperties.class)
+public class AuthTokenConfig {
+
+    @Bean
+    public KeySource keySource(SigningKeyProperties properties,
+                               @Value("${app.jwt.secret}") String secret,
+                               @Value("${app.jwt.key-id:k1}") String keyId,
+                               @Value("${app.jwt.expiration-ms}") long expirationMs) throws IOException {
+        if (properties.getFile() != null) {
+            return new FileKeySource(properties.getFile(), Duration.ofMillis(expirationMs));
+        }
+        return KeySource.fixed(SigningKeys.single(keyId, Decoders.BASE64.decode(secret)));
+    }
+
+    @Bean
+    public TokenIssuer tokenIssuer(KeySource keySource, @Value("${app.jwt.expiration-ms}") long expirationMs) {
+        return new TokenIssuer(keySource, Duration.ofMillis(expirationMs));
+    }
+
+    @Bean
+    public TokenValidator tokenValidator(KeySource keySource, ObjectProvider<RevocationCheck> revocationCheck,
+                                         @Value("${app.jwt.validation-cache-size:10000}") long cacheSize) {
+        return TokenValidator.builder(keySource)
+                .revocationCheck(revocationCheck.getIfAvailable(() -> RevocationCheck.NONE))
+                .cacheSize(cacheSize)
+                .build();
+    }
+
+    /** Polls the key set file; a file that fails to load is logged and the previous keys stay in use. */
+    @Slf4j
+    @Configuration
+    @EnableScheduling
+    @RequiredArgsConstructor
+    static class SigningKeyReloadConfig implements SchedulingConfigurer {
+
+        private final KeySource keySource;
+        private final SigningKeyProperties properties;
+
+        @Override
+        public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+            if (keySource instanceof FileKeySource fileKeySource) {
+                taskRegistrar.addFixedDelayTask(new FixedDelayTask(() -> reload(fileKeySource),
+                        properties.getReloadInterval(), properties.getReloadInterval()));
+            }
+        }
+
+        private void reload(FileKeySource fileKeySource) {
+            try {
+                if (fileKeySource.reload()) {
+                    SigningKeys keys = fileKeySource.current();
+                    log.info("Reloaded signing keys from {}: active '{}', verifying {}",
+                            fileKeySource.path(), keys.activeKeyId(), keys.keyIds());
+                }
+            } catch (IOException | RuntimeException ex) {
+                log.error("Failed to reload signing keys from {}, keeping the current key set: {}",
+                        fileKeySource.path(), ex.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.usermanagement.config;
+
+import com.usermanagement.cache.OffHeapProfileCache;
+import com.usermanagement.cache.OffHeapSlabStore;
+import com.usermanagement.security.RoleAuthorityRegistry;
+import com.usermanagement.service.UserVersionIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties({UserEtagProperties.class, ProfileCacheProperties.class})
+public class CacheConfig {
+    // Uses Spring Boot's default ConcurrentMapCacheManager unless app.cache.profiles.off-heap is set
+
+    @Bean
+    public UserVersionIndex userVersionIndex(UserEtagProperties properties) {
+        return new UserVersionIndex(properties);
+    }
+
+    /**
+     * Keeps the {@code users} profiles in direct memory instead of as heap objects. Replaces the
+     * cache manager Spring Boot would configure, and {@code users} is its only cache.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.cache.profiles", name = "off-heap", havingValue = "true")
+    public CacheManager cacheManager(ProfileCacheProperties properties, RoleAuthorityRegistry roleAuthorityRegistry,
+                                     MeterRegistry meterRegistry) {
+        OffHeapSlabStore store = new OffHeapSlabStore(properties.getMemoryBudget().toBytes(),
+                (int) properties.getSlabSize().toBytes(), properties.getMaxEntries());
+        Gauge.builder("user.profile.cache.entries", store, s -> s.stats().entries())
+                .description("Profiles in the off-heap cache")
+                .register(meterRegistry);
+        Gauge.builder("user.profile.cache.memory", store, s -> s.stats().allocatedBytes())
+                .description("Direct memory allocated by the off-heap profile cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        FunctionCounter.builder("user.profile.cache.evictions", store, s -> s.stats().evictions())
+                .description("Profiles evicted to stay within the memory budget")
+                .register(meterRegistry);
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(new OffHeapProfileCache("users", store, roleAuthorityRegistry)));
+        return cacheManager;
+    }
+}
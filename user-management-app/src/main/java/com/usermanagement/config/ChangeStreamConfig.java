@@ -0,0 +1,54 @@
+package com.usermanagement.config;
+
+import com.usermanagement.changes.ChangeStream;
+import com.usermanagement.changes.ChangeStreamProperties;
+import com.usermanagement.changes.UserChange;
+import com.usermanagement.entity.AuditLog;
+import com.usermanagement.entity.id.SnowflakeIdGenerator;
+import com.usermanagement.repository.AuditLogRepository;
+import com.usermanagement.sharding.ShardExecutor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Limit;
+
+import java.util.Comparator;
+
+/**
+ * Creates the admin change stream. Its sequence numbers are Snowflake IDs with this instance's
+ * node ID. Positions older than its ring are read back from {@code audit_logs} on every shard,
+ * merged by ID. Open streams are published as the
+ * {@code changes.stream.subscribers} gauge, and subscribers disconnected for falling behind as
+ * {@code changes.stream.dropped}.
+ */
+@Configuration
+@EnableConfigurationProperties(ChangeStreamProperties.class)
+public class ChangeStreamConfig {
+
+    @Bean(destroyMethod = "close")
+    public ChangeStream changeStream(ChangeStreamProperties properties, AuditLogRepository auditLogRepository,
+                                     ShardExecutor shardExecutor, MeterRegistry meterRegistry,
+                                     @Value("${app.id.node-id}") long nodeId,
+                                     @Value("${app.id.max-drift-ms}") long maxDriftMillis) {
+        ChangeStream.ChangeLog changeLog = (after, limit) -> shardExecutor
+                .mergeSorted(() -> auditLogRepository.findByIdGreaterThanAndActionInOrderByIdAsc(
+                                after, UserChange.TYPES, Limit.of(limit)),
+                        Comparator.comparing(AuditLog::getId), limit)
+                .stream()
+                .map(UserChange::of)
+                .toList();
+
+        ChangeStream changeStream = new ChangeStream(properties, changeLog, new SnowflakeIdGenerator(nodeId, maxDriftMillis));
+        Gauge.builder("changes.stream.subscribers", changeStream, ChangeStream::subscribers)
+                .description("Open admin change streams")
+                .register(meterRegistry);
+        FunctionCounter.builder("changes.stream.dropped", changeStream, ChangeStream::droppedSubscribers)
+                .description("Change stream subscribers disconnected for falling behind")
+                .register(meterRegistry);
+        return changeStream;
+    }
+}
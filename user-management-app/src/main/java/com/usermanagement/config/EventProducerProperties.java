@@ -0,0 +1,45 @@
+package com.usermanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Tuning of the Kafka producer that publishes user events, bound from {@code app.events.producer}.
+ * Applied on top of {@code spring.kafka.producer}, so these values win.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.events.producer")
+public class EventProducerProperties {
+
+    /** Upper bound on a per-partition batch; a full batch is sent without waiting for {@code linger}. */
+    private DataSize batchSize = DataSize.ofKilobytes(64);
+
+    /** How long a record may wait for others to share its batch. */
+    private Duration linger = Duration.ofMillis(10);
+
+    /** Batch compression: {@code none}, {@code gzip}, {@code snappy}, {@code lz4} or {@code zstd}. */
+    private String compression = "lz4";
+
+    /** Broker-side de-duplication of retried sends; implies {@code acks=all}. */
+    private boolean idempotence = true;
+
+    /** Requests in flight per broker connection; at most 5 with idempotence, which still keeps order. */
+    private int maxInFlightRequests = 5;
+
+    /**
+     * How long {@code send} may block the caller waiting for metadata or buffer space before failing.
+     * Kept short so that a broker outage trips the event spool instead of stalling requests.
+     */
+    private Duration maxBlock = Duration.ofSeconds(2);
+
+    /** Time after which a sent record counts as failed, retries included; at least {@code linger} plus 30s. */
+    private Duration deliveryTimeout = Duration.ofMinutes(1);
+
+    /** Memory for records waiting to be sent; {@code send} blocks for up to {@code max-block} when it is full. */
+    private DataSize bufferMemory = DataSize.ofMegabytes(32);
+}
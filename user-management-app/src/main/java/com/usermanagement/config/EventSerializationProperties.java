@@ -0,0 +1,21 @@
+package com.usermanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/** Wire format of the user event topics, bound from {@code app.events.serialization}. */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.events.serialization")
+public class EventSerializationProperties {
+
+    /**
+     * Topics written in the compact binary {@code UserEventCodec} format; the others stay JSON. Add
+     * a topic only once all of its consumers read the binary format with {@code UserEventDeserializer}.
+     */
+    private Set<String> binaryTopics = new LinkedHashSet<>();
+}
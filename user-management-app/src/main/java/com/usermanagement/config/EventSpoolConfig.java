@@ -0,0 +1,100 @@
+package com.usermanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.usermanagement.event.EventSpool;
+import com.usermanagement.event.EventSpoolReplayer;
+import com.usermanagement.event.ProducerCircuitBreaker;
+import com.usermanagement.event.UserEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the producer circuit breaker and, unless {@code app.events.spool.enabled} is false, the
+ * event spool and its replayer. The spool is published as the {@code events.spool.bytes} and
+ * {@code events.spool.replay.lag} gauges, the age of the oldest event still waiting; the breaker
+ * as {@code events.producer.circuit.open}. Spooled events that cannot be decoded are counted in
+ * {@code events.spool.skipped}.
+ */
+@Configuration
+@EnableConfigurationProperties(EventSpoolProperties.class)
+public class EventSpoolConfig {
+
+    @Bean
+    public ProducerCircuitBreaker producerCircuitBreaker(EventSpoolProperties properties, MeterRegistry meterRegistry) {
+        ProducerCircuitBreaker breaker = new ProducerCircuitBreaker(properties.getFailureThreshold(), properties.getOpenDuration());
+        Gauge.builder("events.producer.circuit.open", breaker, b -> b.isClosed() ? 0 : 1)
+                .description("1 while the Kafka producer is considered unhealthy")
+                .register(meterRegistry);
+        return breaker;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "app.events.spool", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public EventSpool eventSpool(EventSpoolProperties properties, MeterRegistry meterRegistry) throws IOException {
+        EventSpool spool = new EventSpool(Path.of(properties.getDirectory()),
+                (int) properties.getSegmentSize().toBytes(), properties.getMaxSize().toBytes());
+        Gauge.builder("events.spool.bytes", spool, EventSpool::pendingBytes)
+                .description("Spooled event bytes not yet replayed to Kafka")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        TimeGauge.builder("events.spool.replay.lag", spool, TimeUnit.MILLISECONDS, s -> {
+                    long oldest = s.oldestPendingMillis();
+                    return oldest < 0 ? 0 : System.currentTimeMillis() - oldest;
+                })
+                .description("Age of the oldest spooled event not yet replayed")
+                .register(meterRegistry);
+        return spool;
+    }
+
+    /** Replays the spool in the background; a failed replay is logged and retried on the next run. */
+    @Slf4j
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(prefix = "app.events.spool", name = "enabled", havingValue = "true", matchIfMissing = true)
+    @RequiredArgsConstructor
+    static class EventSpoolReplayConfig implements SchedulingConfigurer {
+
+        private final EventSpool eventSpool;
+        private final KafkaTemplate<String, UserEvent> kafkaTemplate;
+        private final ProducerCircuitBreaker producerCircuitBreaker;
+        private final EventSpoolProperties properties;
+        private final ObjectMapper objectMapper;
+        private final MeterRegistry meterRegistry;
+
+        @Override
+        public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+            EventSpoolReplayer replayer = new EventSpoolReplayer(eventSpool, kafkaTemplate, producerCircuitBreaker,
+                    properties.getReplayBatchSize(), properties.getReplaySendTimeout(), objectMapper);
+            FunctionCounter.builder("events.spool.skipped", replayer, EventSpoolReplayer::skipped)
+                    .description("Spooled events skipped because they could not be decoded")
+                    .register(meterRegistry);
+            taskRegistrar.addFixedDelayTask(new FixedDelayTask(() -> replay(replayer), properties.getReplayInterval(),
+                    properties.getReplayInterval()));
+        }
+
+        private void replay(EventSpoolReplayer replayer) {
+            try {
+                replayer.replay();
+            } catch (RuntimeException ex) {
+                log.error("Failed to replay the event spool", ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.usermanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Local spool that holds user events while Kafka is unavailable, and the circuit breaker that
+ * decides when it is, bound from {@code app.events.spool}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.events.spool")
+public class EventSpoolProperties {
+
+    /** When disabled, events that cannot be sent are dropped, as before. */
+    private boolean enabled = true;
+
+    /** Directory of the segment files and the checkpoint; must be on a local disk and used by one instance only. */
+    private String directory = "./data/event-spool";
+
+    /** Size of each memory-mapped segment file; also bounds the size of a single event. */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /** Events are dropped once this much is spooled and not yet replayed. */
+    private DataSize maxSize = DataSize.ofGigabytes(1);
+
+    /** How often the replayer checks the spool, and forces it to disk. */
+    private Duration replayInterval = Duration.ofSeconds(1);
+
+    /** Events sent per batch when replaying. */
+    private int replayBatchSize = 500;
+
+    /** How long a replayed batch may take to be acknowledged before the replay is retried later. */
+    private Duration replaySendTimeout = Duration.ofSeconds(10);
+
+    /** Consecutive failed sends that open the circuit breaker. */
+    private int failureThreshold = 3;
+
+    /** How long the breaker stays open before one send is let through as a probe. */
+    private Duration openDuration = Duration.ofSeconds(10);
+}
@@ -0,0 +1,41 @@
+package com.usermanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Layout of the user event topics created on startup, bound from {@code app.events.topics}. */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.events")
+public class EventTopicProperties {
+
+    /** Settings by topic name; topics not listed use the defaults of {@link Topic}. */
+    private Map<String, Topic> topics = new LinkedHashMap<>();
+
+    public Topic topic(String name) {
+        return topics.getOrDefault(name, new Topic());
+    }
+
+    @Getter
+    @Setter
+    public static class Topic {
+
+        /** Partitions, which bound how many consumers of a group can read the topic in parallel. */
+        private int partitions = 3;
+
+        private int replicas = 1;
+
+        /** Topic-level {@code min.insync.replicas}; the broker default when not set. */
+        private Integer minInSyncReplicas;
+
+        /**
+         * Topic-level {@code compression.type}. The default, {@code producer}, keeps batches as the
+         * producer compressed them.
+         */
+        private String compression = "producer";
+    }
+}
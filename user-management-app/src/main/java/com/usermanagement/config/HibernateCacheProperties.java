@@ -0,0 +1,30 @@
+package com.usermanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sizing and expiry of the Hibernate second-level cache regions, bound from {@code app.cache.l2}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.cache.l2")
+public class HibernateCacheProperties {
+
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Region {
+
+        private long maxEntries = 10_000;
+
+        /** Time-to-live after write; {@code null} keeps entries until they are evicted by size. */
+        private Duration ttl;
+    }
+}
@@ -0,0 +1,26 @@
+package com.usermanagement.config;
+
+import com.usermanagement.entity.id.SnowflakeIdentifierGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Passes the Snowflake node id and clock-drift tolerance from {@code app.id.*} to Hibernate,
+ * where {@link SnowflakeIdentifierGenerator} picks them up. Every running instance must use a
+ * distinct node id.
+ */
+@Configuration
+public class IdGenerationConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer idGenerationCustomizer(
+            @Value("${app.id.node-id}") long nodeId,
+            @Value("${app.id.max-drift-ms}") long maxDriftMs) {
+        return hibernateProperties -> {
+            hibernateProperties.put(SnowflakeIdentifierGenerator.NODE_ID_SETTING, nodeId);
+            hibernateProperties.put(SnowflakeIdentifierGenerator.MAX_DRIFT_SETTING, maxDriftMs);
+        };
+    }
+}
@@ -0,0 +1,91 @@
+package com.usermanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.usermanagement.idempotency.IdempotencyFilter;
+import com.usermanagement.idempotency.IdempotencyProperties;
+import com.usermanagement.idempotency.IdempotencyStore;
+import com.usermanagement.idempotency.InMemoryIdempotencyStore;
+import com.usermanagement.idempotency.JdbcIdempotencyStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Creates the {@code Idempotency-Key} filter and the store selected by {@code app.idempotency.store}.
+ * The in-memory store publishes its size as the {@code http.idempotency.store.size} gauge; the
+ * JDBC store has its expired rows deleted every {@code app.idempotency.cleanup-interval}.
+ */
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.idempotency", name = "store", havingValue = "memory", matchIfMissing = true)
+    public InMemoryIdempotencyStore inMemoryIdempotencyStore(IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(properties.getTtl(), properties.getMaxEntries());
+        Gauge.builder("http.idempotency.store.size", store, InMemoryIdempotencyStore::size)
+                .description("Responses kept for replay by the in-memory idempotency store")
+                .register(meterRegistry);
+        return store;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.idempotency", name = "store", havingValue = "jdbc")
+    public JdbcIdempotencyStore jdbcIdempotencyStore(IdempotencyProperties properties, NamedParameterJdbcTemplate jdbc) {
+        return new JdbcIdempotencyStore(jdbc, properties.getTtl());
+    }
+
+    @Bean
+    public IdempotencyFilter idempotencyFilter(IdempotencyProperties properties, IdempotencyStore idempotencyStore,
+                                               ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new IdempotencyFilter(properties, idempotencyStore, objectMapper, meterRegistry);
+    }
+
+    /** The filter runs inside the security filter chain only, not as a separate servlet filter. */
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilterRegistration(IdempotencyFilter idempotencyFilter) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(idempotencyFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    /** Deletes expired keys from the JDBC store. */
+    @Slf4j
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(prefix = "app.idempotency", name = "store", havingValue = "jdbc")
+    @RequiredArgsConstructor
+    static class IdempotencyCleanupConfig implements SchedulingConfigurer {
+
+        private final IdempotencyProperties properties;
+        private final JdbcIdempotencyStore jdbcIdempotencyStore;
+
+        @Override
+        public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+            taskRegistrar.addFixedDelayTask(new FixedDelayTask(this::cleanup,
+                    properties.getCleanupInterval(), properties.getCleanupInterval()));
+        }
+
+        private void cleanup() {
+            try {
+                int deleted = jdbcIdempotencyStore.deleteExpired();
+                if (deleted > 0) {
+                    log.debug("Deleted {} expired idempotency keys", deleted);
+                }
+            } catch (RuntimeException ex) {
+                log.error("Failed to delete expired idempotency keys", ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.usermanagement.config;
+
+import com.usermanagement.event.UserEventSerializer;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.support.serializer.DelegatingByTopicSerializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+@Configuration
+@EnableConfigurationProperties({EventSerializationProperties.class, EventProducerProperties.class, EventTopicProperties.class})
+public class KafkaConfig {
+
+    public static final String USER_REGISTRATION_TOPIC = "user.registration";
+    public static final String USER_LOGIN_TOPIC = "user.login";
+    public static final String USER_ROLE_TOPIC = "user.role";
+    public static final String USER_LOGIN_SUMMARY_TOPIC = "user.login.summary";
+
+    @Bean
+    public NewTopic registrationTopic(EventTopicProperties properties) {
+        return topic(USER_REGISTRATION_TOPIC, properties);
+    }
+
+    @Bean
+    public NewTopic loginTopic(EventTopicProperties properties) {
+        return topic(USER_LOGIN_TOPIC, properties);
+    }
+
+    @Bean
+    public NewTopic roleTopic(EventTopicProperties properties) {
+        return topic(USER_ROLE_TOPIC, properties);
+    }
+
+    @Bean
+    public NewTopic loginSummaryTopic(EventTopicProperties properties) {
+        return topic(USER_LOGIN_SUMMARY_TOPIC, properties);
+    }
+
+    /** Replaces the configured value serializer with one that picks the format by topic. */
+    @Bean
+    @SuppressWarnings("unchecked")
+    public DefaultKafkaProducerFactoryCustomizer eventSerializationCustomizer(EventSerializationProperties properties) {
+        Serializer<Object> valueSerializer = valueSerializer(properties.getBinaryTopics());
+        return producerFactory -> ((DefaultKafkaProducerFactory<Object, Object>) producerFactory).setValueSerializer(valueSerializer);
+    }
+
+    @Bean
+    public DefaultKafkaProducerFactoryCustomizer eventProducerCustomizer(EventProducerProperties properties) {
+        Map<String, Object> configs = producerConfigs(properties);
+        return producerFactory -> producerFactory.updateConfigs(configs);
+    }
+
+    /** Binary {@link UserEventSerializer} for {@code binaryTopics}, JSON with type headers for the rest. */
+    public static Serializer<Object> valueSerializer(Set<String> binaryTopics) {
+        Map<Pattern, Serializer<?>> delegates = new LinkedHashMap<>();
+        for (String topic : binaryTopics) {
+            delegates.put(Pattern.compile(Pattern.quote(topic)), new UserEventSerializer());
+        }
+        return new DelegatingByTopicSerializer(delegates, new JsonSerializer<>());
+    }
+
+    public static Map<String, Object> producerConfigs(EventProducerProperties properties) {
+        Map<String, Object> configs = new LinkedHashMap<>();
+        configs.put(ProducerConfig.BATCH_SIZE_CONFIG, (int) properties.getBatchSize().toBytes());
+        configs.put(ProducerConfig.LINGER_MS_CONFIG, (int) properties.getLinger().toMillis());
+        configs.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, properties.getCompression());
+        configs.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, properties.isIdempotence());
+        if (properties.isIdempotence()) {
+            configs.put(ProducerConfig.ACKS_CONFIG, "all");
+        }
+        configs.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, properties.getMaxInFlightRequests());
+        configs.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, properties.getMaxBlock().toMillis());
+        configs.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, (int) properties.getDeliveryTimeout().toMillis());
+        configs.put(ProducerConfig.BUFFER_MEMORY_CONFIG, properties.getBufferMemory().toBytes());
+        return configs;
+    }
+
+    private static NewTopic topic(String name, EventTopicProperties properties) {
+        EventTopicProperties.Topic topic = properties.topic(name);
+        TopicBuilder builder = TopicBuilder.name(name)
+                .partitions(topic.getPartitions())
+                .replicas(topic.getReplicas())
+                .config(TopicConfig.COMPRESSION_TYPE_CONFIG, topic.getCompression());
+        if (topic.getMinInSyncReplicas() != null) {
+            builder.config(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, String.valueOf(topic.getMinInSyncReplicas()));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.usermanagement.config;
+
+import com.usermanagement.event.EventPublisher;
+import com.usermanagement.event.LoginWindowAggregator;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.time.Duration;
+
+/**
+ * Creates the login window aggregator when {@code app.events.login-aggregation.enabled} is set.
+ * Windows are closed by a task that checks every second, and the open window is flushed on
+ * shutdown. The number of users in the open window is published as the
+ * {@code events.login.windows.active} gauge, early closes as {@code events.login.windows.early-flushes}.
+ */
+@Configuration
+@EnableConfigurationProperties(LoginAggregationProperties.class)
+public class LoginAggregationConfig {
+
+    private static final Duration CLOSE_CHECK_INTERVAL = Duration.ofSeconds(1);
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "app.events.login-aggregation", name = "enabled", havingValue = "true")
+    public LoginWindowAggregator loginWindowAggregator(LoginAggregationProperties properties, EventPublisher eventPublisher,
+                                                       MeterRegistry meterRegistry) {
+        LoginWindowAggregator aggregator = new LoginWindowAggregator(properties.getWindow(), properties.getMaxActiveUsers(),
+                eventPublisher::publishLoginSummaryEvent);
+        Gauge.builder("events.login.windows.active", aggregator, LoginWindowAggregator::activeUsers)
+                .description("Users with logins in the open aggregation window")
+                .register(meterRegistry);
+        FunctionCounter.builder("events.login.windows.early-flushes", aggregator, LoginWindowAggregator::earlyFlushes)
+                .description("Aggregation windows closed early because the active-user cap was reached")
+                .register(meterRegistry);
+        return aggregator;
+    }
+
+    /** Closes windows whose time is up. */
+    @Slf4j
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(prefix = "app.events.login-aggregation", name = "enabled", havingValue = "true")
+    @RequiredArgsConstructor
+    static class LoginWindowCloseConfig implements SchedulingConfigurer {
+
+        private final LoginWindowAggregator loginWindowAggregator;
+
+        @Override
+        public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+            taskRegistrar.addFixedDelayTask(new FixedDelayTask(this::flush, CLOSE_CHECK_INTERVAL, CLOSE_CHECK_INTERVAL));
+        }
+
+        private void flush() {
+            try {
+                loginWindowAggregator.flushIfDue();
+            } catch (RuntimeException ex) {
+                log.error("Failed to close the login aggregation window", ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.usermanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Aggregation of login events into per-user summaries on {@code user.login.summary}, bound from
+ * {@code app.events.login-aggregation}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.events.login-aggregation")
+public class LoginAggregationProperties {
+
+    /** When disabled, only raw login events are published, one per login. */
+    private boolean enabled = false;
+
+    /** Whether raw login events are still published to {@code user.login} alongside the summaries. */
+    private boolean publishRaw = true;
+
+    /** Length of the tumbling window; windows are aligned to multiples of it. */
+    private Duration window = Duration.ofMinutes(1);
+
+    /** Users tracked at most in an open window; another user closes the window early. */
+    private int maxActiveUsers = 100_000;
+}
@@ -0,0 +1,18 @@
+package com.usermanagement.config;
+
+import com.usermanagement.security.LoginThrottle;
+import com.usermanagement.security.LoginThrottleProperties;
+import com.usermanagement.service.AuditLogService;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(LoginThrottleProperties.class)
+public class LoginThrottleConfig {
+
+    @Bean
+    public LoginThrottle loginThrottle(LoginThrottleProperties properties, AuditLogService auditLogService) {
+        return new LoginThrottle(properties, auditLogService);
+    }
+}
@@ -0,0 +1,41 @@
+package com.usermanagement.config;
+
+import com.usermanagement.security.BCryptCostCalibrator;
+import com.usermanagement.security.MeteredPasswordEncoder;
+import com.usermanagement.security.PasswordHashingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.Map;
+
+/**
+ * Password encoder with {@code {id}}-prefixed hashes. Hashes stored before prefixes were introduced
+ * are plain bcrypt and keep matching. Any hash not produced by the current algorithm and strength
+ * reports {@code upgradeEncoding}, so the authentication provider rehashes it on the next
+ * successful login through {@link com.usermanagement.security.CustomUserDetailsService}.
+ */
+@Configuration
+@EnableConfigurationProperties(PasswordHashingProperties.class)
+public class PasswordHashingConfig {
+
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        int strength = properties.isCalibrate()
+                ? BCryptCostCalibrator.calibrate(properties)
+                : properties.getStrength();
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(properties.getEncodingId(), Map.of(
+                "bcrypt", bcrypt,
+                "pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8()));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        return new MeteredPasswordEncoder(delegating, properties.getEncodingId(), meterRegistry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.usermanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Off-heap storage of the {@code users} profile cache, bound from {@code app.cache.profiles}.
+ * Disabled by default, in which case {@code spring.cache.type} decides.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.cache.profiles")
+public class ProfileCacheProperties {
+
+    private boolean offHeap = false;
+
+    /**
+     * Direct memory the cache may use. {@code -XX:MaxDirectMemorySize} (which defaults to the
+     * maximum heap size) must leave room for it.
+     */
+    private DataSize memoryBudget = DataSize.ofMegabytes(256);
+
+    /** Unit of allocation and eviction; also the largest profile that can be cached. */
+    private DataSize slabSize = DataSize.ofMegabytes(4);
+
+    /** Profiles held at most. The index takes 32 bytes of heap per entry. */
+    private int maxEntries = 2_000_000;
+}
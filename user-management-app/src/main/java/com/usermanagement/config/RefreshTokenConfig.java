@@ -0,0 +1,31 @@
+package com.usermanagement.config;
+
+import com.usermanagement.security.RefreshTokenProperties;
+import com.usermanagement.service.RefreshTokenService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Schedules the batched cleanup of expired refresh tokens every
+ * {@code app.jwt.refresh-token.cleanup-interval}.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(RefreshTokenProperties.class)
+@RequiredArgsConstructor
+public class RefreshTokenConfig implements SchedulingConfigurer {
+
+    private final RefreshTokenProperties properties;
+    private final RefreshTokenService refreshTokenService;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(new FixedDelayTask(refreshTokenService::purgeExpired,
+                properties.getCleanupInterval(), properties.getCleanupInterval()));
+    }
+}
@@ -0,0 +1,21 @@
+package com.usermanagement.config;
+
+import com.usermanagement.retry.OptimisticLockRetryListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.retry.annotation.EnableRetry;
+
+/**
+ * Enables {@link com.usermanagement.retry.RetryOnConflict}. Retry advice is ordered ahead of the
+ * transaction advice, so every retry starts a new transaction.
+ */
+@Configuration
+@EnableRetry
+public class RetryConfig {
+
+    @Bean
+    public OptimisticLockRetryListener optimisticLockRetryListener(MeterRegistry meterRegistry) {
+        return new OptimisticLockRetryListener(meterRegistry);
+    }
+}
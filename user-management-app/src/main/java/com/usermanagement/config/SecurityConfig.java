@@ -1,19 +1,31 @@
 package com.usermanagement.config;
 
+import com.usermanagement.idempotency.IdempotencyFilter;
 import com.usermanagement.security.JwtAuthenticationEntryPoint;
 import com.usermanagement.security.JwtAuthenticationFilter;
+import com.usermanagement.security.RateLimitFilter;
+import com.usermanagement.security.RequiresPermission;
+import com.usermanagement.security.RequiresRole;
+import com.usermanagement.security.RoleAuthorityRegistry;
+import com.usermanagement.security.RoleMaskAuthorizationManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.Pointcuts;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Role;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authorization.method.AuthorizationInterceptorsOrder;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -25,6 +37,8 @@ public class SecurityConfig {
 
     private final JwtAuthenticationEntryPoint authenticationEntryPoint;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final IdempotencyFilter idempotencyFilter;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -38,6 +52,7 @@ public class SecurityConfig {
                         .requestMatchers(
                                 "/api/users/register",
                                 "/api/users/login",
+                                "/api/users/token/refresh",
                                 "/swagger-ui/**",
                                 "/swagger-ui.html",
                                 "/v3/api-docs/**",
@@ -46,17 +61,35 @@ public class SecurityConfig {
                         .anyRequest().authenticated());
 
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        http.addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class);
+        http.addFilterAfter(idempotencyFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
+    /**
+     * Enforces {@link RequiresRole} and {@link RequiresPermission} as bitmask tests, in the slot
+     * {@code @PreAuthorize} would use.
+     * The registry is injected lazily because advisors are created before regular beans.
+     */
     @Bean
-    public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
-        return config.getAuthenticationManager();
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor requiresRoleAuthorizationAdvisor(@Lazy RoleAuthorityRegistry roleAuthorityRegistry) {
+        AuthorizationManagerBeforeMethodInterceptor interceptor = new AuthorizationManagerBeforeMethodInterceptor(
+                Pointcuts.union(
+                        Pointcuts.union(
+                                new AnnotationMatchingPointcut(null, RequiresRole.class, true),
+                                new AnnotationMatchingPointcut(RequiresRole.class, true)),
+                        Pointcuts.union(
+                                new AnnotationMatchingPointcut(null, RequiresPermission.class, true),
+                                new AnnotationMatchingPointcut(RequiresPermission.class, true))),
+                new RoleMaskAuthorizationManager(roleAuthorityRegistry));
+        interceptor.setOrder(AuthorizationInterceptorsOrder.PRE_AUTHORIZE.getOrder());
+        return interceptor;
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
+        return config.getAuthenticationManager();
     }
 }
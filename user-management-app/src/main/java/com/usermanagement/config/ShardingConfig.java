@@ -0,0 +1,121 @@
+package com.usermanagement.config;
+
+import com.usermanagement.entity.id.SnowflakeIdentifierGenerator;
+import com.usermanagement.repository.AuditLogRepository;
+import com.usermanagement.repository.RefreshTokenRepository;
+import com.usermanagement.repository.UserRepository;
+import com.usermanagement.sharding.ShardDataSources;
+import com.usermanagement.sharding.ShardExecutor;
+import com.usermanagement.sharding.ShardKeys;
+import com.usermanagement.sharding.ShardMap;
+import com.usermanagement.sharding.ShardMigrationTool;
+import com.usermanagement.sharding.ShardRoutingDataSource;
+import com.usermanagement.sharding.ShardSchemaInitializer;
+import com.usermanagement.sharding.ShardedRepositoryPostProcessor;
+import com.usermanagement.sharding.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Hash sharding of users and their audit trail across {@code app.sharding.shards}.
+ * <p>
+ * Without sharding, a single-shard {@link ShardExecutor} is still provided so that cross-shard
+ * call sites (admin counts, role replication) work unchanged. Sharding replaces the
+ * read/write-splitting data source; the two are not meant to be enabled together.
+ */
+@Configuration
+public class ShardingConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "false", matchIfMissing = true)
+    public ShardExecutor shardExecutor() {
+        return ShardExecutor.singleShard();
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+    @EnableConfigurationProperties(ShardingProperties.class)
+    static class ShardedConfiguration {
+
+        @Bean(destroyMethod = "close")
+        public ShardDataSources shardDataSources(ShardingProperties properties) {
+            List<HikariDataSource> pools = properties.getShards().stream()
+                    .map(shard -> {
+                        HikariDataSource dataSource = new HikariDataSource();
+                        dataSource.setPoolName("shard-" + shard.getName());
+                        dataSource.setJdbcUrl(shard.getUrl());
+                        dataSource.setUsername(shard.getUsername());
+                        dataSource.setPassword(shard.getPassword());
+                        if (shard.getDriverClassName() != null) {
+                            dataSource.setDriverClassName(shard.getDriverClassName());
+                        }
+                        dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+                        dataSource.setMinimumIdle(shard.getMinimumIdle());
+                        return dataSource;
+                    })
+                    .toList();
+            return new ShardDataSources(pools);
+        }
+
+        @Bean
+        public ShardMap shardMap(ShardingProperties properties) {
+            List<String> names = properties.getShards().stream().map(ShardingProperties.Shard::getName).toList();
+            return ShardMap.of(names, properties.getBucketMap());
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(ShardDataSources shardDataSources) {
+            return new LazyConnectionDataSourceProxy(new ShardRoutingDataSource(shardDataSources.asList()));
+        }
+
+        @Bean
+        public HibernatePropertiesCustomizer shardingCustomizer(@Value("${app.id.node-id}") long nodeId, ShardingProperties properties) {
+            if (nodeId > ShardKeys.MAX_NODE_ID) {
+                throw new IllegalStateException("app.id.node-id must be at most " + ShardKeys.MAX_NODE_ID
+                        + " when sharding is enabled, was " + nodeId);
+            }
+            return hibernateProperties -> {
+                hibernateProperties.put(SnowflakeIdentifierGenerator.SHARDING_SETTING, true);
+                // A timed-out fan-out cannot interrupt a running statement; bound queries by the same timeout
+                hibernateProperties.put(SpecHints.HINT_SPEC_QUERY_TIMEOUT, properties.getFanOutTimeout().toMillis());
+            };
+        }
+
+        @Bean
+        public static ShardedRepositoryPostProcessor shardedRepositoryPostProcessor(ObjectProvider<ShardMap> shardMap) {
+            return new ShardedRepositoryPostProcessor(Set.of(UserRepository.class, AuditLogRepository.class, RefreshTokenRepository.class), shardMap);
+        }
+
+        @Bean
+        public ShardExecutor shardExecutor(ShardMap shardMap, ShardingProperties properties) {
+            return ShardExecutor.parallel(shardMap, properties.getFanOutTimeout(),
+                    properties.getFanOutThreadsPerShard(), properties.getFanOutQueueSize());
+        }
+
+        @Bean
+        public ShardMigrationTool shardMigrationTool(ShardDataSources shardDataSources) {
+            return new ShardMigrationTool(shardDataSources, 500);
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "app.sharding", name = "initialize-schema", havingValue = "true")
+        public ShardSchemaInitializer shardSchemaInitializer(EntityManagerFactory entityManagerFactory, ShardMap shardMap) {
+            return new ShardSchemaInitializer(entityManagerFactory, shardMap);
+        }
+    }
+}
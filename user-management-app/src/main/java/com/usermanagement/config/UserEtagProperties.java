@@ -0,0 +1,27 @@
+package com.usermanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * ETag index and caching headers of {@code GET /api/users/me}, bound from {@code app.cache.user-etags}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.cache.user-etags")
+public class UserEtagProperties {
+
+    private long maxEntries = 100_000;
+
+    /**
+     * How long an indexed ETag answers conditional requests without a reload. Bounds how long
+     * another instance's write can go unnoticed.
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /** {@code Cache-Control} value sent with the profile; empty to send none. */
+    private String cacheControl = "private, no-cache";
+}
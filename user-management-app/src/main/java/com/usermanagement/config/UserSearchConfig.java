@@ -0,0 +1,77 @@
+package com.usermanagement.config;
+
+import com.usermanagement.repository.UserScanRepository;
+import com.usermanagement.service.UserSearchIndex;
+import com.usermanagement.sharding.ShardExecutor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Instant;
+
+/**
+ * Creates the user search index behind {@code GET /api/admin/users/search}. It is built right
+ * after startup and rebuilt every {@code app.search.users.rebuild-interval}; its size is published
+ * as the {@code user.search.index.users} and {@code user.search.index.bytes} gauges.
+ */
+@Configuration
+@EnableConfigurationProperties(UserSearchProperties.class)
+public class UserSearchConfig {
+
+    @Bean
+    public UserSearchIndex userSearchIndex(UserSearchProperties properties, UserScanRepository userScanRepository,
+                                           ShardExecutor shardExecutor, MeterRegistry meterRegistry) {
+        UserSearchIndex index = new UserSearchIndex(properties, userScanRepository, shardExecutor);
+        Gauge.builder("user.search.index.users", index, i -> i.stats().users())
+                .description("Users in the search index snapshot")
+                .register(meterRegistry);
+        Gauge.builder("user.search.index.bytes", index, i -> i.stats().estimatedBytes())
+                .description("Estimated heap taken by the search index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        return index;
+    }
+
+    /**
+     * Rebuilds in the background on a scheduler of its own, so a rebuild that takes minutes does not
+     * hold up the jobs on the shared scheduler; a failed rebuild is logged and the previous index
+     * stays in use.
+     */
+    @Slf4j
+    @Configuration
+    @RequiredArgsConstructor
+    static class UserSearchRebuildConfig implements DisposableBean {
+
+        private final UserSearchIndex userSearchIndex;
+        private final UserSearchProperties properties;
+        private final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+
+        @EventListener(ApplicationReadyEvent.class)
+        public void start() {
+            scheduler.setThreadNamePrefix("user-search-rebuild-");
+            scheduler.initialize();
+            scheduler.scheduleWithFixedDelay(this::rebuild, Instant.now(), properties.getRebuildInterval());
+        }
+
+        private void rebuild() {
+            try {
+                userSearchIndex.rebuild();
+            } catch (RuntimeException ex) {
+                log.error("Failed to rebuild the user search index, keeping the current one", ex);
+            }
+        }
+
+        @Override
+        public void destroy() {
+            scheduler.shutdown();
+        }
+    }
+}
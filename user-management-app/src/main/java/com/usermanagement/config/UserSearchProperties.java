@@ -0,0 +1,32 @@
+package com.usermanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * In-process username and email search index behind {@code GET /api/admin/users/search}, bound
+ * from {@code app.search.users}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.search.users")
+public class UserSearchProperties {
+
+    /** Users beyond this are left out of the index, which bounds its memory. */
+    private int maxUsers = 1_000_000;
+
+    /**
+     * How often the index is rebuilt from the tables in the background. Picks up users registered
+     * on other instances and drops stale names.
+     */
+    private Duration rebuildInterval = Duration.ofHours(1);
+
+    /** Rows per keyset page when streaming {@code users} during a rebuild. */
+    private int scanBatchSize = 5_000;
+
+    /** Upper bound on the {@code limit} of a search. */
+    private int maxResults = 50;
+}
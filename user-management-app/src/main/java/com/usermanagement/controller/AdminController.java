@@ -0,0 +1,84 @@
+package com.usermanagement.controller;
+
+import com.usermanagement.changes.ChangeStream;
+import com.usermanagement.dto.response.ApiResponse;
+import com.usermanagement.dto.response.StatsResponse;
+import com.usermanagement.dto.response.UserResponse;
+import com.usermanagement.entity.AuditLog;
+import com.usermanagement.repository.AuditLogRepository;
+import com.usermanagement.repository.UserRepository;
+import com.usermanagement.security.RequiresRole;
+import com.usermanagement.service.RoleMembershipService;
+import com.usermanagement.service.UserService;
+import com.usermanagement.sharding.ShardExecutor;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@Tag(name = "Admin Dashboard", description = "Admin-only statistics and management endpoints")
+public class AdminController {
+
+    private final UserRepository userRepository;
+    private final AuditLogRepository auditLogRepository;
+    private final ShardExecutor shardExecutor;
+    private final RoleMembershipService roleMembershipService;
+    private final UserService userService;
+    private final ChangeStream changeStream;
+
+    @GetMapping("/stats")
+    @RequiresRole("ADMIN")
+    @Operation(summary = "Get system statistics (ADMIN only)", description = "Returns total user count, last login timestamp and member count per role", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<ApiResponse<StatsResponse>> getStats() {
+        long totalUsers = shardExecutor.sum(userRepository::count);
+
+        LocalDateTime lastLoginTimestamp = shardExecutor
+                .max(() -> auditLogRepository.findTopByActionOrderByTimestampDesc("USER_LOGGED_IN"),
+                        Comparator.comparing(AuditLog::getTimestamp))
+                .map(AuditLog::getTimestamp)
+                .orElse(null);
+
+        StatsResponse stats = StatsResponse.builder()
+                .totalUsers(totalUsers)
+                .lastLoginTimestamp(lastLoginTimestamp)
+                .roleMemberCounts(roleMembershipService.memberCounts())
+                .build();
+
+        return ResponseEntity.ok(ApiResponse.success("Admin stats retrieved", stats));
+    }
+
+    @GetMapping("/users/search")
+    @RequiresRole("ADMIN")
+    @Operation(summary = "Search users by name prefix (ADMIN only)", description = "Typeahead search over usernames and email local parts. Returns up to 'limit' users whose name, or a word in it, starts with 'q', best match first.", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<ApiResponse<List<UserResponse>>> searchUsers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        List<UserResponse> users = userService.searchUsers(q, limit);
+        return ResponseEntity.ok(ApiResponse.success(users.size() + " users found", users));
+    }
+
+    @GetMapping(path = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @RequiresRole("ADMIN")
+    @Operation(summary = "Stream user changes (ADMIN only)", description = "Server-Sent Events of registrations and role changes in commit order, each with an increasing sequence number as its event ID and its audit entry ID in the payload. Reconnect with Last-Event-ID to resume; a position older than the in-memory ring is resumed from the audit log, where recent changes may be sent again, and a 'reset' event means the position is too old and cached user data should be reloaded.", security = @SecurityRequirement(name = "bearerAuth"))
+    public SseEmitter streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+
+        return changeStream.subscribe(lastEventId);
+    }
+}
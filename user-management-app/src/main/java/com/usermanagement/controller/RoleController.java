@@ -0,0 +1,78 @@
+package com.usermanagement.controller;
+
+import com.usermanagement.dto.request.BulkRoleRequest;
+import com.usermanagement.dto.request.RoleRequest;
+import com.usermanagement.dto.response.ApiResponse;
+import com.usermanagement.dto.response.BulkRoleResponse;
+import com.usermanagement.dto.response.RoleMembersResponse;
+import com.usermanagement.dto.response.RoleResponse;
+import com.usermanagement.security.RequiresRole;
+import com.usermanagement.service.RoleMembershipService;
+import com.usermanagement.service.RoleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/roles")
+@RequiredArgsConstructor
+@Tag(name = "Role Management", description = "Role creation, membership listing and bulk membership changes (ADMIN only)")
+public class RoleController {
+
+    private final RoleService roleService;
+    private final RoleMembershipService roleMembershipService;
+
+    @PostMapping
+    @RequiresRole("ADMIN")
+    @Operation(summary = "Create a new role (ADMIN only)", description = "Creates a new role. Role names are auto-prefixed with ROLE_ if not present.", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<ApiResponse<RoleResponse>> createRole(
+            @Valid @RequestBody RoleRequest request) {
+
+        RoleResponse roleResponse = roleService.createRole(request);
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Role created successfully", roleResponse));
+    }
+
+    @GetMapping("/{roleName}/members")
+    @RequiresRole("ADMIN")
+    @Operation(summary = "List the members of a role (ADMIN only)", description = "Returns one page of users holding the role in ascending ID order. Pass the returned nextCursor as 'after' for the next page.", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<ApiResponse<RoleMembersResponse>> listMembers(
+            @PathVariable String roleName,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int limit) {
+
+        RoleMembersResponse response = roleMembershipService.listMembers(roleName, after, limit);
+        return ResponseEntity.ok(ApiResponse.success("Role members retrieved", response));
+    }
+
+    @PostMapping("/{roleName}/members")
+    @RequiresRole("ADMIN")
+    @Operation(summary = "Assign a role to many users (ADMIN only)", description = "Grants the role to the given user IDs or to every user at an email domain, in chunks. Users that already have the role are skipped.", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<ApiResponse<BulkRoleResponse>> assignMembers(
+            @PathVariable String roleName,
+            @Valid @RequestBody BulkRoleRequest request,
+            Authentication authentication) {
+
+        BulkRoleResponse response = roleMembershipService.assign(roleName, request, authentication.getName());
+        return ResponseEntity.ok(ApiResponse.success("Role assigned to " + response.getUsersChanged() + " users", response));
+    }
+
+    @PostMapping("/{roleName}/members/revoke")
+    @RequiresRole("ADMIN")
+    @Operation(summary = "Revoke a role from many users (ADMIN only)", description = "Revokes the role from the given user IDs or from every user at an email domain, in chunks. Users without the role are skipped.", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<ApiResponse<BulkRoleResponse>> revokeMembers(
+            @PathVariable String roleName,
+            @Valid @RequestBody BulkRoleRequest request,
+            Authentication authentication) {
+
+        BulkRoleResponse response = roleMembershipService.revoke(roleName, request, authentication.getName());
+        return ResponseEntity.ok(ApiResponse.success("Role revoked from " + response.getUsersChanged() + " users", response));
+    }
+}
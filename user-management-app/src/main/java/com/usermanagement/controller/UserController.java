@@ -0,0 +1,127 @@
+package com.usermanagement.controller;
+
+import com.usermanagement.dto.request.AssignRoleRequest;
+import com.usermanagement.dto.request.BatchLookupRequest;
+import com.usermanagement.dto.request.LoginRequest;
+import com.usermanagement.dto.request.RefreshTokenRequest;
+import com.usermanagement.dto.request.RegisterRequest;
+import com.usermanagement.dto.response.ApiResponse;
+import com.usermanagement.dto.response.AuthResponse;
+import com.usermanagement.dto.response.BatchLookupResponse;
+import com.usermanagement.dto.response.UserResponse;
+import com.usermanagement.security.LoginThrottle;
+import com.usermanagement.security.RequiresPermission;
+import com.usermanagement.security.RequiresRole;
+import com.usermanagement.config.UserEtagProperties;
+import com.usermanagement.service.UserService;
+import com.usermanagement.service.UserVersionIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+@Tag(name = "User Management", description = "User registration, login, profile, and role assignment")
+public class UserController {
+
+    private final UserService userService;
+    private final LoginThrottle loginThrottle;
+    private final UserVersionIndex userVersionIndex;
+    private final UserEtagProperties etagProperties;
+
+    @PostMapping("/register")
+    @Operation(summary = "Register a new user", description = "Creates a new user account and returns a JWT token")
+    public ResponseEntity<ApiResponse<AuthResponse>> register(
+            @Valid @RequestBody RegisterRequest request) {
+
+        AuthResponse authResponse = userService.register(request);
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success("User registered successfully", authResponse));
+    }
+
+    @PostMapping("/login")
+    @Operation(summary = "Login", description = "Authenticates user and returns a JWT token. Repeated failures for an account or client IP are throttled with 429.")
+    public ResponseEntity<ApiResponse<AuthResponse>> login(
+            @Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+
+        String clientIp = httpRequest.getRemoteAddr();
+        loginThrottle.checkAllowed(request.getEmail(), clientIp);
+
+        AuthResponse authResponse;
+        try {
+            authResponse = userService.login(request);
+        } catch (BadCredentialsException ex) {
+            loginThrottle.recordFailure(request.getEmail(), clientIp);
+            throw ex;
+        }
+        loginThrottle.recordSuccess(request.getEmail());
+        return ResponseEntity.ok(ApiResponse.success("Login successful", authResponse));
+    }
+
+    @PostMapping("/token/refresh")
+    @Operation(summary = "Refresh access token", description = "Exchanges a refresh token for a new access token and a new refresh token. The presented refresh token is revoked; presenting it again revokes the whole token family.")
+    public ResponseEntity<ApiResponse<AuthResponse>> refreshToken(
+            @Valid @RequestBody RefreshTokenRequest request) {
+
+        AuthResponse authResponse = userService.refreshToken(request);
+        return ResponseEntity.ok(ApiResponse.success("Token refreshed", authResponse));
+    }
+
+    @GetMapping("/me")
+    @Operation(summary = "Get current user profile", description = "Returns the authenticated user's profile information with an ETag. A matching If-None-Match is answered with 304.", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<ApiResponse<UserResponse>> getCurrentUser(
+            Authentication authentication,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        // Unchanged profile: answer from the version index without loading the user
+        String etag = userVersionIndex.etagOf(authentication.getName());
+        if (etag != null && UserVersionIndex.matches(ifNoneMatch, etag)) {
+            return conditional(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag).build();
+        }
+
+        UserResponse userResponse = userService.getCurrentUser(authentication.getName());
+        etag = userVersionIndex.record(userResponse);
+        return conditional(ResponseEntity.ok(), etag)
+                .body(ApiResponse.success("User profile retrieved", userResponse));
+    }
+
+    @PostMapping("/batch-lookup")
+    @RequiresPermission("users:read")
+    @Operation(summary = "Look up users in bulk (users:read)", description = "Returns the profiles of up to 500 users by ID and/or email in one request, keyed by the requested ID or email in request order. Unknown keys are listed under notFound.", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<ApiResponse<BatchLookupResponse>> batchLookup(
+            @Valid @RequestBody BatchLookupRequest request) {
+
+        BatchLookupResponse response = userService.batchLookup(request);
+        return ResponseEntity.ok(ApiResponse.success("Users retrieved", response));
+    }
+
+    @PostMapping("/{userId}/roles")
+    @RequiresRole("ADMIN")
+    @Operation(summary = "Assign role to user (ADMIN only)", description = "Assigns a role to a specific user. Requires ADMIN privileges.", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<ApiResponse<UserResponse>> assignRole(
+            @PathVariable Long userId,
+            @Valid @RequestBody AssignRoleRequest request) {
+
+        UserResponse userResponse = userService.assignRole(userId, request);
+        return ResponseEntity.ok(ApiResponse.success("Role assigned successfully", userResponse));
+    }
+
+    private ResponseEntity.BodyBuilder conditional(ResponseEntity.BodyBuilder builder, String etag) {
+        builder.eTag(etag);
+        if (!etagProperties.getCacheControl().isEmpty()) {
+            builder.header(HttpHeaders.CACHE_CONTROL, etagProperties.getCacheControl());
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,6 @@
+package com.usermanagement.datasource;
+
+public enum DataSourceRoute {
+    PRIMARY,
+    REPLICA
+}
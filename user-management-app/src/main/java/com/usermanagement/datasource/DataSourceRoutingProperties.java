@@ -0,0 +1,36 @@
+package com.usermanagement.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Read/write splitting settings, bound from {@code app.datasource.routing}. The replica connection
+ * itself is configured under {@code app.datasource.replica} like a regular {@code spring.datasource}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    private boolean enabled = false;
+
+    /** Replica lag above which read-only transactions fall back to the primary. */
+    private Duration maxReplicaLag = Duration.ofSeconds(5);
+
+    /** Query run against the replica to measure lag; the result is read as seconds. */
+    private String lagQuery = "SHOW REPLICA STATUS";
+
+    /** Column holding the lag in the {@link #lagQuery} result; first column when blank. */
+    private String lagColumn = "Seconds_Behind_Source";
+
+    private Duration lagCheckInterval = Duration.ofSeconds(2);
+
+    /** How long reads from a user who just wrote are pinned to the primary. */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    /** Upper bound on users tracked for read-your-writes. */
+    private long readYourWritesMaxClients = 100_000;
+}
@@ -0,0 +1,71 @@
+package com.usermanagement.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Remembers which users wrote recently so that their subsequent reads can be pinned to the
+ * primary until the replica has had time to catch up.
+ * <p>
+ * A user is identified by their authenticated principal only. Anonymous requests are never keyed:
+ * keying them by remote address would pin every client behind the same NAT or proxy, and the
+ * anonymous principal would pin them all. Registration and login are anonymous but return a token,
+ * so they record their write under the new subject's email, which the token's requests run as.
+ */
+public class ReadYourWritesTracker {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window, long maxClients) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxClients)
+                .build();
+    }
+
+    /**
+     * Records a write by the current user once the current transaction commits. Nothing is
+     * recorded outside a transaction or for a transaction that rolls back.
+     */
+    public void recordWriteAfterCommit() {
+        recordWriteAfterCommit(currentPrincipal());
+    }
+
+    /**
+     * Records a write by {@code principal} once the current transaction commits, for anonymous
+     * requests that act for a user, such as registration and login.
+     */
+    public void recordWriteAfterCommit(String principal) {
+        if (principal == null
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(principal, Boolean.TRUE);
+            }
+        });
+    }
+
+    public boolean hasRecentWrite() {
+        String principal = currentPrincipal();
+        return principal != null && recentWriters.getIfPresent(principal) != null;
+    }
+
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,84 @@
+package com.usermanagement.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically measures replication lag on the replica and flags it unhealthy when the lag
+ * exceeds the configured bound, when replication is not running, or when the replica cannot be
+ * reached. Routing reads the flag with a single volatile load.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements DisposableBean {
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final String lagColumn;
+    private final long maxLagSeconds;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile boolean healthy = false;
+
+    public ReplicaLagMonitor(DataSource replica, DataSourceRoutingProperties properties) {
+        this.replica = replica;
+        this.lagQuery = properties.getLagQuery();
+        this.lagColumn = properties.getLagColumn();
+        this.maxLagSeconds = properties.getMaxReplicaLag().toSeconds();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Duration interval = properties.getLagCheckInterval();
+        scheduler.scheduleWithFixedDelay(this::check, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isReplicaHealthy() {
+        return healthy;
+    }
+
+    void check() {
+        boolean nowHealthy;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+
+            if (!resultSet.next()) {
+                log.warn("Replica lag query returned no rows; replication is not configured or stopped");
+                nowHealthy = false;
+            } else {
+                long lagSeconds = StringUtils.hasText(lagColumn)
+                        ? resultSet.getLong(lagColumn)
+                        : resultSet.getLong(1);
+                nowHealthy = !resultSet.wasNull() && lagSeconds <= maxLagSeconds;
+                if (!nowHealthy) {
+                    log.warn("Replica lag {}s exceeds {}s; routing reads to primary", lagSeconds, maxLagSeconds);
+                }
+            }
+        } catch (Exception ex) {
+            log.warn("Replica lag check failed; routing reads to primary: {}", ex.getMessage());
+            nowHealthy = false;
+        }
+
+        if (nowHealthy != healthy) {
+            log.info("Replica is now {}", nowHealthy ? "in sync" : "out of rotation");
+        }
+        healthy = nowHealthy;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+}
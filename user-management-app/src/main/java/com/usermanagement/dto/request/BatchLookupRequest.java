@@ -0,0 +1,26 @@
+package com.usermanagement.dto.request;
+
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchLookupRequest {
+
+    /** Upper bound on IDs and emails together. */
+    public static final int MAX_KEYS = 500;
+
+    @Builder.Default
+    @Size(max = MAX_KEYS, message = "At most " + MAX_KEYS + " IDs per lookup")
+    private List<Long> ids = new ArrayList<>();
+
+    @Builder.Default
+    @Size(max = MAX_KEYS, message = "At most " + MAX_KEYS + " emails per lookup")
+    private List<String> emails = new ArrayList<>();
+}
@@ -0,0 +1,22 @@
+package com.usermanagement.dto.request;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+/** Selects the users of a bulk role change: either explicit IDs or everyone at an email domain. */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkRoleRequest {
+
+    @Size(max = 100_000, message = "At most 100000 user IDs per request")
+    private List<Long> userIds;
+
+    @Pattern(regexp = "[A-Za-z0-9.-]+\\.[A-Za-z]{2,}", message = "Email domain must look like example.com")
+    private String emailDomain;
+}
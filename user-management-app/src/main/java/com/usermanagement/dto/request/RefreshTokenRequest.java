@@ -8,8 +8,8 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class RoleRequest {
+public class RefreshTokenRequest {
 
-    @NotBlank(message = "Role name is required")
-    private String name;
+    @NotBlank(message = "Refresh token is required")
+    private String refreshToken;
 }
@@ -0,0 +1,28 @@
+package com.usermanagement.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoleRequest {
+
+    @NotBlank(message = "Role name is required")
+    private String name;
+
+    /** Existing roles this role inherits, e.g. {@code MANAGER} for {@code ADMIN}. */
+    @Builder.Default
+    private Set<@NotBlank String> includes = new HashSet<>();
+
+    @Builder.Default
+    private Set<@Size(max = 100) @Pattern(regexp = "[a-z][a-z0-9_.:-]*",
+            message = "Permissions are lower-case, e.g. users:read") String> permissions = new HashSet<>();
+}
@@ -16,6 +16,11 @@ public class AuthResponse {
     @Builder.Default
     private String tokenType = "Bearer";
 
+    /** Access-token lifetime in seconds. */
+    private Long expiresIn;
+
+    private String refreshToken;
+
     private Long userId;
     private String email;
 }
@@ -0,0 +1,20 @@
+package com.usermanagement.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchLookupResponse {
+
+    /** Found users keyed by the requested ID or email, IDs first, each in request order. */
+    private Map<String, UserResponse> users;
+
+    /** Requested IDs and emails that match no user. */
+    private List<String> notFound;
+}
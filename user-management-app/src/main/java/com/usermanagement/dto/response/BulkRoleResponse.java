@@ -0,0 +1,19 @@
+package com.usermanagement.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkRoleResponse {
+
+    private String roleName;
+
+    /** Users whose roles changed; users that already had (or lacked) the role are skipped. */
+    private int usersChanged;
+
+    /** Chunks committed with at least one change, each with its own audit entry and event. */
+    private int chunks;
+}
@@ -0,0 +1,15 @@
+package com.usermanagement.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoleMemberResponse {
+
+    private Long id;
+    private String username;
+    private String email;
+}
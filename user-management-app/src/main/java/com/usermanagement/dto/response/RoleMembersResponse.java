@@ -0,0 +1,24 @@
+package com.usermanagement.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoleMembersResponse {
+
+    private String roleName;
+
+    /** One page of members in ascending ID order. */
+    private List<RoleMemberResponse> members;
+
+    /** Pass as {@code after} to fetch the next page; {@code null} on the last page. */
+    private Long nextCursor;
+
+    /** Members across all shards, from the maintained counts. */
+    private long totalMembers;
+}
@@ -2,6 +2,8 @@ package com.usermanagement.dto.response;
 
 import lombok.*;
 
+import java.util.Set;
+
 @Getter
 @Setter
 @NoArgsConstructor
@@ -11,4 +13,6 @@ public class RoleResponse {
 
     private Long id;
     private String name;
+    private Set<String> includes;
+    private Set<String> permissions;
 }
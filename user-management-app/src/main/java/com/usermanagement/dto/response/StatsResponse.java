@@ -3,6 +3,7 @@ package com.usermanagement.dto.response;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Getter
 @Setter
@@ -13,4 +14,7 @@ public class StatsResponse {
 
     private long totalUsers;
     private LocalDateTime lastLoginTimestamp;
+
+    /** Members per role name across all shards. */
+    private Map<String, Long> roleMemberCounts;
 }
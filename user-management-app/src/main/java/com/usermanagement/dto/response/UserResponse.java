@@ -1,5 +1,6 @@
 package com.usermanagement.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
@@ -19,4 +20,8 @@ public class UserResponse {
     private String email;
     private Set<String> roles;
     private LocalDateTime createdAt;
+
+    /** Optimistic-lock version of the user; feeds the profile's ETag. */
+    @JsonIgnore
+    private long version;
 }
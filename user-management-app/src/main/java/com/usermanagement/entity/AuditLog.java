@@ -1,5 +1,7 @@
 package com.usermanagement.entity;
 
+import com.usermanagement.entity.id.SnowflakeId;
+import com.usermanagement.sharding.ShardKeyed;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -12,10 +14,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class AuditLog {
+public class AuditLog implements ShardKeyed {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Column(nullable = false, length = 50)
@@ -33,6 +35,12 @@ public class AuditLog {
     @Column(nullable = false)
     private LocalDateTime timestamp;
 
+    /** Audit rows live next to the user they concern. */
+    @Override
+    public String shardKey() {
+        return targetUser != null ? targetUser : performedBy;
+    }
+
     @PrePersist
     protected void onCreate() {
         this.timestamp = LocalDateTime.now();
@@ -0,0 +1,42 @@
+package com.usermanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A completed response saved for an {@code Idempotency-Key}. The key is a SHA-256 of the client's
+ * scope, the endpoint and the header value. Written through {@code JdbcIdempotencyStore}; the
+ * entity only declares the table.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+
+    /** Hex SHA-256 of the scoped key. */
+    @Id
+    @Column(name = "id_key", length = 64)
+    private String key;
+
+    /** Hex SHA-256 of the request body the response was produced for. */
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(nullable = false)
+    private int status;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(length = 1 << 20)
+    private byte[] body;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,67 @@
+package com.usermanagement.entity;
+
+import com.usermanagement.entity.id.SnowflakeId;
+import com.usermanagement.sharding.ShardKeyed;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A rotating refresh token. Only an HMAC of the token's secret is stored. Every token issued by
+ * rotating another belongs to the same family, identified by the ID of the family's first token
+ * (whose own {@code familyId} is {@code null}).
+ * A rotated token is marked revoked. Presenting a revoked token means it was copied, and the whole
+ * family is revoked.
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
+        @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken implements ShardKeyed {
+
+    @Id
+    @SnowflakeId
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "family_id")
+    private Long familyId;
+
+    /** Base64url HMAC-SHA256 of the token secret. */
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public Long familyRootId() {
+        return familyId != null ? familyId : id;
+    }
+
+    /** Refresh tokens live next to their user. */
+    @Override
+    public String shardKey() {
+        return user != null ? user.getEmail() : null;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
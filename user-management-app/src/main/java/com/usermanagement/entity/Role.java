@@ -0,0 +1,46 @@
+package com.usermanagement.entity;
+
+import com.usermanagement.entity.id.SnowflakeId;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Entity
+@Table(name = "roles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "roles")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Role {
+
+    @Id
+    @SnowflakeId
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 50)
+    private String name;
+
+    /** Position of this role in the JWT role bitmask; assigned once and never reused. */
+    @Column(name = "bit_index", unique = true)
+    private Integer bitIndex;
+
+    /** Roles this role inherits: holding ADMIN implies every role ADMIN includes, transitively. */
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = "role_includes", joinColumns = @JoinColumn(name = "role_id"), inverseJoinColumns = @JoinColumn(name = "included_role_id"))
+    @Builder.Default
+    private Set<Role> includes = new HashSet<>();
+
+    /** Fine-grained permissions granted directly by this role, e.g. {@code users:read}. */
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "role_permissions", joinColumns = @JoinColumn(name = "role_id"))
+    @Column(name = "permission", nullable = false, length = 100)
+    @Builder.Default
+    private Set<String> permissions = new HashSet<>();
+}
@@ -0,0 +1,26 @@
+package com.usermanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Number of users holding a role on this shard. Maintained in the same transaction as every
+ * membership change, so the admin dashboard reads counts instead of counting {@code user_roles}.
+ * Written through {@code UserRoleBulkRepository}; the entity only declares the table.
+ */
+@Entity
+@Table(name = "role_member_counts")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoleMemberCount {
+
+    @Id
+    @Column(name = "role_id")
+    private Long roleId;
+
+    @Column(name = "member_count", nullable = false)
+    private long memberCount;
+}
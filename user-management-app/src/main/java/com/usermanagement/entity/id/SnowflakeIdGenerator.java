@@ -0,0 +1,100 @@
+package com.usermanagement.entity.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-ordered 64-bit ID generator (Snowflake layout).
+ *
+ * <pre>
+ *  0 | 41 bits: millis since {@link #EPOCH_MILLIS} | 10 bits: node id | 12 bits: sequence
+ * </pre>
+ *
+ * The timestamp and sequence are kept together in a single {@link AtomicLong} and advanced with a
+ * CAS loop, so generation is lock-free and strictly monotonic per generator. When the wall clock
+ * moves backwards, or more than 4096 IDs are requested within one millisecond, the logical clock
+ * simply keeps counting ahead of the wall clock; generation only fails once it would run more than
+ * {@code maxDriftMillis} ahead.
+ */
+public final class SnowflakeIdGenerator {
+
+    /** Custom epoch: 2024-01-01T00:00:00Z. */
+    public static final long EPOCH_MILLIS = 1_704_067_200_000L;
+
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int TIMESTAMP_SHIFT = NODE_BITS + SEQUENCE_BITS;
+
+    private final long nodeId;
+    private final long maxDriftMillis;
+    private final LongSupplier clock;
+
+    /** {@code (millis since epoch << SEQUENCE_BITS) | sequence} of the last issued ID. */
+    private final AtomicLong lastState = new AtomicLong();
+
+    public SnowflakeIdGenerator(long nodeId, long maxDriftMillis) {
+        this(nodeId, maxDriftMillis, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(long nodeId, long maxDriftMillis, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.maxDriftMillis = maxDriftMillis;
+        this.clock = clock;
+    }
+
+    public long nextId() {
+        return nextId(nodeId);
+    }
+
+    /**
+     * Issues an ID carrying {@code nodeField} in the node bits instead of this generator's node id.
+     * Used by sharding, which packs the user's shard bucket next to a smaller node id.
+     */
+    public long nextId(long nodeField) {
+        if (nodeField < 0 || nodeField > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node field must be between 0 and " + MAX_NODE_ID + ": " + nodeField);
+        }
+        long now = clock.getAsLong() - EPOCH_MILLIS;
+        long wallState = now << SEQUENCE_BITS;
+
+        while (true) {
+            long last = lastState.get();
+            long next = Math.max(wallState, last + 1);
+
+            long drift = (next >>> SEQUENCE_BITS) - now;
+            if (drift > maxDriftMillis) {
+                throw new IllegalStateException(String.format(
+                        "Clock moved backwards or sequence exhausted: logical clock is %d ms ahead of wall clock", drift));
+            }
+
+            if (lastState.compareAndSet(last, next)) {
+                return ((next >>> SEQUENCE_BITS) << TIMESTAMP_SHIFT)
+                        | (nodeField << SEQUENCE_BITS)
+                        | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    public static long timestampOf(long id) {
+        return (id >>> TIMESTAMP_SHIFT) + EPOCH_MILLIS;
+    }
+
+    /** The lowest ID that can be issued at {@code epochMillis}. */
+    public static long firstIdAt(long epochMillis) {
+        return (epochMillis - EPOCH_MILLIS) << TIMESTAMP_SHIFT;
+    }
+
+    public static long nodeIdOf(long id) {
+        return (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+}
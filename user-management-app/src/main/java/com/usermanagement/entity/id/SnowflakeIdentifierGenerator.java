@@ -0,0 +1,56 @@
+package com.usermanagement.entity.id;
+
+import com.usermanagement.sharding.ShardKeyed;
+import com.usermanagement.sharding.ShardKeys;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+
+/**
+ * Hibernate adapter for {@link SnowflakeIdGenerator}. The node id and the tolerated clock drift are
+ * read from the Hibernate settings {@value #NODE_ID_SETTING} and {@value #MAX_DRIFT_SETTING}.
+ * <p>
+ * When {@value #SHARDING_SETTING} is on, IDs of {@link ShardKeyed} entities carry the shard bucket
+ * of their key next to the node id (see {@link ShardKeys}). Pre-assigned IDs are kept, which is how
+ * reference data is replicated to every shard under the same key.
+ */
+public class SnowflakeIdentifierGenerator implements IdentifierGenerator {
+
+    public static final String NODE_ID_SETTING = "app.id.node-id";
+    public static final String MAX_DRIFT_SETTING = "app.id.max-drift-ms";
+    public static final String SHARDING_SETTING = "app.sharding.enabled";
+
+    private static final long DEFAULT_MAX_DRIFT_MS = 5_000L;
+
+    private final SnowflakeIdGenerator generator;
+    private final boolean sharded;
+
+    public SnowflakeIdentifierGenerator(SnowflakeId config, Member member, CustomIdGeneratorCreationContext context) {
+        ConfigurationService configuration = context.getServiceRegistry().requireService(ConfigurationService.class);
+        long nodeId = configuration.getSetting(NODE_ID_SETTING, SnowflakeIdentifierGenerator::toLong, 0L);
+        long maxDrift = configuration.getSetting(MAX_DRIFT_SETTING, SnowflakeIdentifierGenerator::toLong, DEFAULT_MAX_DRIFT_MS);
+        this.generator = new SnowflakeIdGenerator(nodeId, maxDrift);
+        this.sharded = configuration.getSetting(SHARDING_SETTING, value -> Boolean.valueOf(value.toString()), false);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        if (sharded && object instanceof ShardKeyed keyed && keyed.shardKey() != null) {
+            int bucket = ShardKeys.bucketOf(keyed.shardKey());
+            return generator.nextId(ShardKeys.nodeField(bucket, generator.getNodeId()));
+        }
+        return generator.nextId();
+    }
+
+    @Override
+    public boolean allowAssignedIdentifiers() {
+        return true;
+    }
+
+    private static Long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : Long.valueOf(value.toString().trim());
+    }
+}
@@ -0,0 +1,117 @@
+package com.usermanagement.event;
+
+import com.usermanagement.config.KafkaConfig;
+import com.usermanagement.config.LoginAggregationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes user events to Kafka. While the producer is unhealthy, as tracked by the
+ * {@link ProducerCircuitBreaker}, or while earlier events are still spooled, events go to the
+ * {@link EventSpool} instead, and {@link EventSpoolReplayer} delivers them once Kafka is back.
+ * Spooled events are stored in the {@link UserEventCodec} format. Without a spool, events are
+ * dropped while the breaker is open rather than blocking the caller.
+ */
+@Slf4j
+@Component
+public class EventPublisher {
+
+    private final KafkaTemplate<String, UserEvent> kafkaTemplate;
+    private final ProducerCircuitBreaker circuitBreaker;
+    private final EventSpool spool;
+    private final LoginAggregationProperties loginAggregation;
+    private final ObjectProvider<LoginWindowAggregator> loginWindowAggregator;
+    private final MeterRegistry meterRegistry;
+    private final Counter dropped;
+
+    public EventPublisher(KafkaTemplate<String, UserEvent> kafkaTemplate, ProducerCircuitBreaker circuitBreaker,
+                          ObjectProvider<EventSpool> spool, LoginAggregationProperties loginAggregation,
+                          ObjectProvider<LoginWindowAggregator> loginWindowAggregator, MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.spool = spool.getIfAvailable();
+        this.loginAggregation = loginAggregation;
+        // Resolved per login, since the aggregator publishes its summaries through this publisher
+        this.loginWindowAggregator = loginWindowAggregator;
+        this.meterRegistry = meterRegistry;
+        this.dropped = Counter.builder("events.dropped")
+                .description("Events neither sent to Kafka nor spooled")
+                .register(meterRegistry);
+    }
+
+    @Async
+    public void publishRegistrationEvent(UserEvent event) {
+        publish(KafkaConfig.USER_REGISTRATION_TOPIC, event.getEmail(), event);
+    }
+
+    /** Publishes the login raw, or adds it to the open aggregation window, or both, as configured. */
+    @Async
+    public void publishLoginEvent(UserEvent event) {
+        LoginWindowAggregator aggregator = loginAggregation.isEnabled() ? loginWindowAggregator.getIfAvailable() : null;
+        if (aggregator != null) {
+            aggregator.add(event);
+        }
+        if (aggregator == null || loginAggregation.isPublishRaw()) {
+            publish(KafkaConfig.USER_LOGIN_TOPIC, event.getEmail(), event);
+        }
+    }
+
+    public void publishLoginSummaryEvent(UserEvent event) {
+        publish(KafkaConfig.USER_LOGIN_SUMMARY_TOPIC, event.getEmail(), event);
+    }
+
+    @Async
+    public void publishRoleChangeEvent(UserEvent event) {
+        publish(KafkaConfig.USER_ROLE_TOPIC, event.getRoleName(), event);
+    }
+
+    private void publish(String topic, String key, UserEvent event) {
+        // Spooled events go first, so new ones queue behind them
+        if ((spool != null && !spool.isEmpty()) || !circuitBreaker.allowRequest()) {
+            spool(topic, key, event);
+            return;
+        }
+        try {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            kafkaTemplate.send(topic, key, event).whenComplete((result, ex) -> {
+                sample.stop(meterRegistry.timer("events.publish", "topic", topic, "outcome", ex == null ? "success" : "failure"));
+                if (ex == null) {
+                    circuitBreaker.recordSuccess();
+                } else {
+                    circuitBreaker.recordFailure();
+                    log.warn("Failed to publish {} event to {}: {}", event.getEventType(), topic, ex.getMessage());
+                    spool(topic, key, event);
+                }
+            });
+            log.debug("Published {} event to {} with key {}", event.getEventType(), topic, key);
+        } catch (Exception e) {
+            circuitBreaker.recordFailure();
+            log.error("Failed to publish {} event to {} with key {}", event.getEventType(), topic, key, e);
+            spool(topic, key, event);
+        }
+    }
+
+    private void spool(String topic, String key, UserEvent event) {
+        if (spool == null) {
+            dropped.increment();
+            log.error("Kafka unavailable, dropped {} event for {}", event.getEventType(), key);
+            return;
+        }
+        try {
+            if (spool.append(topic, key, UserEventCodec.encode(event))) {
+                log.debug("Spooled {} event for {}", event.getEventType(), key);
+                return;
+            }
+            log.error("Event spool full, dropped {} event for {}", event.getEventType(), key);
+        } catch (RuntimeException e) {
+            log.error("Failed to spool {} event for {}", event.getEventType(), key, e);
+        }
+        dropped.increment();
+    }
+}
@@ -0,0 +1,313 @@
+package com.usermanagement.event;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of events that could not be handed to Kafka, in memory-mapped segment files
+ * on local disk. Appending is a copy into a mapped buffer. The OS writes the pages back, so
+ * spooled events survive a crash of the process; {@link #flush()} forces them to disk.
+ *
+ * <p>Records are addressed by a byte position that grows across segments. Segment files are named
+ * after the position they start at. A record that does not fit in the current segment rolls over
+ * to a new one. Each record is laid out as
+ * <pre>
+ * int length | int crc32c(payload) | long appendedAtMillis | payload
+ * payload: short topicLength | topic | short keyLength (-1 for none) | key | value
+ * </pre>
+ * The length is written last, so a record torn by a crash reads as the end of the journal. On
+ * open, the tail of the last segment is scanned to find the end, and records failing their CRC
+ * are dropped.
+ *
+ * <p>A single reader consumes the journal in order and {@link #commit(long) commits} its position
+ * to a checkpoint file. Segments that lie entirely before that position are deleted. Appends are
+ * serialized; the reader runs concurrently with them.
+ */
+@Slf4j
+public class EventSpool implements Closeable {
+
+    /** A spooled record and the position just after it, which is what to commit once it is delivered. */
+    public record SpooledRecord(String topic, String key, byte[] value, long appendedAtMillis, long nextPosition) {
+    }
+
+    /**
+     * Records read in one call, and the position reading stopped at. That is past the last record
+     * when corrupt records after it were skipped, and is what to commit once all records are delivered.
+     */
+    public record Batch(List<SpooledRecord> records, long nextPosition) {
+    }
+
+    private static final int CRC_OFFSET = Integer.BYTES;
+    private static final int TIMESTAMP_OFFSET = CRC_OFFSET + Integer.BYTES;
+    private static final int HEADER_SIZE = TIMESTAMP_OFFSET + Long.BYTES;
+    private static final String SEGMENT_SUFFIX = ".spool";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private record Segment(long base, Path path, MappedByteBuffer buffer) {
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long maxBytes;
+    private final LongSupplier clock;
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final MappedByteBuffer checkpoint;
+    private final CRC32C crc = new CRC32C();
+
+    private Segment writeSegment;
+    private volatile long writePosition;
+    private volatile long readPosition;
+    /** Append time of the oldest uncommitted record, or -1; kept by append and commit so any thread may read it. */
+    private volatile long oldestPendingMillis = -1;
+
+    public EventSpool(Path directory, int segmentSize, long maxBytes) throws IOException {
+        this(directory, segmentSize, maxBytes, System::currentTimeMillis);
+    }
+
+    EventSpool(Path directory, int segmentSize, long maxBytes, LongSupplier clock) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxBytes = maxBytes;
+        this.clock = clock;
+
+        Files.createDirectories(directory);
+        try (FileChannel channel = FileChannel.open(directory.resolve(CHECKPOINT_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            this.checkpoint = channel.map(FileChannel.MapMode.READ_WRITE, 0, Long.BYTES);
+        }
+        recover();
+    }
+
+    /**
+     * Appends a record.
+     *
+     * @return {@code false} if the spool is full and the record was not stored
+     */
+    public synchronized boolean append(String topic, String key, byte[] value) {
+        byte[] topicBytes = topic.getBytes(StandardCharsets.UTF_8);
+        byte[] keyBytes = key != null ? key.getBytes(StandardCharsets.UTF_8) : null;
+        int payloadSize = Short.BYTES + topicBytes.length + Short.BYTES + (keyBytes != null ? keyBytes.length : 0) + value.length;
+        int recordSize = HEADER_SIZE + payloadSize;
+        if (recordSize + Integer.BYTES > segmentSize) {
+            throw new IllegalArgumentException("Record of " + recordSize + " bytes does not fit in a spool segment");
+        }
+        if (writePosition - readPosition + recordSize > maxBytes) {
+            return false;
+        }
+
+        boolean wasEmpty = isEmpty();
+        int offset = (int) (writePosition - writeSegment.base());
+        if (offset + recordSize + Integer.BYTES > segmentSize) {
+            // The zero length left after the last record marks the end of this segment
+            writeSegment = openSegment(writeSegment.base() + segmentSize);
+            offset = 0;
+        }
+
+        ByteBuffer payload = writeSegment.buffer().duplicate().position(offset + HEADER_SIZE);
+        payload.putShort((short) topicBytes.length).put(topicBytes);
+        if (keyBytes != null) {
+            payload.putShort((short) keyBytes.length).put(keyBytes);
+        } else {
+            payload.putShort((short) -1);
+        }
+        payload.put(value);
+
+        crc.reset();
+        crc.update(writeSegment.buffer().duplicate().position(offset + HEADER_SIZE).limit(offset + recordSize));
+        MappedByteBuffer buffer = writeSegment.buffer();
+        long now = clock.getAsLong();
+        buffer.putLong(offset + TIMESTAMP_OFFSET, now);
+        buffer.putInt(offset + CRC_OFFSET, (int) crc.getValue());
+        buffer.putInt(offset, recordSize);
+        writePosition = writeSegment.base() + offset + recordSize;
+        if (wasEmpty) {
+            oldestPendingMillis = now;
+        }
+        return true;
+    }
+
+    /**
+     * Up to {@code max} records from {@code position} on, in append order. A corrupt record is
+     * skipped along with the rest of its segment; in the segment still being written, everything up
+     * to the current end is skipped, since records after it cannot be found without their lengths.
+     */
+    public Batch read(long position, int max) {
+        List<SpooledRecord> records = new ArrayList<>(Math.min(max, 1024));
+        long end = writePosition;
+        CRC32C readCrc = new CRC32C();
+        while (records.size() < max && position < end) {
+            Map.Entry<Long, Segment> entry = segments.floorEntry(position);
+            Segment segment = entry.getValue();
+            int offset = (int) (position - segment.base());
+            MappedByteBuffer buffer = segment.buffer();
+            int length = offset + Integer.BYTES <= segmentSize ? buffer.getInt(offset) : 0;
+            if (length == 0) {
+                position = segment.base() + segmentSize;
+                continue;
+            }
+
+            if (length < HEADER_SIZE || offset + length > segmentSize || !crcMatches(buffer, offset, length, readCrc)) {
+                long skipTo = Math.min(segment.base() + segmentSize, end);
+                log.error("Corrupt record at position {} in {}, skipping {} bytes", position, segment.path(), skipTo - position);
+                position = skipTo;
+                continue;
+            }
+
+            ByteBuffer payload = buffer.duplicate().position(offset + HEADER_SIZE).limit(offset + length);
+            String topic = readString(payload, payload.getShort());
+            short keyLength = payload.getShort();
+            String key = keyLength >= 0 ? readString(payload, keyLength) : null;
+            byte[] value = new byte[payload.remaining()];
+            payload.get(value);
+            position += length;
+            records.add(new SpooledRecord(topic, key, value, buffer.getLong(offset + TIMESTAMP_OFFSET), position));
+        }
+        return new Batch(records, position);
+    }
+
+    /** Marks everything before {@code position} as delivered and deletes the segments it covers. */
+    public void commit(long position) {
+        readPosition = position;
+        checkpoint.putLong(0, position);
+        // Under the append lock, so an append to an empty spool cannot slip in between the read and the write
+        synchronized (this) {
+            List<SpooledRecord> next = read(position, 1).records();
+            oldestPendingMillis = next.isEmpty() ? -1 : next.get(0).appendedAtMillis();
+        }
+        for (Segment segment : segments.headMap(position, true).values()) {
+            if (segment.base() + segmentSize <= position && segment != writeSegment) {
+                segments.remove(segment.base());
+                try {
+                    Files.deleteIfExists(segment.path());
+                } catch (IOException ex) {
+                    log.warn("Could not delete spool segment {}: {}", segment.path(), ex.getMessage());
+                }
+            }
+        }
+    }
+
+    public long readPosition() {
+        return readPosition;
+    }
+
+    public boolean isEmpty() {
+        return readPosition >= writePosition;
+    }
+
+    /** Bytes appended but not yet committed, including the unused tails of rolled-over segments. */
+    public long pendingBytes() {
+        return writePosition - readPosition;
+    }
+
+    /**
+     * Append time of the oldest record not yet committed, or {@code -1} if there is none. Unlike
+     * {@link #read}, safe to call from any thread, such as a metrics poller.
+     */
+    public long oldestPendingMillis() {
+        return oldestPendingMillis;
+    }
+
+    /** Forces appended records to disk. */
+    public synchronized void flush() {
+        writeSegment.buffer().force();
+        checkpoint.force();
+    }
+
+    @Override
+    public synchronized void close() {
+        flush();
+    }
+
+    private void recover() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX)).toList()) {
+                String name = path.getFileName().toString();
+                long base = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+                segments.put(base, mapSegment(base, path));
+            }
+        }
+
+        long committed = checkpoint.getLong(0);
+        if (segments.isEmpty()) {
+            writeSegment = openSegment(committed);
+            readPosition = committed;
+            writePosition = committed;
+            return;
+        }
+
+        readPosition = Math.max(committed, segments.firstKey());
+        writeSegment = segments.lastEntry().getValue();
+        // Earlier segments were complete when the next one was started; only the last can end in a torn record
+        writePosition = findEnd(writeSegment);
+        commit(readPosition);
+        log.info("Opened event spool {}: {} bytes pending in {} segments", directory, pendingBytes(), segments.size());
+    }
+
+    private long findEnd(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer();
+        CRC32C scanCrc = new CRC32C();
+        int offset = 0;
+        while (offset + HEADER_SIZE <= segmentSize) {
+            int length = buffer.getInt(offset);
+            if (length < HEADER_SIZE || offset + length > segmentSize) {
+                break;
+            }
+            if (!crcMatches(buffer, offset, length, scanCrc)) {
+                log.warn("Dropping torn record at offset {} of {}", offset, segment.path());
+                break;
+            }
+            offset += length;
+        }
+        // Clear whatever follows, so the next append starts on a clean end marker
+        for (int i = offset; i < Math.min(offset + HEADER_SIZE, segmentSize); i++) {
+            buffer.put(i, (byte) 0);
+        }
+        return segment.base() + offset;
+    }
+
+    private static boolean crcMatches(ByteBuffer buffer, int offset, int length, CRC32C checksum) {
+        checksum.reset();
+        checksum.update(buffer.duplicate().position(offset + HEADER_SIZE).limit(offset + length));
+        return (int) checksum.getValue() == buffer.getInt(offset + CRC_OFFSET);
+    }
+
+    private Segment openSegment(long base) {
+        try {
+            Path path = directory.resolve(String.format("%020d%s", base, SEGMENT_SUFFIX));
+            Segment segment = mapSegment(base, path);
+            segments.put(base, segment);
+            return segment;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not create spool segment in " + directory, ex);
+        }
+    }
+
+    private Segment mapSegment(long base, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new Segment(base, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+        }
+    }
+
+    private static String readString(ByteBuffer buffer, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,139 @@
+package com.usermanagement.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the {@link EventSpool} to Kafka in append order. Each batch is sent, flushed and awaited;
+ * the spool is committed up to the last record of the unbroken run of successes, so a failure
+ * part-way resends only from the first failed record. Delivery is at least once. While the
+ * {@link ProducerCircuitBreaker} is open, only the probe it lets through attempts a batch.
+ * <p>
+ * Records are in the {@link UserEventCodec} format, whose first byte is its version. Spools written
+ * before that format hold JSON, which always starts with <code>'{'</code>, and are still read. A
+ * record that decodes in neither format is logged, counted in {@link #skipped()} and committed
+ * past; it is not a producer failure, so it never trips the breaker.
+ */
+@Slf4j
+public class EventSpoolReplayer {
+
+    private final EventSpool spool;
+    private final KafkaTemplate<String, UserEvent> kafkaTemplate;
+    private final ProducerCircuitBreaker circuitBreaker;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong skipped = new AtomicLong();
+
+    public EventSpoolReplayer(EventSpool spool, KafkaTemplate<String, UserEvent> kafkaTemplate,
+                              ProducerCircuitBreaker circuitBreaker, int batchSize, Duration sendTimeout,
+                              ObjectMapper objectMapper) {
+        this.spool = spool;
+        this.kafkaTemplate = kafkaTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.objectMapper = objectMapper;
+    }
+
+    /** Records skipped because they could not be decoded. */
+    public long skipped() {
+        return skipped.get();
+    }
+
+    /** Replays until the spool is empty or a send fails; returns the number of events delivered. */
+    public int replay() {
+        spool.flush();
+        long skippedBefore = skipped.get();
+        int delivered = 0;
+        while (!spool.isEmpty() && circuitBreaker.allowRequest()) {
+            EventSpool.Batch batch = spool.read(spool.readPosition(), batchSize);
+            List<EventSpool.SpooledRecord> records = batch.records();
+            if (records.isEmpty()) {
+                // Only corrupt records were left to read; move past them, or stop if there was nothing at all
+                if (batch.nextPosition() <= spool.readPosition()) {
+                    break;
+                }
+                spool.commit(batch.nextPosition());
+                continue;
+            }
+            int sent = send(records);
+            if (sent < records.size()) {
+                if (sent > 0) {
+                    spool.commit(records.get(sent - 1).nextPosition());
+                    delivered += sent;
+                }
+                circuitBreaker.recordFailure();
+                break;
+            }
+            spool.commit(batch.nextPosition());
+            delivered += sent;
+            circuitBreaker.recordSuccess();
+        }
+        delivered -= (int) (skipped.get() - skippedBefore);
+        if (delivered > 0) {
+            log.info("Replayed {} spooled events, {} bytes still spooled", delivered, spool.pendingBytes());
+        }
+        return delivered;
+    }
+
+    /**
+     * Sends the batch and returns how many records, from the first, were acknowledged or skipped as
+     * undecodable.
+     */
+    private int send(List<EventSpool.SpooledRecord> batch) {
+        // A null future marks a record that could not be decoded
+        List<CompletableFuture<SendResult<String, UserEvent>>> futures = new ArrayList<>(batch.size());
+        try {
+            for (EventSpool.SpooledRecord record : batch) {
+                UserEvent event = decode(record);
+                futures.add(event != null ? kafkaTemplate.send(record.topic(), record.key(), event) : null);
+            }
+            kafkaTemplate.flush();
+        } catch (RuntimeException e) {
+            log.warn("Replaying spooled events failed: {}", e.getMessage());
+        }
+
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        int done = 0;
+        for (; done < futures.size(); done++) {
+            if (futures.get(done) == null) {
+                continue;
+            }
+            try {
+                futures.get(done).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                log.warn("Replaying spooled events failed: {}", e.getMessage());
+                break;
+            }
+        }
+        // Counted once they are committed past, not each time a failed batch is retried
+        skipped.addAndGet(futures.subList(0, done).stream().filter(future -> future == null).count());
+        return done;
+    }
+
+    private UserEvent decode(EventSpool.SpooledRecord record) {
+        byte[] value = record.value();
+        try {
+            if (value.length > 0 && value[0] == '{') {
+                return objectMapper.readValue(value, UserEvent.class);
+            }
+            return UserEventCodec.decode(value);
+        } catch (Exception e) {
+            log.error("Skipping spooled event for {} on {} that cannot be decoded: {}", record.key(), record.topic(), e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.usermanagement.event;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Coalesces {@code USER_LOGGED_IN} events per user over tumbling windows. When a window closes,
+ * one {@code USER_LOGIN_SUMMARY} event per user who logged in goes to the sink, with the number
+ * of logins and the first and last login time. Windows are aligned to multiples of the window
+ * length, so every user's window closes at the same moment; {@link #flushIfDue()} is expected to
+ * be called regularly to close them.
+ *
+ * <p>At most {@code maxActiveUsers} users are tracked. When another user logs in, the window is
+ * closed early. A user whose logins span an early close gets several summaries for the window,
+ * which consumers add up. Concurrent logins of new users can overshoot the cap by the number of
+ * threads adding at that moment.
+ *
+ * <p>Logins are added under a shared lock; closing a window swaps the table under the exclusive
+ * lock and emits the summaries after releasing it.
+ */
+@Slf4j
+public class LoginWindowAggregator {
+
+    private static final class Window {
+        private String email;
+        private int count;
+        private LocalDateTime first;
+        private LocalDateTime last;
+    }
+
+    private final long windowMillis;
+    private final int maxActiveUsers;
+    private final Consumer<UserEvent> sink;
+    private final LongSupplier clock;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong earlyFlushes = new AtomicLong();
+
+    private volatile ConcurrentHashMap<Long, Window> windows = new ConcurrentHashMap<>();
+    private volatile long windowEnd;
+
+    public LoginWindowAggregator(Duration window, int maxActiveUsers, Consumer<UserEvent> sink) {
+        this(window, maxActiveUsers, sink, System::currentTimeMillis);
+    }
+
+    LoginWindowAggregator(Duration window, int maxActiveUsers, Consumer<UserEvent> sink, LongSupplier clock) {
+        this.windowMillis = window.toMillis();
+        this.maxActiveUsers = maxActiveUsers;
+        this.sink = sink;
+        this.clock = clock;
+        this.windowEnd = endOfWindow(clock.getAsLong());
+    }
+
+    /** Adds a login; events without a user ID are ignored. */
+    public void add(UserEvent login) {
+        Long userId = login.getUserId();
+        if (userId == null) {
+            return;
+        }
+        LocalDateTime at = login.getTimestamp() != null ? login.getTimestamp() : LocalDateTime.now();
+        while (true) {
+            lock.readLock().lock();
+            try {
+                if (clock.getAsLong() < windowEnd && (windows.size() < maxActiveUsers || windows.containsKey(userId))) {
+                    windows.compute(userId, (id, window) -> {
+                        if (window == null) {
+                            window = new Window();
+                            window.first = at;
+                        }
+                        window.email = login.getEmail();
+                        window.count++;
+                        if (at.isBefore(window.first)) {
+                            window.first = at;
+                        }
+                        if (window.last == null || at.isAfter(window.last)) {
+                            window.last = at;
+                        }
+                        return window;
+                    });
+                    return;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (!flushIfDue() && windows.size() >= maxActiveUsers) {
+                earlyFlushes.incrementAndGet();
+                flush(false);
+            }
+        }
+    }
+
+    /** Closes the current window if its time is up; returns whether it did. */
+    public boolean flushIfDue() {
+        if (clock.getAsLong() < windowEnd) {
+            return false;
+        }
+        return flush(true);
+    }
+
+    /** Closes the current window regardless of its time, as on shutdown. */
+    public void close() {
+        flush(false);
+    }
+
+    public int activeUsers() {
+        return windows.size();
+    }
+
+    public long earlyFlushes() {
+        return earlyFlushes.get();
+    }
+
+    private boolean flush(boolean onlyIfDue) {
+        Map<Long, Window> closed;
+        long now = clock.getAsLong();
+        lock.writeLock().lock();
+        try {
+            if (onlyIfDue && now < windowEnd) {
+                return false;
+            }
+            closed = windows;
+            windows = new ConcurrentHashMap<>();
+            if (now >= windowEnd) {
+                windowEnd = endOfWindow(now);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        LocalDateTime closedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(now), ZoneId.systemDefault());
+        for (Map.Entry<Long, Window> entry : closed.entrySet()) {
+            Window window = entry.getValue();
+            try {
+                sink.accept(UserEvent.builder()
+                        .eventType(UserEvent.EventType.USER_LOGIN_SUMMARY.name())
+                        .userId(entry.getKey())
+                        .email(window.email)
+                        .timestamp(closedAt)
+                        .loginCount(window.count)
+                        .firstLoginAt(window.first)
+                        .lastLoginAt(window.last)
+                        .build());
+            } catch (RuntimeException ex) {
+                log.error("Failed to publish login summary for user {}", entry.getKey(), ex);
+            }
+        }
+        if (!closed.isEmpty()) {
+            log.debug("Closed login window with {} users", closed.size());
+        }
+        return true;
+    }
+
+    private long endOfWindow(long now) {
+        return now - Math.floorMod(now, windowMillis) + windowMillis;
+    }
+}
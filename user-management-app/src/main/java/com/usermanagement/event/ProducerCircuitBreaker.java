@@ -0,0 +1,68 @@
+package com.usermanagement.event;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks whether the Kafka producer is healthy. After {@code failureThreshold} consecutive failed
+ * sends the breaker opens, and callers stop waiting on the producer. Once {@code openDuration} has
+ * passed, a single caller is let through as a probe; its success closes the breaker, its failure
+ * opens it again.
+ */
+@Slf4j
+public class ProducerCircuitBreaker {
+
+    private static final long CLOSED = 0;
+    private static final long PROBING = -1;
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final LongSupplier clock;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    /** {@link #CLOSED}, {@link #PROBING}, or the time until which the breaker stays open. */
+    private final AtomicLong state = new AtomicLong(CLOSED);
+
+    public ProducerCircuitBreaker(int failureThreshold, Duration openDuration) {
+        this(failureThreshold, openDuration, System::currentTimeMillis);
+    }
+
+    ProducerCircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier clock) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openDuration.toMillis();
+        this.clock = clock;
+    }
+
+    public boolean isClosed() {
+        return state.get() == CLOSED;
+    }
+
+    /** Whether a send may be attempted now; when open, claims the probe once the open period is over. */
+    public boolean allowRequest() {
+        long current = state.get();
+        if (current == CLOSED) {
+            return true;
+        }
+        return current != PROBING && clock.getAsLong() >= current && state.compareAndSet(current, PROBING);
+    }
+
+    public void recordSuccess() {
+        consecutiveFailures.set(0);
+        if (state.getAndSet(CLOSED) != CLOSED) {
+            log.info("Kafka producer recovered, circuit closed");
+        }
+    }
+
+    public void recordFailure() {
+        long current = state.get();
+        if (current == PROBING || (current == CLOSED && consecutiveFailures.incrementAndGet() >= failureThreshold)) {
+            if (state.compareAndSet(current, clock.getAsLong() + openMillis)) {
+                log.warn("Kafka producer unhealthy, circuit open for {} ms", openMillis);
+            }
+        }
+    }
+}
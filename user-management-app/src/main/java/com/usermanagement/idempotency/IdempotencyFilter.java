@@ -0,0 +1,357 @@
+package com.usermanagement.idempotency;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.usermanagement.dto.response.ApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Replays the response of a completed request when a client retries it with the same
+ * {@code Idempotency-Key}, so the retry never reaches the controller.
+ * <p>
+ * Keys are scoped to the authenticated user, or shared by all anonymous clients, and to the
+ * method and path, so one key can be reused on another endpoint. The request body is fingerprinted;
+ * reusing a key with a different body gets {@code 422}. A retry that arrives while the original is
+ * still running on this instance waits for it and gets its response, or {@code 409} once
+ * {@code in-flight-timeout} passes. Responses are saved unless they are server errors or depend on
+ * credentials ({@code 401}, {@code 403}); a request that failed that way runs again when retried.
+ * Only the status, content type and body are replayed, marked with {@code Idempotent-Replayed: true}.
+ * <p>
+ * The {@code redacted-fields} (access and refresh tokens) are removed from a JSON body before it is
+ * kept, so no credential sits in the store and a replay never hands out a refresh token that may
+ * already have been rotated. A JSON body that cannot be parsed for redaction is not kept at all.
+ * <p>
+ * Runs after {@code JwtAuthenticationFilter}, so the user is known.
+ */
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final String ANONYMOUS = "anonymous";
+
+    private final boolean enabled;
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final List<Rule> rules;
+    private final List<String> redactedFields;
+    private final int maxBodySize;
+    private final Duration inFlightTimeout;
+    private final ConcurrentMap<String, CompletableFuture<IdempotencyStore.StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter coalesced;
+    private final Counter mismatched;
+    private final Counter inProgress;
+
+    public IdempotencyFilter(IdempotencyProperties properties, IdempotencyStore store,
+                             ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.rules = properties.getEndpoints().stream()
+                .map(endpoint -> new Rule(PathPatternParser.defaultInstance.parse(endpoint.getPath()), endpoint.getMethod()))
+                .toList();
+        this.redactedFields = List.copyOf(properties.getRedactedFields());
+        this.maxBodySize = (int) properties.getMaxBodySize().toBytes();
+        this.inFlightTimeout = properties.getInFlightTimeout();
+
+        this.executed = counter(meterRegistry, "executed");
+        this.replayed = counter(meterRegistry, "replayed");
+        this.coalesced = counter(meterRegistry, "coalesced");
+        this.mismatched = counter(meterRegistry, "mismatched");
+        this.inProgress = counter(meterRegistry, "in_progress");
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("http.idempotency.requests")
+                .description("Requests carrying an Idempotency-Key")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || request.getHeader(IDEMPOTENCY_KEY) == null || !matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY);
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        if (request.getContentLengthLong() > maxBodySize) {
+            writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body is too large for an idempotent request");
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(maxBodySize + 1);
+        if (body.length > maxBodySize) {
+            writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body is too large for an idempotent request");
+            return;
+        }
+
+        String key = sha256(scopeOf() + '\n' + request.getMethod() + ' ' + request.getRequestURI() + '\n' + idempotencyKey);
+        String fingerprint = sha256(body);
+
+        while (true) {
+            IdempotencyStore.StoredResponse stored = store.find(key);
+            if (stored != null) {
+                replay(stored, fingerprint, response, replayed);
+                return;
+            }
+
+            CompletableFuture<IdempotencyStore.StoredResponse> pending = new CompletableFuture<>();
+            CompletableFuture<IdempotencyStore.StoredResponse> running = inFlight.putIfAbsent(key, pending);
+            if (running == null) {
+                execute(new BufferedBodyRequest(request, body), response, filterChain, key, fingerprint, pending);
+                return;
+            }
+
+            IdempotencyStore.StoredResponse completed;
+            try {
+                completed = running.get(inFlightTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | ExecutionException ex) {
+                inProgress.increment();
+                writeError(response, HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress");
+                return;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("Interrupted while waiting for a request with the same Idempotency-Key", ex);
+            }
+            if (completed != null) {
+                replay(completed, fingerprint, response, coalesced);
+                return;
+            }
+            // The original request's response was not saved, so this one runs in its place
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         String key, String fingerprint,
+                         CompletableFuture<IdempotencyStore.StoredResponse> pending) throws ServletException, IOException {
+        executed.increment();
+        ContentCachingResponseWrapper captured = new ContentCachingResponseWrapper(response);
+        IdempotencyStore.StoredResponse result = null;
+        try {
+            filterChain.doFilter(request, captured);
+            byte[] kept = isReplayable(captured.getStatus())
+                    ? redact(captured.getContentType(), captured.getContentAsByteArray())
+                    : null;
+            if (kept != null) {
+                result = new IdempotencyStore.StoredResponse(fingerprint, captured.getStatus(),
+                        captured.getContentType(), kept);
+                try {
+                    store.save(key, result);
+                } catch (RuntimeException ex) {
+                    log.warn("Could not save the response for an idempotency key: {}", ex.getMessage());
+                }
+            }
+            captured.copyBodyToResponse();
+        } finally {
+            inFlight.remove(key, pending);
+            pending.complete(result);
+        }
+    }
+
+    private void replay(IdempotencyStore.StoredResponse stored, String fingerprint,
+                        HttpServletResponse response, Counter outcome) throws IOException {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            mismatched.increment();
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used for a request with a different body");
+            return;
+        }
+        outcome.increment();
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(IDEMPOTENT_REPLAYED, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    /** The body to keep, without the redacted fields, or {@code null} if it must not be kept. */
+    private byte[] redact(String contentType, byte[] body) {
+        if (redactedFields.isEmpty() || body.length == 0 || !isJson(contentType)) {
+            return body;
+        }
+        try {
+            JsonNode tree = objectMapper.readTree(body);
+            return redact(tree) ? objectMapper.writeValueAsBytes(tree) : body;
+        } catch (IOException ex) {
+            log.warn("Not saving a response for an idempotency key, it could not be redacted: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    /** Removes the redacted fields from the tree and returns whether there were any. */
+    private boolean redact(JsonNode node) {
+        boolean removed = false;
+        if (node instanceof ObjectNode object) {
+            for (String field : redactedFields) {
+                removed |= object.remove(field) != null;
+            }
+        }
+        for (JsonNode child : node) {
+            removed |= redact(child);
+        }
+        return removed;
+    }
+
+    private static boolean isReplayable(int status) {
+        return status < 500 && status != HttpStatus.UNAUTHORIZED.value() && status != HttpStatus.FORBIDDEN.value();
+    }
+
+    private static boolean isJson(String contentType) {
+        try {
+            return contentType != null && MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON);
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(message));
+    }
+
+    private boolean matches(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (Rule rule : rules) {
+            if (rule.method().equalsIgnoreCase(request.getMethod()) && rule.pattern().matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String scopeOf() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return ANONYMOUS;
+        }
+        return "user:" + authentication.getName();
+    }
+
+    private static String sha256(String value) {
+        return sha256(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(byte[] value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private record Rule(PathPattern pattern, String method) {
+    }
+
+    /** Serves the body read for fingerprinting to the rest of the chain. */
+    private static class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /** The whole body is already in memory, so the listener is called back at once. */
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException ex) {
+                        listener.onError(ex);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
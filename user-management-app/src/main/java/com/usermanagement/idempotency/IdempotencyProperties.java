@@ -0,0 +1,63 @@
+package com.usermanagement.idempotency;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code Idempotency-Key} handling, bound from {@code app.idempotency}. Only requests to one of
+ * the {@link #endpoints} that carry the header are tracked; everything else passes straight through.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+    public enum Store {
+        MEMORY,
+        JDBC
+    }
+
+    private boolean enabled = true;
+
+    /** Where completed responses are kept. {@code jdbc} shares them between instances. */
+    private Store store = Store.MEMORY;
+
+    /** How long a completed response is replayed for its key. */
+    private Duration ttl = Duration.ofHours(24);
+
+    /** Upper bound on responses kept by the in-memory store. */
+    private long maxEntries = 100_000;
+
+    /** Requests with a larger body are rejected rather than fingerprinted. */
+    private DataSize maxBodySize = DataSize.ofKilobytes(64);
+
+    /** How long a retry waits for the original request with the same key to complete. */
+    private Duration inFlightTimeout = Duration.ofSeconds(10);
+
+    /** How often the {@code jdbc} store deletes expired rows. */
+    private Duration cleanupInterval = Duration.ofMinutes(10);
+
+    /**
+     * JSON fields removed, at any depth, from a response before it is kept. Credentials must never
+     * be stored: a replay then carries everything but them, and the client logs in for fresh ones.
+     */
+    private List<String> redactedFields = new ArrayList<>(List.of("token", "refreshToken"));
+
+    private List<Endpoint> endpoints = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Endpoint {
+
+        /** Path pattern in {@code PathPattern} syntax, e.g. {@code /api/users/{userId}/roles}. */
+        private String path;
+
+        private String method = "POST";
+    }
+}
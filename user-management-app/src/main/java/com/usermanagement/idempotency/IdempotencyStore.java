@@ -0,0 +1,17 @@
+package com.usermanagement.idempotency;
+
+/**
+ * Completed responses by scoped idempotency key. Entries expire after the store's TTL. When two
+ * instances save the same key, the first save wins.
+ */
+public interface IdempotencyStore {
+
+    /** A completed response, along with the fingerprint of the request that produced it. */
+    record StoredResponse(String fingerprint, int status, String contentType, byte[] body) {
+    }
+
+    /** The response saved for {@code key}, or {@code null} if there is none or it has expired. */
+    StoredResponse find(String key);
+
+    void save(String key, StoredResponse response);
+}
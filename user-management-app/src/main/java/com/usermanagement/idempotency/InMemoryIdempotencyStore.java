@@ -0,0 +1,33 @@
+package com.usermanagement.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/** Responses kept on this instance only, in a bounded Caffeine cache. */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, StoredResponse> responses;
+
+    public InMemoryIdempotencyStore(Duration ttl, long maxEntries) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public StoredResponse find(String key) {
+        return responses.getIfPresent(key);
+    }
+
+    @Override
+    public void save(String key, StoredResponse response) {
+        responses.asMap().putIfAbsent(key, response);
+    }
+
+    public long size() {
+        return responses.estimatedSize();
+    }
+}
@@ -0,0 +1,71 @@
+package com.usermanagement.idempotency;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Responses kept in {@code idempotency_keys}, so a retry that lands on another instance is still
+ * replayed. Statements run unbound, which puts every key on shard 0 whatever user it concerns.
+ * Expired rows are ignored on read and deleted by {@link #deleteExpired()}.
+ */
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final Duration ttl;
+    private final LongSupplier clock;
+
+    public JdbcIdempotencyStore(NamedParameterJdbcTemplate jdbc, Duration ttl) {
+        this(jdbc, ttl, System::currentTimeMillis);
+    }
+
+    JdbcIdempotencyStore(NamedParameterJdbcTemplate jdbc, Duration ttl, LongSupplier clock) {
+        this.jdbc = jdbc;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    @Override
+    public StoredResponse find(String key) {
+        List<StoredResponse> rows = jdbc.query("SELECT fingerprint, status, content_type, body FROM idempotency_keys "
+                        + "WHERE id_key = :key AND expires_at > :now",
+                new MapSqlParameterSource()
+                        .addValue("key", key)
+                        .addValue("now", new Timestamp(clock.getAsLong())),
+                (rs, row) -> new StoredResponse(rs.getString("fingerprint"), rs.getInt("status"),
+                        rs.getString("content_type"), rs.getBytes("body")));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    @Override
+    public void save(String key, StoredResponse response) {
+        long now = clock.getAsLong();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("key", key)
+                .addValue("fingerprint", response.fingerprint())
+                .addValue("status", response.status())
+                .addValue("contentType", response.contentType())
+                .addValue("body", response.body())
+                .addValue("now", new Timestamp(now))
+                .addValue("expiresAt", new Timestamp(now + ttl.toMillis()));
+        // An expired row still holds the key until cleanup gets to it
+        jdbc.update("DELETE FROM idempotency_keys WHERE id_key = :key AND expires_at <= :now", params);
+        try {
+            jdbc.update("INSERT INTO idempotency_keys (id_key, fingerprint, status, content_type, body, expires_at) "
+                    + "VALUES (:key, :fingerprint, :status, :contentType, :body, :expiresAt)", params);
+        } catch (DuplicateKeyException ex) {
+            // Another instance completed the same key first; its response stands
+        }
+    }
+
+    /** Deletes expired rows and returns how many there were. */
+    public int deleteExpired() {
+        return jdbc.update("DELETE FROM idempotency_keys WHERE expires_at <= :now",
+                new MapSqlParameterSource().addValue("now", new Timestamp(clock.getAsLong())));
+    }
+}
@@ -5,6 +5,7 @@ import com.usermanagement.dto.response.UserResponse;
 import com.usermanagement.entity.Role;
 import com.usermanagement.entity.User;
 
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 public final class UserMapper {
@@ -22,6 +23,7 @@ public final class UserMapper {
                         .map(Role::getName)
                         .collect(Collectors.toSet()))
                 .createdAt(user.getCreatedAt())
+                .version(user.getVersion())
                 .build();
     }
 
@@ -29,6 +31,10 @@ public final class UserMapper {
         return RoleResponse.builder()
                 .id(role.getId())
                 .name(role.getName())
+                .includes(role.getIncludes().stream()
+                        .map(Role::getName)
+                        .collect(Collectors.toCollection(TreeSet::new)))
+                .permissions(new TreeSet<>(role.getPermissions()))
                 .build();
     }
 }
@@ -1,13 +1,18 @@
 package com.usermanagement.repository;
 
 import com.usermanagement.entity.AuditLog;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
 
     Optional<AuditLog> findTopByActionOrderByTimestampDesc(String action);
+
+    List<AuditLog> findByIdGreaterThanAndActionInOrderByIdAsc(long afterId, Collection<String> actions, Limit limit);
 }
@@ -0,0 +1,29 @@
+package com.usermanagement.repository;
+
+import com.usermanagement.entity.RefreshToken;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /** Revokes the token unless it already is; returns 0 if another request rotated it first. */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.id = :id AND t.revokedAt IS NULL")
+    int revokeIfActive(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now "
+            + "WHERE (t.id = :familyId OR t.familyId = :familyId) AND t.revokedAt IS NULL")
+    int revokeFamily(@Param("familyId") Long familyId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT t.id FROM RefreshToken t WHERE t.expiresAt < :cutoff ORDER BY t.id")
+    List<Long> findExpiredIds(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+}
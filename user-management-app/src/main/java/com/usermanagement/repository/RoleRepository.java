@@ -0,0 +1,70 @@
+package com.usermanagement.repository;
+
+import com.usermanagement.entity.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RoleRepository extends JpaRepository<Role, Long> {
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "role-queries")
+    })
+    Optional<Role> findByName(String name);
+
+    boolean existsByName(String name);
+
+    /** All roles with their includes and permissions, for rebuilding the authorization closure. */
+    @EntityGraph(attributePaths = {"includes", "permissions"})
+    @Query("select r from Role r")
+    List<Role> findAllWithHierarchy();
+
+    @Query("select coalesce(max(r.bitIndex), -1) from Role r")
+    int findMaxBitIndex();
+
+    /** Sets the bit index of a role that has none yet; returns 0 if it was already assigned. */
+    @Modifying
+    @Transactional
+    @Query("update Role r set r.bitIndex = :bitIndex where r.id = :id and r.bitIndex is null")
+    int assignBitIndex(@Param("id") Long id, @Param("bitIndex") int bitIndex);
+
+    /**
+     * Inserts the role under the given ID unless a row with that ID exists. Used to copy roles to
+     * every shard; it goes straight to the database because {@code save} would find the role in
+     * the shared L2 cache and skip the insert.
+     */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "roles"))
+    @Query(value = "INSERT INTO roles (id, name, bit_index) SELECT :id, :name, :bitIndex FROM DUAL "
+            + "WHERE NOT EXISTS (SELECT 1 FROM roles WHERE id = :id)", nativeQuery = true)
+    int insertIfAbsent(@Param("id") Long id, @Param("name") String name, @Param("bitIndex") Integer bitIndex);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "roles"))
+    @Query(value = "INSERT INTO role_includes (role_id, included_role_id) SELECT :roleId, :includedRoleId FROM DUAL "
+            + "WHERE NOT EXISTS (SELECT 1 FROM role_includes WHERE role_id = :roleId AND included_role_id = :includedRoleId)",
+            nativeQuery = true)
+    int insertIncludeIfAbsent(@Param("roleId") Long roleId, @Param("includedRoleId") Long includedRoleId);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "roles"))
+    @Query(value = "INSERT INTO role_permissions (role_id, permission) SELECT :roleId, :permission FROM DUAL "
+            + "WHERE NOT EXISTS (SELECT 1 FROM role_permissions WHERE role_id = :roleId AND permission = :permission)",
+            nativeQuery = true)
+    int insertPermissionIfAbsent(@Param("roleId") Long roleId, @Param("permission") String permission);
+}
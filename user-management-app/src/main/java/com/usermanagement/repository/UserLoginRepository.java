@@ -0,0 +1,41 @@
+package com.usermanagement.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Column updates made on the login path. Plain SQL rather than JPQL bulk updates, which would
+ * evict the whole {@code users} and {@code users.roles} cache regions on every login; callers
+ * evict the one user instead. Statements run on the shard bound by the caller.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserLoginRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Moves the user's last login forward to {@code at} and bumps the version, in one statement
+     * that never fails an optimistic-lock check; an older login landing late changes nothing.
+     */
+    public int recordLogin(long userId, LocalDateTime at) {
+        return jdbc.update("UPDATE users SET last_login_at = :at, version = version + 1 "
+                        + "WHERE id = :id AND (last_login_at IS NULL OR last_login_at < :at)",
+                new MapSqlParameterSource().addValue("id", userId).addValue("at", at));
+    }
+
+    /**
+     * Replaces the user's password hash if it is still {@code expectedHash}. The version is left
+     * alone: a rehash changes no state a client can see, so it must not fail a concurrent update.
+     */
+    public int rehashPassword(long userId, String expectedHash, String newHash) {
+        return jdbc.update("UPDATE users SET password = :newHash WHERE id = :id AND password = :expectedHash",
+                new MapSqlParameterSource().addValue("id", userId)
+                        .addValue("expectedHash", expectedHash)
+                        .addValue("newHash", newHash));
+    }
+}
@@ -0,0 +1,16 @@
+package com.usermanagement.repository;
+
+import com.usermanagement.entity.User;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Loads users by ID, serving what it can from the second-level cache and fetching the rest
+     * with {@code IN} queries of up to {@code batchSize} IDs. Unknown IDs are skipped; the order
+     * of the result is unspecified.
+     */
+    List<User> multiLoad(Collection<Long> ids, int batchSize);
+}
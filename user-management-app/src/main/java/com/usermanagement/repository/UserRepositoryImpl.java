@@ -0,0 +1,29 @@
+package com.usermanagement.repository;
+
+import com.usermanagement.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+class UserRepositoryImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<User> multiLoad(Collection<Long> ids, int batchSize) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(User.class)
+                // Without an explicit cache mode multiLoad skips the second-level cache
+                .with(CacheMode.NORMAL)
+                .withBatchSize(batchSize)
+                .enableOrderedReturn(false)
+                .multiLoad(List.copyOf(ids));
+    }
+}
@@ -0,0 +1,121 @@
+package com.usermanagement.repository;
+
+import com.usermanagement.dto.response.RoleMemberResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based access to {@code user_roles} and the per-role member counts. Plain SQL rather than Hibernate native queries, which
+ * would evict the whole {@code users} and {@code users.roles} cache regions; callers evict the
+ * affected users instead. Statements run on the shard bound by the caller.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserRoleBulkRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public record UserKey(long id, String email) {
+    }
+
+    /** Users among {@code userIds} that hold the role ({@code holding}) or lack it. */
+    public List<UserKey> findUsers(Collection<Long> userIds, long roleId, boolean holding) {
+        String sql = "SELECT u.id, u.email FROM users u WHERE u.id IN (:ids) AND "
+                + (holding ? "" : "NOT ")
+                + "EXISTS (SELECT 1 FROM user_roles ur WHERE ur.user_id = u.id AND ur.role_id = :roleId)";
+        return jdbc.query(sql, params(userIds, roleId),
+                (rs, row) -> new UserKey(rs.getLong("id"), rs.getString("email")));
+    }
+
+    /** One keyset page of IDs of users whose email is at {@code domain}. */
+    public List<Long> findIdsByEmailDomain(String domain, long afterId, int limit) {
+        return jdbc.queryForList("SELECT id FROM users WHERE email LIKE :pattern AND id > :afterId ORDER BY id LIMIT :limit",
+                new MapSqlParameterSource()
+                        .addValue("pattern", "%@" + domain)
+                        .addValue("afterId", afterId)
+                        .addValue("limit", limit),
+                Long.class);
+    }
+
+    public int insertMissing(Collection<Long> userIds, long roleId) {
+        return jdbc.update("INSERT INTO user_roles (user_id, role_id) "
+                + "SELECT u.id, :roleId FROM users u WHERE u.id IN (:ids) "
+                + "AND NOT EXISTS (SELECT 1 FROM user_roles ur WHERE ur.user_id = u.id AND ur.role_id = :roleId)",
+                params(userIds, roleId));
+    }
+
+    public int delete(Collection<Long> userIds, long roleId) {
+        return jdbc.update("DELETE FROM user_roles WHERE role_id = :roleId AND user_id IN (:ids)", params(userIds, roleId));
+    }
+
+    /** Moves the optimistic-lock version, as a JPA update of the roles would, so ETags and stale writers notice. */
+    public int bumpVersions(Collection<Long> userIds, LocalDateTime now) {
+        return jdbc.update("UPDATE users SET version = version + 1, updated_at = :now WHERE id IN (:ids)",
+                new MapSqlParameterSource().addValue("ids", userIds).addValue("now", now));
+    }
+
+    /** One keyset page of a role's members, walking the {@code (role_id, user_id)} index. */
+    public List<RoleMemberResponse> findMembers(long roleId, long afterId, int limit) {
+        return jdbc.query("SELECT u.id, u.username, u.email FROM user_roles ur JOIN users u ON u.id = ur.user_id "
+                        + "WHERE ur.role_id = :roleId AND ur.user_id > :afterId ORDER BY ur.user_id LIMIT :limit",
+                new MapSqlParameterSource()
+                        .addValue("roleId", roleId)
+                        .addValue("afterId", afterId)
+                        .addValue("limit", limit),
+                (rs, row) -> new RoleMemberResponse(rs.getLong("id"), rs.getString("username"), rs.getString("email")));
+    }
+
+    /** Adds {@code delta} to the role's member count, creating the row on the role's first member. */
+    public void addMemberCount(long roleId, long delta) {
+        MapSqlParameterSource params = new MapSqlParameterSource().addValue("roleId", roleId).addValue("delta", delta);
+        String update = "UPDATE role_member_counts SET member_count = member_count + :delta WHERE role_id = :roleId";
+        if (jdbc.update(update, params) == 0
+                && jdbc.update("INSERT INTO role_member_counts (role_id, member_count) SELECT :roleId, :delta FROM DUAL "
+                        + "WHERE NOT EXISTS (SELECT 1 FROM role_member_counts WHERE role_id = :roleId)", params) == 0) {
+            // Another transaction created the row in between
+            jdbc.update(update, params);
+        }
+    }
+
+    public long findMemberCount(long roleId) {
+        List<Long> count = jdbc.queryForList("SELECT member_count FROM role_member_counts WHERE role_id = :roleId",
+                new MapSqlParameterSource("roleId", roleId), Long.class);
+        return count.isEmpty() ? 0 : count.get(0);
+    }
+
+    /** Member count per role ID. */
+    public Map<Long, Long> findMemberCounts() {
+        return jdbc.query("SELECT role_id, member_count FROM role_member_counts", rs -> {
+            Map<Long, Long> counts = new HashMap<>();
+            while (rs.next()) {
+                counts.put(rs.getLong("role_id"), rs.getLong("member_count"));
+            }
+            return counts;
+        });
+    }
+
+    /** Recomputes the member counts from {@code user_roles}; a full scan, meant for startup and repairs. */
+    public int rebuildMemberCounts() {
+        MapSqlParameterSource none = new MapSqlParameterSource();
+        jdbc.update("DELETE FROM role_member_counts", none);
+        return jdbc.update("INSERT INTO role_member_counts (role_id, member_count) "
+                + "SELECT role_id, COUNT(*) FROM user_roles GROUP BY role_id", none);
+    }
+
+    public boolean hasMemberCounts() {
+        return Boolean.TRUE.equals(jdbc.queryForObject("SELECT EXISTS (SELECT 1 FROM role_member_counts)",
+                new MapSqlParameterSource(), Boolean.class));
+    }
+
+    private static MapSqlParameterSource params(Collection<Long> userIds, long roleId) {
+        return new MapSqlParameterSource().addValue("ids", userIds).addValue("roleId", roleId);
+    }
+}
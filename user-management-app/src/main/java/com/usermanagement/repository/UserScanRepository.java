@@ -0,0 +1,31 @@
+package com.usermanagement.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Streams the {@code users} table of the shard bound by the caller in keyset pages, reading only
+ * the columns a caller asks for rather than loading entities into the persistence context.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserScanRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public record UserName(long id, String username, String email) {
+    }
+
+    /** The next page of users after {@code afterId}, in ID order. */
+    public List<UserName> findNames(long afterId, int limit) {
+        return jdbc.query("SELECT id, username, email FROM users WHERE id > :afterId ORDER BY id LIMIT :limit",
+                new MapSqlParameterSource()
+                        .addValue("afterId", afterId)
+                        .addValue("limit", limit),
+                (rs, row) -> new UserName(rs.getLong("id"), rs.getString("username"), rs.getString("email")));
+    }
+}
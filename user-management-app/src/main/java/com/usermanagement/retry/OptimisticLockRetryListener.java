@@ -0,0 +1,73 @@
+package com.usermanagement.retry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+
+/**
+ * Records optimistic-lock outcomes for {@link RetryOnConflict} methods.
+ * <ul>
+ *   <li>{@code user.mutations}: one per call, tagged with the final {@code outcome}.</li>
+ *   <li>{@code user.mutation.conflicts}: one per attempt that lost a version check.</li>
+ * </ul>
+ * The conflict rate of an operation is {@code conflicts / mutations}.
+ */
+@Slf4j
+public class OptimisticLockRetryListener implements RetryListener {
+
+    private final MeterRegistry meterRegistry;
+
+    public OptimisticLockRetryListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        if (throwable instanceof OptimisticLockingFailureException) {
+            String operation = operationOf(context);
+            Counter.builder("user.mutation.conflicts")
+                    .description("Optimistic-lock conflicts on user mutations")
+                    .tag("operation", operation)
+                    .register(meterRegistry)
+                    .increment();
+            log.debug("Optimistic-lock conflict in {} (attempt {})", operation, context.getRetryCount());
+        }
+    }
+
+    @Override
+    public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        String outcome;
+        if (throwable == null) {
+            outcome = context.getRetryCount() == 0 ? "success" : "retried";
+        } else if (throwable instanceof OptimisticLockingFailureException) {
+            outcome = "conflict";
+            log.warn("{} gave up after {} optimistic-lock conflicts", operationOf(context), context.getRetryCount());
+        } else {
+            outcome = "error";
+        }
+        Counter.builder("user.mutations")
+                .description("User mutations by final outcome")
+                .tag("operation", operationOf(context))
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /** Shortens the retry label (the method's generic signature) to {@code Class.method}. */
+    private static String operationOf(RetryContext context) {
+        Object label = context.getAttribute(RetryContext.NAME);
+        if (label == null) {
+            return "unknown";
+        }
+        String signature = label.toString();
+        int paren = signature.indexOf('(');
+        String qualified = paren < 0 ? signature : signature.substring(0, paren);
+        int methodDot = qualified.lastIndexOf('.');
+        int classDot = qualified.lastIndexOf('.', methodDot - 1);
+        return qualified.substring(classDot + 1);
+    }
+}
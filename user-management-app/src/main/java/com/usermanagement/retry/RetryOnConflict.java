@@ -0,0 +1,34 @@
+package com.usermanagement.retry;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs a {@code @Transactional} method when it loses an optimistic-lock race.
+ * <p>
+ * The retry advice wraps the transaction advice, so each attempt runs in a fresh transaction and
+ * reloads the entity it changes. Attempts are bounded and spaced by exponential backoff with
+ * random jitter, so writers that collided once do not collide again in lock-step. Limits come from
+ * {@code app.retry.optimistic-lock}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Retryable(
+        retryFor = OptimisticLockingFailureException.class,
+        maxAttemptsExpression = "${app.retry.optimistic-lock.max-attempts:5}",
+        backoff = @Backoff(
+                delayExpression = "${app.retry.optimistic-lock.initial-delay-ms:10}",
+                maxDelayExpression = "${app.retry.optimistic-lock.max-delay-ms:200}",
+                multiplierExpression = "${app.retry.optimistic-lock.multiplier:2}",
+                random = true),
+        listeners = "optimisticLockRetryListener")
+public @interface RetryOnConflict {
+}
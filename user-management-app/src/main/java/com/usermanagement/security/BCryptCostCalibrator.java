@@ -0,0 +1,68 @@
+package com.usermanagement.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Picks the bcrypt strength that makes one verification take about a target latency on this host.
+ * <p>
+ * Each strength step doubles the work. So the calibrator times one verification at the minimum
+ * strength, extrapolates to the target, then times the candidate once to correct for measurement
+ * noise. It steps down while the candidate is over target.
+ */
+@Slf4j
+public final class BCryptCostCalibrator {
+
+    private static final int SAMPLES = 3;
+
+    private BCryptCostCalibrator() {
+    }
+
+    public static int calibrate(PasswordHashingProperties properties) {
+        long startNanos = System.nanoTime();
+        int strength = calibrate(properties.getTargetVerifyLatency(), properties.getMinStrength(),
+                properties.getMaxStrength(), BCryptCostCalibrator::measureVerifyNanos);
+        log.info("Calibrated bcrypt strength {} for a {} ms verify target in {} ms", strength,
+                properties.getTargetVerifyLatency().toMillis(), Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+        return strength;
+    }
+
+    static int calibrate(Duration target, int minStrength, int maxStrength, IntToLongFunction verifyNanos) {
+        long targetNanos = target.toNanos();
+        long baseNanos = Math.max(1, verifyNanos.applyAsLong(minStrength));
+
+        int candidate = minStrength;
+        while (candidate < maxStrength && baseNanos << (candidate + 1 - minStrength) <= targetNanos) {
+            candidate++;
+        }
+        if (candidate == minStrength) {
+            return minStrength;
+        }
+
+        long measured = verifyNanos.applyAsLong(candidate);
+        while (candidate > minStrength && measured > targetNanos) {
+            candidate--;
+            measured /= 2;
+        }
+        return candidate;
+    }
+
+    /** Best of a few verifications, so a GC pause or JIT compilation does not skew the sample. */
+    private static long measureVerifyNanos(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        String password = UUID.randomUUID().toString();
+        String hash = encoder.encode(password);
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long startNanos = System.nanoTime();
+            encoder.matches(password, hash);
+            best = Math.min(best, System.nanoTime() - startNanos);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,74 @@
+package com.usermanagement.security;
+
+import com.usermanagement.entity.Role;
+import com.usermanagement.entity.User;
+import com.usermanagement.repository.UserLoginRepository;
+import com.usermanagement.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    private final UserRepository userRepository;
+    private final UserLoginRepository userLoginRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final RoleAuthorityRegistry roleAuthorityRegistry;
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+
+        return org.springframework.security.core.userdetails.User.builder()
+                .username(user.getEmail())
+                .password(user.getPassword())
+                .authorities(roleAuthorityRegistry.authoritiesOf(roleAuthorityRegistry.maskOf(user.getRoles().stream()
+                        .map(Role::getName)
+                        .toList())))
+                .build();
+    }
+
+    /**
+     * Stores a rehashed password. Called by the authentication provider after a successful login
+     * whose stored hash uses an outdated algorithm or cost. The hash is swapped with a conditional
+     * update that leaves the version alone, so a concurrent update never turns the login into a
+     * conflict. If the password changed since it was verified, the rehash is skipped.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userDetails.getUsername()));
+
+        if (userLoginRepository.rehashPassword(user.getId(), userDetails.getPassword(), newPassword) == 0) {
+            log.debug("Skipped password rehash for user {}: the password changed since it was verified", user.getEmail());
+            return userDetails;
+        }
+        Long userId = user.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entityManagerFactory.unwrap(SessionFactory.class).getCache().evictEntityData(User.class, userId);
+            }
+        });
+        log.info("Upgraded password hash for user: {}", user.getEmail());
+
+        return org.springframework.security.core.userdetails.User.withUserDetails(userDetails)
+                .password(newPassword)
+                .build();
+    }
+}
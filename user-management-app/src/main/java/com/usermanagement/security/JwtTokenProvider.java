@@ -0,0 +1,74 @@
+package com.usermanagement.security;
+
+import com.usermanagement.auth.token.TokenClaims;
+import com.usermanagement.auth.token.TokenIssuer;
+import com.usermanagement.auth.token.TokenValidationException;
+import com.usermanagement.auth.token.TokenValidator;
+import com.usermanagement.auth.token.VerifiedToken;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Issues and validates access tokens through the {@code auth-token} library, the same code other
+ * services use to validate our tokens locally. This class adds the translation between Spring
+ * Security authentications and role masks.
+ */
+@Slf4j
+@Component
+public class JwtTokenProvider {
+
+    /** Claim holding the user's role bitmask (see {@link RoleAuthorityRegistry}). */
+    public static final String ROLE_MASK_CLAIM = TokenClaims.ROLE_MASK;
+
+    private final TokenIssuer tokenIssuer;
+    private final TokenValidator tokenValidator;
+    private final RoleAuthorityRegistry roleAuthorityRegistry;
+
+    public JwtTokenProvider(TokenIssuer tokenIssuer, TokenValidator tokenValidator,
+                            RoleAuthorityRegistry roleAuthorityRegistry) {
+        this.tokenIssuer = tokenIssuer;
+        this.tokenValidator = tokenValidator;
+        this.roleAuthorityRegistry = roleAuthorityRegistry;
+    }
+
+    public String generateToken(Authentication authentication) {
+        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        return generateToken(userDetails.getUsername(), roleAuthorityRegistry.maskOfAuthorities(userDetails.getAuthorities()));
+    }
+
+    /** Issues an access token from role names, e.g. on refresh where no password check takes place. */
+    public String generateToken(String email, Collection<String> roleNames) {
+        return generateToken(email, roleAuthorityRegistry.maskOf(roleNames));
+    }
+
+    private String generateToken(String email, long roleMask) {
+        // Only the roles not already implied by another held role go into the token
+        return tokenIssuer.issue(email, roleAuthorityRegistry.minimalMask(roleMask));
+    }
+
+    public long getExpirationMs() {
+        return tokenIssuer.ttl().toMillis();
+    }
+
+    public String getUserEmailFromToken(String token) {
+        return tokenValidator.verify(token).subject();
+    }
+
+    public boolean validateToken(String token) {
+        return parseValidToken(token) != null;
+    }
+
+    /** Verifies the token and returns its claims, or {@code null} if it is not valid. */
+    public VerifiedToken parseValidToken(String token) {
+        try {
+            return tokenValidator.verify(token);
+        } catch (TokenValidationException ex) {
+            log.error("Invalid JWT token ({}): {}", ex.reason(), ex.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.usermanagement.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.usermanagement.exception.TooManyRequestsException;
+import com.usermanagement.service.AuditLogService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * Throttles failed logins per email and per client IP before any database or password-hashing
+ * work is done.
+ * <p>
+ * Failures are counted in a sliding window, estimated from the current and previous fixed windows
+ * weighted by overlap. Each key's counter lives in a bounded Caffeine cache, whose map is striped
+ * internally, and is guarded by its own monitor, so unrelated keys never contend. Once a key
+ * passes its free failures, every further failure blocks it for an exponentially growing backoff.
+ * At the lockout threshold it is blocked for the lockout duration and the lockout is audited.
+ */
+@Slf4j
+public class LoginThrottle {
+
+    private final LoginThrottleProperties properties;
+    private final AuditLogService auditLogService;
+    private final LongSupplier clock;
+
+    private final Cache<String, FailureWindow> emailFailures;
+    private final Cache<String, FailureWindow> ipFailures;
+
+    public LoginThrottle(LoginThrottleProperties properties, AuditLogService auditLogService) {
+        this(properties, auditLogService, System::currentTimeMillis);
+    }
+
+    LoginThrottle(LoginThrottleProperties properties, AuditLogService auditLogService, LongSupplier clock) {
+        this.properties = properties;
+        this.auditLogService = auditLogService;
+        this.clock = clock;
+
+        Duration retention = properties.getLockoutDuration().compareTo(properties.getWindow().multipliedBy(2)) > 0
+                ? properties.getLockoutDuration()
+                : properties.getWindow().multipliedBy(2);
+        this.emailFailures = newCache(properties.getMaxTrackedKeys(), retention);
+        this.ipFailures = newCache(properties.getMaxTrackedKeys(), retention);
+    }
+
+    private static Cache<String, FailureWindow> newCache(long maxKeys, Duration retention) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(retention)
+                .build();
+    }
+
+    /** Rejects the attempt with 429 if the email or the IP is currently blocked. */
+    public void checkAllowed(String email, String ip) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = clock.getAsLong();
+        long blockedMillis = Math.max(blockedFor(emailFailures, normalize(email), now), blockedFor(ipFailures, ip, now));
+        if (blockedMillis > 0) {
+            throw new TooManyRequestsException("Too many failed login attempts. Try again later.",
+                    Duration.ofMillis(blockedMillis));
+        }
+    }
+
+    public void recordFailure(String email, String ip) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = clock.getAsLong();
+        String emailKey = normalize(email);
+        if (emailKey != null) {
+            record(emailFailures, emailKey, properties.getEmail(), now, "email");
+        }
+        if (ip != null) {
+            record(ipFailures, ip, properties.getIp(), now, "ip");
+        }
+    }
+
+    /** A successful login clears the account's failures; the IP keeps its count. */
+    public void recordSuccess(String email) {
+        String emailKey = normalize(email);
+        if (emailKey != null) {
+            emailFailures.invalidate(emailKey);
+        }
+    }
+
+    private void record(Cache<String, FailureWindow> failures, String key, LoginThrottleProperties.Limits limits,
+                        long now, String keyType) {
+        FailureWindow window = failures.get(key, k -> new FailureWindow(now));
+        boolean lockedOut = window.recordFailure(now, properties, limits);
+        if (lockedOut) {
+            log.warn("Login lockout for {} {} after {} failures", keyType, key, limits.getLockoutFailures());
+            auditLogService.log("LOGIN_LOCKED_OUT", "SYSTEM", key, String.format(
+                    "Locked out %s for %d s after %d failed logins", keyType,
+                    properties.getLockoutDuration().toSeconds(), limits.getLockoutFailures()));
+        }
+    }
+
+    private static long blockedFor(Cache<String, FailureWindow> failures, String key, long now) {
+        if (key == null) {
+            return 0;
+        }
+        FailureWindow window = failures.getIfPresent(key);
+        return window == null ? 0 : window.blockedFor(now);
+    }
+
+    private static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** Sliding-window failure counter plus the key's current block. */
+    static final class FailureWindow {
+
+        private long windowStart;
+        private int current;
+        private int previous;
+        private long blockedUntil;
+        private boolean lockedOut;
+
+        FailureWindow(long now) {
+            this.windowStart = now;
+        }
+
+        synchronized long blockedFor(long now) {
+            return Math.max(0, blockedUntil - now);
+        }
+
+        /** Counts a failure and updates the block; returns {@code true} if this failure caused a lockout. */
+        synchronized boolean recordFailure(long now, LoginThrottleProperties properties, LoginThrottleProperties.Limits limits) {
+            long windowMillis = properties.getWindow().toMillis();
+            long elapsed = now - windowStart;
+            if (elapsed >= windowMillis) {
+                previous = elapsed >= 2 * windowMillis ? 0 : current;
+                current = 0;
+                windowStart = now - elapsed % windowMillis;
+                elapsed = now - windowStart;
+            }
+            current++;
+
+            double previousWeight = 1.0 - (double) elapsed / windowMillis;
+            int failures = (int) Math.ceil(current + previous * previousWeight);
+
+            if (lockedOut && blockedUntil <= now) {
+                lockedOut = false;
+            }
+            if (failures >= limits.getLockoutFailures()) {
+                boolean newLockout = !lockedOut;
+                lockedOut = true;
+                blockedUntil = Math.max(blockedUntil, now + properties.getLockoutDuration().toMillis());
+                return newLockout;
+            }
+            if (failures > limits.getFreeFailures()) {
+                int exponent = Math.min(failures - limits.getFreeFailures() - 1, 30);
+                long backoff = Math.min(properties.getBaseBackoff().toMillis() << exponent, properties.getMaxBackoff().toMillis());
+                blockedUntil = Math.max(blockedUntil, now + backoff);
+            }
+            return false;
+        }
+    }
+}
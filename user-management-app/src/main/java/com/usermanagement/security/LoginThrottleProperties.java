@@ -0,0 +1,53 @@
+package com.usermanagement.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Failed-login throttling, bound from {@code app.security.login-throttle}. Failures are counted per
+ * email and per client IP over a sliding {@link #window}. After {@code free-failures}, each further
+ * failure blocks the key for an exponentially growing backoff. At {@code lockout-failures}, the
+ * key is locked out for {@link #lockoutDuration}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.security.login-throttle")
+public class LoginThrottleProperties {
+
+    private boolean enabled = true;
+
+    private Duration window = Duration.ofMinutes(15);
+
+    private Duration baseBackoff = Duration.ofSeconds(1);
+
+    private Duration maxBackoff = Duration.ofSeconds(30);
+
+    private Duration lockoutDuration = Duration.ofMinutes(15);
+
+    /** Upper bound on emails and on IPs tracked at once; least recently used keys are evicted first. */
+    private long maxTrackedKeys = 100_000;
+
+    private Limits email = new Limits(3, 10);
+
+    /** Looser than per-email limits: many users may share a NAT or proxy address. */
+    private Limits ip = new Limits(20, 100);
+
+    @Getter
+    @Setter
+    public static class Limits {
+
+        private int freeFailures;
+        private int lockoutFailures;
+
+        public Limits() {
+        }
+
+        public Limits(int freeFailures, int lockoutFailures) {
+            this.freeFailures = freeFailures;
+            this.lockoutFailures = lockoutFailures;
+        }
+    }
+}
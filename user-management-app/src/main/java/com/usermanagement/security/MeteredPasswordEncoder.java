@@ -0,0 +1,63 @@
+package com.usermanagement.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Times hashing and verification of the wrapped encoder. Verifications are recorded as
+ * {@code password.hash.verify} with a percentile histogram, tagged by the stored hash's algorithm
+ * id and by outcome. New hashes are recorded as {@code password.hash.encode}.
+ */
+public class MeteredPasswordEncoder implements PasswordEncoder {
+
+    private static final String LEGACY_ID = "legacy";
+
+    private final PasswordEncoder delegate;
+    private final String encodingId;
+    private final MeterRegistry meterRegistry;
+
+    public MeteredPasswordEncoder(PasswordEncoder delegate, String encodingId, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.encodingId = encodingId;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String encoded = delegate.encode(rawPassword);
+        sample.stop(Timer.builder("password.hash.encode")
+                .description("Time to hash a new password")
+                .tag("algorithm", encodingId)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        return encoded;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean matches = delegate.matches(rawPassword, encodedPassword);
+        sample.stop(Timer.builder("password.hash.verify")
+                .description("Time to verify a password against its stored hash")
+                .tag("algorithm", algorithmOf(encodedPassword))
+                .tag("outcome", matches ? "match" : "mismatch")
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private static String algorithmOf(String encodedPassword) {
+        if (encodedPassword == null || !encodedPassword.startsWith("{")) {
+            return LEGACY_ID;
+        }
+        int end = encodedPassword.indexOf('}');
+        return end > 1 ? encodedPassword.substring(1, end) : LEGACY_ID;
+    }
+}
@@ -0,0 +1,34 @@
+package com.usermanagement.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Password hashing settings, bound from {@code app.security.password-hashing}. New hashes are
+ * stored as {@code {encodingId}hash}. When {@link #calibrate} is on, the bcrypt cost is picked at
+ * startup as the highest strength whose verification stays within {@link #targetVerifyLatency}.
+ * The result is clamped to {@link #minStrength}..{@link #maxStrength}. Otherwise {@link #strength}
+ * is used as is.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.security.password-hashing")
+public class PasswordHashingProperties {
+
+    /** Algorithm used for new hashes; older ones keep verifying and are upgraded on the next login. */
+    private String encodingId = "bcrypt";
+
+    private boolean calibrate = true;
+
+    private Duration targetVerifyLatency = Duration.ofMillis(250);
+
+    private int minStrength = 10;
+
+    private int maxStrength = 14;
+
+    /** bcrypt strength (log2 rounds) used when calibration is off. */
+    private int strength = 12;
+}
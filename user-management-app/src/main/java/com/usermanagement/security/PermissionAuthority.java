@@ -0,0 +1,43 @@
+package com.usermanagement.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Interned authority for one permission, e.g. {@code users:read}. The index is its position in
+ * the current {@link RoleClosure}. Unlike role bits, it is not persisted and may change when
+ * roles change.
+ */
+public final class PermissionAuthority implements GrantedAuthority {
+
+    private final String name;
+    private final int index;
+
+    PermissionAuthority(String name, int index) {
+        this.name = name;
+        this.index = index;
+    }
+
+    @Override
+    public String getAuthority() {
+        return name;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof PermissionAuthority authority && name.equals(authority.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,211 @@
+package com.usermanagement.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.usermanagement.auth.token.VerifiedToken;
+import com.usermanagement.dto.response.ApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits request rates per client and endpoint with {@link TokenBucket}s, ahead of authentication.
+ * <p>
+ * Authenticated clients are keyed by token subject, so one account shares its budget across IPs.
+ * Anonymous clients, and clients with tokens that do not verify, are keyed by remote IP. A verified
+ * token's subject is cached by the raw header value, so the signature is checked once per token
+ * rather than once per request. The cache only decides which bucket to charge;
+ * {@link JwtAuthenticationFilter} still validates every request. Buckets live in a bounded map with
+ * idle eviction. Responses carry {@code RateLimit-*} headers, and rejected requests get
+ * {@code 429} with {@code Retry-After}.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String RATE_LIMIT_LIMIT = "RateLimit-Limit";
+    static final String RATE_LIMIT_REMAINING = "RateLimit-Remaining";
+    static final String RATE_LIMIT_RESET = "RateLimit-Reset";
+    static final String RATE_LIMIT_POLICY = "RateLimit-Policy";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String INVALID_TOKEN = "";
+
+    private final boolean enabled;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ObjectMapper objectMapper;
+    private final LongSupplier nanoClock;
+
+    private final List<Rule> rules;
+    private final Rule defaultRule;
+    private final Cache<BucketKey, TokenBucket> buckets;
+    private final Cache<String, String> tokenSubjects;
+
+    /** Indexed by [key class][rejected]. */
+    private final Counter[][] counters;
+
+    public RateLimitFilter(RateLimitProperties properties, JwtTokenProvider jwtTokenProvider,
+                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this(properties, jwtTokenProvider, objectMapper, meterRegistry, System::nanoTime);
+    }
+
+    RateLimitFilter(RateLimitProperties properties, JwtTokenProvider jwtTokenProvider,
+                    ObjectMapper objectMapper, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.enabled = properties.isEnabled();
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.objectMapper = objectMapper;
+        this.nanoClock = nanoClock;
+
+        List<Rule> endpointRules = new ArrayList<>();
+        for (RateLimitProperties.Endpoint endpoint : properties.getEndpoints()) {
+            endpointRules.add(Rule.of(endpointRules.size(), endpoint,
+                    PathPatternParser.defaultInstance.parse(endpoint.getPath()), endpoint.getMethod()));
+        }
+        this.rules = List.copyOf(endpointRules);
+        this.defaultRule = Rule.of(endpointRules.size(), properties.getDefaultLimit(), null, null);
+
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedKeys())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+        // A token's subject never changes, so size-based eviction suffices and skips the clock read.
+        this.tokenSubjects = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedKeys())
+                .build();
+
+        this.counters = new Counter[KeyClass.values().length][2];
+        for (KeyClass keyClass : KeyClass.values()) {
+            counters[keyClass.ordinal()][0] = counter(meterRegistry, keyClass, "allowed");
+            counters[keyClass.ordinal()][1] = counter(meterRegistry, keyClass, "rejected");
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, KeyClass keyClass, String outcome) {
+        return Counter.builder("http.rate_limit.requests")
+                .description("Requests checked by the rate limiter")
+                .tag("key_class", keyClass.tag)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        Rule rule = ruleFor(request);
+        String subject = subjectOf(request);
+        KeyClass keyClass = subject != null ? KeyClass.SUBJECT : KeyClass.IP;
+        String client = subject != null ? subject : request.getRemoteAddr();
+
+        long now = nanoClock.getAsLong();
+        TokenBucket bucket = buckets.get(new BucketKey(rule.index(), keyClass, client),
+                key -> new TokenBucket(rule.emissionIntervalNanos(), rule.burst(), now));
+        long result = bucket.tryAcquire(now);
+
+        response.setHeader(RATE_LIMIT_LIMIT, rule.burstHeader());
+        response.setHeader(RATE_LIMIT_POLICY, rule.policyHeader());
+        response.setHeader(RATE_LIMIT_RESET, Long.toString(ceilSeconds(bucket.nanosUntilFull(now))));
+
+        if (result >= 0) {
+            counters[keyClass.ordinal()][0].increment();
+            response.setHeader(RATE_LIMIT_REMAINING, Long.toString(result));
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        counters[keyClass.ordinal()][1].increment();
+        // Rejections are counted above; a line per rejection would flood the log under attack
+        log.debug("Rate limit exceeded for {} {} on {} {}", keyClass.tag, client, request.getMethod(), request.getRequestURI());
+        response.setHeader(RATE_LIMIT_REMAINING, "0");
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(ceilSeconds(-result)));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponse.error("Too many requests. Please slow down."));
+    }
+
+    private Rule ruleFor(HttpServletRequest request) {
+        if (rules.isEmpty()) {
+            return defaultRule;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (Rule rule : rules) {
+            if ((rule.method() == null || rule.method().equalsIgnoreCase(request.getMethod()))
+                    && rule.pattern().matches(path)) {
+                return rule;
+            }
+        }
+        return defaultRule;
+    }
+
+    /** The verified subject of the request's bearer token, or {@code null} when there is none. */
+    private String subjectOf(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        // Keyed by the whole header to skip copying the token out of it on every request.
+        String subject = tokenSubjects.get(header, key -> {
+            VerifiedToken token = jwtTokenProvider.parseValidToken(key.substring(BEARER_PREFIX.length()));
+            return token != null && token.subject() != null ? token.subject() : INVALID_TOKEN;
+        });
+        return subject.isEmpty() ? null : subject;
+    }
+
+    private static long ceilSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    enum KeyClass {
+        SUBJECT("subject"),
+        IP("ip");
+
+        private final String tag;
+
+        KeyClass(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private record BucketKey(int rule, KeyClass keyClass, String client) {
+    }
+
+    private record Rule(int index, PathPattern pattern, String method, long emissionIntervalNanos, int burst,
+                        String burstHeader, String policyHeader) {
+
+        static Rule of(int index, RateLimitProperties.Limit limit, PathPattern pattern, String method) {
+            if (limit.getRequests() <= 0 || limit.getPeriod() == null || limit.getPeriod().isZero()) {
+                throw new IllegalArgumentException("Rate limits need positive requests and period");
+            }
+            int burst = limit.getBurst() > 0 ? limit.getBurst() : limit.getRequests();
+            long emissionInterval = Math.max(1, limit.getPeriod().toNanos() / limit.getRequests());
+            String policy = limit.getRequests() + ";w=" + Math.max(1, limit.getPeriod().toSeconds());
+            return new Rule(index, pattern, method == null || method.isBlank() ? null : method,
+                    emissionInterval, burst, Integer.toString(burst), policy);
+        }
+    }
+}
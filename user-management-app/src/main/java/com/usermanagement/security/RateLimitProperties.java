@@ -0,0 +1,66 @@
+package com.usermanagement.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request rate limits, bound from {@code app.security.rate-limit}. Each client gets one token
+ * bucket per endpoint rule. A client is the token subject for authenticated requests and the
+ * remote IP otherwise. The first entry in {@link #endpoints} matching the request wins; other
+ * requests fall under {@link #defaultLimit}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.security.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Upper bound on buckets kept at once; least recently used buckets are evicted first. */
+    private long maxTrackedKeys = 100_000;
+
+    /** Buckets unused for this long are dropped; a dropped bucket comes back full. */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    private Limit defaultLimit = new Limit(300, Duration.ofMinutes(1), 0);
+
+    private List<Endpoint> endpoints = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Limit {
+
+        /** Sustained requests allowed per {@link #period}. */
+        private int requests;
+
+        private Duration period;
+
+        /** Requests that may be sent back to back; defaults to {@link #requests} when 0. */
+        private int burst;
+
+        public Limit() {
+        }
+
+        public Limit(int requests, Duration period, int burst) {
+            this.requests = requests;
+            this.period = period;
+            this.burst = burst;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Endpoint extends Limit {
+
+        /** Path pattern in {@code PathPattern} syntax, e.g. {@code /api/users/me} or {@code /api/admin/**}. */
+        private String path;
+
+        /** HTTP method to match; any method when blank. */
+        private String method;
+    }
+}
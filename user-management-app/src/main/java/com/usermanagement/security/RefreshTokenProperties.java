@@ -0,0 +1,29 @@
+package com.usermanagement.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Refresh-token settings, bound from {@code app.jwt.refresh-token}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.jwt.refresh-token")
+public class RefreshTokenProperties {
+
+    private Duration ttl = Duration.ofDays(14);
+
+    /**
+     * Base64 key for the HMAC under which token secrets are stored. Required, and separate from
+     * the JWT signing secret, so a leaked signing key does not also expose stored refresh tokens.
+     */
+    private String hmacSecret;
+
+    /** Expired tokens deleted per transaction by the cleanup job. */
+    private int cleanupBatchSize = 500;
+
+    private Duration cleanupInterval = Duration.ofHours(1);
+}
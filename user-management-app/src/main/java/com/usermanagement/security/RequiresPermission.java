@@ -0,0 +1,20 @@
+package com.usermanagement.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Restricts a method (or every method of a class) to users whose roles, directly or through
+ * inheritance, grant the given permission. Evaluated by {@link RoleMaskAuthorizationManager}.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequiresPermission {
+
+    /** Permission name, e.g. {@code users:read}. */
+    String value();
+}
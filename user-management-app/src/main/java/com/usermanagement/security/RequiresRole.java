@@ -0,0 +1,21 @@
+package com.usermanagement.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Restricts a method (or every method of a class) to users holding the given role. This works like
+ * {@code @PreAuthorize("hasRole('ADMIN')")}, but {@link RoleMaskAuthorizationManager} evaluates it
+ * as a bit test on the caller's role mask instead of a SpEL expression.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequiresRole {
+
+    /** Role name, with or without the {@code ROLE_} prefix. */
+    String value();
+}
@@ -0,0 +1,46 @@
+package com.usermanagement.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Interned authority for one role. {@link RoleAuthorityRegistry} creates exactly one instance per
+ * role, so every authentication holding the role shares it.
+ */
+public final class RoleAuthority implements GrantedAuthority {
+
+    private final String name;
+    private final int bitIndex;
+
+    RoleAuthority(String name, int bitIndex) {
+        this.name = name;
+        this.bitIndex = bitIndex;
+    }
+
+    @Override
+    public String getAuthority() {
+        return name;
+    }
+
+    public int getBitIndex() {
+        return bitIndex;
+    }
+
+    public long mask() {
+        return 1L << bitIndex;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof RoleAuthority authority && name.equals(authority.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
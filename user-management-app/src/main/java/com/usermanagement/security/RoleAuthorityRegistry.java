@@ -0,0 +1,219 @@
+package com.usermanagement.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.usermanagement.entity.Role;
+import com.usermanagement.repository.RoleRepository;
+import com.usermanagement.sharding.ShardExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maps roles to their bit in the JWT role mask and resolves masks to {@link RoleGrant}s.
+ * <p>
+ * Each role owns a stable {@code bit_index} in the {@code roles} table. The registry holds the
+ * current {@link RoleClosure}, an immutable lookup table of the role hierarchy and its permissions.
+ * It also caches one {@link RoleGrant} per distinct mask, so authenticating or authorizing a
+ * request allocates nothing and never walks the hierarchy. {@code RoleService} calls
+ * {@link #refresh()} after every role change. Roles created by another instance, or saved without
+ * an index, are picked up the first time an unknown name or bit shows up, and missing indices are
+ * assigned during that refresh.
+ */
+@Slf4j
+@Component
+public class RoleAuthorityRegistry {
+
+    /** The mask is a {@code long}, so at most 64 roles can be encoded. */
+    public static final int MAX_ROLES = Long.SIZE;
+
+    private final RoleRepository roleRepository;
+    private final ShardExecutor shardExecutor;
+    private final TransactionTemplate requiresNew;
+
+    private final Cache<Long, RoleGrant> grantsByMask = Caffeine.newBuilder()
+            .maximumSize(4_096)
+            .build();
+
+    /** Names still unknown after a refresh; keeps them from triggering a reload on every check. */
+    private final Cache<String, Boolean> unknownNames = Caffeine.newBuilder()
+            .maximumSize(1_024)
+            .expireAfterWrite(Duration.ofSeconds(1))
+            .build();
+
+    private volatile RoleClosure closure = RoleClosure.EMPTY;
+
+    public RoleAuthorityRegistry(RoleRepository roleRepository, ShardExecutor shardExecutor,
+                                 PlatformTransactionManager transactionManager) {
+        this.roleRepository = roleRepository;
+        this.shardExecutor = shardExecutor;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    /**
+     * Mask with the bits of all given roles set. The names are a user's roles, so they exist: an
+     * unknown one always triggers a refresh, even if it was recently looked up in vain. Otherwise a
+     * role just created elsewhere would be left out of the tokens issued in the meantime.
+     */
+    public long maskOf(Collection<String> roleNames) {
+        long mask = 0;
+        for (String roleName : roleNames) {
+            mask |= bitOf(roleName, true);
+        }
+        return mask;
+    }
+
+    /**
+     * Role mask of a set of authorities. Interned role authorities contribute their bit directly;
+     * permissions are skipped; any other {@code ROLE_} authority is looked up by name.
+     */
+    public long maskOfAuthorities(Collection<? extends GrantedAuthority> authorities) {
+        long mask = 0;
+        for (GrantedAuthority authority : authorities) {
+            if (authority instanceof RoleAuthority role) {
+                mask |= role.mask();
+            } else if (!(authority instanceof PermissionAuthority) && authority.getAuthority().startsWith("ROLE_")) {
+                mask |= bitOf(authority.getAuthority(), true);
+            }
+        }
+        return mask;
+    }
+
+    /** Mask of a single role, or {@code 0} if no such role exists. */
+    public long bitOf(String roleName) {
+        return bitOf(roleName, false);
+    }
+
+    private long bitOf(String roleName, boolean held) {
+        RoleAuthority authority = closure.role(roleName);
+        if (authority == null && (held || unknownNames.getIfPresent(roleName) == null)) {
+            authority = refresh().role(roleName);
+            if (authority == null) {
+                unknownNames.put(roleName, Boolean.TRUE);
+            }
+        }
+        return authority == null ? 0 : authority.mask();
+    }
+
+    /**
+     * Names of the roles whose bits are set in {@code mask}, without expanding the hierarchy, or
+     * {@code null} if a bit belongs to no known role even after a refresh.
+     */
+    public Set<String> roleNamesOf(long mask) {
+        RoleClosure current = closure;
+        if (!current.covers(mask)) {
+            current = refresh();
+            if (!current.covers(mask)) {
+                return null;
+            }
+        }
+        Set<String> names = new HashSet<>(Long.bitCount(mask) * 2);
+        for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            names.add(current.role(Long.numberOfTrailingZeros(remaining)).getAuthority());
+        }
+        return names;
+    }
+
+    /** Index of a permission in the current closure, or {@code -1} if no role grants it. */
+    public int permissionIndexOf(String permission) {
+        PermissionAuthority authority = closure.permission(permission);
+        if (authority == null && unknownNames.getIfPresent(permission) == null) {
+            authority = refresh().permission(permission);
+            if (authority == null) {
+                unknownNames.put(permission, Boolean.TRUE);
+            }
+        }
+        return authority == null ? -1 : authority.getIndex();
+    }
+
+    /** Shared grant for {@code mask}: effective roles, permissions and interned authorities. */
+    public RoleGrant grantOf(long mask) {
+        RoleGrant cached = grantsByMask.getIfPresent(mask);
+        if (cached != null) {
+            return cached;
+        }
+
+        RoleClosure current = closure;
+        if (!current.covers(mask)) {
+            current = refresh();
+        }
+        RoleGrant grant = current.grantOf(mask);
+        if (current.covers(mask) && current == closure) {
+            grantsByMask.put(mask, grant);
+        }
+        return grant;
+    }
+
+    public List<GrantedAuthority> authoritiesOf(long mask) {
+        return grantOf(mask).authorities();
+    }
+
+    /** {@code mask} without the roles already implied by its other roles. */
+    public long minimalMask(long mask) {
+        return closure.minimalMask(mask);
+    }
+
+    /**
+     * Reloads the roles, assigns an index to every role that lacks one and rebuilds the closure.
+     * Runs in its own transaction so it can be called from read-only callers. With sharding, the
+     * assignments are copied to every shard after commit.
+     */
+    public synchronized RoleClosure refresh() {
+        RoleClosure refreshed = requiresNew.execute(status -> {
+            List<Role> roles = roleRepository.findAllWithHierarchy();
+            int nextBit = roles.stream()
+                    .map(Role::getBitIndex)
+                    .filter(bit -> bit != null)
+                    .mapToInt(Integer::intValue)
+                    .max()
+                    .orElse(-1) + 1;
+
+            Map<Long, Integer> bitIndices = new HashMap<>();
+            for (Role role : roles) {
+                Integer bit = role.getBitIndex();
+                if (bit == null) {
+                    if (nextBit >= MAX_ROLES) {
+                        log.error("Role {} has no bit index and all {} bits are taken", role.getName(), MAX_ROLES);
+                        continue;
+                    }
+                    bit = nextBit++;
+                    assignBitIndex(role, bit);
+                }
+                bitIndices.put(role.getId(), bit);
+            }
+            return RoleClosure.build(roles, bitIndices);
+        });
+
+        closure = refreshed;
+        grantsByMask.invalidateAll();
+        unknownNames.invalidateAll();
+        log.debug("Rebuilt role closure for {} roles", refreshed.roleCount());
+        return refreshed;
+    }
+
+    private void assignBitIndex(Role role, int bit) {
+        Long roleId = role.getId();
+        roleRepository.assignBitIndex(roleId, bit);
+        shardExecutor.replicateAfterCommit(() -> roleRepository.assignBitIndex(roleId, bit));
+        log.info("Assigned bit index {} to role {}", bit, role.getName());
+    }
+}
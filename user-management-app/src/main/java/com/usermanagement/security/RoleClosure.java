@@ -0,0 +1,184 @@
+package com.usermanagement.security;
+
+import com.usermanagement.entity.Role;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Immutable, precomputed transitive closure of the role hierarchy.
+ * <p>
+ * For every role bit it stores the mask of all roles that bit implies, including itself, and the
+ * set of all permissions it grants through any of those roles. Permissions are indexed densely.
+ * Request-time checks therefore never walk the hierarchy. They index into these arrays, and the
+ * result is cached per mask as a {@link RoleGrant}. A new closure is built whenever roles change.
+ */
+public final class RoleClosure {
+
+    public static final RoleClosure EMPTY = build(List.of(), Map.of());
+
+    private final Map<String, RoleAuthority> rolesByName;
+    private final RoleAuthority[] rolesByBit;
+    private final long[] impliedRoles;
+    private final Map<String, PermissionAuthority> permissionsByName;
+    private final PermissionAuthority[] permissionsByIndex;
+    private final BitSet[] permissionsByBit;
+
+    private RoleClosure(Map<String, RoleAuthority> rolesByName, RoleAuthority[] rolesByBit, long[] impliedRoles,
+                        Map<String, PermissionAuthority> permissionsByName, PermissionAuthority[] permissionsByIndex,
+                        BitSet[] permissionsByBit) {
+        this.rolesByName = rolesByName;
+        this.rolesByBit = rolesByBit;
+        this.impliedRoles = impliedRoles;
+        this.permissionsByName = permissionsByName;
+        this.permissionsByIndex = permissionsByIndex;
+        this.permissionsByBit = permissionsByBit;
+    }
+
+    /**
+     * Builds the closure from {@code roles}, using {@code bitIndices} (role ID → bit) rather than
+     * the entities' own field so that freshly assigned indices are included. Roles without an
+     * index are left out. Cycles are tolerated.
+     */
+    public static RoleClosure build(List<Role> roles, Map<Long, Integer> bitIndices) {
+        int maxRoles = RoleAuthorityRegistry.MAX_ROLES;
+        Map<String, RoleAuthority> rolesByName = new HashMap<>();
+        RoleAuthority[] rolesByBit = new RoleAuthority[maxRoles];
+        long[] implied = new long[maxRoles];
+
+        List<Role> indexed = roles.stream().filter(role -> bitIndices.containsKey(role.getId())).toList();
+
+        TreeSet<String> permissionNames = new TreeSet<>();
+        for (Role role : indexed) {
+            RoleAuthority authority = new RoleAuthority(role.getName(), bitIndices.get(role.getId()));
+            rolesByName.put(authority.getAuthority(), authority);
+            rolesByBit[authority.getBitIndex()] = authority;
+            permissionNames.addAll(role.getPermissions());
+        }
+
+        Map<String, PermissionAuthority> permissionsByName = new HashMap<>();
+        PermissionAuthority[] permissionsByIndex = new PermissionAuthority[permissionNames.size()];
+        for (String name : permissionNames) {
+            PermissionAuthority authority = new PermissionAuthority(name, permissionsByName.size());
+            permissionsByName.put(name, authority);
+            permissionsByIndex[authority.getIndex()] = authority;
+        }
+
+        BitSet[] direct = new BitSet[maxRoles];
+        for (Role role : indexed) {
+            int bit = bitIndices.get(role.getId());
+            implied[bit] = 1L << bit;
+            for (Role included : role.getIncludes()) {
+                Integer includedBit = bitIndices.get(included.getId());
+                if (includedBit != null) {
+                    implied[bit] |= 1L << includedBit;
+                }
+            }
+            direct[bit] = new BitSet(permissionsByIndex.length);
+            role.getPermissions().forEach(permission -> direct[bit].set(permissionsByName.get(permission).getIndex()));
+        }
+
+        // Fixpoint over at most 64 roles: fold in the implied roles of every implied role
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int bit = 0; bit < maxRoles; bit++) {
+                long expanded = implied[bit];
+                for (long remaining = implied[bit]; remaining != 0; remaining &= remaining - 1) {
+                    expanded |= implied[Long.numberOfTrailingZeros(remaining)];
+                }
+                if (expanded != implied[bit]) {
+                    implied[bit] = expanded;
+                    changed = true;
+                }
+            }
+        }
+
+        BitSet[] permissionsByBit = new BitSet[maxRoles];
+        for (int bit = 0; bit < maxRoles; bit++) {
+            if (rolesByBit[bit] == null) {
+                continue;
+            }
+            BitSet effective = new BitSet(permissionsByIndex.length);
+            for (long remaining = implied[bit]; remaining != 0; remaining &= remaining - 1) {
+                BitSet permissions = direct[Long.numberOfTrailingZeros(remaining)];
+                if (permissions != null) {
+                    effective.or(permissions);
+                }
+            }
+            permissionsByBit[bit] = effective;
+        }
+
+        return new RoleClosure(Collections.unmodifiableMap(rolesByName), rolesByBit, implied,
+                Collections.unmodifiableMap(permissionsByName), permissionsByIndex, permissionsByBit);
+    }
+
+    public RoleAuthority role(String name) {
+        return rolesByName.get(name);
+    }
+
+    /** The role owning {@code bit}, or {@code null} if none does. */
+    public RoleAuthority role(int bit) {
+        return rolesByBit[bit];
+    }
+
+    public PermissionAuthority permission(String name) {
+        return permissionsByName.get(name);
+    }
+
+    public int roleCount() {
+        return rolesByName.size();
+    }
+
+    /** Whether every bit of {@code mask} belongs to a known role. */
+    public boolean covers(long mask) {
+        for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            if (rolesByBit[Long.numberOfTrailingZeros(remaining)] == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long effectiveRoles(long mask) {
+        long effective = 0;
+        for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            int bit = Long.numberOfTrailingZeros(remaining);
+            effective |= rolesByBit[bit] == null ? 0 : impliedRoles[bit];
+        }
+        return effective;
+    }
+
+    /** Drops bits already implied by other bits of the mask, so tokens carry only the roles that matter. */
+    public long minimalMask(long mask) {
+        long minimal = mask;
+        for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            long bit = Long.lowestOneBit(remaining);
+            if ((effectiveRoles(minimal & ~bit) & bit) != 0) {
+                minimal &= ~bit;
+            }
+        }
+        return minimal;
+    }
+
+    public RoleGrant grantOf(long mask) {
+        long effective = effectiveRoles(mask);
+        BitSet permissions = new BitSet(permissionsByIndex.length);
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        for (long remaining = effective; remaining != 0; remaining &= remaining - 1) {
+            int bit = Long.numberOfTrailingZeros(remaining);
+            authorities.add(rolesByBit[bit]);
+            permissions.or(permissionsByBit[bit]);
+        }
+        for (int index = permissions.nextSetBit(0); index >= 0; index = permissions.nextSetBit(index + 1)) {
+            authorities.add(permissionsByIndex[index]);
+        }
+        return new RoleGrant(mask, effective, permissions, Collections.unmodifiableList(authorities));
+    }
+}
@@ -0,0 +1,47 @@
+package com.usermanagement.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Everything a role mask grants, resolved against a {@link RoleClosure}: the effective roles
+ * (held roles plus everything they include), the effective permissions, and the matching interned
+ * authorities. Instances are immutable and shared by every request carrying the same mask.
+ */
+public final class RoleGrant {
+
+    private final long roleMask;
+    private final long effectiveRoles;
+    private final BitSet permissions;
+    private final List<GrantedAuthority> authorities;
+
+    RoleGrant(long roleMask, long effectiveRoles, BitSet permissions, List<GrantedAuthority> authorities) {
+        this.roleMask = roleMask;
+        this.effectiveRoles = effectiveRoles;
+        this.permissions = permissions;
+        this.authorities = authorities;
+    }
+
+    /** The mask as issued in the token, before expansion. */
+    public long roleMask() {
+        return roleMask;
+    }
+
+    public long effectiveRoles() {
+        return effectiveRoles;
+    }
+
+    public boolean hasRole(long roleBit) {
+        return (effectiveRoles & roleBit) != 0;
+    }
+
+    public boolean hasPermission(int permissionIndex) {
+        return permissions.get(permissionIndex);
+    }
+
+    public List<GrantedAuthority> authorities() {
+        return authorities;
+    }
+}
@@ -0,0 +1,38 @@
+package com.usermanagement.security;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+
+/**
+ * Authentication built from a JWT: the user's email and the {@link RoleGrant} for the token's role
+ * mask. Grants are shared per mask, so nothing is rebuilt per request.
+ */
+public class RoleMaskAuthenticationToken extends AbstractAuthenticationToken {
+
+    private final String email;
+    private final RoleGrant grant;
+
+    public RoleMaskAuthenticationToken(String email, RoleGrant grant) {
+        super(grant.authorities());
+        this.email = email;
+        this.grant = grant;
+        setAuthenticated(true);
+    }
+
+    public RoleGrant getGrant() {
+        return grant;
+    }
+
+    public long getRoleMask() {
+        return grant.roleMask();
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return email;
+    }
+}
@@ -0,0 +1,99 @@
+package com.usermanagement.security;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Decides {@link RequiresRole} and {@link RequiresPermission} against the caller's
+ * {@link RoleGrant}.
+ * <p>
+ * A role check is a single and-test of the required bit against the grant's effective-role mask.
+ * A permission check is a single bitset lookup. Inheritance is already folded into the grant by
+ * {@link RoleClosure}. Role bits never change, so the required bit is cached per method. Permission
+ * indices are looked up in the current closure on each call, because they are renumbered when
+ * roles change. JWT-authenticated requests carry their grant in a {@link RoleMaskAuthenticationToken};
+ * for any other authentication the grant is derived from its authorities.
+ */
+public class RoleMaskAuthorizationManager implements AuthorizationManager<MethodInvocation> {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final RoleAuthorityRegistry registry;
+    private final Map<Method, Requirement> requirements = new ConcurrentHashMap<>();
+
+    public RoleMaskAuthorizationManager(RoleAuthorityRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        Requirement requirement = requirements.computeIfAbsent(invocation.getMethod(), method -> requirementOf(invocation));
+
+        long roleBit = 0;
+        if (requirement.role() != null) {
+            roleBit = registry.bitOf(requirement.role());
+            if (roleBit == 0) {
+                return DENIED;
+            }
+        }
+        int permissionIndex = -1;
+        if (requirement.permission() != null) {
+            permissionIndex = registry.permissionIndexOf(requirement.permission());
+            if (permissionIndex < 0) {
+                return DENIED;
+            }
+        }
+
+        RoleGrant grant = grantOf(authentication.get());
+        if (grant == null) {
+            return DENIED;
+        }
+        boolean granted = (roleBit == 0 || grant.hasRole(roleBit))
+                && (permissionIndex < 0 || grant.hasPermission(permissionIndex));
+        return granted ? GRANTED : DENIED;
+    }
+
+    private RoleGrant grantOf(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+        if (authentication instanceof RoleMaskAuthenticationToken token) {
+            return token.getGrant();
+        }
+        return registry.grantOf(registry.maskOfAuthorities(authentication.getAuthorities()));
+    }
+
+    private static Requirement requirementOf(MethodInvocation invocation) {
+        Method method = invocation.getMethod();
+        Class<?> targetClass = invocation.getThis() != null ? invocation.getThis().getClass() : method.getDeclaringClass();
+
+        RequiresRole role = AnnotatedElementUtils.findMergedAnnotation(method, RequiresRole.class);
+        if (role == null) {
+            role = AnnotatedElementUtils.findMergedAnnotation(targetClass, RequiresRole.class);
+        }
+        RequiresPermission permission = AnnotatedElementUtils.findMergedAnnotation(method, RequiresPermission.class);
+        if (permission == null) {
+            permission = AnnotatedElementUtils.findMergedAnnotation(targetClass, RequiresPermission.class);
+        }
+        if (role == null && permission == null) {
+            throw new IllegalStateException("No @RequiresRole or @RequiresPermission on " + method);
+        }
+
+        String roleName = role == null ? null
+                : role.value().startsWith("ROLE_") ? role.value() : "ROLE_" + role.value();
+        return new Requirement(roleName, permission == null ? null : permission.value());
+    }
+
+    /** What a method demands; either part may be {@code null}. */
+    private record Requirement(String role, String permission) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.usermanagement.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Access-token signing key settings, bound from {@code app.jwt.signing-keys}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.jwt.signing-keys")
+public class SigningKeyProperties {
+
+    /** Key set file (see {@code FileKeySource}); when unset, {@code app.jwt.secret} is the only key. */
+    private Path file;
+
+    /** How often the key set file is checked for changes. */
+    private Duration reloadInterval = Duration.ofSeconds(30);
+}
@@ -0,0 +1,48 @@
+package com.usermanagement.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, implemented as the generic cell rate algorithm.
+ * <p>
+ * Instead of a token count and a refill timestamp, the bucket keeps a single theoretical arrival
+ * time (TAT) in an {@link AtomicLong}: the instant at which the bucket would be full again. Each
+ * admitted request pushes the TAT forward by one emission interval ({@code period / requests}). A
+ * request is rejected if that would put the TAT more than {@code burst} intervals ahead of now.
+ * Refill is implicit, so an acquire is one read and one CAS.
+ */
+public final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(long emissionIntervalNanos, int burst, long nowNanos) {
+        this.emissionIntervalNanos = emissionIntervalNanos;
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token if available. Returns the remaining tokens ({@code >= 0}) when admitted, or
+     * {@code -(nanos until a token is available)} when rejected, to avoid allocating on the hot path.
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long next = Math.max(tat, nowNanos) + emissionIntervalNanos;
+            long ahead = next - nowNanos;
+            if (ahead > burstToleranceNanos) {
+                return -Math.max(1, ahead - burstToleranceNanos);
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return (burstToleranceNanos - ahead) / emissionIntervalNanos;
+            }
+        }
+    }
+
+    /** Nanoseconds until the bucket is full again. */
+    public long nanosUntilFull(long nowNanos) {
+        return Math.max(0, theoreticalArrival.get() - nowNanos);
+    }
+}
@@ -1,5 +1,7 @@
 package com.usermanagement.service;
 
+import com.usermanagement.changes.ChangeStream;
+import com.usermanagement.changes.UserChange;
 import com.usermanagement.entity.AuditLog;
 import com.usermanagement.repository.AuditLogRepository;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +15,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class AuditLogService {
 
     private final AuditLogRepository auditLogRepository;
+    private final ChangeStream changeStream;
 
     @Transactional
     public void log(String action, String performedBy, String targetUser, String details) {
@@ -24,6 +27,9 @@ public class AuditLogService {
                 .build();
 
         auditLogRepository.save(auditLog);
+        if (UserChange.TYPES.contains(action)) {
+            changeStream.publishAfterCommit(UserChange.of(auditLog));
+        }
         log.info("Audit log: action={}, performedBy={}, target={}, details={}",
                 action, performedBy, targetUser, details);
     }
@@ -0,0 +1,185 @@
+package com.usermanagement.service;
+
+import com.usermanagement.entity.RefreshToken;
+import com.usermanagement.entity.User;
+import com.usermanagement.exception.InvalidTokenException;
+import com.usermanagement.repository.RefreshTokenRepository;
+import com.usermanagement.security.RefreshTokenProperties;
+import com.usermanagement.sharding.ShardExecutor;
+import io.jsonwebtoken.io.Decoders;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Issues and rotates opaque refresh tokens of the form {@code <id>.<secret>}.
+ * <p>
+ * The ID locates the row with one primary-key lookup, which also routes to the user's shard. The
+ * secret is checked against its stored HMAC in constant time. Renewal does no password hashing.
+ * Each refresh revokes the presented token and issues a successor in the same family. Presenting
+ * a token that was already rotated revokes the whole family.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final int SECRET_BYTES = 32;
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final AuditLogService auditLogService;
+    private final ShardExecutor shardExecutor;
+    private final RefreshTokenProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final ThreadLocal<Mac> hmac;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, AuditLogService auditLogService,
+                               ShardExecutor shardExecutor, RefreshTokenProperties properties,
+                               PlatformTransactionManager transactionManager) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.auditLogService = auditLogService;
+        this.shardExecutor = shardExecutor;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        if (!StringUtils.hasText(properties.getHmacSecret())) {
+            throw new IllegalStateException("app.jwt.refresh-token.hmac-secret must be set (REFRESH_TOKEN_HMAC_SECRET) "
+                    + "to a Base64 key of its own, not the JWT signing secret");
+        }
+        SecretKeySpec key = new SecretKeySpec(Decoders.BASE64.decode(properties.getHmacSecret()), HMAC_ALGORITHM);
+        this.hmac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException ex) {
+                throw new IllegalStateException("HMAC-SHA256 is not available", ex);
+            }
+        });
+    }
+
+    /** Starts a new token family for {@code user}, e.g. on login. */
+    @Transactional
+    public String issue(User user) {
+        return issue(user, null);
+    }
+
+    /**
+     * Exchanges a refresh token for its successor. The family revocation on reuse must survive the
+     * exception, so {@link InvalidTokenException} does not roll the transaction back.
+     */
+    @Transactional(noRollbackFor = InvalidTokenException.class)
+    public Rotation rotate(String presented) {
+        int separator = presented.indexOf('.');
+        Long id = parseId(presented, separator);
+        if (id == null) {
+            throw new InvalidTokenException("Invalid refresh token");
+        }
+
+        RefreshToken token = refreshTokenRepository.findById(id)
+                .filter(candidate -> matches(candidate, presented.substring(separator + 1)))
+                .orElseThrow(() -> new InvalidTokenException("Invalid refresh token"));
+
+        LocalDateTime now = LocalDateTime.now();
+        if (token.getExpiresAt().isBefore(now)) {
+            throw new InvalidTokenException("Refresh token has expired");
+        }
+        if (token.getRevokedAt() != null || refreshTokenRepository.revokeIfActive(token.getId(), now) == 0) {
+            int revoked = refreshTokenRepository.revokeFamily(token.familyRootId(), now);
+            String email = token.getUser().getEmail();
+            log.warn("Refresh token reuse detected for user {}; revoked {} tokens of family {}",
+                    email, revoked, token.familyRootId());
+            auditLogService.log("REFRESH_TOKEN_REUSE", "SYSTEM", email,
+                    "Reused refresh token; revoked token family " + token.familyRootId());
+            throw new InvalidTokenException("Refresh token has been revoked");
+        }
+
+        User user = token.getUser();
+        return new Rotation(user, issue(user, token.familyRootId()));
+    }
+
+    /**
+     * Deletes expired tokens shard by shard, in batches of
+     * {@link RefreshTokenProperties#getCleanupBatchSize()}, each in its own transaction. The shards
+     * are purged one after another on the calling thread rather than through the request fan-out,
+     * whose timeout would cancel a large backlog part-way.
+     */
+    public long purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now();
+        AtomicLong deleted = new AtomicLong();
+        shardExecutor.forEachShard(() -> {
+            int batch;
+            do {
+                batch = transactionTemplate.execute(status -> {
+                    List<Long> ids = refreshTokenRepository.findExpiredIds(cutoff, Limit.of(properties.getCleanupBatchSize()));
+                    if (!ids.isEmpty()) {
+                        refreshTokenRepository.deleteAllByIdInBatch(ids);
+                    }
+                    return ids.size();
+                });
+                deleted.addAndGet(batch);
+            } while (batch == properties.getCleanupBatchSize());
+        });
+        if (deleted.get() > 0) {
+            log.info("Purged {} expired refresh tokens", deleted.get());
+        }
+        return deleted.get();
+    }
+
+    private String issue(User user, Long familyId) {
+        byte[] secretBytes = new byte[SECRET_BYTES];
+        secureRandom.nextBytes(secretBytes);
+        String secret = Base64.getUrlEncoder().withoutPadding().encodeToString(secretBytes);
+
+        RefreshToken token = RefreshToken.builder()
+                .user(user)
+                .familyId(familyId)
+                .tokenHash(hash(secret))
+                .expiresAt(LocalDateTime.now().plus(properties.getTtl()))
+                .build();
+        refreshTokenRepository.save(token);
+        return token.getId() + "." + secret;
+    }
+
+    private boolean matches(RefreshToken token, String secret) {
+        return MessageDigest.isEqual(
+                hash(secret).getBytes(StandardCharsets.US_ASCII),
+                token.getTokenHash().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private String hash(String secret) {
+        byte[] digest = hmac.get().doFinal(secret.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    private static Long parseId(String presented, int separator) {
+        if (separator <= 0 || separator == presented.length() - 1) {
+            return null;
+        }
+        try {
+            return Long.parseLong(presented, 0, separator, 10);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    public record Rotation(User user, String refreshToken) {
+    }
+}
@@ -0,0 +1,246 @@
+package com.usermanagement.service;
+
+import com.usermanagement.dto.request.BulkRoleRequest;
+import com.usermanagement.dto.response.BulkRoleResponse;
+import com.usermanagement.dto.response.RoleMemberResponse;
+import com.usermanagement.dto.response.RoleMembersResponse;
+import com.usermanagement.entity.Role;
+import com.usermanagement.entity.User;
+import com.usermanagement.event.EventPublisher;
+import com.usermanagement.event.UserEvent;
+import com.usermanagement.exception.BadRequestException;
+import com.usermanagement.exception.ResourceNotFoundException;
+import com.usermanagement.repository.RoleRepository;
+import com.usermanagement.repository.UserRoleBulkRepository;
+import com.usermanagement.repository.UserRoleBulkRepository.UserKey;
+import com.usermanagement.sharding.ShardContext;
+import com.usermanagement.sharding.ShardExecutor;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Grants or revokes a role for many users at once. Users are processed per shard in chunks of
+ * {@value #CHUNK_SIZE}; each chunk is one transaction of a few set-based statements against
+ * {@code user_roles}, followed by eviction of just the affected users from the caches. Every chunk
+ * that changed something gets one summarized audit entry and one event as soon as it commits, so a
+ * run that fails or times out part-way still leaves a trace of the chunks it applied.
+ *
+ * <p>Each shard also keeps a member count per role, updated in the transaction that changes the
+ * membership, so listing and dashboard totals never count {@code user_roles}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RoleMembershipService {
+
+    static final int CHUNK_SIZE = 1000;
+    static final int MAX_PAGE_SIZE = 500;
+
+    private static final String USER_ROLES_COLLECTION = User.class.getName() + ".roles";
+
+    private final RoleRepository roleRepository;
+    private final UserRoleBulkRepository userRoleBulkRepository;
+    private final ShardExecutor shardExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheManager cacheManager;
+    private final UserVersionIndex userVersionIndex;
+    private final AuditLogService auditLogService;
+    private final EventPublisher eventPublisher;
+
+    private record Chunk(List<UserKey> users) {
+    }
+
+    private record Operation(long roleId, String roleName, boolean grant, String performedBy) {
+    }
+
+    public BulkRoleResponse assign(String roleName, BulkRoleRequest request, String performedBy) {
+        return apply(roleName, request, performedBy, true);
+    }
+
+    public BulkRoleResponse revoke(String roleName, BulkRoleRequest request, String performedBy) {
+        return apply(roleName, request, performedBy, false);
+    }
+
+    private BulkRoleResponse apply(String roleName, BulkRoleRequest request, String performedBy, boolean grant) {
+        boolean byIds = request.getUserIds() != null && !request.getUserIds().isEmpty();
+        if (byIds == (request.getEmailDomain() != null)) {
+            throw new BadRequestException("Specify either userIds or emailDomain");
+        }
+
+        Role role = findRole(roleName);
+        Operation operation = new Operation(role.getId(), role.getName(), grant, performedBy);
+
+        List<Chunk> chunks = byIds
+                ? shardExecutor.onShardsOf(new LinkedHashSet<>(request.getUserIds()),
+                        shardIds -> applyToIds(shardIds, operation))
+                : shardExecutor.onAllShards(() -> applyToDomain(request.getEmailDomain(), operation)).stream()
+                        .flatMap(List::stream)
+                        .toList();
+
+        int usersChanged = chunks.stream().mapToInt(chunk -> chunk.users().size()).sum();
+        log.info("{} {} for {} users in {} chunks", action(grant), role.getName(), usersChanged, chunks.size());
+        return BulkRoleResponse.builder()
+                .roleName(role.getName())
+                .usersChanged(usersChanged)
+                .chunks(chunks.size())
+                .build();
+    }
+
+    /**
+     * One page of the role's members in ascending ID order, starting after {@code afterId}. Each
+     * shard reads at most {@code limit} rows from the {@code (role_id, user_id)} index.
+     */
+    public RoleMembersResponse listMembers(String roleName, Long afterId, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Role role = findRole(roleName);
+        long after = afterId != null ? afterId : Long.MIN_VALUE;
+
+        List<RoleMemberResponse> members = shardExecutor.mergeSorted(
+                () -> userRoleBulkRepository.findMembers(role.getId(), after, limit),
+                Comparator.comparing(RoleMemberResponse::getId), limit);
+
+        return RoleMembersResponse.builder()
+                .roleName(role.getName())
+                .members(members)
+                .nextCursor(members.size() == limit ? members.get(limit - 1).getId() : null)
+                .totalMembers(shardExecutor.sum(() -> userRoleBulkRepository.findMemberCount(role.getId())))
+                .build();
+    }
+
+    /** Members per role name, summed over the maintained per-shard counts. */
+    public Map<String, Long> memberCounts() {
+        Map<Long, Long> byId = new HashMap<>();
+        shardExecutor.onAllShards(userRoleBulkRepository::findMemberCounts)
+                .forEach(counts -> counts.forEach((roleId, count) -> byId.merge(roleId, count, Long::sum)));
+
+        Map<String, Long> byName = new TreeMap<>();
+        for (Role role : roleRepository.findAll()) {
+            byName.put(role.getName(), byId.getOrDefault(role.getId(), 0L));
+        }
+        return byName;
+    }
+
+    /**
+     * Fills the member counts from {@code user_roles} on shards that have none yet, i.e. on first
+     * start after the table was added. Empty them to have them rebuilt, e.g. after moving buckets.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeMemberCounts() {
+        shardExecutor.onEachShard(() -> transactionTemplate.executeWithoutResult(status -> {
+            if (!userRoleBulkRepository.hasMemberCounts()) {
+                int roles = userRoleBulkRepository.rebuildMemberCounts();
+                log.info("Rebuilt member counts for {} roles", roles);
+            }
+        }));
+    }
+
+    private Role findRole(String roleName) {
+        String normalized = RoleService.normalize(roleName);
+        return roleRepository.findByName(normalized)
+                .orElseThrow(() -> new ResourceNotFoundException("Role", "name", normalized));
+    }
+
+    private List<Chunk> applyToIds(List<Long> userIds, Operation operation) {
+        List<Chunk> chunks = new ArrayList<>();
+        for (int from = 0; from < userIds.size(); from += CHUNK_SIZE) {
+            applyChunk(userIds.subList(from, Math.min(from + CHUNK_SIZE, userIds.size())), operation, chunks);
+        }
+        return chunks;
+    }
+
+    private List<Chunk> applyToDomain(String emailDomain, Operation operation) {
+        List<Chunk> chunks = new ArrayList<>();
+        long afterId = Long.MIN_VALUE;
+        List<Long> page;
+        do {
+            page = userRoleBulkRepository.findIdsByEmailDomain(emailDomain, afterId, CHUNK_SIZE);
+            if (!page.isEmpty()) {
+                applyChunk(page, operation, chunks);
+                afterId = page.get(page.size() - 1);
+            }
+        } while (page.size() == CHUNK_SIZE);
+        return chunks;
+    }
+
+    private void applyChunk(List<Long> userIds, Operation operation, List<Chunk> chunks) {
+        long roleId = operation.roleId();
+        boolean grant = operation.grant();
+        List<UserKey> changed = transactionTemplate.execute(status -> {
+            // Users that already have (or lack) the role are skipped
+            List<UserKey> users = userRoleBulkRepository.findUsers(userIds, roleId, !grant);
+            if (users.isEmpty()) {
+                return users;
+            }
+            List<Long> ids = users.stream().map(UserKey::id).toList();
+            if (grant) {
+                userRoleBulkRepository.addMemberCount(roleId, userRoleBulkRepository.insertMissing(ids, roleId));
+            } else {
+                userRoleBulkRepository.addMemberCount(roleId, -userRoleBulkRepository.delete(ids, roleId));
+            }
+            userRoleBulkRepository.bumpVersions(ids, LocalDateTime.now());
+            return users;
+        });
+
+        if (!changed.isEmpty()) {
+            evict(changed);
+            record(operation, changed);
+            chunks.add(new Chunk(changed));
+        }
+    }
+
+    /** Writes the chunk's audit entry and event right after the chunk committed. */
+    private void record(Operation operation, List<UserKey> users) {
+        boolean grant = operation.grant();
+        List<Long> userIds = users.stream().map(UserKey::id).toList();
+        // Audit rows live on the admin's shard, not on the shard this chunk ran on
+        ShardContext.callUnbound(() -> {
+            auditLogService.log(action(grant), operation.performedBy(), null, String.format("%s %s %s %d users (IDs %d..%d)",
+                    grant ? "Assigned" : "Revoked", operation.roleName(), grant ? "to" : "from", userIds.size(),
+                    userIds.get(0), userIds.get(userIds.size() - 1)));
+            return null;
+        });
+        eventPublisher.publishRoleChangeEvent(UserEvent.builder()
+                .eventType((grant ? UserEvent.EventType.ROLE_ASSIGNED : UserEvent.EventType.ROLE_REVOKED).name())
+                .roleName(operation.roleName())
+                .userIds(userIds)
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
+
+    private static String action(boolean grant) {
+        return grant ? "ROLE_ASSIGNED_BULK" : "ROLE_REVOKED_BULK";
+    }
+
+    private void evict(List<UserKey> users) {
+        org.hibernate.Cache secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        Cache profiles = cacheManager.getCache("users");
+        for (UserKey user : users) {
+            secondLevelCache.evictEntityData(User.class, user.id());
+            secondLevelCache.evictCollectionData(USER_ROLES_COLLECTION, user.id());
+            if (profiles != null) {
+                profiles.evict(user.email());
+            }
+            userVersionIndex.evictAfterCommit(user.email());
+        }
+    }
+}
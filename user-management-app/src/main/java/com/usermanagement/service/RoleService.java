@@ -0,0 +1,97 @@
+package com.usermanagement.service;
+
+import com.usermanagement.dto.request.RoleRequest;
+import com.usermanagement.dto.response.RoleResponse;
+import com.usermanagement.entity.Role;
+import com.usermanagement.exception.BadRequestException;
+import com.usermanagement.exception.DuplicateResourceException;
+import com.usermanagement.exception.ResourceNotFoundException;
+import com.usermanagement.mapper.UserMapper;
+import com.usermanagement.repository.RoleRepository;
+import com.usermanagement.security.RoleAuthorityRegistry;
+import com.usermanagement.sharding.ShardExecutor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RoleService {
+
+    private final RoleRepository roleRepository;
+    private final ShardExecutor shardExecutor;
+    private final RoleAuthorityRegistry roleAuthorityRegistry;
+
+    @Transactional
+    public RoleResponse createRole(RoleRequest request) {
+        String roleName = normalize(request.getName());
+
+        if (roleRepository.existsByName(roleName)) {
+            throw new DuplicateResourceException("Role already exists: " + roleName);
+        }
+
+        // Next free bit in the JWT role mask; the unique index on bit_index catches concurrent creates
+        int bitIndex = roleRepository.findMaxBitIndex() + 1;
+        if (bitIndex >= RoleAuthorityRegistry.MAX_ROLES) {
+            throw new BadRequestException("Role limit reached: at most " + RoleAuthorityRegistry.MAX_ROLES + " roles are supported");
+        }
+
+        // Included roles must already exist, so the hierarchy cannot contain cycles
+        Set<Role> includes = new HashSet<>();
+        for (String includedName : request.getIncludes()) {
+            String normalized = normalize(includedName);
+            includes.add(roleRepository.findByName(normalized)
+                    .orElseThrow(() -> new ResourceNotFoundException("Role", "name", normalized)));
+        }
+
+        Role role = Role.builder()
+                .name(roleName)
+                .bitIndex(bitIndex)
+                .includes(includes)
+                .permissions(new HashSet<>(request.getPermissions()))
+                .build();
+
+        Role savedRole = roleRepository.save(role);
+        log.info("Created role: {} (includes {}, permissions {})", savedRole.getName(),
+                includes.stream().map(Role::getName).toList(), savedRole.getPermissions());
+
+        // Roles are reference data: every shard needs the row and its hierarchy under the same IDs
+        Long roleId = savedRole.getId();
+        String savedName = savedRole.getName();
+        List<Long> includedIds = includes.stream().map(Role::getId).toList();
+        List<String> permissions = List.copyOf(savedRole.getPermissions());
+        shardExecutor.replicateAfterCommit(() -> {
+            roleRepository.insertIfAbsent(roleId, savedName, bitIndex);
+            includedIds.forEach(includedId -> roleRepository.insertIncludeIfAbsent(roleId, includedId));
+            permissions.forEach(permission -> roleRepository.insertPermissionIfAbsent(roleId, permission));
+        });
+
+        // Rebuild the authorization closure once the new role is visible
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                roleAuthorityRegistry.refresh();
+            }
+        });
+
+        return UserMapper.toRoleResponse(savedRole);
+    }
+
+    static String normalize(String name) {
+        String roleName = name.toUpperCase();
+
+        // Ensure ROLE_ prefix
+        if (!roleName.startsWith("ROLE_")) {
+            roleName = "ROLE_" + roleName;
+        }
+        return roleName;
+    }
+}
@@ -0,0 +1,262 @@
+package com.usermanagement.service;
+
+import com.usermanagement.config.UserSearchProperties;
+import com.usermanagement.repository.UserScanRepository;
+import com.usermanagement.repository.UserScanRepository.UserName;
+import com.usermanagement.sharding.ShardExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Prefix index over usernames and email local parts for typeahead search. Each user contributes a
+ * few lower-cased terms: the username, the local part, and every word within them ({@code
+ * "jane.doe"} also yields {@code "doe"}), at most {@value #MAX_TERMS_PER_USER} terms of at most
+ * {@value #MAX_TERM_LENGTH} characters. A query matches terms that start with it; results are
+ * ranked by the matching term, so exact matches come first.
+ *
+ * <p>The bulk of the index is an immutable snapshot of sorted parallel arrays, searched by binary
+ * search. Users indexed since the snapshot was built sit in a small concurrent delta. A rebuild
+ * streams the {@code users} table of every shard into a new snapshot while queries keep using the
+ * old one, then publishes it with a single volatile write.
+ */
+@Slf4j
+public class UserSearchIndex {
+
+    static final int MAX_TERMS_PER_USER = 6;
+    static final int MAX_TERM_LENGTH = 32;
+
+    /** Approximate heap cost of a snapshot term besides its characters: String, array header, reference and ID. */
+    private static final int BYTES_PER_TERM = 24 + 16 + 4 + 8;
+
+    /** Approximate heap cost of a delta term: key with ID suffix, boxed ID and skip-list node. */
+    private static final int BYTES_PER_DELTA_TERM = 160;
+
+    private static final Comparator<Term> TERM_ORDER = Comparator.comparing(Term::term).thenComparingLong(Term::id);
+
+    private static final char ID_SEPARATOR = '\u0000';
+
+    private final UserSearchProperties properties;
+    private final UserScanRepository userScanRepository;
+    private final ShardExecutor shardExecutor;
+    private volatile State state = new State(Snapshot.EMPTY, null, new ConcurrentSkipListMap<>());
+
+    public UserSearchIndex(UserSearchProperties properties, UserScanRepository userScanRepository, ShardExecutor shardExecutor) {
+        this.properties = properties;
+        this.userScanRepository = userScanRepository;
+        this.shardExecutor = shardExecutor;
+    }
+
+    /** Snapshot, the delta it was built without (only during a rebuild), and the current delta. */
+    private record State(Snapshot snapshot, NavigableMap<String, Long> rebuildingDelta, NavigableMap<String, Long> delta) {
+    }
+
+    private record Snapshot(String[] terms, long[] ids, int users, long termBytes) {
+        static final Snapshot EMPTY = new Snapshot(new String[0], new long[0], 0, 0);
+    }
+
+    private record Term(String term, long id) {
+    }
+
+    /** Size of the index; {@code bytesPerUser} is an estimate of the heap it takes per indexed user. */
+    public record Stats(int users, int terms, long estimatedBytes, long bytesPerUser) {
+    }
+
+    /** Indexes the user once the current transaction commits, or now if there is none. */
+    public void indexAfterCommit(long id, String username, String email) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index(id, username, email);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index(id, username, email);
+            }
+        });
+    }
+
+    public void index(long id, String username, String email) {
+        NavigableMap<String, Long> delta = state.delta();
+        for (String term : termsOf(username, email)) {
+            delta.put(term + ID_SEPARATOR + id, id);
+        }
+    }
+
+    /** IDs of up to {@code limit} users with a term starting with {@code query}, best match first. */
+    public List<Long> search(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.length() > MAX_TERM_LENGTH) {
+            prefix = prefix.substring(0, MAX_TERM_LENGTH);
+        }
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        State current = state;
+        List<Term> candidates = new ArrayList<>(search(current.snapshot(), prefix, limit));
+        candidates.addAll(search(current.delta(), prefix, limit));
+        if (current.rebuildingDelta() != null) {
+            candidates.addAll(search(current.rebuildingDelta(), prefix, limit));
+        }
+        // Each source contributes its first `limit` distinct users, which is enough for the overall first `limit`
+        candidates.sort(TERM_ORDER);
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Term candidate : candidates) {
+            if (ids.size() == limit) {
+                break;
+            }
+            ids.add(candidate.id());
+        }
+        return List.copyOf(ids);
+    }
+
+    /**
+     * Rebuilds the snapshot from the {@code users} tables. Queries and writes continue against the
+     * old snapshot meanwhile; users indexed during the rebuild stay in the delta afterwards. Shards
+     * are scanned one after another on the calling thread with no deadline, so a long rebuild
+     * neither times out nor holds the fan-out threads that requests need.
+     */
+    public synchronized Stats rebuild() {
+        long started = System.nanoTime();
+        State before = state;
+        state = new State(before.snapshot(), before.delta(), new ConcurrentSkipListMap<>());
+
+        AtomicInteger remaining = new AtomicInteger(properties.getMaxUsers());
+        List<Term> terms = new ArrayList<>();
+        try {
+            shardExecutor.forEachShard(() -> terms.addAll(scanShard(remaining)));
+        } catch (RuntimeException ex) {
+            // Keep serving the old snapshot with everything indexed since it was built
+            state.delta().putAll(before.delta());
+            state = new State(before.snapshot(), null, state.delta());
+            throw ex;
+        }
+        terms.sort(TERM_ORDER);
+        int users = properties.getMaxUsers() - Math.max(remaining.get(), 0);
+        if (remaining.get() < 0) {
+            log.warn("User search index is full: only {} users indexed, raise app.search.users.max-users to index all", users);
+        }
+
+        String[] termArray = new String[terms.size()];
+        long[] ids = new long[terms.size()];
+        long termBytes = 0;
+        for (int i = 0; i < termArray.length; i++) {
+            termArray[i] = terms.get(i).term();
+            ids[i] = terms.get(i).id();
+            termBytes += termArray[i].length();
+        }
+
+        state = new State(new Snapshot(termArray, ids, users, termBytes), null, state.delta());
+        Stats stats = stats();
+        log.info("Rebuilt user search index in {} ms: {} users, {} terms, ~{} KiB ({} bytes per user)",
+                (System.nanoTime() - started) / 1_000_000, stats.users(), stats.terms(),
+                stats.estimatedBytes() / 1024, stats.bytesPerUser());
+        return stats;
+    }
+
+    public Stats stats() {
+        State current = state;
+        Snapshot snapshot = current.snapshot();
+        long bytes = (long) snapshot.terms().length * BYTES_PER_TERM + snapshot.termBytes()
+                + (long) current.delta().size() * BYTES_PER_DELTA_TERM;
+        int users = snapshot.users();
+        return new Stats(users, snapshot.terms().length + current.delta().size(), bytes, users == 0 ? 0 : bytes / users);
+    }
+
+    /** Terms of this shard's users, stopping once {@code remaining} users across all shards have been taken. */
+    private List<Term> scanShard(AtomicInteger remaining) {
+        int batchSize = properties.getScanBatchSize();
+        List<Term> terms = new ArrayList<>();
+        long afterId = Long.MIN_VALUE;
+        List<UserName> page;
+        do {
+            page = userScanRepository.findNames(afterId, batchSize);
+            for (UserName user : page) {
+                if (remaining.decrementAndGet() < 0) {
+                    return terms;
+                }
+                for (String term : termsOf(user.username(), user.email())) {
+                    terms.add(new Term(term, user.id()));
+                }
+            }
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).id();
+            }
+        } while (page.size() == batchSize);
+        return terms;
+    }
+
+    private static List<Term> search(Snapshot snapshot, String prefix, int limit) {
+        String[] terms = snapshot.terms();
+        int from = Arrays.binarySearch(terms, prefix);
+        if (from < 0) {
+            from = -from - 1;
+        } else {
+            // Equal terms of several users: start at the first one
+            while (from > 0 && terms[from - 1].equals(prefix)) {
+                from--;
+            }
+        }
+        List<Term> matches = new ArrayList<>();
+        Set<Long> ids = new LinkedHashSet<>();
+        for (int i = from; i < terms.length && ids.size() < limit && terms[i].startsWith(prefix); i++) {
+            if (ids.add(snapshot.ids()[i])) {
+                matches.add(new Term(terms[i], snapshot.ids()[i]));
+            }
+        }
+        return matches;
+    }
+
+    private static List<Term> search(NavigableMap<String, Long> delta, String prefix, int limit) {
+        List<Term> matches = new ArrayList<>();
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Map.Entry<String, Long> entry : delta.tailMap(prefix, true).entrySet()) {
+            String key = entry.getKey();
+            if (ids.size() == limit || !key.startsWith(prefix)) {
+                break;
+            }
+            if (ids.add(entry.getValue())) {
+                matches.add(new Term(key.substring(0, key.lastIndexOf(ID_SEPARATOR)), entry.getValue()));
+            }
+        }
+        return matches;
+    }
+
+    static Set<String> termsOf(String username, String email) {
+        Set<String> terms = new LinkedHashSet<>();
+        String localPart = email != null && email.indexOf('@') >= 0 ? email.substring(0, email.indexOf('@')) : email;
+        for (String name : new String[]{username, localPart}) {
+            String normalized = normalize(name);
+            if (normalized.isEmpty()) {
+                continue;
+            }
+            addTerm(terms, normalized);
+            for (String word : normalized.split("[^\\p{L}\\p{N}]+")) {
+                addTerm(terms, word);
+            }
+        }
+        return terms;
+    }
+
+    private static void addTerm(Set<String> terms, String term) {
+        if (!term.isEmpty() && terms.size() < MAX_TERMS_PER_USER) {
+            terms.add(term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.strip().toLowerCase(Locale.ROOT);
+    }
+}
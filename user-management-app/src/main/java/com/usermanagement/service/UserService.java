@@ -0,0 +1,359 @@
+package com.usermanagement.service;
+
+import com.usermanagement.config.UserSearchProperties;
+import com.usermanagement.datasource.ReadYourWritesTracker;
+import com.usermanagement.dto.request.AssignRoleRequest;
+import com.usermanagement.dto.request.BatchLookupRequest;
+import com.usermanagement.dto.request.LoginRequest;
+import com.usermanagement.dto.request.RefreshTokenRequest;
+import com.usermanagement.dto.request.RegisterRequest;
+import com.usermanagement.dto.response.AuthResponse;
+import com.usermanagement.dto.response.BatchLookupResponse;
+import com.usermanagement.dto.response.UserResponse;
+import com.usermanagement.entity.Role;
+import com.usermanagement.entity.User;
+import com.usermanagement.event.EventPublisher;
+import com.usermanagement.event.UserEvent;
+import com.usermanagement.exception.BadRequestException;
+import com.usermanagement.exception.DuplicateResourceException;
+import com.usermanagement.exception.InvalidTokenException;
+import com.usermanagement.exception.ResourceNotFoundException;
+import com.usermanagement.mapper.UserMapper;
+import com.usermanagement.repository.RoleRepository;
+import com.usermanagement.repository.UserLoginRepository;
+import com.usermanagement.repository.UserRepository;
+import com.usermanagement.repository.UserRoleBulkRepository;
+import com.usermanagement.retry.RetryOnConflict;
+import com.usermanagement.security.JwtTokenProvider;
+import com.usermanagement.sharding.ShardExecutor;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserService {
+
+        /** Keys per {@code IN} clause when batch lookups go to the database. */
+        private static final int LOOKUP_CHUNK_SIZE = 100;
+
+        private final UserRepository userRepository;
+        private final RoleRepository roleRepository;
+        private final UserRoleBulkRepository userRoleBulkRepository;
+        private final UserLoginRepository userLoginRepository;
+        private final PasswordEncoder passwordEncoder;
+        private final AuthenticationManager authenticationManager;
+        private final JwtTokenProvider jwtTokenProvider;
+        private final EventPublisher eventPublisher;
+        private final AuditLogService auditLogService;
+        private final RefreshTokenService refreshTokenService;
+        private final UserVersionIndex userVersionIndex;
+        private final ShardExecutor shardExecutor;
+        private final CacheManager cacheManager;
+        private final EntityManagerFactory entityManagerFactory;
+        private final ObjectProvider<ReadYourWritesTracker> readYourWritesTracker;
+        private final UserSearchIndex userSearchIndex;
+        private final UserSearchProperties userSearchProperties;
+
+        @Transactional
+        public AuthResponse register(RegisterRequest request) {
+                if (userRepository.existsByEmail(request.getEmail())) {
+                        throw new DuplicateResourceException("Email is already registered: " + request.getEmail());
+                }
+
+                User user = User.builder()
+                                .username(request.getUsername())
+                                .email(request.getEmail())
+                                .password(passwordEncoder.encode(request.getPassword()))
+                                .build();
+
+                // Assign default USER role if it exists
+                roleRepository.findByName("ROLE_USER").ifPresent(role -> user.getRoles().add(role));
+
+                User savedUser = userRepository.save(user);
+                userSearchIndex.indexAfterCommit(savedUser.getId(), savedUser.getUsername(), savedUser.getEmail());
+                // The client reads next with the returned token, as this user; pin those reads to the primary
+                readYourWritesTracker.ifAvailable(tracker -> tracker.recordWriteAfterCommit(savedUser.getEmail()));
+                log.info("User registered successfully: {}", savedUser.getEmail());
+
+                // Publish registration event
+                eventPublisher.publishRegistrationEvent(UserEvent.builder()
+                                .eventType(UserEvent.EventType.USER_REGISTERED.name())
+                                .userId(savedUser.getId())
+                                .email(savedUser.getEmail())
+                                .timestamp(LocalDateTime.now())
+                                .build());
+
+                // Audit log
+                auditLogService.log("USER_REGISTERED", savedUser.getEmail(), savedUser.getEmail(),
+                                "User registered successfully");
+
+                // Auto-login after registration
+                Authentication authentication = authenticationManager.authenticate(
+                                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
+
+                String token = jwtTokenProvider.generateToken(authentication);
+
+                AuthResponse response = AuthResponse.builder()
+                                .token(token)
+                                .tokenType("Bearer")
+                                .expiresIn(jwtTokenProvider.getExpirationMs() / 1000)
+                                .refreshToken(refreshTokenService.issue(savedUser))
+                                .userId(savedUser.getId())
+                                .email(savedUser.getEmail())
+                                .build();
+
+                // Last, so the lock on the shared ROLE_USER count row is held only until commit, not through the password check
+                savedUser.getRoles().forEach(role -> userRoleBulkRepository.addMemberCount(role.getId(), 1));
+                return response;
+        }
+
+        /**
+         * Authenticates the user and issues tokens. The last login is written with a conditional
+         * {@code UPDATE}, so concurrent logins never conflict and the password check is never
+         * repeated. The login event is published only once the transaction commits.
+         */
+        @Transactional
+        public AuthResponse login(LoginRequest request) {
+                Authentication authentication = authenticationManager.authenticate(
+                                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
+
+                String token = jwtTokenProvider.generateToken(authentication);
+
+                User user = userRepository.findByEmail(request.getEmail())
+                                .orElseThrow(() -> new ResourceNotFoundException("User", "email", request.getEmail()));
+
+                // Update last login timestamp
+                LocalDateTime now = LocalDateTime.now();
+                userLoginRepository.recordLogin(user.getId(), now);
+                // Only this user's cache entry is stale; a JPQL bulk update would have dropped the whole region
+                afterCommit(() -> entityManagerFactory.unwrap(SessionFactory.class).getCache()
+                                .evictEntityData(User.class, user.getId()));
+                userVersionIndex.evictAfterCommit(user.getEmail());
+                readYourWritesTracker.ifAvailable(tracker -> tracker.recordWriteAfterCommit(user.getEmail()));
+
+                // Publish login event
+                UserEvent event = UserEvent.builder()
+                                .eventType(UserEvent.EventType.USER_LOGGED_IN.name())
+                                .userId(user.getId())
+                                .email(user.getEmail())
+                                .timestamp(now)
+                                .build();
+                afterCommit(() -> eventPublisher.publishLoginEvent(event));
+
+                // Audit log
+                auditLogService.log("USER_LOGGED_IN", user.getEmail(), user.getEmail(),
+                                "User logged in successfully");
+
+                log.info("User logged in: {}", user.getEmail());
+
+                return AuthResponse.builder()
+                                .token(token)
+                                .tokenType("Bearer")
+                                .expiresIn(jwtTokenProvider.getExpirationMs() / 1000)
+                                .refreshToken(refreshTokenService.issue(user))
+                                .userId(user.getId())
+                                .email(user.getEmail())
+                                .build();
+        }
+
+        /**
+         * Renews the access token from a refresh token. This takes one lookup and an HMAC, with
+         * no password hashing, and rotates the refresh token.
+         */
+        @Transactional(noRollbackFor = InvalidTokenException.class)
+        public AuthResponse refreshToken(RefreshTokenRequest request) {
+                RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+                User user = rotation.user();
+
+                String token = jwtTokenProvider.generateToken(user.getEmail(), user.getRoles().stream()
+                                .map(Role::getName)
+                                .toList());
+
+                log.debug("Access token refreshed for user: {}", user.getEmail());
+
+                return AuthResponse.builder()
+                                .token(token)
+                                .tokenType("Bearer")
+                                .expiresIn(jwtTokenProvider.getExpirationMs() / 1000)
+                                .refreshToken(rotation.refreshToken())
+                                .userId(user.getId())
+                                .email(user.getEmail())
+                                .build();
+        }
+
+        @Transactional(readOnly = true)
+        @Cacheable(value = "users", key = "#email")
+        public UserResponse getCurrentUser(String email) {
+                User user = userRepository.findByEmail(email)
+                                .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
+
+                log.debug("Fetched current user: {}", email);
+                return UserMapper.toUserResponse(user);
+        }
+
+        /**
+         * Looks up many users in one call. IDs are served from the second-level cache where
+         * possible. Emails are served from the profile cache where possible. The misses are
+         * fetched per shard with {@code IN} queries of up to {@value #LOOKUP_CHUNK_SIZE} keys.
+         */
+        public BatchLookupResponse batchLookup(BatchLookupRequest request) {
+                Set<Long> ids = request.getIds() != null ? new LinkedHashSet<>(request.getIds()) : Set.of();
+                Set<String> emails = request.getEmails() != null ? new LinkedHashSet<>(request.getEmails()) : Set.of();
+                if (ids.isEmpty() && emails.isEmpty()) {
+                        throw new BadRequestException("At least one ID or email is required");
+                }
+                if (ids.size() + emails.size() > BatchLookupRequest.MAX_KEYS) {
+                        throw new BadRequestException("At most " + BatchLookupRequest.MAX_KEYS + " IDs and emails per lookup");
+                }
+
+                Map<Long, UserResponse> byId = new HashMap<>();
+                for (User user : shardExecutor.onShardsOf(ids, shardIds -> userRepository.multiLoad(shardIds, LOOKUP_CHUNK_SIZE))) {
+                        byId.put(user.getId(), UserMapper.toUserResponse(user));
+                }
+
+                // Profiles already cached by getCurrentUser need no query
+                Cache profiles = cacheManager.getCache("users");
+                Map<String, UserResponse> byEmail = new HashMap<>();
+                List<String> misses = new ArrayList<>();
+                for (String email : emails) {
+                        UserResponse cached = profiles != null ? profiles.get(email, UserResponse.class) : null;
+                        if (cached != null) {
+                                byEmail.put(email, cached);
+                        } else {
+                                misses.add(email);
+                        }
+                }
+                for (User user : shardExecutor.onShardsOf(misses, this::findByEmails)) {
+                        UserResponse response = UserMapper.toUserResponse(user);
+                        byEmail.put(user.getEmail(), response);
+                        if (profiles != null) {
+                                profiles.put(user.getEmail(), response);
+                        }
+                }
+
+                Map<String, UserResponse> users = new LinkedHashMap<>();
+                List<String> notFound = new ArrayList<>();
+                for (Long id : ids) {
+                        addResult(String.valueOf(id), byId.get(id), users, notFound);
+                }
+                for (String email : emails) {
+                        addResult(email, byEmail.get(email), users, notFound);
+                }
+
+                log.debug("Batch lookup of {} IDs and {} emails: {} found", ids.size(), emails.size(), users.size());
+                return BatchLookupResponse.builder()
+                                .users(users)
+                                .notFound(notFound)
+                                .build();
+        }
+
+        /**
+         * Typeahead search: users whose username or email local part, or a word in either, starts
+         * with {@code query}, best match first. Matches come from the in-memory
+         * {@link UserSearchIndex}; the profiles are then loaded like a batch lookup by ID.
+         */
+        public List<UserResponse> searchUsers(String query, int limit) {
+                if (query == null || query.isBlank()) {
+                        throw new BadRequestException("Search query must not be empty");
+                }
+                if (limit < 1 || limit > userSearchProperties.getMaxResults()) {
+                        throw new BadRequestException("limit must be between 1 and " + userSearchProperties.getMaxResults());
+                }
+
+                List<Long> ids = userSearchIndex.search(query, limit);
+                if (ids.isEmpty()) {
+                        return List.of();
+                }
+                return List.copyOf(batchLookup(BatchLookupRequest.builder().ids(ids).build()).getUsers().values());
+        }
+
+        private List<User> findByEmails(List<String> emails) {
+                List<User> users = new ArrayList<>(emails.size());
+                for (int from = 0; from < emails.size(); from += LOOKUP_CHUNK_SIZE) {
+                        users.addAll(userRepository.findByEmailIn(
+                                        emails.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, emails.size()))));
+                }
+                return users;
+        }
+
+        private static void addResult(String key, UserResponse user, Map<String, UserResponse> users, List<String> notFound) {
+                if (user != null) {
+                        users.put(key, user);
+                } else {
+                        notFound.add(key);
+                }
+        }
+
+        @RetryOnConflict
+        @Transactional
+        @CacheEvict(value = "users", allEntries = true)
+        public UserResponse assignRole(Long userId, AssignRoleRequest request) {
+                User user = userRepository.findById(userId)
+                                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+
+                String roleName = request.getRoleName().toUpperCase();
+                if (!roleName.startsWith("ROLE_")) {
+                        roleName = "ROLE_" + roleName;
+                }
+
+                final String finalRoleName = roleName;
+                Role role = roleRepository.findByName(finalRoleName)
+                                .orElseThrow(() -> new ResourceNotFoundException("Role", "name", finalRoleName));
+
+                if (user.getRoles().contains(role)) {
+                        throw new BadRequestException("User already has role: " + role.getName());
+                }
+
+                user.getRoles().add(role);
+                User updatedUser = userRepository.save(user);
+                userRoleBulkRepository.addMemberCount(role.getId(), 1);
+                userVersionIndex.evictAfterCommit(user.getEmail());
+
+                // Audit log
+                auditLogService.log("ROLE_ASSIGNED", "ADMIN", user.getEmail(),
+                                "Assigned role " + role.getName() + " to user " + user.getEmail());
+
+                log.info("Role {} assigned to user {}", role.getName(), user.getEmail());
+
+                return UserMapper.toUserResponse(updatedUser);
+        }
+
+        /** Runs the action once the current transaction commits, or now if there is none. */
+        private static void afterCommit(Runnable action) {
+                if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                        action.run();
+                        return;
+                }
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                                action.run();
+                        }
+                });
+        }
+}
@@ -0,0 +1,89 @@
+package com.usermanagement.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.usermanagement.config.UserEtagProperties;
+import com.usermanagement.dto.response.UserResponse;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Current ETag of each user's profile, keyed by email. The ETag is {@code "<id>-<version>"}, where
+ * version is the user's optimistic-lock version, which also moves on role changes. A conditional
+ * {@code GET /api/users/me} is answered from here with 304, without loading the user or
+ * serializing the profile.
+ *
+ * <p>Entries are recorded when a profile is served and evicted once a transaction that changes it
+ * commits. The TTL bounds how long a change made on another instance goes unnoticed.
+ */
+public class UserVersionIndex {
+
+    private final Cache<String, String> etags;
+
+    public UserVersionIndex(UserEtagProperties properties) {
+        this.etags = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEntries())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+    }
+
+    /** The indexed ETag of the user's profile, or {@code null} if it has to be loaded. */
+    public String etagOf(String email) {
+        return etags.getIfPresent(email);
+    }
+
+    /** Indexes the profile just served and returns its ETag. */
+    public String record(UserResponse user) {
+        String etag = "\"" + user.getId() + "-" + user.getVersion() + "\"";
+        etags.put(user.getEmail(), etag);
+        return etag;
+    }
+
+    /** Drops the user's ETag when the current transaction commits, or now if there is none. */
+    public void evictAfterCommit(String email) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            etags.invalidate(email);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                etags.invalidate(email);
+            }
+        });
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header matches {@code etag}, using the weak comparison
+     * RFC 9110 prescribes for this header.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        int start = 0;
+        while (start < ifNoneMatch.length()) {
+            int end = ifNoneMatch.indexOf(',', start);
+            if (end < 0) {
+                end = ifNoneMatch.length();
+            }
+            int from = start;
+            int to = end;
+            while (from < to && ifNoneMatch.charAt(from) == ' ') {
+                from++;
+            }
+            while (to > from && ifNoneMatch.charAt(to - 1) == ' ') {
+                to--;
+            }
+            if (ifNoneMatch.startsWith("W/", from)) {
+                from += 2;
+            }
+            if ((to - from == 1 && ifNoneMatch.charAt(from) == '*')
+                    || (to - from == etag.length() && ifNoneMatch.startsWith(etag, from))) {
+                return true;
+            }
+            start = end + 1;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,58 @@
+package com.usermanagement.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * Shard bound to the current thread. {@link ShardRoutingDataSource} reads it when a physical
+ * connection is taken.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+        // Utility class — no instantiation
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    public static void bind(int shard) {
+        CURRENT.set(shard);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static <T> T callOn(int shard, Supplier<T> task) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Runs {@code task} with no shard bound, so sharded repositories route by their arguments
+     * again, e.g. to write an audit row on the actor's shard from inside a shard task.
+     */
+    public static <T> T callUnbound(Supplier<T> task) {
+        Integer previous = CURRENT.get();
+        CURRENT.remove();
+        try {
+            return task.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.usermanagement.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * The physical per-shard pools, in shard-index order.
+ */
+public record ShardDataSources(List<HikariDataSource> pools) implements AutoCloseable {
+
+    public DataSource get(int shard) {
+        return pools.get(shard);
+    }
+
+    public int size() {
+        return pools.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<DataSource> asList() {
+        return (List<DataSource>) (List<? extends DataSource>) pools;
+    }
+
+    @Override
+    public void close() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,270 @@
+package com.usermanagement.sharding;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Runs cross-shard work (counts, admin listings, reference-data broadcasts) on every shard in
+ * parallel and merges the results.
+ * <p>
+ * Each task runs on a pool thread with its shard bound in {@link ShardContext}. Tasks open their
+ * own transactions and never join the caller's. Without sharding, a single task runs inline on the
+ * caller's thread, so callers use the same code path either way.
+ * <p>
+ * The pool has {@code threadsPerShard} threads per shard, so that concurrent requests can fan
+ * out at the same time, and a bounded queue: when it is full a fan-out fails at once rather than
+ * queueing behind others until it times out. A fan-out started from inside a shard task runs its
+ * tasks on the calling thread, one shard after another, since waiting on the pool from a pool
+ * thread can deadlock it. Long-running jobs do not belong on the pool at all; they go through
+ * {@link #forEachShard}.
+ * <p>
+ * When the fan-out times out, tasks still pending are cancelled, which interrupts their threads.
+ * JDBC drivers generally ignore the interrupt while a statement runs, so statements are bounded by
+ * the JDBC query timeout instead (see {@code ShardingConfig}); the interrupt stops the task before
+ * its next statement.
+ */
+public class ShardExecutor implements DisposableBean {
+
+    private final int shardCount;
+    private final ShardMap shardMap;
+    private final Duration timeout;
+    private final ExecutorService executor;
+
+    private ShardExecutor(int shardCount, ShardMap shardMap, Duration timeout, ExecutorService executor) {
+        this.shardCount = shardCount;
+        this.shardMap = shardMap;
+        this.timeout = timeout;
+        this.executor = executor;
+    }
+
+    public static ShardExecutor singleShard() {
+        return new ShardExecutor(1, null, Duration.ZERO, null);
+    }
+
+    public static ShardExecutor parallel(ShardMap shardMap, Duration timeout, int threadsPerShard, int queueSize) {
+        int shardCount = shardMap.shardCount();
+        int threads = shardCount * threadsPerShard;
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> new FanOutThread(runnable, threadCount.incrementAndGet()));
+        return new ShardExecutor(shardCount, shardMap, timeout, executor);
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public <T> List<T> onAllShards(Supplier<T> task) {
+        if (executor == null) {
+            return Collections.singletonList(task.get());
+        }
+        if (Thread.currentThread() instanceof FanOutThread) {
+            List<T> results = new ArrayList<>(shardCount);
+            for (int shard = 0; shard < shardCount; shard++) {
+                results.add(ShardContext.callOn(shard, task));
+            }
+            return results;
+        }
+
+        List<Future<T>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(submit(futures, () -> ShardContext.callOn(target, task)));
+        }
+
+        List<T> results = new ArrayList<>(shardCount);
+        awaitAll(futures, results::add);
+        return results;
+    }
+
+    /**
+     * Splits {@code keys} (IDs or emails) by the shard that holds them and runs {@code task} once
+     * per shard with that shard's keys, concatenating the results. Only the shards that hold one of
+     * the keys are visited. Without sharding, the task runs inline with all keys.
+     */
+    public <K, T> List<T> onShardsOf(Collection<K> keys, Function<List<K>, List<T>> task) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        if (executor == null) {
+            return task.apply(List.copyOf(keys));
+        }
+
+        Map<Integer, List<K>> keysByShard = new LinkedHashMap<>();
+        for (K key : keys) {
+            keysByShard.computeIfAbsent(shardOf(key), shard -> new ArrayList<>()).add(key);
+        }
+
+        if (Thread.currentThread() instanceof FanOutThread) {
+            List<T> results = new ArrayList<>(keys.size());
+            keysByShard.forEach((shard, shardKeys) -> results.addAll(ShardContext.callOn(shard, () -> task.apply(shardKeys))));
+            return results;
+        }
+
+        List<Future<List<T>>> futures = new ArrayList<>(keysByShard.size());
+        keysByShard.forEach((shard, shardKeys) -> futures.add(submit(futures,
+                () -> ShardContext.callOn(shard, () -> task.apply(shardKeys)))));
+
+        List<T> results = new ArrayList<>(keys.size());
+        awaitAll(futures, results::addAll);
+        return results;
+    }
+
+    public void onEachShard(Runnable task) {
+        onAllShards(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs {@code task} once per shard on the caller's thread, one shard after another, with no
+     * deadline. Meant for background jobs (scans, purges) that may run for minutes and must not
+     * hold fan-out threads that requests are waiting for. Without sharding, the task runs once.
+     */
+    public void forEachShard(Runnable task) {
+        if (executor == null) {
+            task.run();
+            return;
+        }
+        for (int shard = 0; shard < shardCount; shard++) {
+            ShardContext.callOn(shard, () -> {
+                task.run();
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Copies reference data written on the default shard to every shard once the current
+     * transaction commits. {@code task} must be idempotent because it also runs on the shard that
+     * already holds the row. Without sharding there is nothing to copy.
+     */
+    public void replicateAfterCommit(Runnable task) {
+        if (executor == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onEachShard(task);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                onEachShard(task);
+            }
+        });
+    }
+
+    public long sum(LongSupplier task) {
+        return onAllShards(task::getAsLong).stream().mapToLong(Long::longValue).sum();
+    }
+
+    public <T> Optional<T> max(Supplier<Optional<T>> task, Comparator<? super T> order) {
+        return onAllShards(task).stream()
+                .flatMap(Optional::stream)
+                .max(order);
+    }
+
+    /**
+     * Merges per-shard results that are each already sorted by {@code order}, keeping the first
+     * {@code limit} overall.
+     */
+    public <T> List<T> mergeSorted(Supplier<List<T>> task, Comparator<? super T> order, int limit) {
+        return onAllShards(task).stream()
+                .flatMap(List::stream)
+                .sorted(order)
+                .limit(limit)
+                .toList();
+    }
+
+    private int shardOf(Object key) {
+        if (key instanceof Long id) {
+            return shardMap.shardForId(id);
+        }
+        if (key instanceof String shardKey) {
+            return shardMap.shardForKey(shardKey);
+        }
+        throw new IllegalArgumentException("Not a shard key: " + key);
+    }
+
+    private <T> Future<T> submit(List<? extends Future<?>> submitted, Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException ex) {
+            cancelAll(submitted);
+            throw new IllegalStateException("Shard fan-out pool is saturated", ex);
+        }
+    }
+
+    /**
+     * Waits for every task until the fan-out deadline, passing results on in submission order. On
+     * failure, timeout or interrupt, the tasks still running are cancelled.
+     */
+    private <T> void awaitAll(List<Future<T>> futures, Consumer<T> results) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            for (Future<T> future : futures) {
+                results.accept(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            }
+        } catch (ExecutionException ex) {
+            cancelAll(futures);
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Shard task failed", cause);
+        } catch (TimeoutException ex) {
+            cancelAll(futures);
+            throw new IllegalStateException("Shard fan-out timed out", ex);
+        } catch (InterruptedException ex) {
+            cancelAll(futures);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for shard fan-out", ex);
+        }
+    }
+
+    private static void cancelAll(List<? extends Future<?>> futures) {
+        futures.forEach(future -> future.cancel(true));
+    }
+
+    private static final class FanOutThread extends Thread {
+
+        FanOutThread(Runnable runnable, int number) {
+            super(runnable, "shard-fan-out-" + number);
+            setDaemon(true);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
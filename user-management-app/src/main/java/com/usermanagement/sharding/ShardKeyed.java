@@ -0,0 +1,9 @@
+package com.usermanagement.sharding;
+
+/**
+ * An entity whose rows live on the shard selected by {@link #shardKey()} (a user's email).
+ */
+public interface ShardKeyed {
+
+    String shardKey();
+}
@@ -0,0 +1,49 @@
+package com.usermanagement.sharding;
+
+import com.usermanagement.entity.id.SnowflakeIdGenerator;
+
+import java.util.Locale;
+
+/**
+ * Maps shard keys (emails) to one of {@value #BUCKET_COUNT} logical buckets, and packs the bucket
+ * into generated IDs.
+ * <p>
+ * The bucket is a pure function of the email, so it never changes. Physical placement is a separate
+ * bucket-to-shard table ({@link ShardMap}), which lets resharding move whole buckets without
+ * rewriting IDs. With sharding on, the 10 node bits of a Snowflake ID hold
+ * {@code bucket (6 bits) | node id (4 bits)}.
+ */
+public final class ShardKeys {
+
+    public static final int BUCKET_BITS = 6;
+    public static final int BUCKET_COUNT = 1 << BUCKET_BITS;
+    public static final int NODE_BITS = SnowflakeIdGenerator.NODE_BITS - BUCKET_BITS;
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    private ShardKeys() {
+        // Utility class — no instantiation
+    }
+
+    public static int bucketOf(String shardKey) {
+        int hash = shardKey.toLowerCase(Locale.ROOT).hashCode();
+        // murmur3 fmix32: spreads String.hashCode's weak low bits over the bucket range
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash & (BUCKET_COUNT - 1);
+    }
+
+    public static int bucketOfId(long id) {
+        return (int) (SnowflakeIdGenerator.nodeIdOf(id) >>> NODE_BITS);
+    }
+
+    public static long nodeField(int bucket, long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("With sharding enabled the node id must be between 0 and "
+                    + MAX_NODE_ID + ": " + nodeId);
+        }
+        return ((long) bucket << NODE_BITS) | nodeId;
+    }
+}
@@ -0,0 +1,92 @@
+package com.usermanagement.sharding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable assignment of the {@value ShardKeys#BUCKET_COUNT} logical buckets to physical shards.
+ */
+public final class ShardMap {
+
+    private final List<String> shardNames;
+    private final int[] bucketToShard;
+
+    public ShardMap(List<String> shardNames, int[] bucketToShard) {
+        if (bucketToShard.length != ShardKeys.BUCKET_COUNT) {
+            throw new IllegalArgumentException("Expected " + ShardKeys.BUCKET_COUNT + " buckets, got " + bucketToShard.length);
+        }
+        for (int shard : bucketToShard) {
+            if (shard < 0 || shard >= shardNames.size()) {
+                throw new IllegalArgumentException("Bucket mapped to unknown shard index " + shard);
+            }
+        }
+        this.shardNames = List.copyOf(shardNames);
+        this.bucketToShard = bucketToShard.clone();
+    }
+
+    /**
+     * Spreads buckets over the shards in contiguous ranges, then applies explicit
+     * {@code "from-to" -> shardName} overrides.
+     */
+    public static ShardMap of(List<String> shardNames, Map<String, String> overrides) {
+        if (shardNames.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard must be configured");
+        }
+        int[] assignment = new int[ShardKeys.BUCKET_COUNT];
+        for (int bucket = 0; bucket < assignment.length; bucket++) {
+            assignment[bucket] = bucket * shardNames.size() / ShardKeys.BUCKET_COUNT;
+        }
+
+        overrides.forEach((range, shardName) -> {
+            int shard = shardNames.indexOf(shardName);
+            if (shard < 0) {
+                throw new IllegalArgumentException("Bucket map refers to unknown shard: " + shardName);
+            }
+            String[] bounds = range.trim().split("-");
+            int from = Integer.parseInt(bounds[0].trim());
+            int to = bounds.length > 1 ? Integer.parseInt(bounds[1].trim()) : from;
+            if (from < 0 || to >= ShardKeys.BUCKET_COUNT || from > to) {
+                throw new IllegalArgumentException("Invalid bucket range: " + range);
+            }
+            Arrays.fill(assignment, from, to + 1, shard);
+        });
+
+        return new ShardMap(shardNames, assignment);
+    }
+
+    public int shardCount() {
+        return shardNames.size();
+    }
+
+    public String shardName(int shard) {
+        return shardNames.get(shard);
+    }
+
+    public List<String> shardNames() {
+        return shardNames;
+    }
+
+    public int shardOfBucket(int bucket) {
+        return bucketToShard[bucket];
+    }
+
+    public int shardForKey(String shardKey) {
+        return bucketToShard[ShardKeys.bucketOf(shardKey)];
+    }
+
+    public int shardForId(long id) {
+        return bucketToShard[ShardKeys.bucketOfId(id)];
+    }
+
+    public List<Integer> bucketsOf(int shard) {
+        List<Integer> buckets = new ArrayList<>();
+        for (int bucket = 0; bucket < bucketToShard.length; bucket++) {
+            if (bucketToShard[bucket] == shard) {
+                buckets.add(bucket);
+            }
+        }
+        return buckets;
+    }
+}
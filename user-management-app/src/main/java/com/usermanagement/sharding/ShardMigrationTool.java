@@ -0,0 +1,152 @@
+package com.usermanagement.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Moves rows between shards when the bucket map changes.
+ * <p>
+ * Every sharded row carries its bucket in its ID, so the tool only has to scan IDs, compare the
+ * bucket's shard in the current and target maps, and copy the rows that move. Rows are copied in
+ * chunks. Each chunk is written to the target (after clearing leftovers of an earlier interrupted
+ * run) and only then deleted from the source, so the migration can be re-run safely. Writes to
+ * the moving buckets must be paused for the duration; the new map is deployed afterwards.
+ */
+@Slf4j
+public class ShardMigrationTool {
+
+    /** Sharded tables, parents before children; each is selected by a column holding a bucketed ID. */
+    private static final List<ShardedTable> TABLES = List.of(
+            new ShardedTable("users", "id", List.of(
+                    new ShardedTable("user_roles", "user_id", List.of()),
+                    new ShardedTable("refresh_tokens", "user_id", List.of()))),
+            new ShardedTable("audit_logs", "id", List.of()));
+
+    private final ShardDataSources dataSources;
+    private final int chunkSize;
+
+    public ShardMigrationTool(ShardDataSources dataSources, int chunkSize) {
+        this.dataSources = dataSources;
+        this.chunkSize = chunkSize;
+    }
+
+    public MigrationReport migrate(ShardMap current, ShardMap target) {
+        if (current.shardCount() != dataSources.size() || target.shardCount() != dataSources.size()) {
+            throw new IllegalArgumentException("Shard maps must cover all " + dataSources.size() + " configured shards");
+        }
+
+        Map<String, Long> movedRows = new HashMap<>();
+        for (int source = 0; source < dataSources.size(); source++) {
+            int shard = source;
+            if (current.bucketsOf(source).stream().allMatch(bucket -> target.shardOfBucket(bucket) == shard)) {
+                continue;
+            }
+            for (ShardedTable table : TABLES) {
+                migrateTable(table, source, target, movedRows);
+            }
+        }
+
+        log.info("Shard migration finished: {}", movedRows);
+        return new MigrationReport(Collections.unmodifiableMap(movedRows));
+    }
+
+    private void migrateTable(ShardedTable table, int source, ShardMap target, Map<String, Long> movedRows) {
+        JdbcTemplate sourceJdbc = new JdbcTemplate(dataSources.get(source));
+        long lastId = Long.MIN_VALUE;
+
+        while (true) {
+            List<Long> ids = sourceJdbc.queryForList(
+                    "SELECT " + table.idColumn() + " FROM " + table.name() + " WHERE " + table.idColumn()
+                            + " > ? ORDER BY " + table.idColumn() + " LIMIT " + chunkSize,
+                    Long.class, lastId);
+            if (ids.isEmpty()) {
+                return;
+            }
+            lastId = ids.get(ids.size() - 1);
+
+            Map<Integer, List<Long>> moving = ids.stream()
+                    .filter(id -> target.shardForId(id) != source)
+                    .collect(Collectors.groupingBy(target::shardForId));
+
+            moving.forEach((destination, chunk) -> moveChunk(table, chunk, source, destination, movedRows));
+        }
+    }
+
+    private void moveChunk(ShardedTable table, List<Long> ids, int source, int destination, Map<String, Long> movedRows) {
+        JdbcTemplate sourceJdbc = new JdbcTemplate(dataSources.get(source));
+        JdbcTemplate destinationJdbc = new JdbcTemplate(dataSources.get(destination));
+
+        Map<ShardedTable, List<Map<String, Object>>> rows = new HashMap<>();
+        rows.put(table, select(sourceJdbc, table.name(), table.idColumn(), ids));
+        for (ShardedTable child : table.children()) {
+            rows.put(child, select(sourceJdbc, child.name(), child.idColumn(), ids));
+        }
+
+        transactional(destination).executeWithoutResult(status -> {
+            for (ShardedTable child : table.children()) {
+                delete(destinationJdbc, child.name(), child.idColumn(), ids);
+            }
+            delete(destinationJdbc, table.name(), table.idColumn(), ids);
+            insert(destinationJdbc, table.name(), rows.get(table));
+            for (ShardedTable child : table.children()) {
+                insert(destinationJdbc, child.name(), rows.get(child));
+            }
+        });
+
+        transactional(source).executeWithoutResult(status -> {
+            for (ShardedTable child : table.children()) {
+                delete(sourceJdbc, child.name(), child.idColumn(), ids);
+            }
+            delete(sourceJdbc, table.name(), table.idColumn(), ids);
+        });
+
+        movedRows.merge(table.name(), (long) ids.size(), Long::sum);
+        log.debug("Moved {} {} rows from shard {} to shard {}", ids.size(), table.name(), source, destination);
+    }
+
+    private TransactionTemplate transactional(int shard) {
+        return new TransactionTemplate(new DataSourceTransactionManager(dataSources.get(shard)));
+    }
+
+    private static List<Map<String, Object>> select(JdbcTemplate jdbc, String tableName, String column, List<Long> ids) {
+        return jdbc.queryForList("SELECT * FROM " + tableName + " WHERE " + column + " IN (" + placeholders(ids.size()) + ")",
+                ids.toArray());
+    }
+
+    private static void delete(JdbcTemplate jdbc, String tableName, String column, List<Long> ids) {
+        jdbc.update("DELETE FROM " + tableName + " WHERE " + column + " IN (" + placeholders(ids.size()) + ")",
+                ids.toArray());
+    }
+
+    private static void insert(JdbcTemplate jdbc, String tableName, List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<String> columns = new ArrayList<>(rows.get(0).keySet());
+        String sql = "INSERT INTO " + tableName + " (" + String.join(", ", columns) + ") VALUES ("
+                + placeholders(columns.size()) + ")";
+        List<Object[]> batch = rows.stream()
+                .map(row -> columns.stream().map(row::get).toArray())
+                .toList();
+        jdbc.batchUpdate(sql, batch);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private record ShardedTable(String name, String idColumn, List<ShardedTable> children) {
+    }
+
+    public record MigrationReport(Map<String, Long> movedRows) {
+    }
+}
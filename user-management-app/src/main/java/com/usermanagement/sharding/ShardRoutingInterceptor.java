@@ -0,0 +1,103 @@
+package com.usermanagement.sharding;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Binds the shard for calls on a sharded repository ({@code UserRepository},
+ * {@code AuditLogRepository}, {@code RefreshTokenRepository}) from their arguments. An email, a {@link ShardKeyed} entity or an
+ * ID with an embedded bucket selects the shard. Installed on the repository proxy by
+ * {@link ShardedRepositoryPostProcessor}.
+ * <p>
+ * The first sharded call in a transaction pins the whole transaction to that shard until it
+ * completes. A later call for a different shard in the same transaction fails fast instead of
+ * silently reading the wrong database. Calls without a key must run through {@link ShardExecutor}.
+ */
+public class ShardRoutingInterceptor implements MethodInterceptor {
+
+    private final Class<?> repositoryInterface;
+    private final ShardMap shardMap;
+
+    public ShardRoutingInterceptor(Class<?> repositoryInterface, ShardMap shardMap) {
+        this.repositoryInterface = repositoryInterface;
+        this.shardMap = shardMap;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Integer resolved = resolveShard(invocation.getArguments());
+        Integer bound = ShardContext.current();
+
+        if (bound != null) {
+            if (resolved != null && !resolved.equals(bound)) {
+                throw new IllegalStateException(String.format(
+                        "%s targets shard %s but the current unit of work is pinned to shard %s",
+                        describe(invocation), shardMap.shardName(resolved), shardMap.shardName(bound)));
+            }
+            return invocation.proceed();
+        }
+
+        if (resolved == null) {
+            throw new IllegalStateException("No shard key in call to " + describe(invocation)
+                    + "; run cross-shard operations through ShardExecutor");
+        }
+
+        ShardContext.bind(resolved);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    ShardContext.clear();
+                }
+            });
+            return invocation.proceed();
+        }
+
+        try {
+            return invocation.proceed();
+        } finally {
+            ShardContext.clear();
+        }
+    }
+
+    private String describe(MethodInvocation invocation) {
+        return repositoryInterface.getSimpleName() + "." + invocation.getMethod().getName() + "(..)";
+    }
+
+    private Integer resolveShard(Object[] args) {
+        for (Object arg : args) {
+            Integer shard = shardOf(arg);
+            if (shard != null) {
+                return shard;
+            }
+        }
+        return null;
+    }
+
+    private Integer shardOf(Object arg) {
+        if (arg instanceof ShardKeyed keyed && keyed.shardKey() != null) {
+            return shardMap.shardForKey(keyed.shardKey());
+        }
+        if (arg instanceof String key && key.indexOf('@') > 0) {
+            return shardMap.shardForKey(key);
+        }
+        if (arg instanceof Long id) {
+            return shardMap.shardForId(id);
+        }
+        if (arg instanceof Iterable<?> items) {
+            Integer shard = null;
+            for (Object item : items) {
+                Integer itemShard = shardOf(item);
+                if (itemShard != null && shard != null && !shard.equals(itemShard)) {
+                    throw new IllegalStateException("Batch spans shards " + shardMap.shardName(shard)
+                            + " and " + shardMap.shardName(itemShard) + "; split it per shard");
+                }
+                shard = shard == null ? itemShard : shard;
+            }
+            return shard;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.usermanagement.sharding;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.relational.SchemaManager;
+
+/**
+ * Creates the mapped tables on every shard except the default one. The default shard follows
+ * {@code spring.jpa.hibernate.ddl-auto} like a single database would. Intended for tests and
+ * local setups; production shards are provisioned by migrations.
+ */
+@Slf4j
+public class ShardSchemaInitializer {
+
+    public ShardSchemaInitializer(EntityManagerFactory entityManagerFactory, ShardMap shardMap) {
+        SchemaManager schemaManager = entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager();
+        for (int shard = 1; shard < shardMap.shardCount(); shard++) {
+            ShardContext.callOn(shard, () -> {
+                schemaManager.dropMappedObjects(false);
+                schemaManager.exportMappedObjects(false);
+                return null;
+            });
+            log.info("Initialized schema on shard {}", shardMap.shardName(shard));
+        }
+    }
+}
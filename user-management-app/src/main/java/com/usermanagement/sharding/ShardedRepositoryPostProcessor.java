@@ -0,0 +1,37 @@
+package com.usermanagement.sharding;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.util.Set;
+
+/**
+ * Adds a {@link ShardRoutingInterceptor} to the proxies of the sharded repositories.
+ * <p>
+ * The interceptor goes on the Spring Data proxy itself rather than through a pointcut: the
+ * inherited CRUD methods ({@code count}, {@code findById}, ...) are shared by every repository's
+ * {@code SimpleJpaRepository} target, so type-based pointcuts cannot tell them apart reliably.
+ */
+public class ShardedRepositoryPostProcessor implements BeanPostProcessor {
+
+    private final Set<Class<?>> shardedRepositories;
+    private final ObjectProvider<ShardMap> shardMap;
+
+    public ShardedRepositoryPostProcessor(Set<Class<?>> shardedRepositories, ObjectProvider<ShardMap> shardMap) {
+        this.shardedRepositories = shardedRepositories;
+        this.shardMap = shardMap;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean
+                && shardedRepositories.contains(factoryBean.getObjectType())) {
+            Class<?> repositoryInterface = factoryBean.getObjectType();
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                            new ShardRoutingInterceptor(repositoryInterface, shardMap.getObject()))));
+        }
+        return bean;
+    }
+}
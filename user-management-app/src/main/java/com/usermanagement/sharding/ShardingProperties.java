@@ -0,0 +1,54 @@
+package com.usermanagement.sharding;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hash-sharding settings, bound from {@code app.sharding}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardingProperties {
+
+    private boolean enabled = false;
+
+    private List<Shard> shards = new ArrayList<>();
+
+    /**
+     * Bucket ranges ({@code "0-31"} or {@code "7"}) to shard names. Buckets not listed are spread
+     * over the shards in contiguous, equal ranges.
+     */
+    private Map<String, String> bucketMap = new LinkedHashMap<>();
+
+    /** Creates the mapped tables on every shard at startup; meant for tests and local setups. */
+    private boolean initializeSchema = false;
+
+    private Duration fanOutTimeout = Duration.ofSeconds(10);
+
+    /** Fan-out threads per shard, i.e. how many requests can fan out at the same time. */
+    private int fanOutThreadsPerShard = 8;
+
+    /** Shard tasks that may wait for a fan-out thread before new fan-outs are rejected. */
+    private int fanOutQueueSize = 256;
+
+    @Getter
+    @Setter
+    public static class Shard {
+
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maximumPoolSize = 10;
+        private int minimumIdle = 2;
+    }
+}
@@ -0,0 +1,105 @@
+package com.usermanagement.cache;
+
+import com.usermanagement.dto.response.UserResponse;
+import com.usermanagement.security.RoleAuthorityRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OffHeapProfileCacheTest {
+
+    private final RoleAuthorityRegistry roles = mock(RoleAuthorityRegistry.class);
+
+    @Test
+    @DisplayName("A profile round-trips through its compact encoding, with roles as a bitmask")
+    void shouldDecodeWhatWasEncoded() {
+        when(roles.bitOf("ROLE_USER")).thenReturn(1L);
+        when(roles.bitOf("ROLE_ADMIN")).thenReturn(4L);
+        when(roles.roleNamesOf(5L)).thenReturn(Set.of("ROLE_USER", "ROLE_ADMIN"));
+        OffHeapProfileCache cache = new OffHeapProfileCache("users", new OffHeapSlabStore(1 << 20, 1 << 16, 100), roles);
+
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 1, 12, 30, 15, 123_456_789);
+        cache.put("jane@example.com", UserResponse.builder()
+                .id(42L).username("Jäne").email("jane@example.com")
+                .roles(Set.of("ROLE_USER", "ROLE_ADMIN")).createdAt(createdAt).version(7)
+                .build());
+
+        UserResponse cached = cache.get("jane@example.com", UserResponse.class);
+        assertThat(cached.getId()).isEqualTo(42L);
+        assertThat(cached.getUsername()).isEqualTo("Jäne");
+        assertThat(cached.getEmail()).isEqualTo("jane@example.com");
+        assertThat(cached.getRoles()).containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+        assertThat(cached.getCreatedAt()).isEqualTo(createdAt.withNano(123_000_000));
+        assertThat(cached.getVersion()).isEqualTo(7);
+
+        cache.evict("jane@example.com");
+        assertThat(cache.get("jane@example.com")).isNull();
+
+        // A role without a bit cannot be encoded, so the profile is not cached at all
+        cache.put("new@example.com", UserResponse.builder().id(43L).email("new@example.com").roles(Set.of("ROLE_NEW")).build());
+        assertThat(cache.get("new@example.com")).isNull();
+    }
+
+    @Test
+    @DisplayName("The store stays within its budget and gives recently read entries a second chance")
+    void shouldEvictByClockWithinBudget() {
+        OffHeapSlabStore store = new OffHeapSlabStore(4 * 1024, 1024, 1_000);
+        byte[] value = new byte[64];
+        store.put(key("hot"), value);
+        for (int i = 0; i < 500; i++) {
+            assertThat(lengthOf(store, "hot")).isEqualTo(64);
+            store.put(key("cold-" + i), value);
+        }
+
+        OffHeapSlabStore.Stats stats = store.stats();
+        assertThat(stats.allocatedBytes()).isEqualTo(4 * 1024);
+        assertThat(stats.evictions()).isGreaterThan(400);
+        assertThat(lengthOf(store, "hot")).isEqualTo(64);
+        assertThat(lengthOf(store, "cold-0")).isNull();
+        assertThat(lengthOf(store, "cold-499")).isEqualTo(64);
+    }
+
+    @Test
+    @DisplayName("Random puts, overwrites and removals agree with a HashMap")
+    void shouldMatchHashMapModel() {
+        OffHeapSlabStore store = new OffHeapSlabStore(4 << 20, 1 << 14, 4_096);
+        Map<String, Integer> model = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            String name = "user" + random.nextInt(1_000);
+            if (random.nextInt(4) == 0) {
+                store.remove(key(name));
+                model.remove(name);
+            } else {
+                int length = random.nextInt(100);
+                store.put(key(name), new byte[length]);
+                model.put(name, length);
+            }
+        }
+
+        assertThat(store.stats().entries()).isEqualTo(model.size());
+        assertThat(store.stats().evictions()).isZero();
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(lengthOf(store, "user" + i)).isEqualTo(model.get("user" + i));
+        }
+    }
+
+    /** Length of the stored value, or {@code null} if the key is absent. */
+    private static Integer lengthOf(OffHeapSlabStore store, String name) {
+        return store.get(key(name), (slab, offset, length) -> length);
+    }
+
+    private static byte[] key(String name) {
+        return name.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,219 @@
+package com.usermanagement.changes;
+
+import com.usermanagement.entity.id.SnowflakeIdGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangeStreamTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\d+)");
+    private static final Pattern AUDIT_ID = Pattern.compile("UserChange\\[sequence=\\d+, id=(\\d+)");
+
+    private ChangeStream stream;
+
+    @AfterEach
+    void tearDown() {
+        stream.close();
+    }
+
+    @Test
+    @DisplayName("Changes get increasing sequence numbers in commit order, and a resume inside the ring is served from memory")
+    void shouldResumeFromRing() throws Exception {
+        long later = SnowflakeIdGenerator.firstIdAt(System.currentTimeMillis());
+        long earlier = later - 1;
+        AtomicInteger changeLogReads = new AtomicInteger();
+        stream = new ChangeStream(properties(10, 100, 100), (after, limit) -> {
+            changeLogReads.incrementAndGet();
+            return List.of();
+        }, new SnowflakeIdGenerator(1, 1_000));
+        RecordingEmitter live = new RecordingEmitter(null);
+        stream.subscribe(null, live);
+
+        stream.publish(change(later));
+        stream.publish(change(earlier));
+        stream.publish(change(later + 1));
+        eventually(() -> assertThat(live.auditIds()).containsExactly(later, earlier, later + 1));
+        List<Long> sequences = live.ids();
+        assertThat(sequences).isSorted().doesNotHaveDuplicates();
+
+        RecordingEmitter resumed = new RecordingEmitter(null);
+        stream.subscribe(sequences.get(0), resumed);
+        eventually(() -> assertThat(resumed.ids()).containsExactlyElementsOf(sequences.subList(1, 3)));
+        assertThat(resumed.auditIds()).containsExactly(earlier, later + 1);
+        assertThat(changeLogReads).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("A position older than the ring or from another instance resumes from the change log past late commits")
+    void shouldResumeFromChangeLogPastRing() throws Exception {
+        long now = System.currentTimeMillis();
+        long old = SnowflakeIdGenerator.firstIdAt(now - 60_000);
+        long first = SnowflakeIdGenerator.firstIdAt(now);
+        long late = SnowflakeIdGenerator.firstIdAt(now + 50);
+        long second = SnowflakeIdGenerator.firstIdAt(now + 100);
+        long third = SnowflakeIdGenerator.firstIdAt(now + 150);
+        long elsewhere = SnowflakeIdGenerator.firstIdAt(now + 200);
+
+        ConcurrentSkipListMap<Long, UserChange> committed = new ConcurrentSkipListMap<>();
+        stream = new ChangeStream(properties(2, 100, 100),
+                (after, limit) -> committed.tailMap(after, false).values().stream().limit(limit).toList(),
+                new SnowflakeIdGenerator(1, 1_000));
+        RecordingEmitter live = new RecordingEmitter(null);
+        stream.subscribe(null, live);
+
+        commit(committed, old);
+        commit(committed, first);
+        eventually(() -> assertThat(live.ids()).hasSize(2));
+        long position = live.ids().get(1);
+
+        // The client disconnects; a transaction that wrote before 'second' commits late, and another instance commits
+        live.complete();
+        commit(committed, second);
+        commit(committed, late);
+        commit(committed, third);
+        committed.put(elsewhere, change(elsewhere));
+
+        RecordingEmitter resumed = new RecordingEmitter(null);
+        stream.subscribe(position, resumed);
+        eventually(() -> assertThat(resumed.auditIds()).containsExactly(first, late, second, third, elsewhere));
+        assertThat(resumed.ids()).containsOnly(position);
+
+        long otherInstance = new SnowflakeIdGenerator(2, 1_000).nextId();
+        RecordingEmitter moved = new RecordingEmitter(null);
+        stream.subscribe(otherInstance, moved);
+        eventually(() -> assertThat(moved.auditIds()).contains(elsewhere));
+    }
+
+    @Test
+    @DisplayName("A position too far behind the ring gets a reset, then live changes")
+    void shouldResetFarBehind() throws Exception {
+        stream = new ChangeStream(properties(10, 100, 2),
+                (after, limit) -> LongStream.rangeClosed(1, 5).mapToObj(ChangeStreamTest::change).toList(),
+                new SnowflakeIdGenerator(1, 1_000));
+        RecordingEmitter tooOld = new RecordingEmitter(null);
+        stream.subscribe(1L, tooOld);
+
+        stream.publish(change(7));
+
+        eventually(() -> {
+            assertThat(tooOld.events).first().asString().contains("event:reset");
+            assertThat(tooOld.auditIds()).containsExactly(-1L, 7L);
+        });
+    }
+
+    @Test
+    @DisplayName("A subscriber that falls behind is dropped without blocking publishers or other subscribers")
+    void shouldDropSlowSubscriber() throws Exception {
+        stream = new ChangeStream(properties(10, 2, 100), (after, limit) -> List.of(), new SnowflakeIdGenerator(1, 1_000));
+        CountDownLatch stuck = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(stuck);
+        RecordingEmitter fast = new RecordingEmitter(null);
+        stream.subscribe(null, slow);
+        stream.subscribe(null, fast);
+
+        // The slow subscriber is stuck on its first event throughout
+        for (long id = 1; id <= 20; id++) {
+            stream.publish(change(id));
+            int sent = (int) id;
+            eventually(() -> assertThat(fast.auditIds()).hasSize(sent));
+        }
+
+        assertThat(stream.subscribers()).isEqualTo(1);
+        assertThat(stream.droppedSubscribers()).isEqualTo(1);
+        stuck.countDown();
+    }
+
+    /** Retries the assertions until they pass, for up to 5 seconds. */
+    private static void eventually(Runnable assertions) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (true) {
+            try {
+                assertions.run();
+                return;
+            } catch (AssertionError ex) {
+                if (System.nanoTime() > deadline) {
+                    throw ex;
+                }
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    private void commit(Map<Long, UserChange> committed, long id) {
+        committed.put(id, change(id));
+        stream.publish(change(id));
+    }
+
+    private static ChangeStreamProperties properties(int ringSize, int queueSize, int fallbackLimit) {
+        ChangeStreamProperties properties = new ChangeStreamProperties();
+        properties.setRingSize(ringSize);
+        properties.setCommitWindow(Duration.ofSeconds(1));
+        properties.setSubscriberQueueSize(queueSize);
+        properties.setFallbackLimit(fallbackLimit);
+        return properties;
+    }
+
+    private static UserChange change(long id) {
+        return new UserChange(0, id, "USER_REGISTERED", "user" + id + "@example.com", "user" + id + "@example.com",
+                "User registered successfully", LocalDateTime.now());
+    }
+
+    /** Keeps the text of every event sent, optionally blocking on the first one like a stalled client. */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final CountDownLatch release;
+        private final List<String> events = new CopyOnWriteArrayList<>();
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> text.append(part.getData()));
+            events.add(text.toString());
+        }
+
+        /** Event IDs, i.e. sequence numbers or the resumed position. */
+        List<Long> ids() {
+            return extract(EVENT_ID);
+        }
+
+        /** Audit IDs of the changes sent, {@code -1} for events without one. */
+        List<Long> auditIds() {
+            return extract(AUDIT_ID);
+        }
+
+        private List<Long> extract(Pattern pattern) {
+            return events.stream().map(event -> {
+                Matcher matcher = pattern.matcher(event);
+                return matcher.find() ? Long.parseLong(matcher.group(1)) : -1L;
+            }).toList();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.usermanagement.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.usermanagement.TestConfig;
+import com.usermanagement.dto.request.RegisterRequest;
+import com.usermanagement.entity.Role;
+import com.usermanagement.repository.RoleRepository;
+import com.usermanagement.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:idempotencydb;DB_CLOSE_DELAY=-1",
+        "app.idempotency.store=jdbc"
+})
+class IdempotencyIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        if (!roleRepository.existsByName("ROLE_USER")) {
+            roleRepository.save(Role.builder().name("ROLE_USER").build());
+        }
+    }
+
+    @Test
+    @DisplayName("POST /api/users/register — a retry with the same Idempotency-Key replays the original 201 without its tokens")
+    void shouldReplayRegistration() throws Exception {
+        String original = mockMvc.perform(register("retry-1", "idem@example.com"))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andExpect(jsonPath("$.data.token").exists())
+                .andExpect(jsonPath("$.data.refreshToken").exists())
+                .andReturn().getResponse().getContentAsString();
+        long users = userRepository.count();
+        String accessToken = objectMapper.readTree(original).at("/data/token").asText();
+        String refreshToken = objectMapper.readTree(original).at("/data/refreshToken").asText();
+
+        // Registering the same email again would be a 409, so a 201 here can only be the replay
+        mockMvc.perform(register("retry-1", "idem@example.com"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.data.email").value("idem@example.com"))
+                .andExpect(jsonPath("$.data.userId").exists())
+                .andExpect(jsonPath("$.data.token").doesNotExist())
+                .andExpect(jsonPath("$.data.refreshToken").doesNotExist());
+        assertThat(userRepository.count()).isEqualTo(users);
+
+        // Neither token is kept at rest
+        for (byte[] body : jdbcTemplate.queryForList("SELECT body FROM idempotency_keys", byte[].class)) {
+            assertThat(new String(body, StandardCharsets.UTF_8)).doesNotContain(accessToken, refreshToken);
+        }
+
+        mockMvc.perform(register("retry-1", "other@example.com"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.success").value(false));
+        assertThat(userRepository.existsByEmail("other@example.com")).isFalse();
+    }
+
+    private MockHttpServletRequestBuilder register(String key, String email) throws Exception {
+        RegisterRequest request = RegisterRequest.builder()
+                .username(email.substring(0, email.indexOf('@')))
+                .email(email)
+                .password("password123")
+                .build();
+        return post("/api/users/register")
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request));
+    }
+}
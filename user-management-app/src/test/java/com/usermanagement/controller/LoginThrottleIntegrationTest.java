@@ -0,0 +1,103 @@
+package com.usermanagement.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.usermanagement.TestConfig;
+import com.usermanagement.dto.request.LoginRequest;
+import com.usermanagement.dto.request.RegisterRequest;
+import com.usermanagement.entity.Role;
+import com.usermanagement.repository.AuditLogRepository;
+import com.usermanagement.repository.RoleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:throttledb;DB_CLOSE_DELAY=-1",
+        "app.security.login-throttle.email.free-failures=1",
+        "app.security.login-throttle.email.lockout-failures=3",
+        "app.security.login-throttle.base-backoff=0s",
+        "app.security.login-throttle.lockout-duration=10m"
+})
+class LoginThrottleIntegrationTest {
+
+    private static final String EMAIL = "throttled@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("POST /api/users/login — locked-out account gets 429 without touching the database")
+    void shouldRejectLockedOutAccountBeforeAnyWork() throws Exception {
+        if (!roleRepository.existsByName("ROLE_USER")) {
+            roleRepository.save(Role.builder().name("ROLE_USER").build());
+        }
+        mockMvc.perform(post("/api/users/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(RegisterRequest.builder()
+                                .username("throttled")
+                                .email(EMAIL)
+                                .password("password123")
+                                .build())))
+                .andExpect(status().isCreated());
+
+        for (int i = 0; i < 3; i++) {
+            login("wrongpassword").andExpect(status().isUnauthorized());
+        }
+        assertThat(auditLogRepository.findTopByActionOrderByTimestampDesc("LOGIN_LOCKED_OUT"))
+                .hasValueSatisfying(entry -> assertThat(entry.getTargetUser()).isEqualTo(EMAIL));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        login("password123")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "600"))
+                .andExpect(jsonPath("$.success").value(false));
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    private ResultActions login(String password) throws Exception {
+        return mockMvc.perform(post("/api/users/login")
+                .with(request -> {
+                    request.setRemoteAddr("192.0.2.10");
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(LoginRequest.builder()
+                        .email(EMAIL)
+                        .password(password)
+                        .build())));
+    }
+}
@@ -0,0 +1,60 @@
+package com.usermanagement.controller;
+
+import com.usermanagement.TestConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ratelimitdb;DB_CLOSE_DELAY=-1",
+        "app.security.rate-limit.endpoints[0].path=/api/users/me",
+        "app.security.rate-limit.endpoints[0].method=GET",
+        "app.security.rate-limit.endpoints[0].requests=2",
+        "app.security.rate-limit.endpoints[0].period=1h"
+})
+class RateLimitIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("GET /api/users/me — requests over the limit get 429 before authentication runs")
+    void shouldRejectBeforeAuthentication() throws Exception {
+        mockMvc.perform(me())
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string("RateLimit-Limit", "2"))
+                .andExpect(header().string("RateLimit-Remaining", "1"))
+                .andExpect(header().string("RateLimit-Policy", "2;w=3600"));
+        mockMvc.perform(me())
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string("RateLimit-Remaining", "0"));
+
+        mockMvc.perform(me())
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1800"))
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    private static MockHttpServletRequestBuilder me() {
+        return get("/api/users/me")
+                .header("Authorization", "Bearer not-a-valid-token")
+                .with(request -> {
+                    request.setRemoteAddr("198.51.100.7");
+                    return request;
+                });
+    }
+}
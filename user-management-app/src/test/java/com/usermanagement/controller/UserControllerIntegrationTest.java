@@ -50,6 +50,7 @@ class UserControllerIntegrationTest {
     private static String userToken;
     private static String adminToken;
     private static Long userId;
+    private static String profileEtag;
 
     @BeforeEach
     void setUp() {
@@ -166,13 +167,25 @@ class UserControllerIntegrationTest {
     @Order(7)
     @DisplayName("GET /api/users/me — should return user profile with valid token")
     void shouldReturnUserProfile() throws Exception {
-        mockMvc.perform(get("/api/users/me")
+        MvcResult result = mockMvc.perform(get("/api/users/me")
                 .header("Authorization", "Bearer " + userToken))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("\"" + userId + "-")))
+                .andExpect(header().string("Cache-Control", "private, no-cache"))
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data.email").value("test@example.com"))
                 .andExpect(jsonPath("$.data.username").value("testuser"))
-                .andExpect(jsonPath("$.data.roles").isArray());
+                .andExpect(jsonPath("$.data.roles").isArray())
+                .andExpect(jsonPath("$.data.version").doesNotExist())
+                .andReturn();
+        profileEtag = result.getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/users/me")
+                .header("Authorization", "Bearer " + userToken)
+                .header("If-None-Match", "\"stale\", W/" + profileEtag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", profileEtag))
+                .andExpect(content().string(""));
     }
 
     @Test
@@ -239,6 +252,14 @@ class UserControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data.roles", hasItem("ROLE_ADMIN")));
+
+        // The role change moves the profile's version, so the old ETag no longer matches
+        mockMvc.perform(get("/api/users/me")
+                .header("Authorization", "Bearer " + userToken)
+                .header("If-None-Match", profileEtag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(profileEtag)))
+                .andExpect(jsonPath("$.data.roles", hasItem("ROLE_ADMIN")));
     }
 
     @Test
@@ -0,0 +1,194 @@
+package com.usermanagement.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+    private JdbcTemplate routedJdbc;
+    private ReplicaLagMonitor lagMonitor;
+    private ReadYourWritesTracker tracker;
+    private TransactionTemplate readOnlyTx;
+    private TransactionTemplate writeTx;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource primary = new DriverManagerDataSource("jdbc:h2:mem:rw_primary;DB_CLOSE_DELAY=-1", "sa", "");
+        DriverManagerDataSource replica = new DriverManagerDataSource("jdbc:h2:mem:rw_replica;DB_CLOSE_DELAY=-1", "sa", "");
+        primaryJdbc = new JdbcTemplate(primary);
+        replicaJdbc = new JdbcTemplate(replica);
+
+        for (JdbcTemplate jdbc : List.of(primaryJdbc, replicaJdbc)) {
+            jdbc.execute("DROP TABLE IF EXISTS node");
+            jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        }
+        primaryJdbc.update("INSERT INTO node VALUES ('primary')");
+        replicaJdbc.update("INSERT INTO node VALUES ('replica')");
+        replicaJdbc.execute("DROP TABLE IF EXISTS replica_status");
+        replicaJdbc.execute("CREATE TABLE replica_status (lag_seconds BIGINT)");
+        replicaJdbc.update("INSERT INTO replica_status VALUES (0)");
+
+        DataSourceRoutingProperties properties = new DataSourceRoutingProperties();
+        properties.setLagQuery("SELECT lag_seconds FROM replica_status");
+        properties.setLagColumn("");
+        properties.setMaxReplicaLag(Duration.ofSeconds(5));
+        properties.setLagCheckInterval(Duration.ofHours(1));
+        lagMonitor = new ReplicaLagMonitor(replica, properties);
+        lagMonitor.check();
+
+        tracker = new ReadYourWritesTracker(Duration.ofMinutes(1), 1_000);
+        LazyConnectionDataSourceProxy routed = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replica, lagMonitor, tracker));
+        routedJdbc = new JdbcTemplate(routed);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routed);
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+        writeTx = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        lagMonitor.destroy();
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Read-only transactions are served by the replica")
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Read-write transactions are served by the primary")
+    void shouldRouteWriteTransactionsToPrimary() {
+        assertThat(writeNode()).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Reads fall back to the primary while the replica lags beyond the bound")
+    void shouldFallBackToPrimaryWhenReplicaLags() {
+        replicaJdbc.update("UPDATE replica_status SET lag_seconds = 30");
+        lagMonitor.check();
+
+        assertThat(readOnlyNode()).isEqualTo("primary");
+
+        replicaJdbc.update("UPDATE replica_status SET lag_seconds = 1");
+        lagMonitor.check();
+
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Reads from a client that just wrote are pinned to the primary")
+    void shouldReadYourOwnWritesFromPrimary() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("writer@example.com", null, List.of()));
+
+        writeTx.executeWithoutResult(status -> routedJdbc.update("INSERT INTO node VALUES ('written')"));
+
+        assertThat(readOnlyNode()).isEqualTo("primary");
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("reader@example.com", null, List.of()));
+
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("A rolled-back write does not pin the writer's reads")
+    void shouldNotPinAfterRollback() {
+        authenticate("writer@example.com");
+
+        writeTx.executeWithoutResult(status -> {
+            routedJdbc.update("INSERT INTO node VALUES ('written')");
+            status.setRollbackOnly();
+        });
+
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Anonymous writes do not pin anonymous reads")
+    void shouldNotPinAnonymousClients() {
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+                "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+
+        writeTx.executeWithoutResult(status -> routedJdbc.update("INSERT INTO node VALUES ('written')"));
+
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("An anonymous write recorded for a new subject pins that subject's reads")
+    void shouldPinSubjectOfAnonymousWrite() {
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+                "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+
+        writeTx.executeWithoutResult(status -> {
+            routedJdbc.update("INSERT INTO node VALUES ('written')");
+            tracker.recordWriteAfterCommit("registered@example.com");
+        });
+
+        assertThat(readOnlyNode()).isEqualTo("replica");
+
+        authenticate("registered@example.com");
+        assertThat(readOnlyNode()).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("A write does not pin other users behind the same address")
+    void shouldNotPinClientsSharingAnAddress() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("203.0.113.7");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        authenticate("writer@example.com");
+
+        writeTx.executeWithoutResult(status -> routedJdbc.update("INSERT INTO node VALUES ('written')"));
+
+        authenticate("neighbour@example.com");
+        assertThat(readOnlyNode()).isEqualTo("replica");
+
+        SecurityContextHolder.clearContext();
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    private static void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+
+    private String readOnlyNode() {
+        return readOnlyTx.execute(status -> currentNode());
+    }
+
+    private String writeNode() {
+        return writeTx.execute(status -> currentNode());
+    }
+
+    private String currentNode() {
+        return routedJdbc.queryForObject("SELECT name FROM node ORDER BY name LIMIT 1", String.class);
+    }
+}
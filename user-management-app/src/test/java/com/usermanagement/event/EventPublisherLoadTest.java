@@ -0,0 +1,99 @@
+package com.usermanagement.event;
+
+import com.usermanagement.config.KafkaConfig;
+import com.usermanagement.config.LoginAggregationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.mock.MockProducerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/** Publishes from many threads through an in-memory producer, as a local stand-in for a load test against a broker. */
+@Slf4j
+class EventPublisherLoadTest {
+
+    private static final int THREADS = 8;
+    private static final int EVENTS_PER_THREAD = 5_000;
+
+    @Test
+    @DisplayName("Concurrent logins are all delivered in per-user order, serialized in the binary format")
+    @SuppressWarnings("unchecked")
+    void shouldPublishConcurrentLoginsInOrder() throws Exception {
+        Serializer<Object> byTopic = KafkaConfig.valueSerializer(Set.of(KafkaConfig.USER_LOGIN_TOPIC));
+        // MockProducer calls the variant without headers, which the by-topic serializer does not support
+        Serializer<UserEvent> valueSerializer = (topic, event) -> byTopic.serialize(topic, new RecordHeaders(), event);
+        MockProducer<String, UserEvent> producer = new MockProducer<>(true, new StringSerializer(), valueSerializer) {
+            @Override
+            public void close(Duration timeout) {
+                // Shared like the real factory's producer, which ignores KafkaTemplate closing it after each send
+            }
+        };
+        KafkaTemplate<String, UserEvent> kafkaTemplate = new KafkaTemplate<>(new MockProducerFactory<>(() -> producer));
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EventPublisher publisher = new EventPublisher(kafkaTemplate, new ProducerCircuitBreaker(3, Duration.ofSeconds(10)),
+                mock(ObjectProvider.class), new LoginAggregationProperties(), mock(ObjectProvider.class), meterRegistry);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                String email = "user" + t + "@example.com";
+                futures.add(executor.submit(() -> {
+                    for (long i = 0; i < EVENTS_PER_THREAD; i++) {
+                        publisher.publishLoginEvent(UserEvent.builder()
+                                .eventType(UserEvent.EventType.USER_LOGGED_IN.name())
+                                .userId(i)
+                                .email(email)
+                                .timestamp(LocalDateTime.now())
+                                .build());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        log.info("Published {} events in {} ms ({} events/s)", THREADS * EVENTS_PER_THREAD, elapsedNanos / 1_000_000,
+                THREADS * EVENTS_PER_THREAD * 1_000_000_000L / elapsedNanos);
+
+        List<ProducerRecord<String, UserEvent>> sent = producer.history();
+        assertThat(sent).hasSize(THREADS * EVENTS_PER_THREAD);
+        Map<String, Long> lastByUser = new HashMap<>();
+        for (ProducerRecord<String, UserEvent> record : sent) {
+            long previous = lastByUser.getOrDefault(record.key(), -1L);
+            assertThat(record.value().getUserId()).isEqualTo(previous + 1);
+            lastByUser.put(record.key(), record.value().getUserId());
+        }
+        assertThat(meterRegistry.timer("events.publish", "topic", KafkaConfig.USER_LOGIN_TOPIC, "outcome", "success").count())
+                .isEqualTo(THREADS * EVENTS_PER_THREAD);
+
+        byte[] serialized = valueSerializer.serialize(KafkaConfig.USER_LOGIN_TOPIC, sent.get(0).value());
+        assertThat(UserEventCodec.decode(serialized).getEmail()).isEqualTo(sent.get(0).value().getEmail());
+    }
+}
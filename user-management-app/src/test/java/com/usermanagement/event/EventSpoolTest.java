@@ -0,0 +1,243 @@
+package com.usermanagement.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventSpoolTest {
+
+    private static final int SEGMENT_SIZE = 1024;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Records come back in order across segments, and consumed segments are deleted")
+    void shouldReadInOrderAcrossSegments() throws IOException {
+        EventSpool spool = new EventSpool(directory, SEGMENT_SIZE, 1 << 20);
+        for (int i = 0; i < 100; i++) {
+            assertThat(spool.append("topic", i % 2 == 0 ? "key-" + i : null, value(i))).isTrue();
+        }
+        assertThat(segmentFiles()).hasSizeGreaterThan(3);
+
+        List<EventSpool.SpooledRecord> records = spool.read(spool.readPosition(), 1_000).records();
+        assertThat(records).hasSize(100);
+        for (int i = 0; i < 100; i++) {
+            assertThat(new String(records.get(i).value(), StandardCharsets.UTF_8)).isEqualTo("event-" + i);
+            assertThat(records.get(i).key()).isEqualTo(i % 2 == 0 ? "key-" + i : null);
+        }
+
+        spool.commit(records.get(99).nextPosition());
+        assertThat(spool.isEmpty()).isTrue();
+        assertThat(segmentFiles()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Reopening resumes at the checkpoint and drops a torn record at the tail")
+    void shouldRecoverFromCheckpointAndTornTail() throws IOException {
+        EventSpool spool = new EventSpool(directory, SEGMENT_SIZE, 1 << 20);
+        for (int i = 0; i < 30; i++) {
+            spool.append("topic", "key", value(i));
+        }
+        List<EventSpool.SpooledRecord> records = spool.read(spool.readPosition(), 10).records();
+        spool.commit(records.get(9).nextPosition());
+        long end = spool.readPosition() + spool.pendingBytes();
+        spool.close();
+
+        // Corrupt the payload of the last record, as if the crash came half-way through writing it
+        Path last = segmentFiles().get(segmentFiles().size() - 1);
+        try (RandomAccessFile file = new RandomAccessFile(last.toFile(), "rw")) {
+            long base = Long.parseLong(last.getFileName().toString().replace(".spool", ""));
+            file.seek(end - base - 1);
+            file.write(0x7f);
+        }
+
+        EventSpool reopened = new EventSpool(directory, SEGMENT_SIZE, 1 << 20);
+        List<EventSpool.SpooledRecord> remaining = reopened.read(reopened.readPosition(), 1_000).records();
+        assertThat(remaining).extracting(r -> new String(r.value(), StandardCharsets.UTF_8))
+                .containsExactlyElementsOf(expected(10, 28));
+
+        reopened.append("topic", "key", value(99));
+        assertThat(reopened.read(reopened.readPosition(), 1_000).records()).hasSize(20);
+    }
+
+    @Test
+    @DisplayName("The oldest pending append time follows appends and commits")
+    void shouldTrackOldestPendingAppend() throws IOException {
+        long[] now = {100};
+        EventSpool spool = new EventSpool(directory, SEGMENT_SIZE, 1 << 20, () -> now[0]);
+        assertThat(spool.oldestPendingMillis()).isEqualTo(-1);
+
+        spool.append("topic", "key", value(0));
+        now[0] = 200;
+        spool.append("topic", "key", value(1));
+        assertThat(spool.oldestPendingMillis()).isEqualTo(100);
+
+        List<EventSpool.SpooledRecord> records = spool.read(spool.readPosition(), 2).records();
+        spool.commit(records.get(0).nextPosition());
+        assertThat(spool.oldestPendingMillis()).isEqualTo(200);
+        spool.commit(records.get(1).nextPosition());
+        assertThat(spool.oldestPendingMillis()).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("The spool refuses appends once full")
+    void shouldRejectAppendsWhenFull() throws IOException {
+        EventSpool spool = new EventSpool(directory, SEGMENT_SIZE, 2 * SEGMENT_SIZE);
+        int appended = 0;
+        while (spool.append("topic", "key", value(appended))) {
+            appended++;
+        }
+        assertThat(appended).isPositive();
+        assertThat(spool.pendingBytes()).isLessThanOrEqualTo(2 * SEGMENT_SIZE);
+    }
+
+    @Test
+    @DisplayName("Replay stops at the first failed send, opens the breaker, and resumes from that event")
+    @SuppressWarnings("unchecked")
+    void shouldReplayInOrderAndResumeAfterFailure() throws IOException {
+        EventSpool spool = new EventSpool(directory, SEGMENT_SIZE, 1 << 20);
+        for (int i = 0; i < 10; i++) {
+            UserEvent event = loginEvent(i);
+            spool.append("user-login", event.getEmail(), UserEventCodec.encode(event));
+        }
+
+        List<Long> sent = new ArrayList<>();
+        boolean[] brokerUp = {false};
+        KafkaTemplate<String, UserEvent> kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send(anyString(), anyString(), any(UserEvent.class))).thenAnswer(invocation -> {
+            UserEvent event = invocation.getArgument(2);
+            if (!brokerUp[0] && event.getUserId() >= 4) {
+                return CompletableFuture.failedFuture(new IllegalStateException("broker down"));
+            }
+            sent.add(event.getUserId());
+            return CompletableFuture.completedFuture(mock(SendResult.class));
+        });
+
+        long[] now = {0};
+        ProducerCircuitBreaker breaker = new ProducerCircuitBreaker(1, Duration.ofSeconds(10), () -> now[0]);
+        EventSpoolReplayer replayer = new EventSpoolReplayer(spool, kafkaTemplate, breaker, 3, Duration.ofSeconds(1), OBJECT_MAPPER);
+
+        assertThat(replayer.replay()).isEqualTo(4);
+        assertThat(breaker.isClosed()).isFalse();
+        assertThat(replayer.replay()).isZero();
+
+        brokerUp[0] = true;
+        now[0] = 10_000;
+        assertThat(replayer.replay()).isEqualTo(6);
+        assertThat(breaker.isClosed()).isTrue();
+        assertThat(spool.isEmpty()).isTrue();
+        // The batch of 3, 4 and 5 failed at 4, so only 3 was committed and 4 onwards were sent again
+        assertThat(sent).containsExactly(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L);
+    }
+
+    @Test
+    @DisplayName("Replay skips a corrupt record in the segment being written instead of spinning on it")
+    @SuppressWarnings("unchecked")
+    void shouldSkipCorruptRecordInActiveSegment() throws IOException {
+        EventSpool spool = new EventSpool(directory, SEGMENT_SIZE, 1 << 20);
+        for (int i = 0; i < 5; i++) {
+            spool.append("user-login", "key", UserEventCodec.encode(loginEvent(i)));
+        }
+        long corrupt = spool.read(spool.readPosition(), 2).nextPosition();
+        try (RandomAccessFile file = new RandomAccessFile(segmentFiles().get(0).toFile(), "rw")) {
+            file.seek(corrupt + 20);
+            file.write(file.read() ^ 0xff);
+        }
+
+        List<Long> sent = new ArrayList<>();
+        KafkaTemplate<String, UserEvent> kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send(anyString(), anyString(), any(UserEvent.class))).thenAnswer(invocation -> {
+            sent.add(invocation.<UserEvent>getArgument(2).getUserId());
+            return CompletableFuture.completedFuture(mock(SendResult.class));
+        });
+        ProducerCircuitBreaker breaker = new ProducerCircuitBreaker(1, Duration.ofSeconds(10));
+        EventSpoolReplayer replayer = new EventSpoolReplayer(spool, kafkaTemplate, breaker, 10, Duration.ofSeconds(1), OBJECT_MAPPER);
+
+        // Records after the corrupt one cannot be located, so the rest of what was written is skipped
+        assertThat(replayer.replay()).isEqualTo(2);
+        assertThat(spool.isEmpty()).isTrue();
+        assertThat(breaker.isClosed()).isTrue();
+
+        spool.append("user-login", "key", UserEventCodec.encode(loginEvent(5)));
+        assertThat(replayer.replay()).isEqualTo(1);
+        assertThat(sent).containsExactly(0L, 1L, 5L);
+    }
+
+    @Test
+    @DisplayName("A spool written before the binary format replays its JSON records, and undecodable records are skipped")
+    @SuppressWarnings("unchecked")
+    void shouldReplayPreUpgradeJsonRecords() throws IOException {
+        // As spooled by builds that wrote events with Spring's ObjectMapper
+        EventSpool spool = new EventSpool(directory, SEGMENT_SIZE, 1 << 20);
+        UserEvent legacy = loginEvent(0);
+        legacy.setTimestamp(LocalDateTime.of(2025, 6, 1, 12, 0));
+        spool.append("user-login", "key", OBJECT_MAPPER.writeValueAsBytes(legacy));
+        spool.append("user-login", "key", new byte[]{(byte) 0x7e, 1, 2});
+        spool.append("user-login", "key", UserEventCodec.encode(loginEvent(1)));
+        spool.close();
+
+        List<UserEvent> sent = new ArrayList<>();
+        KafkaTemplate<String, UserEvent> kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send(anyString(), anyString(), any(UserEvent.class))).thenAnswer(invocation -> {
+            sent.add(invocation.getArgument(2));
+            return CompletableFuture.completedFuture(mock(SendResult.class));
+        });
+        ProducerCircuitBreaker breaker = new ProducerCircuitBreaker(1, Duration.ofSeconds(10));
+        EventSpool reopened = new EventSpool(directory, SEGMENT_SIZE, 1 << 20);
+        EventSpoolReplayer replayer = new EventSpoolReplayer(reopened, kafkaTemplate, breaker, 10, Duration.ofSeconds(1), OBJECT_MAPPER);
+
+        assertThat(replayer.replay()).isEqualTo(2);
+        assertThat(replayer.skipped()).isEqualTo(1);
+        assertThat(breaker.isClosed()).isTrue();
+        assertThat(reopened.isEmpty()).isTrue();
+        assertThat(sent).extracting(UserEvent::getUserId).containsExactly(0L, 1L);
+        assertThat(sent.get(0).getTimestamp()).isEqualTo(legacy.getTimestamp());
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".spool")).sorted().toList();
+        }
+    }
+
+    private static List<String> expected(int from, int to) {
+        List<String> values = new ArrayList<>();
+        for (int i = from; i <= to; i++) {
+            values.add("event-" + i);
+        }
+        return values;
+    }
+
+    private static UserEvent loginEvent(int i) {
+        return UserEvent.builder().eventType("USER_LOGGED_IN").userId((long) i).email(i + "@example.com").build();
+    }
+
+    private static byte[] value(int i) {
+        return ("event-" + i).getBytes(StandardCharsets.UTF_8);
+    }
+}
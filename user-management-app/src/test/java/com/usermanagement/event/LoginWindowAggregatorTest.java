@@ -0,0 +1,79 @@
+package com.usermanagement.event;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginWindowAggregatorTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    private final List<UserEvent> summaries = new ArrayList<>();
+    private final long[] clock = {60_000};
+
+    @Test
+    @DisplayName("Logins in a window become one summary per user when the window closes")
+    void shouldSummarizeLoginsPerUserAtWindowClose() {
+        LoginWindowAggregator aggregator = new LoginWindowAggregator(Duration.ofMinutes(1), 100, summaries::add, () -> clock[0]);
+        aggregator.add(login(1L, NOW.plusSeconds(5)));
+        aggregator.add(login(2L, NOW.plusSeconds(7)));
+        aggregator.add(login(1L, NOW));
+        aggregator.add(login(1L, NOW.plusSeconds(30)));
+
+        clock[0] = 119_999;
+        assertThat(aggregator.flushIfDue()).isFalse();
+        assertThat(summaries).isEmpty();
+
+        clock[0] = 120_000;
+        assertThat(aggregator.flushIfDue()).isTrue();
+        assertThat(summaries).hasSize(2);
+        UserEvent first = summaries.stream().filter(e -> e.getUserId() == 1L).findFirst().orElseThrow();
+        assertThat(first.getEventType()).isEqualTo("USER_LOGIN_SUMMARY");
+        assertThat(first.getLoginCount()).isEqualTo(3);
+        assertThat(first.getFirstLoginAt()).isEqualTo(NOW);
+        assertThat(first.getLastLoginAt()).isEqualTo(NOW.plusSeconds(30));
+        assertThat(first.getEmail()).isEqualTo("user1@example.com");
+        assertThat(aggregator.activeUsers()).isZero();
+
+        // A login after the window is due closes it first, and lands in the next one
+        aggregator.add(login(3L, NOW.plusMinutes(1)));
+        clock[0] = 185_000;
+        aggregator.add(login(3L, NOW.plusMinutes(2)));
+        assertThat(summaries).hasSize(3);
+        assertThat(summaries.get(2).getLoginCount()).isEqualTo(1);
+        assertThat(aggregator.activeUsers()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Reaching the active-user cap closes the window early, and close flushes what is open")
+    void shouldFlushEarlyAtCapAndOnClose() {
+        LoginWindowAggregator aggregator = new LoginWindowAggregator(Duration.ofMinutes(1), 2, summaries::add, () -> clock[0]);
+        aggregator.add(login(1L, NOW));
+        aggregator.add(login(2L, NOW));
+        aggregator.add(login(1L, NOW));
+        assertThat(summaries).isEmpty();
+
+        aggregator.add(login(3L, NOW));
+        assertThat(summaries).extracting(UserEvent::getUserId).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(aggregator.earlyFlushes()).isEqualTo(1);
+        assertThat(aggregator.activeUsers()).isEqualTo(1);
+
+        aggregator.close();
+        assertThat(summaries).extracting(UserEvent::getUserId).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    private static UserEvent login(long userId, LocalDateTime at) {
+        return UserEvent.builder()
+                .eventType(UserEvent.EventType.USER_LOGGED_IN.name())
+                .userId(userId)
+                .email("user" + userId + "@example.com")
+                .timestamp(at)
+                .build();
+    }
+}
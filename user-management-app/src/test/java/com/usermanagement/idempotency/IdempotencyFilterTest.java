@@ -0,0 +1,132 @@
+package com.usermanagement.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger executions = new AtomicInteger();
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyProperties.Endpoint register = new IdempotencyProperties.Endpoint();
+        register.setPath("/api/users/register");
+
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setEndpoints(List.of(register));
+        filter = new IdempotencyFilter(properties, new InMemoryIdempotencyStore(Duration.ofMinutes(1), 100),
+                new ObjectMapper().findAndRegisterModules(), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Concurrent retries with one key wait for the original and share its response")
+    void shouldCoalesceConcurrentRetries() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain chain = (request, response) -> {
+            int execution = executions.incrementAndGet();
+            awaitQuietly(release);
+            ((HttpServletResponse) response).setStatus(201);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"execution\":" + execution + "}");
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                responses.add(executor.submit(() -> perform(register("key-1", "{\"username\":\"jane\"}"), chain)));
+            }
+            Thread.sleep(200);
+            release.countDown();
+
+            for (Future<MockHttpServletResponse> future : responses) {
+                MockHttpServletResponse response = future.get(5, TimeUnit.SECONDS);
+                assertThat(response.getStatus()).isEqualTo(201);
+                assertThat(response.getContentAsString()).isEqualTo("{\"execution\":1}");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(executions).hasValue(1);
+        assertThat(count("executed")).isEqualTo(1);
+        assertThat(count("coalesced") + count("replayed")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Server errors are not saved, and a key reused with a different body gets 422")
+    void shouldRetryServerErrorsAndRejectMismatchedBodies() throws Exception {
+        AtomicInteger status = new AtomicInteger(503);
+        FilterChain chain = (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(status.get());
+        };
+
+        assertThat(perform(register("key-2", "{\"username\":\"jane\"}"), chain).getStatus()).isEqualTo(503);
+        status.set(201);
+        assertThat(perform(register("key-2", "{\"username\":\"jane\"}"), chain).getStatus()).isEqualTo(201);
+
+        MockHttpServletResponse replayed = perform(register("key-2", "{\"username\":\"jane\"}"), chain);
+        assertThat(replayed.getStatus()).isEqualTo(201);
+        assertThat(replayed.getHeader("Idempotent-Replayed")).isEqualTo("true");
+
+        MockHttpServletResponse mismatched = perform(register("key-2", "{\"username\":\"john\"}"), chain);
+        assertThat(mismatched.getStatus()).isEqualTo(422);
+        assertThat(executions).hasValue(2);
+
+        // Requests without the header are never tracked
+        MockHttpServletRequest plain = register(null, "{\"username\":\"jane\"}");
+        assertThat(perform(plain, chain).getStatus()).isEqualTo(201);
+        assertThat(executions).hasValue(3);
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest register(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users/register");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (key != null) {
+            request.addHeader("Idempotency-Key", key);
+        }
+        return request;
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.counter("http.idempotency.requests", "outcome", outcome).count();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.usermanagement.repository;
+
+import com.usermanagement.TestConfig;
+import com.usermanagement.entity.AuditLog;
+import com.usermanagement.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+class JdbcBatchingIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Audit log inserts in one transaction share a single batched statement")
+    void shouldBatchAuditLogInserts() {
+        List<AuditLog> logs = IntStream.range(0, 20)
+                .mapToObj(i -> AuditLog.builder()
+                        .action("BATCH_TEST")
+                        .performedBy("batch@example.com")
+                        .details("entry " + i)
+                        .build())
+                .toList();
+
+        List<AuditLog> saved = auditLogRepository.saveAll(logs);
+
+        assertThat(saved).allMatch(log -> log.getId() != null);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(20);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("User inserts in one transaction share a single batched statement")
+    void shouldBatchUserInserts() {
+        List<User> users = IntStream.range(0, 10)
+                .mapToObj(i -> User.builder()
+                        .username("batchuser" + i)
+                        .email("batchuser" + i + "@example.com")
+                        .password("secret")
+                        .build())
+                .toList();
+
+        userRepository.saveAll(users);
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(10);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
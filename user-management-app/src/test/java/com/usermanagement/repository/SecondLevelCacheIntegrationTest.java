@@ -0,0 +1,126 @@
+package com.usermanagement.repository;
+
+import com.usermanagement.TestConfig;
+import com.usermanagement.dto.request.LoginRequest;
+import com.usermanagement.entity.Role;
+import com.usermanagement.entity.User;
+import com.usermanagement.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!roleRepository.existsByName("ROLE_USER")) {
+            roleRepository.save(Role.builder().name("ROLE_USER").build());
+        }
+    }
+
+    @Test
+    @DisplayName("Role lookups by id are served from the L2 cache after the first load")
+    void shouldServeRepeatRoleLookupFromCache() {
+        Role role = roleRepository.findByName("ROLE_USER").orElseThrow();
+        roleRepository.findById(role.getId()).orElseThrow();
+
+        statistics.clear();
+        Role cached = roleRepository.findById(role.getId()).orElseThrow();
+
+        assertThat(cached.getName()).isEqualTo("ROLE_USER");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics("roles").getHitCount()).isPositive();
+    }
+
+    @Test
+    @DisplayName("RoleRepository.findByName is served from the query cache after the first call")
+    void shouldServeRepeatFindByNameFromQueryCache() {
+        roleRepository.findByName("ROLE_USER").orElseThrow();
+
+        statistics.clear();
+        Role cached = roleRepository.findByName("ROLE_USER").orElseThrow();
+
+        assertThat(cached.getName()).isEqualTo("ROLE_USER");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isPositive();
+    }
+
+    @Test
+    @DisplayName("User and its roles collection are served from the L2 cache after the first load")
+    void shouldServeRepeatUserLookupFromCache() {
+        User user = User.builder()
+                .username("cacheuser")
+                .email("cacheuser@example.com")
+                .password("secret")
+                .build();
+        user.getRoles().add(roleRepository.findByName("ROLE_USER").orElseThrow());
+        Long userId = userRepository.save(user).getId();
+
+        userRepository.findById(userId).orElseThrow();
+
+        statistics.clear();
+        User cached = userRepository.findById(userId).orElseThrow();
+
+        assertThat(cached.getRoles()).extracting(Role::getName).containsExactly("ROLE_USER");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics("users").getHitCount()).isPositive();
+        assertThat(statistics.getDomainDataRegionStatistics("users.roles").getHitCount()).isPositive();
+    }
+
+    @Test
+    @DisplayName("A login evicts only the user who logged in from the L2 cache")
+    void shouldEvictOnlyLoggedInUserOnLogin() {
+        Long loggedIn = userRepository.save(User.builder()
+                .username("loginuser")
+                .email("loginuser@example.com")
+                .password(passwordEncoder.encode("password123"))
+                .build()).getId();
+        Long bystander = userRepository.save(User.builder()
+                .username("bystander")
+                .email("bystander@example.com")
+                .password("secret")
+                .build()).getId();
+        userRepository.findById(loggedIn).orElseThrow();
+        userRepository.findById(bystander).orElseThrow();
+
+        userService.login(new LoginRequest("loginuser@example.com", "password123"));
+
+        statistics.clear();
+        userRepository.findById(bystander).orElseThrow();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        assertThat(userRepository.findById(loggedIn).orElseThrow().getLastLoginAt()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isPositive();
+    }
+}
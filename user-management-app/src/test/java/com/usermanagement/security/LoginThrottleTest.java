@@ -0,0 +1,111 @@
+package com.usermanagement.security;
+
+import com.usermanagement.exception.TooManyRequestsException;
+import com.usermanagement.service.AuditLogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class LoginThrottleTest {
+
+    private static final String EMAIL = "victim@example.com";
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final AuditLogService auditLogService = mock(AuditLogService.class);
+    private LoginThrottleProperties properties;
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LoginThrottleProperties();
+        properties.setEmail(new LoginThrottleProperties.Limits(2, 6));
+        properties.setIp(new LoginThrottleProperties.Limits(4, 8));
+        properties.setBaseBackoff(Duration.ofSeconds(1));
+        properties.setMaxBackoff(Duration.ofSeconds(3));
+        properties.setLockoutDuration(Duration.ofMinutes(5));
+        properties.setWindow(Duration.ofMinutes(10));
+        throttle = new LoginThrottle(properties, auditLogService, clock::get);
+    }
+
+    @Test
+    @DisplayName("Backoff doubles per failure after the free ones and is capped")
+    void shouldBackOffProgressively() {
+        throttle.recordFailure(EMAIL, "10.0.0.1");
+        throttle.recordFailure(EMAIL, "10.0.0.2");
+        assertThatCode(() -> throttle.checkAllowed(EMAIL, "10.0.0.3")).doesNotThrowAnyException();
+
+        for (long expectedBackoff : new long[]{1_000, 2_000, 3_000}) {
+            throttle.recordFailure(EMAIL, "10.0.0." + expectedBackoff);
+            assertThat(blockedFor(EMAIL, "10.0.0.9")).isEqualTo(Duration.ofMillis(expectedBackoff));
+            clock.addAndGet(expectedBackoff);
+            assertThatCode(() -> throttle.checkAllowed(EMAIL, "10.0.0.9")).doesNotThrowAnyException();
+        }
+        verify(auditLogService, never()).log(anyString(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Reaching the lockout threshold locks the key out once and audits it")
+    void shouldLockOutAndAudit() {
+        properties.setBaseBackoff(Duration.ZERO);
+        for (int i = 0; i < 7; i++) {
+            throttle.recordFailure("Victim@Example.com", "10.0.1." + i);
+        }
+
+        assertThat(blockedFor(EMAIL, "10.0.0.9")).isEqualTo(Duration.ofMinutes(5));
+        verify(auditLogService, times(1)).log(eq("LOGIN_LOCKED_OUT"), eq("SYSTEM"), eq(EMAIL), anyString());
+
+        clock.addAndGet(Duration.ofMinutes(5).toMillis());
+        assertThatCode(() -> throttle.checkAllowed(EMAIL, "10.0.0.9")).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("IPs are throttled independently of accounts and success clears only the account")
+    void shouldThrottleByIpAcrossAccounts() {
+        properties.setBaseBackoff(Duration.ZERO);
+        for (int i = 0; i < 8; i++) {
+            throttle.recordFailure("user" + i + "@example.com", "10.0.0.1");
+        }
+
+        assertThat(blockedFor("fresh@example.com", "10.0.0.1")).isEqualTo(Duration.ofMinutes(5));
+        assertThatCode(() -> throttle.checkAllowed("fresh@example.com", "10.0.0.2")).doesNotThrowAnyException();
+        verify(auditLogService).log(eq("LOGIN_LOCKED_OUT"), eq("SYSTEM"), eq("10.0.0.1"), anyString());
+
+        throttle.recordSuccess("user0@example.com");
+        assertThat(blockedFor("user0@example.com", "10.0.0.1")).isEqualTo(Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("Failures age out of the sliding window")
+    void shouldForgetOldFailures() {
+        properties.setBaseBackoff(Duration.ZERO);
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure(EMAIL, "10.0.2." + i);
+        }
+
+        clock.addAndGet(Duration.ofMinutes(20).toMillis());
+        throttle.recordFailure(EMAIL, "10.0.3.1");
+
+        verify(auditLogService, never()).log(anyString(), anyString(), anyString(), anyString());
+        assertThatCode(() -> throttle.checkAllowed(EMAIL, "10.0.3.1")).doesNotThrowAnyException();
+    }
+
+    private Duration blockedFor(String email, String ip) {
+        TooManyRequestsException ex = catchThrowableOfType(() -> throttle.checkAllowed(email, ip),
+                TooManyRequestsException.class);
+        assertThat(ex).as("login for %s from %s should be throttled", email, ip).isNotNull();
+        return ex.getRetryAfter();
+    }
+}
@@ -0,0 +1,132 @@
+package com.usermanagement.security;
+
+import com.usermanagement.TestConfig;
+import com.usermanagement.dto.request.LoginRequest;
+import com.usermanagement.entity.User;
+import com.usermanagement.repository.UserRepository;
+import com.usermanagement.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+class PasswordHashingTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Test
+    @DisplayName("New hashes carry the {bcrypt} prefix and the configured strength")
+    void shouldEncodeWithPrefixAndConfiguredStrength() {
+        String encoded = passwordEncoder.encode("password123");
+
+        assertThat(encoded).startsWith("{bcrypt}$2a$04$");
+        assertThat(passwordEncoder.matches("password123", encoded)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(encoded)).isFalse();
+    }
+
+    @Test
+    @DisplayName("A legacy or weaker hash is verified and upgraded on the next successful login")
+    void shouldRehashStaleHashOnLogin() {
+        String legacy = new BCryptPasswordEncoder(4).encode("password123");
+        String weaker = "{pbkdf2}" + Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8().encode("password123");
+
+        for (String stored : new String[]{legacy, weaker}) {
+            String email = "rehash" + Math.abs(stored.hashCode()) + "@example.com";
+            userRepository.save(User.builder()
+                    .username(email.substring(0, email.indexOf('@')))
+                    .email(email)
+                    .password(stored)
+                    .build());
+
+            assertThatThrownBy(() -> userService.login(login(email, "wrong-password")))
+                    .isInstanceOf(BadCredentialsException.class);
+            assertThat(userRepository.findByEmail(email).orElseThrow().getPassword()).isEqualTo(stored);
+
+            userService.login(login(email, "password123"));
+
+            String upgraded = userRepository.findByEmail(email).orElseThrow().getPassword();
+            assertThat(upgraded).startsWith("{bcrypt}$2a$04$");
+            assertThat(passwordEncoder.matches("password123", upgraded)).isTrue();
+        }
+
+        assertThat(meterRegistry.get("password.hash.verify").tags("algorithm", "legacy", "outcome", "match")
+                .timer().count()).isPositive();
+        assertThat(meterRegistry.get("password.hash.verify").tags("algorithm", "pbkdf2", "outcome", "mismatch")
+                .timer().count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("A rehash keeps the version and is skipped once the verified hash is no longer stored")
+    void shouldRehashWithoutBumpingVersion() {
+        String email = "rehash-version@example.com";
+        User user = userRepository.save(User.builder()
+                .username("rehash-version")
+                .email(email)
+                .password(new BCryptPasswordEncoder(4).encode("password123"))
+                .build());
+        UserDetails verified = userDetailsService.loadUserByUsername(email);
+
+        String rehashed = passwordEncoder.encode("password123");
+        assertThat(userDetailsService.updatePassword(verified, rehashed).getPassword()).isEqualTo(rehashed);
+
+        User stored = userRepository.findByEmail(email).orElseThrow();
+        assertThat(stored.getPassword()).isEqualTo(rehashed);
+        assertThat(stored.getVersion()).isEqualTo(user.getVersion());
+
+        // The hash verified earlier has been replaced since, so a late rehash must not overwrite it
+        assertThat(userDetailsService.updatePassword(verified, passwordEncoder.encode("password123")))
+                .isSameAs(verified);
+        assertThat(userRepository.findByEmail(email).orElseThrow().getPassword()).isEqualTo(rehashed);
+    }
+
+    @Test
+    @DisplayName("Calibration picks the highest strength within the target, clamped to the bounds")
+    void shouldCalibrateStrengthToTarget() {
+        // 1 ms at strength 4, doubling per step: strength 11 takes 128 ms, 12 takes 256 ms
+        Duration target = Duration.ofMillis(250);
+        assertThat(BCryptCostCalibrator.calibrate(target, 4, 16, strength -> millis(1L << (strength - 4)))).isEqualTo(11);
+        assertThat(BCryptCostCalibrator.calibrate(target, 4, 10, strength -> millis(1L << (strength - 4)))).isEqualTo(10);
+        assertThat(BCryptCostCalibrator.calibrate(target, 12, 16, strength -> millis(1L << (strength - 4)))).isEqualTo(12);
+
+        // Strength 11 measures 384 ms rather than the extrapolated 128 ms, so calibration steps down
+        assertThat(BCryptCostCalibrator.calibrate(target, 4, 16,
+                strength -> millis(strength == 4 ? 1 : 3L << (strength - 4)))).isEqualTo(10);
+    }
+
+    private static long millis(long millis) {
+        return Duration.ofMillis(millis).toNanos();
+    }
+
+    private static LoginRequest login(String email, String password) {
+        return LoginRequest.builder().email(email).password(password).build();
+    }
+}
@@ -0,0 +1,160 @@
+package com.usermanagement.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.usermanagement.auth.token.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RateLimitFilterTest {
+
+    private static final String TOKEN = "valid.jwt.token";
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final JwtTokenProvider jwtTokenProvider = mock(JwtTokenProvider.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        when(jwtTokenProvider.parseValidToken(TOKEN))
+                .thenReturn(new VerifiedToken("user@example.com", 0L, null, null, "k1"));
+
+        RateLimitProperties.Endpoint me = new RateLimitProperties.Endpoint();
+        me.setPath("/api/users/me");
+        me.setMethod("GET");
+        me.setRequests(60);
+        me.setPeriod(Duration.ofMinutes(1));
+        me.setBurst(3);
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setEndpoints(List.of(me));
+        properties.setDefaultLimit(new RateLimitProperties.Limit(1_000_000, Duration.ofSeconds(1), 0));
+        filter = new RateLimitFilter(properties, jwtTokenProvider, new ObjectMapper().findAndRegisterModules(),
+                meterRegistry, clock::get);
+    }
+
+    @Test
+    @DisplayName("Bursts are admitted up to the burst size, then requests refill at the sustained rate")
+    void shouldAdmitBurstThenRefill() throws Exception {
+        for (int remaining = 2; remaining >= 0; remaining--) {
+            MockHttpServletResponse response = perform(get("/api/users/me", null, "10.0.0.1"));
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getHeader("RateLimit-Remaining")).isEqualTo(String.valueOf(remaining));
+            assertThat(response.getHeader("RateLimit-Limit")).isEqualTo("3");
+            assertThat(response.getHeader("RateLimit-Policy")).isEqualTo("60;w=60");
+        }
+
+        MockHttpServletResponse rejected = perform(get("/api/users/me", null, "10.0.0.1"));
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(rejected.getHeader("RateLimit-Reset")).isEqualTo("3");
+        assertThat(rejected.getContentAsString()).contains("\"success\":false");
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(perform(get("/api/users/me", null, "10.0.0.1")).getStatus()).isEqualTo(200);
+        assertThat(perform(get("/api/users/me", null, "10.0.0.1")).getStatus()).isEqualTo(429);
+
+        assertThat(perform(get("/api/users/me", null, "10.0.0.2")).getStatus()).isEqualTo(200);
+        assertThat(perform(get("/api/users/other", null, "10.0.0.1")).getStatus()).isEqualTo(200);
+
+        assertThat(meterRegistry.get("http.rate_limit.requests").tags("key_class", "ip", "outcome", "rejected")
+                .counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("http.rate_limit.requests").tags("key_class", "ip", "outcome", "allowed")
+                .counter().count()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Authenticated clients share one bucket across IPs and their token is verified once")
+    void shouldKeyByTokenSubject() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertThat(perform(get("/api/users/me", TOKEN, "10.0.1." + i)).getStatus()).isEqualTo(200);
+        }
+        assertThat(perform(get("/api/users/me", TOKEN, "10.0.1.9")).getStatus()).isEqualTo(429);
+        assertThat(perform(get("/api/users/me", "forged.jwt.token", "10.0.1.9")).getStatus()).isEqualTo(200);
+
+        verify(jwtTokenProvider, times(1)).parseValidToken(TOKEN);
+        assertThat(meterRegistry.get("http.rate_limit.requests").tags("key_class", "subject", "outcome", "rejected")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Admitted requests parse the token once and set the four rate limit headers")
+    void shouldParseTokenOnceAndSetHeaders() throws Exception {
+        // Timing lives in RateLimitFilterBenchmark; this checks the work done per admitted request
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setDefaultLimit(new RateLimitProperties.Limit(1_000_000_000, Duration.ofSeconds(1), 0));
+        filter = new RateLimitFilter(properties, jwtTokenProvider, new ObjectMapper(), meterRegistry);
+        MockHttpServletRequest request = get("/api/users/me", TOKEN, "10.0.2.1");
+        HeaderCountingResponse response = new HeaderCountingResponse();
+        PassThroughChain chain = new PassThroughChain();
+
+        int iterations = 1_000;
+        for (int i = 0; i < iterations; i++) {
+            filter.doFilterInternal(request, response, chain);
+        }
+
+        assertThat(chain.calls).isEqualTo(iterations);
+        assertThat(response.headers).isEqualTo(4L * iterations);
+        verify(jwtTokenProvider, times(1)).parseValidToken(anyString());
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest get(String uri, String token, String ip) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr(ip);
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        return request;
+    }
+
+    private static final class PassThroughChain implements FilterChain {
+
+        private int calls;
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response) {
+            calls++;
+        }
+    }
+
+    private static final class HeaderCountingResponse extends HttpServletResponseWrapper {
+
+        private long headers;
+
+        HeaderCountingResponse() {
+            super(new MockHttpServletResponse());
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            headers++;
+        }
+    }
+}
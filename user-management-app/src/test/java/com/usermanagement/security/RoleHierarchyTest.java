@@ -0,0 +1,139 @@
+package com.usermanagement.security;
+
+import com.usermanagement.TestConfig;
+import com.usermanagement.dto.request.RoleRequest;
+import com.usermanagement.dto.response.RoleResponse;
+import com.usermanagement.exception.ResourceNotFoundException;
+import com.usermanagement.service.RoleService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.util.SimpleMethodInvocation;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+class RoleHierarchyTest {
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private RoleAuthorityRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        if (registry.bitOf("ROLE_HR_VIEWER") == 0) {
+            roleService.createRole(RoleRequest.builder()
+                    .name("HR_VIEWER")
+                    .permissions(Set.of("employees:read"))
+                    .build());
+            roleService.createRole(RoleRequest.builder()
+                    .name("HR_MANAGER")
+                    .includes(Set.of("HR_VIEWER"))
+                    .permissions(Set.of("employees:write"))
+                    .build());
+            roleService.createRole(RoleRequest.builder()
+                    .name("HR_ADMIN")
+                    .includes(Set.of("HR_MANAGER"))
+                    .permissions(Set.of("employees:delete"))
+                    .build());
+        }
+    }
+
+    @Test
+    @DisplayName("A role grants every role and permission it includes, transitively")
+    void shouldExpandInheritedRolesAndPermissions() {
+        RoleGrant admin = registry.grantOf(registry.bitOf("ROLE_HR_ADMIN"));
+
+        assertThat(admin.hasRole(registry.bitOf("ROLE_HR_MANAGER"))).isTrue();
+        assertThat(admin.hasRole(registry.bitOf("ROLE_HR_VIEWER"))).isTrue();
+        assertThat(admin.authorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLE_HR_VIEWER", "ROLE_HR_MANAGER", "ROLE_HR_ADMIN",
+                        "employees:read", "employees:write", "employees:delete");
+
+        RoleGrant viewer = registry.grantOf(registry.bitOf("ROLE_HR_VIEWER"));
+        assertThat(viewer.hasRole(registry.bitOf("ROLE_HR_MANAGER"))).isFalse();
+        assertThat(viewer.hasPermission(registry.permissionIndexOf("employees:read"))).isTrue();
+        assertThat(viewer.hasPermission(registry.permissionIndexOf("employees:write"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Tokens carry only the roles not implied by another held role")
+    void shouldMinimizeMask() {
+        long admin = registry.bitOf("ROLE_HR_ADMIN");
+        long redundant = registry.maskOf(Set.of("ROLE_HR_ADMIN", "ROLE_HR_MANAGER", "ROLE_HR_VIEWER"));
+
+        assertThat(registry.minimalMask(redundant)).isEqualTo(admin);
+        assertThat(registry.grantOf(admin).effectiveRoles()).isEqualTo(redundant);
+    }
+
+    @Test
+    @DisplayName("@RequiresRole and @RequiresPermission honour inheritance")
+    void shouldAuthorizeThroughHierarchy() throws Exception {
+        RoleMaskAuthorizationManager manager = new RoleMaskAuthorizationManager(registry);
+        Authentication admin = tokenFor("ROLE_HR_ADMIN");
+        Authentication viewer = tokenFor("ROLE_HR_VIEWER");
+
+        SimpleMethodInvocation managersOnly = new SimpleMethodInvocation(new HrEndpoints(), HrEndpoints.class.getMethod("approve"));
+        SimpleMethodInvocation writers = new SimpleMethodInvocation(new HrEndpoints(), HrEndpoints.class.getMethod("edit"));
+
+        assertThat(manager.check(() -> admin, managersOnly).isGranted()).isTrue();
+        assertThat(manager.check(() -> viewer, managersOnly).isGranted()).isFalse();
+        assertThat(manager.check(() -> admin, writers).isGranted()).isTrue();
+        assertThat(manager.check(() -> viewer, writers).isGranted()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Creating a role that includes an unknown role fails")
+    void shouldRejectUnknownIncludedRole() {
+        assertThatThrownBy(() -> roleService.createRole(RoleRequest.builder()
+                .name("HR_INTERN")
+                .includes(Set.of("NO_SUCH_ROLE"))
+                .build()))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(registry.bitOf("ROLE_HR_INTERN")).isZero();
+    }
+
+    @Test
+    @DisplayName("Role response lists includes and permissions")
+    void shouldDescribeHierarchyInResponse() {
+        RoleResponse response = roleService.createRole(RoleRequest.builder()
+                .name("HR_AUDITOR")
+                .includes(Set.of("ROLE_HR_VIEWER"))
+                .permissions(Set.of("employees:audit"))
+                .build());
+
+        assertThat(response.getIncludes()).containsExactly("ROLE_HR_VIEWER");
+        assertThat(response.getPermissions()).containsExactly("employees:audit");
+        assertThat(registry.grantOf(registry.bitOf("ROLE_HR_AUDITOR")).hasPermission(
+                registry.permissionIndexOf("employees:read"))).isTrue();
+    }
+
+    private Authentication tokenFor(String roleName) {
+        return new RoleMaskAuthenticationToken(roleName.toLowerCase() + "@example.com",
+                registry.grantOf(registry.bitOf(roleName)));
+    }
+
+    static class HrEndpoints {
+
+        @RequiresRole("HR_MANAGER")
+        public void approve() {
+        }
+
+        @RequiresPermission("employees:write")
+        public void edit() {
+        }
+    }
+}
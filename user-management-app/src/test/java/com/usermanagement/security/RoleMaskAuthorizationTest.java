@@ -0,0 +1,121 @@
+package com.usermanagement.security;
+
+import com.usermanagement.TestConfig;
+import com.usermanagement.entity.Role;
+import com.usermanagement.repository.RoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.util.SimpleMethodInvocation;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+class RoleMaskAuthorizationTest {
+
+    private static final List<String> USER_ROLES = List.of("ROLE_USER", "ROLE_ADMIN");
+
+    @Autowired
+    private RoleAuthorityRegistry registry;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @BeforeEach
+    void setUp() {
+        for (String roleName : USER_ROLES) {
+            if (!roleRepository.existsByName(roleName)) {
+                roleRepository.save(Role.builder().name(roleName).build());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Every role gets its own bit and authority lists are interned per mask")
+    void shouldInternAuthoritiesPerMask() {
+        long userBit = registry.bitOf("ROLE_USER");
+        long adminBit = registry.bitOf("ROLE_ADMIN");
+        long mask = registry.maskOf(USER_ROLES);
+
+        assertThat(Long.bitCount(userBit)).isEqualTo(1);
+        assertThat(Long.bitCount(adminBit)).isEqualTo(1);
+        assertThat(userBit).isNotEqualTo(adminBit);
+        assertThat(mask).isEqualTo(userBit | adminBit);
+        assertThat(registry.bitOf("ROLE_DOES_NOT_EXIST")).isZero();
+
+        List<GrantedAuthority> authorities = registry.authoritiesOf(mask);
+        assertThat(authorities).extracting(GrantedAuthority::getAuthority).containsExactlyInAnyOrderElementsOf(USER_ROLES);
+        assertThat(registry.authoritiesOf(mask)).isSameAs(authorities);
+        assertThat(registry.authoritiesOf(userBit).get(0)).isSameAs(authorities.stream()
+                .filter(authority -> authority.getAuthority().equals("ROLE_USER"))
+                .findFirst()
+                .orElseThrow());
+    }
+
+    @Test
+    @DisplayName("A role created right after a failed lookup still gets into the masks of users holding it")
+    void shouldResolveRoleCreatedAfterFailedLookup() {
+        assertThat(registry.bitOf("ROLE_CREATED_ELSEWHERE")).isZero();
+
+        // Saved directly, as another instance would, so this registry is not refreshed
+        roleRepository.save(Role.builder().name("ROLE_CREATED_ELSEWHERE").build());
+
+        long mask = registry.maskOf(List.of("ROLE_CREATED_ELSEWHERE"));
+        assertThat(Long.bitCount(mask)).isEqualTo(1);
+        assertThat(registry.bitOf("ROLE_CREATED_ELSEWHERE")).isEqualTo(mask);
+    }
+
+    @Test
+    @DisplayName("Bitmask check grants and denies like the hasRole SpEL decision")
+    void shouldDecideLikeSpel() throws Exception {
+        SimpleMethodInvocation invocation = new SimpleMethodInvocation(
+                new AdminOnly(), AdminOnly.class.getMethod("run"));
+        PreAuthorizeAuthorizationManager spel = new PreAuthorizeAuthorizationManager();
+        RoleMaskAuthorizationManager bitmask = new RoleMaskAuthorizationManager(registry);
+
+        long adminMask = registry.maskOf(USER_ROLES);
+        long userMask = registry.maskOf(List.of("ROLE_USER"));
+        Authentication admin = new RoleMaskAuthenticationToken("admin@example.com", registry.grantOf(adminMask));
+        Authentication user = new RoleMaskAuthenticationToken("user@example.com", registry.grantOf(userMask));
+
+        assertThat(bitmask.check(() -> admin, invocation).isGranted()).isTrue();
+        assertThat(bitmask.check(() -> user, invocation).isGranted()).isFalse();
+        assertThat(bitmask.check(() -> null, invocation).isGranted()).isFalse();
+        assertThat(spel.check(() -> legacyAuthentication(USER_ROLES), invocation).isGranted()).isTrue();
+        assertThat(spel.check(() -> legacyAuthentication(List.of("ROLE_USER")), invocation).isGranted()).isFalse();
+
+        // Authentications built from role names are resolved through the registry and decided the same way
+        assertThat(bitmask.check(() -> legacyAuthentication(USER_ROLES), invocation).isGranted()).isTrue();
+        assertThat(bitmask.check(() -> legacyAuthentication(List.of("ROLE_USER")), invocation).isGranted()).isFalse();
+    }
+
+    /** What each request used to build: a fresh authentication with new SimpleGrantedAuthority objects. */
+    private static Authentication legacyAuthentication(List<String> roles) {
+        return new UsernamePasswordAuthenticationToken("admin@example.com", null, roles.stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList()));
+    }
+
+    static class AdminOnly {
+
+        @PreAuthorize("hasRole('ADMIN')")
+        @RequiresRole("ADMIN")
+        public void run() {
+        }
+    }
+}
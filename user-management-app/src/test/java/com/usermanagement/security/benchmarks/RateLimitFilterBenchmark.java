@@ -0,0 +1,95 @@
+package com.usermanagement.security.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.usermanagement.auth.token.KeySource;
+import com.usermanagement.auth.token.SigningKeys;
+import com.usermanagement.auth.token.TokenIssuer;
+import com.usermanagement.auth.token.TokenValidator;
+import com.usermanagement.security.JwtTokenProvider;
+import com.usermanagement.security.RateLimitFilter;
+import com.usermanagement.security.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-request overhead of the rate limit filter on an admitted, authenticated request:
+ * the token subject comes from the filter's cache, one bucket is taken from and the four
+ * {@code RateLimit-*} headers are set. Headers go to a stub response, since
+ * {@code MockHttpServletResponse}'s header map costs far more than the container's.
+ *
+ * <pre>
+ * mvn -pl user-management-app -am test-compile dependency:build-classpath \
+ *     -Dmdep.includeScope=test -Dmdep.outputFile=target/test-classpath.txt
+ * cd user-management-app
+ * java -cp "target/test-classes:target/classes:$(cat target/test-classpath.txt)" org.openjdk.jmh.Main RateLimitFilterBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimitFilterBenchmark {
+
+    private RateLimitFilter filter;
+    private MockHttpServletRequest request;
+    private HttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() {
+        byte[] secret = "benchmark-secret-benchmark-secret-0123456789".getBytes(StandardCharsets.UTF_8);
+        KeySource keySource = KeySource.fixed(SigningKeys.single("k1", secret));
+        TokenIssuer issuer = new TokenIssuer(keySource, Duration.ofHours(1));
+        // Only token validation is used, which needs no role registry
+        JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(issuer, TokenValidator.builder(keySource).build(), null);
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setDefaultLimit(new RateLimitProperties.Limit(1_000_000_000, Duration.ofSeconds(1), 0));
+        filter = new RateLimitFilter(properties, jwtTokenProvider, new ObjectMapper(), new SimpleMeterRegistry());
+
+        request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.setRemoteAddr("10.0.2.1");
+        request.addHeader("Authorization", "Bearer " + issuer.issue("bench@example.com", 0b1L));
+        response = new DiscardingHeadersResponse();
+        chain = (servletRequest, servletResponse) -> {
+        };
+    }
+
+    @Benchmark
+    public void admitAuthenticated() throws ServletException, IOException {
+        filter.doFilter(request, response, chain);
+    }
+
+    private static final class DiscardingHeadersResponse extends HttpServletResponseWrapper {
+
+        DiscardingHeadersResponse() {
+            super(new MockHttpServletResponse());
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+        }
+    }
+}
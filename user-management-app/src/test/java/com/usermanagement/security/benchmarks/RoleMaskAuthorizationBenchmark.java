@@ -0,0 +1,121 @@
+package com.usermanagement.security.benchmarks;
+
+import com.usermanagement.entity.Role;
+import com.usermanagement.repository.RoleRepository;
+import com.usermanagement.security.RequiresRole;
+import com.usermanagement.security.RoleAuthorityRegistry;
+import com.usermanagement.security.RoleMaskAuthenticationToken;
+import com.usermanagement.security.RoleMaskAuthorizationManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.util.SimpleMethodInvocation;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the authorization decision for {@code hasRole('ADMIN')}: the SpEL
+ * {@code @PreAuthorize} check on an authentication built per request from role names, as before
+ * role masks, against the bitmask check on a {@link RoleMaskAuthenticationToken}.
+ *
+ * <pre>
+ * mvn -pl user-management-app -am test-compile dependency:build-classpath \
+ *     -Dmdep.includeScope=test -Dmdep.outputFile=target/test-classpath.txt
+ * cd user-management-app
+ * java -cp "target/test-classes:target/classes:$(cat target/test-classpath.txt)" org.openjdk.jmh.Main RoleMaskAuthorizationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoleMaskAuthorizationBenchmark {
+
+    private static final List<String> ADMIN_ROLES = List.of("ROLE_USER", "ROLE_ADMIN");
+
+    private SimpleMethodInvocation invocation;
+    private PreAuthorizeAuthorizationManager spel;
+    private RoleMaskAuthorizationManager bitmask;
+    private Authentication admin;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        List<Role> roles = List.of(
+                Role.builder().id(1L).name("ROLE_USER").bitIndex(0).build(),
+                Role.builder().id(2L).name("ROLE_ADMIN").bitIndex(1).build());
+        // The registry only reads the roles; every role already has its bit, so nothing is written
+        RoleRepository roleRepository = (RoleRepository) Proxy.newProxyInstance(
+                RoleRepository.class.getClassLoader(), new Class<?>[] {RoleRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findAllWithHierarchy")) {
+                        return roles;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        RoleAuthorityRegistry registry = new RoleAuthorityRegistry(roleRepository, null, new NoOpTransactionManager());
+        registry.refresh();
+
+        invocation = new SimpleMethodInvocation(new AdminOnly(), AdminOnly.class.getMethod("run"));
+        spel = new PreAuthorizeAuthorizationManager();
+        bitmask = new RoleMaskAuthorizationManager(registry);
+        admin = new RoleMaskAuthenticationToken("admin@example.com", registry.grantOf(registry.maskOf(ADMIN_ROLES)));
+    }
+
+    /** What each request used to build: a fresh authentication with new {@code SimpleGrantedAuthority} objects. */
+    @Benchmark
+    public boolean spelWithPerRequestAuthorities() {
+        return spel.check(() -> new UsernamePasswordAuthenticationToken("admin@example.com", null, ADMIN_ROLES.stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList())), invocation).isGranted();
+    }
+
+    @Benchmark
+    public boolean bitmask() {
+        return bitmask.check(() -> admin, invocation).isGranted();
+    }
+
+    public static class AdminOnly {
+
+        @PreAuthorize("hasRole('ADMIN')")
+        @RequiresRole("ADMIN")
+        public void run() {
+        }
+    }
+
+    private static final class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
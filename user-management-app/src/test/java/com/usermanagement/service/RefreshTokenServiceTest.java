@@ -0,0 +1,125 @@
+package com.usermanagement.service;
+
+import com.usermanagement.TestConfig;
+import com.usermanagement.dto.request.RefreshTokenRequest;
+import com.usermanagement.dto.request.RegisterRequest;
+import com.usermanagement.dto.response.AuthResponse;
+import com.usermanagement.exception.InvalidTokenException;
+import com.usermanagement.repository.AuditLogRepository;
+import com.usermanagement.security.JwtTokenProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+class RefreshTokenServiceTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Refresh rotates the token and issues a valid access token without hashing a password")
+    void shouldRotateWithoutPasswordHashing() {
+        AuthResponse registered = register("rotate@example.com");
+        String secret = registered.getRefreshToken().substring(registered.getRefreshToken().indexOf('.') + 1);
+        assertThat(registered.getRefreshToken()).matches("\\d+\\.[A-Za-z0-9_-]{43}");
+        assertThat(jdbcTemplate.queryForList("SELECT token_hash FROM refresh_tokens", String.class))
+                .isNotEmpty()
+                .doesNotContain(secret);
+
+        long verificationsBefore = passwordVerifications();
+        AuthResponse refreshed = userService.refreshToken(refresh(registered.getRefreshToken()));
+
+        assertThat(passwordVerifications()).isEqualTo(verificationsBefore);
+        assertThat(refreshed.getRefreshToken()).isNotEqualTo(registered.getRefreshToken());
+        assertThat(refreshed.getUserId()).isEqualTo(registered.getUserId());
+        assertThat(jwtTokenProvider.getUserEmailFromToken(refreshed.getToken())).isEqualTo("rotate@example.com");
+        assertThat(refreshed.getExpiresIn()).isEqualTo(jwtTokenProvider.getExpirationMs() / 1000);
+
+        AuthResponse again = userService.refreshToken(refresh(refreshed.getRefreshToken()));
+        assertThat(again.getRefreshToken()).isNotEqualTo(refreshed.getRefreshToken());
+    }
+
+    @Test
+    @DisplayName("Presenting a rotated token revokes the whole family and is audited")
+    void shouldRevokeFamilyOnReuse() {
+        AuthResponse registered = register("reuse@example.com");
+        AuthResponse rotated = userService.refreshToken(refresh(registered.getRefreshToken()));
+
+        assertThatThrownBy(() -> userService.refreshToken(refresh(registered.getRefreshToken())))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessageContaining("revoked");
+        assertThatThrownBy(() -> userService.refreshToken(refresh(rotated.getRefreshToken())))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessageContaining("revoked");
+
+        assertThat(auditLogRepository.findTopByActionOrderByTimestampDesc("REFRESH_TOKEN_REUSE"))
+                .hasValueSatisfying(entry -> assertThat(entry.getTargetUser()).isEqualTo("reuse@example.com"));
+    }
+
+    @Test
+    @DisplayName("Malformed, forged and expired tokens are rejected, and expired ones are purged")
+    void shouldRejectInvalidAndPurgeExpiredTokens() {
+        AuthResponse registered = register("expired@example.com");
+        String token = registered.getRefreshToken();
+        String id = token.substring(0, token.indexOf('.'));
+
+        for (String invalid : new String[]{"garbage", "." + token, id + ".forged-secret", "123.x"}) {
+            assertThatThrownBy(() -> userService.refreshToken(refresh(invalid)))
+                    .isInstanceOf(InvalidTokenException.class)
+                    .hasMessage("Invalid refresh token");
+        }
+
+        jdbcTemplate.update("UPDATE refresh_tokens SET expires_at = DATEADD('DAY', -1, CURRENT_TIMESTAMP) WHERE id = ?",
+                Long.parseLong(id));
+        assertThatThrownBy(() -> userService.refreshToken(refresh(token)))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessageContaining("expired");
+
+        assertThat(refreshTokenService.purgeExpired()).isPositive();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM refresh_tokens WHERE id = ?", Long.class,
+                Long.parseLong(id))).isZero();
+    }
+
+    private long passwordVerifications() {
+        return meterRegistry.find("password.hash.verify").timers().stream().mapToLong(Timer::count).sum();
+    }
+
+    private AuthResponse register(String email) {
+        return userService.register(RegisterRequest.builder()
+                .username(email.substring(0, email.indexOf('@')))
+                .email(email)
+                .password("password123")
+                .build());
+    }
+
+    private static RefreshTokenRequest refresh(String token) {
+        return RefreshTokenRequest.builder().refreshToken(token).build();
+    }
+}
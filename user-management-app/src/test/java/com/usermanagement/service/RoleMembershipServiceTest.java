@@ -0,0 +1,165 @@
+package com.usermanagement.service;
+
+import com.usermanagement.TestConfig;
+import com.usermanagement.dto.request.BulkRoleRequest;
+import com.usermanagement.dto.response.BulkRoleResponse;
+import com.usermanagement.dto.response.RoleMemberResponse;
+import com.usermanagement.dto.response.RoleMembersResponse;
+import com.usermanagement.entity.Role;
+import com.usermanagement.entity.User;
+import com.usermanagement.repository.AuditLogRepository;
+import com.usermanagement.repository.RoleRepository;
+import com.usermanagement.repository.UserRepository;
+import com.usermanagement.repository.UserRoleBulkRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doCallRealMethod;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:rolemembershipdb;DB_CLOSE_DELAY=-1")
+class RoleMembershipServiceTest {
+
+    private static final String ROLE = "ROLE_BULK_MEMBER";
+
+    @Autowired
+    private RoleMembershipService roleMembershipService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @SpyBean
+    private UserRoleBulkRepository userRoleBulkRepository;
+
+    private final List<Long> ids = new ArrayList<>();
+    private String domain;
+
+    @BeforeEach
+    void setUp() {
+        if (!roleRepository.existsByName(ROLE)) {
+            roleRepository.save(Role.builder().name(ROLE).bitIndex(roleRepository.findMaxBitIndex() + 1).build());
+        }
+        Role role = roleRepository.findByName(ROLE).orElseThrow();
+
+        domain = "bulk" + System.nanoTime() + ".example.com";
+        for (int i = 0; i < 5; i++) {
+            User user = User.builder()
+                    .username("bulk" + i)
+                    .email("member" + i + "@" + domain)
+                    .password("secret")
+                    .build();
+            if (i == 0) {
+                user.getRoles().add(role);
+            }
+            ids.add(userRepository.save(user).getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Bulk assign skips current members, bumps versions and evicts only the changed users")
+    void shouldAssignToUsersWithoutTheRole() {
+        // Warm the second-level cache so a stale entry would show up below
+        ids.forEach(id -> userRepository.findById(id).orElseThrow());
+        long versionBefore = userRepository.findById(ids.get(1)).orElseThrow().getVersion();
+
+        List<Long> requested = new ArrayList<>(ids);
+        requested.add(-1L);
+        BulkRoleResponse response = roleMembershipService.assign("bulk_member",
+                BulkRoleRequest.builder().userIds(requested).build(), "admin@example.com");
+
+        assertThat(response.getRoleName()).isEqualTo(ROLE);
+        assertThat(response.getUsersChanged()).isEqualTo(4);
+        assertThat(response.getChunks()).isEqualTo(1);
+
+        User changed = userRepository.findById(ids.get(1)).orElseThrow();
+        assertThat(changed.getRoles()).extracting(Role::getName).contains(ROLE);
+        assertThat(changed.getVersion()).isEqualTo(versionBefore + 1);
+        assertThat(auditLogRepository.findTopByActionOrderByTimestampDesc("ROLE_ASSIGNED_BULK").orElseThrow().getDetails())
+                .startsWith("Assigned " + ROLE + " to 4 users");
+
+        BulkRoleResponse again = roleMembershipService.assign(ROLE,
+                BulkRoleRequest.builder().userIds(ids).build(), "admin@example.com");
+        assertThat(again.getUsersChanged()).isZero();
+        assertThat(again.getChunks()).isZero();
+    }
+
+    @Test
+    @DisplayName("Bulk revoke by email domain removes the role from every matching member")
+    void shouldRevokeByEmailDomain() {
+        roleMembershipService.assign(ROLE, BulkRoleRequest.builder().emailDomain(domain).build(), "admin@example.com");
+        assertThat(userRepository.findById(ids.get(4)).orElseThrow().getRoles()).extracting(Role::getName).contains(ROLE);
+
+        BulkRoleResponse response = roleMembershipService.revoke(ROLE,
+                BulkRoleRequest.builder().emailDomain(domain).build(), "admin@example.com");
+
+        assertThat(response.getUsersChanged()).isEqualTo(5);
+        for (Long id : ids) {
+            assertThat(userRepository.findById(id).orElseThrow().getRoles()).extracting(Role::getName).doesNotContain(ROLE);
+        }
+    }
+
+    @Test
+    @DisplayName("Members are listed in keyset pages and the maintained count follows bulk changes")
+    void shouldPageMembersAndMaintainCount() {
+        long countBefore = roleMembershipService.memberCounts().get(ROLE);
+        roleMembershipService.assign(ROLE, BulkRoleRequest.builder().userIds(ids).build(), "admin@example.com");
+        assertThat(roleMembershipService.memberCounts().get(ROLE)).isEqualTo(countBefore + 4);
+
+        // Users from this setUp have the highest IDs, so paging after the first one's predecessor sees only them
+        RoleMembersResponse first = roleMembershipService.listMembers(ROLE, ids.get(0) - 1, 3);
+        assertThat(first.getMembers()).extracting(RoleMemberResponse::getId).containsExactlyElementsOf(ids.subList(0, 3));
+        assertThat(first.getNextCursor()).isEqualTo(ids.get(2));
+        assertThat(first.getTotalMembers()).isEqualTo(countBefore + 4);
+
+        RoleMembersResponse second = roleMembershipService.listMembers("bulk_member", first.getNextCursor(), 3);
+        assertThat(second.getMembers()).extracting(RoleMemberResponse::getEmail)
+                .containsExactly("member3@" + domain, "member4@" + domain);
+        assertThat(second.getNextCursor()).isNull();
+
+        roleMembershipService.revoke(ROLE, BulkRoleRequest.builder().userIds(ids.subList(3, 5)).build(), "admin@example.com");
+        assertThat(roleMembershipService.memberCounts().get(ROLE)).isEqualTo(countBefore + 2);
+    }
+
+    @Test
+    @DisplayName("Chunks committed before a later chunk fails are still audited")
+    void shouldAuditCommittedChunksWhenLaterChunkFails() {
+        List<Long> requested = new ArrayList<>(ids.subList(1, 5));
+        for (long missing = -1; requested.size() < RoleMembershipService.CHUNK_SIZE + 1; missing--) {
+            requested.add(missing);
+        }
+        doCallRealMethod()
+                .doThrow(new IllegalStateException("shard unavailable"))
+                .when(userRoleBulkRepository).findUsers(anyCollection(), anyLong(), anyBoolean());
+
+        assertThatThrownBy(() -> roleMembershipService.assign(ROLE,
+                BulkRoleRequest.builder().userIds(requested).build(), "admin@example.com"))
+                .hasMessage("shard unavailable");
+
+        assertThat(userRepository.findById(ids.get(4)).orElseThrow().getRoles()).extracting(Role::getName).contains(ROLE);
+        assertThat(auditLogRepository.findTopByActionOrderByTimestampDesc("ROLE_ASSIGNED_BULK").orElseThrow().getDetails())
+                .isEqualTo("Assigned %s to 4 users (IDs %d..%d)", ROLE, ids.get(1), ids.get(4));
+    }
+}
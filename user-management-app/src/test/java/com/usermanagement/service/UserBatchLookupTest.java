@@ -0,0 +1,102 @@
+package com.usermanagement.service;
+
+import com.usermanagement.TestConfig;
+import com.usermanagement.dto.request.BatchLookupRequest;
+import com.usermanagement.dto.response.BatchLookupResponse;
+import com.usermanagement.entity.Role;
+import com.usermanagement.entity.User;
+import com.usermanagement.repository.RoleRepository;
+import com.usermanagement.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+class UserBatchLookupTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!roleRepository.existsByName("ROLE_USER")) {
+            roleRepository.save(Role.builder().name("ROLE_USER").build());
+        }
+        Role userRole = roleRepository.findByName("ROLE_USER").orElseThrow();
+
+        String prefix = "batch-" + System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            User user = User.builder()
+                    .username("batch" + i)
+                    .email(prefix + "-" + i + "@example.com")
+                    .password("secret")
+                    .build();
+            user.getRoles().add(userRole);
+            ids.add(userRepository.save(user).getId());
+        }
+    }
+
+    @Test
+    @DisplayName("IDs are loaded in one query, returned in request order, and served from the L2 cache afterwards")
+    void shouldLoadIdsInRequestOrder() {
+        entityManagerFactory.getCache().evictAll();
+        List<Long> requested = List.of(ids.get(3), ids.get(0), -1L, ids.get(4));
+
+        statistics.clear();
+        BatchLookupResponse response = userService.batchLookup(BatchLookupRequest.builder().ids(requested).build());
+
+        assertThat(response.getUsers().keySet())
+                .containsExactly(String.valueOf(ids.get(3)), String.valueOf(ids.get(0)), String.valueOf(ids.get(4)));
+        assertThat(response.getUsers().get(String.valueOf(ids.get(0))).getRoles()).containsExactly("ROLE_USER");
+        assertThat(response.getNotFound()).containsExactly("-1");
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+
+        statistics.clear();
+        userService.batchLookup(BatchLookupRequest.builder().ids(requested.subList(0, 2)).build());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Emails are fetched together with their roles in one query")
+    void shouldLookUpEmails() {
+        List<String> emails = ids.stream()
+                .map(id -> userRepository.findById(id).orElseThrow().getEmail())
+                .toList();
+        List<String> requested = List.of(emails.get(2), "nobody@example.com", emails.get(1));
+
+        statistics.clear();
+        BatchLookupResponse response = userService.batchLookup(BatchLookupRequest.builder().emails(requested).build());
+
+        assertThat(response.getUsers().keySet()).containsExactly(emails.get(2), emails.get(1));
+        assertThat(response.getNotFound()).containsExactly("nobody@example.com");
+        assertThat(response.getUsers().get(emails.get(1)).getRoles()).containsExactly("ROLE_USER");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
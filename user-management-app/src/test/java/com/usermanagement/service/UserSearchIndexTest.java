@@ -0,0 +1,78 @@
+package com.usermanagement.service;
+
+import com.usermanagement.TestConfig;
+import com.usermanagement.dto.request.RegisterRequest;
+import com.usermanagement.dto.response.UserResponse;
+import com.usermanagement.entity.User;
+import com.usermanagement.exception.BadRequestException;
+import com.usermanagement.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+class UserSearchIndexTest {
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("A rebuild indexes usernames, local parts and the words in them, exact matches first")
+    void shouldFindUsersByPrefixAfterRebuild() {
+        String word = "zq" + System.nanoTime();
+        Long doe = save("Jane " + word + "x", "jane.doe.x" + word + "@example.com");
+        Long exact = save(word, "other" + word + "@example.com");
+        save("unrelated", "unrelated" + word + "@example.com");
+
+        UserSearchIndex.Stats stats = userSearchIndex.rebuild();
+
+        assertThat(userSearchIndex.search(word.toUpperCase(), 10)).containsExactly(exact, doe);
+        assertThat(userSearchIndex.search("Jane.Doe.X" + word, 10)).containsExactly(doe);
+        assertThat(userSearchIndex.search(word, 1)).containsExactly(exact);
+        assertThat(stats.users()).isPositive();
+        assertThat(stats.bytesPerUser()).isBetween(1L, 1_000L);
+    }
+
+    @Test
+    @DisplayName("Registered users are searchable at once and stay searchable across a rebuild")
+    void shouldIndexRegisteredUsers() {
+        String word = "qx" + System.nanoTime();
+        userService.register(RegisterRequest.builder()
+                .username("Search " + word)
+                .email(word + "@example.com")
+                .password("password123")
+                .build());
+
+        List<UserResponse> found = userService.searchUsers(word, 5);
+        assertThat(found).extracting(UserResponse::getEmail).containsExactly(word + "@example.com");
+
+        userSearchIndex.rebuild();
+        assertThat(userService.searchUsers(word, 5)).hasSize(1);
+
+        assertThatThrownBy(() -> userService.searchUsers(word, 500)).isInstanceOf(BadRequestException.class);
+    }
+
+    private Long save(String username, String email) {
+        return userRepository.save(User.builder()
+                .username(username)
+                .email(email)
+                .password("secret")
+                .build()).getId();
+    }
+}
@@ -0,0 +1,157 @@
+package com.usermanagement.service;
+
+import com.usermanagement.TestConfig;
+import com.usermanagement.dto.request.AssignRoleRequest;
+import com.usermanagement.dto.request.LoginRequest;
+import com.usermanagement.entity.Role;
+import com.usermanagement.entity.User;
+import com.usermanagement.event.EventPublisher;
+import com.usermanagement.event.UserEvent;
+import com.usermanagement.repository.RoleRepository;
+import com.usermanagement.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:concurrencydb;DB_CLOSE_DELAY=-1",
+        "app.retry.optimistic-lock.max-attempts=30"
+})
+class UserServiceConcurrencyTest {
+
+    private static final int THREADS = 12;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @MockBean
+    private EventPublisher eventPublisher;
+
+    @Test
+    @DisplayName("Concurrent assignRole calls on one user never lose an assignment")
+    void shouldKeepEveryConcurrentRoleAssignment() throws Exception {
+        Long userId = newUser("contended@example.com");
+        List<String> roleNames = IntStream.range(0, THREADS)
+                .mapToObj(i -> roleRepository.save(Role.builder().name("ROLE_STRESS_" + i).build()).getName())
+                .toList();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (String roleName : roleNames) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return userService.assignRole(userId, new AssignRoleRequest(roleName));
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        User user = userRepository.findById(userId).orElseThrow();
+        assertThat(user.getRoles()).extracting(Role::getName).containsExactlyInAnyOrderElementsOf(roleNames);
+        assertThat(user.getVersion()).isEqualTo(THREADS);
+
+        double completed = meterRegistry.find("user.mutations")
+                .tag("operation", "UserService.assignRole")
+                .counters().stream()
+                .filter(counter -> !"conflict".equals(counter.getId().getTag("outcome")))
+                .mapToDouble(counter -> counter.count())
+                .sum();
+        assertThat(completed).isEqualTo(THREADS);
+    }
+
+    @Test
+    @DisplayName("Concurrent logins of one user all succeed and publish exactly one event each")
+    void shouldPublishOneEventPerConcurrentLogin() throws Exception {
+        Long userId = userRepository.save(User.builder()
+                .username("frequent")
+                .email("frequent@example.com")
+                .password(passwordEncoder.encode("password123"))
+                .build()).getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return userService.login(new LoginRequest("frequent@example.com", "password123"));
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        verify(eventPublisher, times(THREADS)).publishLoginEvent(any(UserEvent.class));
+        User user = userRepository.findById(userId).orElseThrow();
+        assertThat(user.getLastLoginAt()).isNotNull();
+        assertThat(user.getVersion()).isBetween(1L, (long) THREADS);
+    }
+
+    @Test
+    @DisplayName("Saving a stale copy of a user fails instead of overwriting the newer row")
+    void shouldRejectStaleWrite() {
+        Long userId = newUser("stale@example.com");
+        roleRepository.save(Role.builder().name("ROLE_STALE").build());
+
+        User stale = userRepository.findById(userId).orElseThrow();
+        userService.assignRole(userId, new AssignRoleRequest("STALE"));
+
+        stale.setUsername("renamed");
+        assertThatThrownBy(() -> userRepository.save(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(userRepository.findById(userId).orElseThrow().getRoles())
+                .extracting(Role::getName).containsExactly("ROLE_STALE");
+    }
+
+    private Long newUser(String email) {
+        return userRepository.save(User.builder()
+                .username(email.substring(0, email.indexOf('@')))
+                .email(email)
+                .password("secret")
+                .build()).getId();
+    }
+}
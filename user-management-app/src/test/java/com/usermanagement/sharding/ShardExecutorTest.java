@@ -0,0 +1,86 @@
+package com.usermanagement.sharding;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardExecutorTest {
+
+    private final ShardExecutor executor = ShardExecutor.parallel(ShardMap.of(List.of("a", "b"), Map.of()), Duration.ofMillis(200), 2, 1);
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    @DisplayName("Each task runs with its own shard bound")
+    void shouldBindShardPerTask() {
+        assertThat(executor.onAllShards(ShardContext::current)).containsExactly(0, 1);
+    }
+
+    @Test
+    @DisplayName("A timed-out fan-out interrupts the tasks still running")
+    void shouldInterruptTasksOnTimeout() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(2);
+
+        assertThatThrownBy(() -> executor.onEachShard(() -> {
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException ex) {
+                interrupted.countDown();
+            }
+        }))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Shard fan-out timed out");
+
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("A fan-out started from a shard task runs inline instead of waiting on the pool")
+    void shouldRunNestedFanOutInline() {
+        List<List<Integer>> nested = executor.onAllShards(() -> executor.onAllShards(ShardContext::current));
+
+        assertThat(nested).containsExactly(List.of(0, 1), List.of(0, 1));
+    }
+
+    @Test
+    @DisplayName("A fan-out is rejected at once when the pool and its queue are full")
+    void shouldRejectFanOutWhenSaturated() throws InterruptedException {
+        ShardExecutor small = ShardExecutor.parallel(ShardMap.of(List.of("a", "b"), Map.of()), Duration.ofMinutes(1), 1, 1);
+        CountDownLatch running = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread busy = new Thread(() -> small.onEachShard(() -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        busy.start();
+
+        try {
+            assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+            // One task fills the queue, the other is rejected
+            assertThatThrownBy(() -> small.onEachShard(() -> {
+            }))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("Shard fan-out pool is saturated");
+        } finally {
+            release.countDown();
+            busy.join();
+            small.destroy();
+        }
+    }
+}
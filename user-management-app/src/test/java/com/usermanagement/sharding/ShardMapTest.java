@@ -0,0 +1,61 @@
+package com.usermanagement.sharding;
+
+import com.usermanagement.entity.id.SnowflakeIdGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardMapTest {
+
+    @Test
+    @DisplayName("Buckets are case-insensitive and spread evenly over the bucket range")
+    void shouldSpreadEmailsOverBuckets() {
+        assertThat(ShardKeys.bucketOf("Alice@Example.com")).isEqualTo(ShardKeys.bucketOf("alice@example.com"));
+
+        int[] counts = new int[ShardKeys.BUCKET_COUNT];
+        IntStream.range(0, 64_000).forEach(i -> counts[ShardKeys.bucketOf("user" + i + "@example.com")]++);
+
+        assertThat(IntStream.of(counts).min().orElseThrow()).isGreaterThan(800);
+        assertThat(IntStream.of(counts).max().orElseThrow()).isLessThan(1200);
+    }
+
+    @Test
+    @DisplayName("The bucket packed into a generated ID can be read back")
+    void shouldEmbedBucketInId() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(5, 1_000);
+        int bucket = ShardKeys.bucketOf("bob@example.com");
+
+        long id = generator.nextId(ShardKeys.nodeField(bucket, 5));
+
+        assertThat(ShardKeys.bucketOfId(id)).isEqualTo(bucket);
+        assertThat(SnowflakeIdGenerator.nodeIdOf(id) & ShardKeys.MAX_NODE_ID).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Default map splits buckets into contiguous ranges and overrides take precedence")
+    void shouldBuildShardMapWithOverrides() {
+        ShardMap defaults = ShardMap.of(List.of("a", "b"), Map.of());
+        assertThat(defaults.shardOfBucket(0)).isZero();
+        assertThat(defaults.shardOfBucket(31)).isZero();
+        assertThat(defaults.shardOfBucket(32)).isEqualTo(1);
+
+        ShardMap overridden = ShardMap.of(List.of("a", "b"), Map.of("0-3", "b", "63", "a"));
+        assertThat(overridden.bucketsOf(1)).contains(0, 1, 2, 3).doesNotContain(63);
+        assertThat(overridden.shardOfBucket(63)).isZero();
+    }
+
+    @Test
+    @DisplayName("Node ids above the sharded range are rejected")
+    void shouldRejectNodeIdOutsideShardedRange() {
+        assertThatThrownBy(() -> ShardKeys.nodeField(0, ShardKeys.MAX_NODE_ID + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ShardMap.of(List.of("a"), Map.of("0-3", "missing")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,236 @@
+package com.usermanagement.sharding;
+
+import com.usermanagement.TestConfig;
+import com.usermanagement.dto.request.BatchLookupRequest;
+import com.usermanagement.dto.request.BulkRoleRequest;
+import com.usermanagement.dto.request.RegisterRequest;
+import com.usermanagement.dto.request.RoleRequest;
+import com.usermanagement.dto.response.AuthResponse;
+import com.usermanagement.dto.response.BatchLookupResponse;
+import com.usermanagement.repository.UserRepository;
+import com.usermanagement.service.RoleMembershipService;
+import com.usermanagement.service.RoleService;
+import com.usermanagement.service.UserService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+@TestPropertySource(properties = {
+        "app.sharding.enabled=true",
+        "app.sharding.initialize-schema=true",
+        "app.sharding.shards[0].name=s0",
+        "app.sharding.shards[0].url=jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards[0].username=sa",
+        "app.sharding.shards[1].name=s1",
+        "app.sharding.shards[1].url=jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards[1].username=sa",
+        "app.sharding.shards[2].name=s2",
+        "app.sharding.shards[2].url=jdbc:h2:mem:shard2;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards[2].username=sa"
+})
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ShardingIntegrationTest {
+
+    private static final List<String> EMAILS = IntStream.range(0, 12)
+            .mapToObj(i -> "sharded" + i + "@example.com")
+            .toList();
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private RoleMembershipService roleMembershipService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ShardDataSources shardDataSources;
+
+    @Autowired
+    private ShardMap shardMap;
+
+    @Autowired
+    private ShardExecutor shardExecutor;
+
+    @Autowired
+    private ShardMigrationTool migrationTool;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @Order(1)
+    @DisplayName("Roles are replicated to every shard under the same id")
+    void shouldReplicateRolesToEveryShard() {
+        roleService.createRole(RoleRequest.builder().name("USER").build());
+
+        List<Long> roleIds = IntStream.range(0, shardDataSources.size())
+                .mapToObj(shard -> jdbc(shard).queryForObject(
+                        "SELECT id FROM roles WHERE name = 'ROLE_USER'", Long.class))
+                .toList();
+
+        assertThat(roleIds).hasSize(3).containsOnly(roleIds.get(0));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Registered users, their roles and audit rows land on the shard chosen by email")
+    void shouldPlaceUsersOnTheirShard() {
+        for (String email : EMAILS) {
+            AuthResponse response = userService.register(RegisterRequest.builder()
+                    .username(email.substring(0, email.indexOf('@')))
+                    .email(email)
+                    .password("password123")
+                    .build());
+
+            int expectedShard = shardMap.shardForKey(email);
+            assertThat(shardMap.shardForId(response.getUserId())).isEqualTo(expectedShard);
+
+            for (int shard = 0; shard < shardDataSources.size(); shard++) {
+                int expected = shard == expectedShard ? 1 : 0;
+                assertThat(count(shard, "SELECT COUNT(*) FROM users WHERE email = ?", email)).isEqualTo(expected);
+                assertThat(count(shard, "SELECT COUNT(*) FROM user_roles WHERE user_id = ?", response.getUserId()))
+                        .isEqualTo(expected);
+                assertThat(count(shard, "SELECT COUNT(*) FROM audit_logs WHERE target_user = ?", email))
+                        .isEqualTo(expected);
+            }
+        }
+
+        assertThat(EMAILS.stream().map(shardMap::shardForKey).distinct()).hasSizeGreaterThan(1);
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Point lookups by email and id are served by the owning shard")
+    void shouldLookUpUsersShardLocally() {
+        for (String email : EMAILS) {
+            Long id = userRepository.findByEmail(email).orElseThrow().getId();
+            assertThat(userRepository.findById(id)).isPresent();
+            assertThat(userService.getCurrentUser(email).getRoles()).containsExactly("ROLE_USER");
+        }
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Batch lookups split IDs and emails by shard and keep the request order")
+    void shouldBatchLookUpAcrossShards() {
+        List<Long> ids = new ArrayList<>(EMAILS.stream()
+                .map(email -> userRepository.findByEmail(email).orElseThrow().getId())
+                .toList());
+        Collections.reverse(ids);
+
+        BatchLookupResponse response = userService.batchLookup(BatchLookupRequest.builder()
+                .ids(ids)
+                .emails(EMAILS)
+                .build());
+
+        assertThat(response.getUsers().keySet()).containsExactlyElementsOf(Stream.concat(
+                ids.stream().map(String::valueOf), EMAILS.stream()).toList());
+        assertThat(response.getNotFound()).isEmpty();
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Bulk role changes are applied on each user's own shard")
+    void shouldChangeRolesInBulkAcrossShards() {
+        List<Long> ids = EMAILS.stream()
+                .map(email -> userRepository.findByEmail(email).orElseThrow().getId())
+                .toList();
+        BulkRoleRequest request = BulkRoleRequest.builder().userIds(ids).build();
+
+        assertThat(roleMembershipService.revoke("USER", request, "admin@example.com").getUsersChanged())
+                .isEqualTo(EMAILS.size());
+        assertThat(IntStream.range(0, shardDataSources.size())
+                .mapToLong(shard -> count(shard, "SELECT COUNT(*) FROM user_roles"))
+                .sum()).isZero();
+
+        assertThat(roleMembershipService.assign("USER", request, "admin@example.com").getUsersChanged())
+                .isEqualTo(EMAILS.size());
+        for (String email : EMAILS) {
+            assertThat(userRepository.findByEmail(email).orElseThrow().getRoles()).hasSize(1);
+        }
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("count() fans out over all shards and sums")
+    void shouldCountAcrossShards() {
+        assertThat(shardExecutor.sum(userRepository::count)).isEqualTo(EMAILS.size());
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("A transaction cannot touch two shards")
+    void shouldRejectCrossShardTransaction() {
+        String first = EMAILS.get(0);
+        String other = EMAILS.stream()
+                .filter(email -> shardMap.shardForKey(email) != shardMap.shardForKey(first))
+                .findFirst()
+                .orElseThrow();
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            userRepository.findByEmail(first);
+            userRepository.findByEmail(other);
+        })).isInstanceOf(InvalidDataAccessApiUsageException.class).hasMessageContaining("pinned to shard");
+
+        assertThatThrownBy(userRepository::count)
+                .isInstanceOf(InvalidDataAccessApiUsageException.class)
+                .hasMessageContaining("ShardExecutor");
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Migration moves users, roles, refresh tokens and audit rows to the shards of the new map")
+    void shouldMigrateRowsToNewShardMap() {
+        ShardMap consolidated = ShardMap.of(shardMap.shardNames(), Map.of("0-63", "s0"));
+
+        ShardMigrationTool.MigrationReport report = migrationTool.migrate(shardMap, consolidated);
+
+        long moved = EMAILS.stream().filter(email -> shardMap.shardForKey(email) != 0).count();
+        assertThat(report.movedRows()).containsEntry("users", moved);
+        assertThat(count(0, "SELECT COUNT(*) FROM users")).isEqualTo(EMAILS.size());
+        assertThat(count(0, "SELECT COUNT(*) FROM user_roles")).isEqualTo(EMAILS.size());
+        assertThat(count(0, "SELECT COUNT(*) FROM refresh_tokens")).isEqualTo(EMAILS.size());
+        assertThat(count(0, "SELECT COUNT(*) FROM audit_logs WHERE action = 'USER_REGISTERED'"))
+                .isEqualTo(EMAILS.size());
+        for (int shard = 1; shard < shardDataSources.size(); shard++) {
+            assertThat(count(shard, "SELECT COUNT(*) FROM users")).isZero();
+            assertThat(count(shard, "SELECT COUNT(*) FROM refresh_tokens")).isZero();
+            assertThat(count(shard, "SELECT COUNT(*) FROM audit_logs")).isZero();
+        }
+
+        assertThat(migrationTool.migrate(consolidated, consolidated).movedRows()).isEmpty();
+    }
+
+    private JdbcTemplate jdbc(int shard) {
+        return new JdbcTemplate(shardDataSources.get(shard));
+    }
+
+    private long count(int shard, String sql, Object... args) {
+        Long result = jdbc(shard).queryForObject(sql, Long.class, args);
+        return result == null ? 0 : result;
+    }
+}